@@ -16,10 +16,20 @@ import java.lang.annotation.ElementType;
  *        → ディスパッチメソッドが「クラス名：UserService」「メソッド名：init」の場合に全てのパッケージで実行されます。
  * (ex.)[at]AfterReturning(execution = "*.init")
  *        → ディスパッチメソッドが「メソッド名：init」の場合に全てのクラスで実行されます。
+ * (ex.)[at]AfterReturning(execution = "com.somecompany..*Service.init")
+ *        → 「com.somecompany」パッケージ・サブパッケージの「～Service」クラスの「init」メソッドで実行されます。
+ * (ex.)[at]AfterReturning(execution = "@annotation(com.somecompany.Audited)")
+ *        → ディスパッチメソッドに「com.somecompany.Audited」アノテーションが記述されている場合に実行されます。
+ * async = trueを指定すると、レスポンス出力後にリクエストスレッド以外のスレッドで実行されます。
+ * 非同期のメソッドの引数にはServletRequest・ServletResponseを指定できません。
+ * 処理結果が必要な場合はRequestSnapshotを引数に指定してください。
+ * (ex.)[at]AfterReturning(execution = "*.init", async = true)
+ *      public void audit(RequestSnapshot snapshot) { ... }
  * </pre>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.METHOD})
 public @interface AfterReturning {
 	String[] execution();
+	boolean async() default false;
 }
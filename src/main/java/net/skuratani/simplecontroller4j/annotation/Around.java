@@ -16,6 +16,13 @@ import java.lang.annotation.ElementType;
  *        → ディスパッチメソッドが「クラス名：UserService」「メソッド名：init」の場合に全てのパッケージで実行されます。
  * (ex.)[at]Around(execution = "*.init")
  *        → ディスパッチメソッドが「メソッド名：init」の場合に全てのクラスで実行されます。
+ * (ex.)[at]Around(execution = "com.somecompany..*Service.init")
+ *        → 「com.somecompany」パッケージ・サブパッケージの「～Service」クラスの「init」メソッドで実行されます。
+ * (ex.)[at]Around(execution = "@annotation(com.somecompany.Audited)")
+ *        → ディスパッチメソッドに「com.somecompany.Audited」アノテーションが記述されている場合に実行されます。
+ * メソッドの引数にProceedingJoinPointを指定すると、メソッドは1度だけ実行され、
+ * ProceedingJoinPoint#proceedでディスパッチメソッド（[at]Before・[at]After等を含む）を実行します。
+ * メソッドの戻り値はディスパッチメソッドの戻り値として扱われます（voidの場合はproceedの戻り値）。
  * </pre>
  */
 @Retention(RetentionPolicy.RUNTIME)
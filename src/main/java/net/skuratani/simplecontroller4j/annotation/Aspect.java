@@ -9,9 +9,14 @@ import java.lang.annotation.Target;
  * <p>アスペクトアノテーション</p>
  * <pre>
  * このアノテーションが記述されたクラスはアスペクトとして認識されます。
- * アスペクトを識別する為のマーカーアノテーションです。
+ * アスペクトを識別する為のアノテーションです。
+ * インスタンスのスコープ(scope)を指定できます。省略した場合はAUTOとなり、
+ * staticでもfinalでもないフィールドを持たないクラスはSINGLETON、持つクラスはPROTOTYPEとなります。
+ *    (ex.)[at]Aspect(scope = Scope.PROTOTYPE)
  * </pre>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
-public @interface Aspect {}
+public @interface Aspect {
+	Scope scope() default Scope.AUTO;
+}
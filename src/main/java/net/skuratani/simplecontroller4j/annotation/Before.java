@@ -16,6 +16,10 @@ import java.lang.annotation.ElementType;
  *        → ディスパッチメソッドが「クラス名：UserService」「メソッド名：init」の場合に全てのパッケージで実行されます。
  * (ex.)[at]Before(execution = "*.init")
  *        → ディスパッチメソッドが「メソッド名：init」の場合に全てのクラスで実行されます。
+ * (ex.)[at]Before(execution = "com.somecompany..*Service.init")
+ *        → 「com.somecompany」パッケージ・サブパッケージの「～Service」クラスの「init」メソッドで実行されます。
+ * (ex.)[at]Before(execution = "@annotation(com.somecompany.Audited)")
+ *        → ディスパッチメソッドに「com.somecompany.Audited」アノテーションが記述されている場合に実行されます。
  * </pre>
  */
 @Retention(RetentionPolicy.RUNTIME)
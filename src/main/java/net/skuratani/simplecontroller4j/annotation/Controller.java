@@ -9,9 +9,14 @@ import java.lang.annotation.Target;
  * <p>コントローラアノテーション</p>
  * <pre>
  * このアノテーションが記述されたクラスはコントローラとして認識されます。
- * コントローラを識別する為のマーカーアノテーションです。
+ * コントローラを識別する為のアノテーションです。
+ * インスタンスのスコープ(scope)を指定できます。省略した場合はAUTOとなり、
+ * staticでもfinalでもないフィールドを持たないクラスはSINGLETON、持つクラスはPROTOTYPEとなります。
+ *    (ex.)[at]Controller(scope = Scope.PROTOTYPE)
  * </pre>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
-public @interface Controller {}
+public @interface Controller {
+	Scope scope() default Scope.AUTO;
+}
@@ -13,9 +13,16 @@ import java.lang.annotation.Target;
  *    (ex.)リクエストボディー：XXXXX_YYYYY_ZZZZZ
  *         メソッド：pretected void someMethod([at]RequestBody String reqBody)
  *       　　　      → リクエストボディーが「reqBody」にバインドされます。
+ * 引数の型にbyte[]・ByteBuffer・InputStream・ReadableByteChannelを指定すると、
+ * リクエストボディーを文字コード変換せずに取得できます。
+ *    (ex.)メソッド：pretected void upload([at]RequestBody(maxSize = 1048576) byte[] data)
+ *       　　　      → 1MBを超えるリクエストボディーは413（Payload Too Large）となります。
+ * maxSizeを省略した場合は、サーブレット初期化パラメータ「maxRequestBodySize」の値（省略した場合は2MB）が最大サイズとなります。
+ * 最大サイズを無制限とする場合は、maxSize = 0を指定します。
  * </pre>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.PARAMETER})
-public @interface RequestBody {    
+public @interface RequestBody {
+    long maxSize() default -1;
 }
@@ -19,10 +19,20 @@ import java.lang.annotation.Target;
  *         メソッド：pretected void someMethod([at]RequestParam("id") int id
  *                                             [at]RequestParam("name") String name)
  *       　　　      → リクエストパラメータが「id」「name」にバインドされます。
+ *    3. 区切り文字で連結した値（配列型の引数）
+ *    (ex.)リクエストパス：/[コンテキスト]/[ルートマッピング]?ids=1,2,3&amp;ids=4
+ *         メソッド：pretected void someMethod([at]RequestParam(value = "ids", split = ",", maxLength = 500) long[] ids)
+ *       　　　      → 「ids」の値を区切り文字で分割した値 {1, 2, 3, 4} がバインドされます。
+ *    split：区切り文字（1文字。省略した場合は分割しない）
+ *    maxLength：配列型の引数の最大要素数（負数の場合は無制限）。超える場合はIllegalArgumentExceptionとなります。
+ *               省略した場合は、splitを指定した引数は10000、splitを指定しない引数は従来通り無制限となります。
+ *    int[]・long[]・short[]・double[]・float[]の引数は、パラメータ値の文字列を生成せずに直接配列に変換されます。
  * </pre>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.PARAMETER})
 public @interface RequestParam {
-    String value() default "";    
+    String value() default "";
+    String split() default "";
+    int maxLength() default 0;
 }
@@ -0,0 +1,18 @@
+package net.skuratani.simplecontroller4j.annotation;
+
+/**
+ * <p>インスタンススコープ列挙型</p>
+ * <pre>
+ * コントローラ・アスペクトクラスのインスタンスの生存期間を表現する列挙型です。
+ *    1. AUTO      : 状態を持たないクラス（スーパークラスを含めて、staticでもfinalでもないフィールドがないクラス）は
+ *                   SINGLETON、それ以外はPROTOTYPEとします（既定値）。
+ *    2. SINGLETON : 初期化時に1つだけ生成し、全リクエストで共有します。
+ *                   状態（フィールド）を持たないクラスに使用してください。
+ *    3. PROTOTYPE : メソッド実行の都度、生成します。
+ *    4. REQUEST   : リクエスト毎に1つだけ生成し、同一リクエスト内で共有します。
+ *                   (ex.) AROUNDアドバイスの前処理・後処理で同じインスタンスが使用されます。
+ * </pre>
+ */
+public enum Scope {
+	AUTO, SINGLETON, PROTOTYPE, REQUEST
+}
@@ -4,6 +4,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 import net.skuratani.simplecontroller4j.annotation.After;
@@ -18,32 +19,31 @@ import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
 /**
  * <p>アスペクトクラス・メソッド探索</p>
  * <pre>
- * ディスパッチャサーブレットからの依頼を受けて、アスペクトアノテーションから以下の情報を探索・取得する。
+ * ルーターからの依頼を受けて、アスペクトアノテーションから以下の情報を探索・取得する。
  *     1. 実行クラス
  *     2. 実行メソッド
- * アスペクト実行クラスは「WEB-INF/classes」配下の全クラスをロードして、探索を実行する。
+ * 生成時に「WEB-INF/classes」配下のアスペクトクラスを1度だけ走査し、アドバイス毎の
+ * アスペクトマッピングと、全アドバイスのポイントカットをまとめたポイントカットマッチャーを保持する。
+ * 起動時に全ルーティングのアスペクトチェーンを構築する為、リクエスト時のアスペクト探索は行わない。
  * </pre>
  */
 public class Aspect {
 
-	/** アスペクトマッピングリスト */
-	private List<AspectMapping> aspectMappingList;
+	/** アスペクトマッピングリスト（アスペクトクラスのロード順・メソッドの宣言順・アノテーションの宣言順） */
+	private final List<AspectMapping> aspectMappingList = new ArrayList<>();
 
-	/**
-	 * <p>コンストラクタ</p>
-	 */
-	public Aspect() {
-		aspectMappingList = new ArrayList<AspectMapping>();
-	}
+	/** アドバイス毎のポイントカット（aspectMappingListと同じ位置） */
+	private final List<Pointcut[]> pointcutList = new ArrayList<>();
+
+	/** ポイントカットマッチャー */
+	private final PointcutMatcher pointcutMatcher;
 
 	/**
-	 * <p>アスペクトクラスを探索</p>
+	 * <p>コンストラクタ</p>
 	 *
-	 * @param  requestMapping    ルーティング情報マップ（クラス・メソッド）
-	 * @param  classList         コントローラclassインスタンスリスト
-	 * @return aspectMappingList アスペクトマッピングリスト
+	 * @param classList コントローラclassインスタンスリスト
 	 */
-	public List<AspectMapping> findAspectClass(RequestMapping requestMapping, List<Class<?>> classList) {
+	public Aspect(List<Class<?>> classList) {
 
         for (Class<?> clazz : classList) {
 
@@ -53,11 +53,35 @@ public class Aspect {
             // Aspectアノテーションチェック
             if (!hasAspectAnnotation(clazz)) continue;
 
-            // ジョインポイントとマッチするクラス・メソッド探索
-            findJoinPoint(clazz, requestMapping);
+            // アドバイス登録
+            registerAdvice(clazz);
         }
 
-        return aspectMappingList;
+        pointcutMatcher = new PointcutMatcher(pointcutList);
+	}
+
+	/**
+	 * <p>アスペクトチェーン構築</p>
+	 * <pre>
+	 * 実行メソッドに一致するアスペクトマッピングを、アスペクトマッピングリストの順に格納する。
+	 * 1つのアドバイスに一致する式が複数ある場合も、アスペクトマッピングは1度だけ格納する。
+	 * 起動後に登録したルーティングに対しても使用できる。
+	 * </pre>
+	 *
+	 * @param  requestMapping ルーティング情報マップ（クラス・メソッド）
+	 * @return アスペクトチェーン
+	 */
+	public AspectChain chainFor(RequestMapping requestMapping) {
+
+		String signature = requestMapping.getRequestClass().getName() + "." + requestMapping.getRequestMethod().getName();
+		BitSet matched = pointcutMatcher.match(signature, requestMapping.getRequestMethod());
+		if (matched.isEmpty()) return AspectChain.EMPTY;
+
+		List<AspectMapping> matchedList = new ArrayList<>(matched.cardinality());
+		for (int id = matched.nextSetBit(0); id >= 0; id = matched.nextSetBit(id + 1)) {
+			matchedList.add(aspectMappingList.get(id));
+		}
+		return new AspectChain(matchedList);
 	}
 
     /**
@@ -75,82 +99,69 @@ public class Aspect {
     }
 
     /**
-     * <p>ジョインポイントとマッチするクラス・メソッド探索</p>
+     * <p>アドバイス登録</p>
      *
-     * @param  clazz          クラス
-     * @param  requestMapping ルーティング情報マップ（クラス・メソッド）
+     * @param  clazz アスペクトクラス
      */
-	protected void findJoinPoint(Class<?> clazz, RequestMapping requestMapping) {
+	protected void registerAdvice(Class<?> clazz) {
 
     	for (Method method : clazz.getDeclaredMethods()) {
 	        for (Annotation annotation : method.getDeclaredAnnotations()) {
 	        	// Beforeアノテーション
-	        	if (annotation.annotationType().equals(Before.class)) {
-	        		for (String exec : ((Before) annotation).execution()) {
-		        		if ((requestMapping.getRequestClass().getName() + "." + requestMapping.getRequestMethod().getName())
-		        			.matches(exec.replace(".", "\\.").replace("*", ".*"))) {
-		        			aspectMappingList.add(new AspectMapping() {
-					            	{ setAspectClass(clazz);
-					            	  setAspectMethod(method);
-					            	  setJoinPoint(JoinPoint.BEFORE); }
-					            });
-		            	}
-	        		}
+	        	if (annotation instanceof Before before) {
+	        		addAdvice(clazz, method, JoinPoint.BEFORE, before.execution(), false);
 	            }
 	        	// Afterアノテーション
-	        	if (annotation.annotationType().equals(After.class)) {
-	        		for (String exec : ((After) annotation).execution()) {
-		        		if ((requestMapping.getRequestClass().getName() + "." + requestMapping.getRequestMethod().getName())
-		        			.matches(exec.replace(".", "\\.").replace("*", ".*"))) {
-		        			aspectMappingList.add(new AspectMapping() {
-					            	{ setAspectClass(clazz);
-					            	  setAspectMethod(method);
-					            	  setJoinPoint(JoinPoint.AFTER); }
-					            });
-		            	}
-	        		}
+	        	if (annotation instanceof After after) {
+	        		addAdvice(clazz, method, JoinPoint.AFTER, after.execution(), after.async());
 	            }
 	        	// Aroundアノテーション
-	        	if (annotation.annotationType().equals(Around.class)) {
-	        		for (String exec : ((Around) annotation).execution()) {
-		        		if ((requestMapping.getRequestClass().getName() + "." + requestMapping.getRequestMethod().getName())
-		        			.matches(exec.replace(".", "\\.").replace("*", ".*"))) {
-		        			aspectMappingList.add(new AspectMapping() {
-					            	{ setAspectClass(clazz);
-					            	  setAspectMethod(method);
-					            	  setJoinPoint(JoinPoint.AROUND); }
-					            });
-		            	}
-	        		}
+	        	if (annotation instanceof Around around) {
+	        		addAdvice(clazz, method, JoinPoint.AROUND, around.execution(), false);
 	            }
 	        	// AfterReturningアノテーション
-	        	if (annotation.annotationType().equals(AfterReturning.class)) {
-	        		for (String exec : ((AfterReturning) annotation).execution()) {
-		        		if ((requestMapping.getRequestClass().getName() + "." + requestMapping.getRequestMethod().getName())
-		        			.matches(exec.replace(".", "\\.").replace("*", ".*"))) {
-		        			aspectMappingList.add(new AspectMapping() {
-					            	{ setAspectClass(clazz);
-					            	  setAspectMethod(method);
-					            	  setJoinPoint(JoinPoint.AFTER_RETURNING); }
-					            });
-		            	}
-	        		}
+	        	if (annotation instanceof AfterReturning afterReturning) {
+	        		addAdvice(clazz, method, JoinPoint.AFTER_RETURNING, afterReturning.execution(),
+	        				  afterReturning.async());
 	            }
 	        	// AfterThrowingアノテーション
-	        	if (annotation.annotationType().equals(AfterThrowing.class)) {
-	        		for (String exec : ((AfterThrowing) annotation).execution()) {
-		        		if ((requestMapping.getRequestClass().getName() + "." + requestMapping.getRequestMethod().getName())
-		        			.matches(exec.replace(".", "\\.").replace("*", ".*"))) {
-		        			aspectMappingList.add(new AspectMapping() {
-					            	{ setAspectClass(clazz);
-					            	  setAspectMethod(method);
-					            	  setJoinPoint(JoinPoint.AFTER_THROWING); }
-					            });
-		            	}
-	        		}
+	        	if (annotation instanceof AfterThrowing afterThrowing) {
+	        		addAdvice(clazz, method, JoinPoint.AFTER_THROWING, afterThrowing.execution(), false);
 	            }
         	}
         }
     }
 
+	/**
+	 * <p>アドバイス追加</p>
+	 *
+	 * @param clazz      アスペクトクラス
+	 * @param method     アスペクトメソッド
+	 * @param joinPoint  ジョインポイント
+	 * @param executions executionに指定した式
+	 * @param async      非同期実行
+	 * @throws IllegalArgumentException 非同期のアスペクトメソッドの引数にServletRequest・ServletResponseを指定した場合、
+	 *                                  同期のアスペクトメソッドの引数にRequestSnapshotを指定した場合
+	 */
+	protected void addAdvice(Class<?> clazz, Method method, JoinPoint joinPoint, String[] executions, boolean async) {
+		for (Class<?> type : method.getParameterTypes()) {
+			if (async ? type != RequestSnapshot.class : type == RequestSnapshot.class) {
+				throw new IllegalArgumentException(clazz.getName() + "." + method.getName() + " : "
+						+ (async ? "async advice accepts only RequestSnapshot parameters"
+								 : "RequestSnapshot is available only to async advice"));
+			}
+		}
+		Pointcut[] pointcuts = new Pointcut[executions.length];
+		for (int i = 0; i < executions.length; i++) {
+			pointcuts[i] = Pointcut.compile(executions[i]);
+		}
+		AspectMapping aspectMapping = new AspectMapping();
+		aspectMapping.setAspectClass(clazz);
+		aspectMapping.setAspectMethod(method);
+		aspectMapping.setJoinPoint(joinPoint);
+		aspectMapping.setAsync(async);
+		aspectMappingList.add(aspectMapping);
+		pointcutList.add(pointcuts);
+	}
+
 }
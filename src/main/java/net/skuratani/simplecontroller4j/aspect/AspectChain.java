@@ -0,0 +1,78 @@
+package net.skuratani.simplecontroller4j.aspect;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.skuratani.simplecontroller4j.annotation.JoinPoint;
+import net.skuratani.simplecontroller4j.aspectmapping.AspectMapping;
+
+/**
+ * <p>アスペクトチェーン</p>
+ * <pre>
+ * 1つのルーティング（実行メソッド）に一致するアスペクトマッピングを、起動時にジョインポイント毎に分類したもの。
+ * 各ジョインポイントのアスペクトマッピングは、アスペクトクラスのロード順・メソッドの宣言順に並ぶ。
+ * 構築後は変更されない為、全リクエストスレッドから同期なしで参照できる。
+ * </pre>
+ */
+public final class AspectChain {
+
+	/** アスペクトが存在しない場合のアスペクトチェーン */
+	public static final AspectChain EMPTY = new AspectChain(Collections.emptyList());
+
+	/** ジョインポイント毎のアスペクトマッピング（JoinPoint#ordinalの位置） */
+	private final List<List<AspectMapping>> byJoinPoint;
+
+	/** 全アスペクトマッピング */
+	private final List<AspectMapping> all;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param aspectMappings アスペクトマッピング（実行順）
+	 */
+	public AspectChain(List<AspectMapping> aspectMappings) {
+		JoinPoint[] joinPoints = JoinPoint.values();
+		List<List<AspectMapping>> lists = new ArrayList<>(joinPoints.length);
+		for (JoinPoint joinPoint : joinPoints) {
+			List<AspectMapping> list = new ArrayList<>();
+			for (AspectMapping aspectMapping : aspectMappings) {
+				if (aspectMapping.getJoinPoint() == joinPoint) list.add(aspectMapping);
+			}
+			lists.add(list.isEmpty() ? Collections.emptyList() : List.copyOf(list));
+		}
+		this.byJoinPoint = List.copyOf(lists);
+		this.all = List.copyOf(aspectMappings);
+	}
+
+	/**
+	 * <p>アスペクトマッピング取得</p>
+	 *
+	 * @param  joinPoint ジョインポイント
+	 * @return ジョインポイントのアスペクトマッピング（変更不可）
+	 */
+	public List<AspectMapping> get(JoinPoint joinPoint) {
+		return byJoinPoint.get(joinPoint.ordinal());
+	}
+
+	/**
+	 * <p>全アスペクトマッピング取得</p>
+	 *
+	 * @return 全アスペクトマッピング（変更不可）
+	 */
+	public List<AspectMapping> getAll() {
+		return all;
+	}
+
+	/**
+	 * <p>アスペクト存在判定</p>
+	 *
+	 * @return boolean
+	 *         true  : 一致するアスペクトが存在しない
+	 *         false : 一致するアスペクトが存在する
+	 */
+	public boolean isEmpty() {
+		return all.isEmpty();
+	}
+
+}
@@ -0,0 +1,121 @@
+package net.skuratani.simplecontroller4j.aspect;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>ポイントカット</p>
+ * <pre>
+ * アスペクトアノテーションのexecutionに指定した式を、起動時に1度だけ解析したもの。
+ * 以下の2種類の式を指定できる。
+ *     1. 名前の式 : 「実行クラスの完全修飾名.実行メソッド名」と比較する
+ *                   「*」  は任意の文字列（空文字・「.」を含む）に一致する
+ *                   「..」 はパッケージ・クラスの区切りの「.」と、その間の0個以上の「名前.」に一致する
+ *            (ex.) app.UserController.*  → app.UserControllerの全メソッド
+ *                  *.getUser             → 全クラスのgetUserメソッド
+ *                  app..get*             → appパッケージ・サブパッケージの全クラスのget～メソッド
+ *     2. アノテーションの式 : [at]annotation(アノテーションの完全修飾名)
+ *                   指定したアノテーションを記述した実行メソッドに一致する
+ *            (ex.) [at]annotation(com.example.Audited)
+ * 名前の式は、全アドバイスの式をまとめたポイントカットマッチャー（PointcutMatcher）で判定する。
+ * </pre>
+ */
+public final class Pointcut {
+
+	/** 名前の式の要素：任意の文字列（「*」） */
+	static final int STAR = -1;
+
+	/** 名前の式の要素：パッケージの区切り（「..」） */
+	static final int DOTDOT = -2;
+
+	/** アノテーションの式の接頭辞 */
+	private static final String ANNOTATION_PREFIX = "@annotation(";
+
+	/** 式 */
+	private final String expression;
+
+	/** アノテーションの完全修飾名（名前の式の場合はnull） */
+	private final String annotationName;
+
+	/** 名前の式の要素（文字・STAR・DOTDOT） */
+	private final List<Integer> tokens;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param expression     式
+	 * @param annotationName アノテーションの完全修飾名（名前の式の場合はnull）
+	 * @param tokens         名前の式の要素
+	 */
+	private Pointcut(String expression, String annotationName, List<Integer> tokens) {
+		this.expression = expression;
+		this.annotationName = annotationName;
+		this.tokens = tokens;
+	}
+
+	/**
+	 * <p>ポイントカット解析</p>
+	 *
+	 * @param  expression executionに指定した式
+	 * @return ポイントカット
+	 * @throws IllegalArgumentException アノテーションの式の形式が不正な場合
+	 */
+	public static Pointcut compile(String expression) {
+		String trimmed = expression.trim();
+		if (trimmed.startsWith(ANNOTATION_PREFIX)) {
+			if (!trimmed.endsWith(")")) {
+				throw new IllegalArgumentException("illegal pointcut expression : " + expression);
+			}
+			String annotationName = trimmed.substring(ANNOTATION_PREFIX.length(), trimmed.length() - 1).trim();
+			if (annotationName.isEmpty()) {
+				throw new IllegalArgumentException("illegal pointcut expression : " + expression);
+			}
+			return new Pointcut(expression, annotationName, Collections.emptyList());
+		}
+
+		List<Integer> tokens = new ArrayList<>(expression.length());
+		for (int i = 0; i < expression.length(); i++) {
+			char c = expression.charAt(i);
+			if (c == '*') {
+				// 連続する「*」は1つの「*」と同じ
+				if (tokens.isEmpty() || tokens.get(tokens.size() - 1) != STAR) tokens.add(STAR);
+			} else if (c == '.' && i + 1 < expression.length() && expression.charAt(i + 1) == '.') {
+				tokens.add(DOTDOT);
+				i++;
+			} else {
+				tokens.add((int) c);
+			}
+		}
+		return new Pointcut(expression, null, List.copyOf(tokens));
+	}
+
+	/**
+	 * <p>アノテーションの式判定</p>
+	 *
+	 * @return boolean
+	 *         true  : アノテーションの式
+	 *         false : 名前の式
+	 */
+	public boolean isAnnotation() {
+		return annotationName != null;
+	}
+
+	public String getExpression() {
+		return expression;
+	}
+
+	public String getAnnotationName() {
+		return annotationName;
+	}
+
+	/**
+	 * <p>名前の式の要素取得</p>
+	 *
+	 * @return 要素（文字・STAR・DOTDOT）
+	 */
+	List<Integer> getTokens() {
+		return tokens;
+	}
+
+}
@@ -0,0 +1,229 @@
+package net.skuratani.simplecontroller4j.aspect;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>ポイントカットマッチャー</p>
+ * <pre>
+ * 全アドバイスのポイントカットをまとめて、実行メソッドに一致するアドバイスを1度の走査で判定する。
+ *     1. 名前の式 : 全ての式から1つの非決定性オートマトンを構築し、
+ *                   「実行クラスの完全修飾名.実行メソッド名」を1文字ずつ走査する。
+ *                   走査で生成した決定性オートマトンの状態はキャッシュし、以降の判定で再利用する。
+ *     2. アノテーションの式 : アノテーションの完全修飾名毎のアドバイス表を、実行メソッドのアノテーションで参照する。
+ * 判定コストはアドバイス数ではなく名前の長さに比例する為、アドバイスが増えても判定は高速に保たれる。
+ * 判定は同期化されている為、起動後にルーティングを登録する場合も複数スレッドから使用できる。
+ * </pre>
+ */
+public final class PointcutMatcher {
+
+	/** 状態の種類：1文字一致 */
+	private static final int CHAR = 0;
+
+	/** 状態の種類：任意の1文字 */
+	private static final int ANY = 1;
+
+	/** 状態の種類：分岐（文字を消費しない） */
+	private static final int SPLIT = 2;
+
+	/** 状態の種類：受理（アドバイスの番号） */
+	private static final int ACCEPT = 3;
+
+	/** 状態の種類 */
+	private int[] types = new int[64];
+
+	/** 状態の値（CHAR：文字、ACCEPT：アドバイスの番号） */
+	private int[] values = new int[64];
+
+	/** 状態の遷移先 */
+	private int[] nexts = new int[64];
+
+	/** 状態の遷移先（SPLITの2つ目） */
+	private int[] alternates = new int[64];
+
+	/** 状態数 */
+	private int size;
+
+	/** 決定性オートマトンの状態（非決定性オートマトンの状態集合毎） */
+	private final Map<BitSet, State> states = new HashMap<>();
+
+	/** 決定性オートマトンの初期状態 */
+	private final State start;
+
+	/** アノテーションの完全修飾名毎のアドバイスの番号 */
+	private final Map<String, BitSet> annotationIndex = new HashMap<>();
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param pointcuts アドバイス毎のポイントカット（リストの位置がアドバイスの番号）
+	 */
+	public PointcutMatcher(List<Pointcut[]> pointcuts) {
+		BitSet initial = new BitSet();
+		for (int id = 0; id < pointcuts.size(); id++) {
+			for (Pointcut pointcut : pointcuts.get(id)) {
+				if (pointcut.isAnnotation()) {
+					annotationIndex.computeIfAbsent(pointcut.getAnnotationName(), k -> new BitSet()).set(id);
+				} else {
+					closure(compile(pointcut.getTokens(), id), initial);
+				}
+			}
+		}
+		start = stateOf(initial);
+	}
+
+	/**
+	 * <p>一致判定</p>
+	 *
+	 * @param  signature 実行クラスの完全修飾名 + "." + 実行メソッド名
+	 * @param  method    実行メソッド（アノテーションの式を判定しない場合はnull）
+	 * @return 一致したアドバイスの番号
+	 */
+	public synchronized BitSet match(String signature, Method method) {
+		State state = start;
+		for (int i = 0; i < signature.length() && !state.dead; i++) {
+			state = state.next(signature.charAt(i));
+		}
+		BitSet matched = (BitSet) state.accepts.clone();
+
+		if (method != null && !annotationIndex.isEmpty()) {
+			for (Annotation annotation : method.getDeclaredAnnotations()) {
+				BitSet ids = annotationIndex.get(annotation.annotationType().getName());
+				if (ids != null) matched.or(ids);
+			}
+		}
+		return matched;
+	}
+
+	/**
+	 * <p>名前の式の状態生成</p>
+	 * <pre>
+	 * 式の末尾から状態を生成し、式の先頭の状態を返却する。
+	 *     文字 : CHAR
+	 *     *    : SPLIT(ANY → SPLIT, 次の要素)
+	 *     ..   : CHAR('.') → SPLIT(次の要素, SPLIT(ANY → SPLIT, CHAR('.') → 次の要素))
+	 * </pre>
+	 *
+	 * @param  tokens 名前の式の要素
+	 * @param  id     アドバイスの番号
+	 * @return 先頭の状態
+	 */
+	private int compile(List<Integer> tokens, int id) {
+		int next = node(ACCEPT, id, -1, -1);
+		for (int i = tokens.size() - 1; i >= 0; i--) {
+			int token = tokens.get(i);
+			if (token == Pointcut.STAR) {
+				next = loop(next);
+			} else if (token == Pointcut.DOTDOT) {
+				int segments = loop(node(CHAR, '.', next, -1));
+				next = node(CHAR, '.', node(SPLIT, 0, next, segments), -1);
+			} else {
+				next = node(CHAR, token, next, -1);
+			}
+		}
+		return next;
+	}
+
+	/**
+	 * <p>任意の文字列の状態生成</p>
+	 *
+	 * @param  next 任意の文字列の後の状態
+	 * @return SPLIT(ANY → SPLIT, next)
+	 */
+	private int loop(int next) {
+		int split = node(SPLIT, 0, -1, next);
+		int any = node(ANY, 0, split, -1);
+		nexts[split] = any;
+		return split;
+	}
+
+	/**
+	 * <p>状態追加</p>
+	 */
+	private int node(int type, int value, int next, int alternate) {
+		if (size == types.length) {
+			types = Arrays.copyOf(types, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+			nexts = Arrays.copyOf(nexts, size * 2);
+			alternates = Arrays.copyOf(alternates, size * 2);
+		}
+		types[size] = type;
+		values[size] = value;
+		nexts[size] = next;
+		alternates[size] = alternate;
+		return size++;
+	}
+
+	/**
+	 * <p>分岐を展開した状態集合への追加</p>
+	 */
+	private void closure(int node, BitSet set) {
+		while (types[node] == SPLIT) {
+			closure(nexts[node], set);
+			node = alternates[node];
+		}
+		set.set(node);
+	}
+
+	/**
+	 * <p>決定性オートマトンの状態取得</p>
+	 *
+	 * @param  set 非決定性オートマトンの状態集合
+	 * @return 決定性オートマトンの状態
+	 */
+	private State stateOf(BitSet set) {
+		State state = states.get(set);
+		if (state == null) {
+			state = new State(set);
+			states.put(set, state);
+		}
+		return state;
+	}
+
+	/**
+	 * <p>決定性オートマトンの状態</p>
+	 */
+	private final class State {
+
+		/** 非決定性オートマトンの状態集合 */
+		private final BitSet nodes;
+
+		/** 受理するアドバイスの番号 */
+		private final BitSet accepts = new BitSet();
+
+		/** 一致する状態が存在しない */
+		private final boolean dead;
+
+		/** 文字毎の遷移先 */
+		private final Map<Character, State> transitions = new HashMap<>();
+
+		State(BitSet nodes) {
+			this.nodes = nodes;
+			for (int node = nodes.nextSetBit(0); node >= 0; node = nodes.nextSetBit(node + 1)) {
+				if (types[node] == ACCEPT) accepts.set(values[node]);
+			}
+			this.dead = nodes.isEmpty();
+		}
+
+		State next(char c) {
+			State state = transitions.get(c);
+			if (state == null) {
+				BitSet set = new BitSet();
+				for (int node = nodes.nextSetBit(0); node >= 0; node = nodes.nextSetBit(node + 1)) {
+					if (types[node] == ANY || (types[node] == CHAR && values[node] == c)) {
+						closure(nexts[node], set);
+					}
+				}
+				state = stateOf(set);
+				transitions.put(c, state);
+			}
+			return state;
+		}
+	}
+
+}
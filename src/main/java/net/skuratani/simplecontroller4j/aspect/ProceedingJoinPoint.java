@@ -0,0 +1,145 @@
+package net.skuratani.simplecontroller4j.aspect;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
+
+/**
+ * <p>実行中のジョインポイント</p>
+ * <pre>
+ * [at]Aroundのアスペクトメソッドの引数に指定すると、proceedで後続の処理を1度だけ実行できる。
+ * 後続の処理は、次の[at]Aroundのアスペクトメソッド（最後の場合は[at]Before・実行メソッド・[at]AfterReturning
+ * ・[at]AfterThrowing・[at]After）で、起動時に構築したアスペクトチェーンの順に実行される。
+ *     (ex.)[at]Around(execution = "*.getUser")
+ *          public Object time(ProceedingJoinPoint joinPoint) throws Exception {
+ *              long start = System.nanoTime();
+ *              try {
+ *                  return joinPoint.proceed();
+ *              } finally {
+ *                  log(System.nanoTime() - start);
+ *              }
+ *          }
+ * アスペクトメソッドの戻り値は実行メソッドの戻り値（レスポンス文字列）として扱われる。
+ * 戻り値がvoidの場合はproceedの戻り値（proceedを実行していない場合はnull）が使用される。
+ * proceedを実行せずに戻り値を返却すると、実行メソッドを実行せずにレスポンスを返却できる。
+ * ProceedingJoinPointを引数に指定しない[at]Aroundのアスペクトメソッドは、従来通り後続の処理の前後に2回実行される。
+ * </pre>
+ */
+public final class ProceedingJoinPoint {
+
+	/**
+	 * <p>後続の処理</p>
+	 */
+	@FunctionalInterface
+	public interface Invocation {
+
+		/**
+		 * <p>後続の処理実行</p>
+		 *
+		 * @return 実行メソッドの戻り値
+		 * @throws Exception 後続の処理がスローした例外
+		 */
+		Object proceed() throws Exception;
+	}
+
+	/** HTTPサーブレットリクエスト */
+	private final HttpServletRequest request;
+
+	/** HTTPサーブレットレスポンス */
+	private final HttpServletResponse response;
+
+	/** リクエストマッピング情報 */
+	private final RequestMapping requestMapping;
+
+	/** 実行メソッドの引数値配列 */
+	private final Object[] args;
+
+	/** 後続の処理 */
+	private final Invocation invocation;
+
+	/** proceed実行済み */
+	private boolean proceeded;
+
+	/** proceedの戻り値 */
+	private Object result;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param request        HTTPサーブレットリクエスト
+	 * @param response       HTTPサーブレットレスポンス
+	 * @param requestMapping リクエストマッピング情報
+	 * @param args           実行メソッドの引数値配列
+	 * @param invocation     後続の処理
+	 */
+	public ProceedingJoinPoint(HttpServletRequest request, HttpServletResponse response,
+							   RequestMapping requestMapping, Object[] args, Invocation invocation) {
+		this.request = request;
+		this.response = response;
+		this.requestMapping = requestMapping;
+		this.args = args;
+		this.invocation = invocation;
+	}
+
+	/**
+	 * <p>後続の処理実行</p>
+	 *
+	 * @return 実行メソッドの戻り値
+	 * @throws IllegalStateException 既にproceedを実行している場合
+	 * @throws Exception 後続の処理（アスペクトメソッド・実行メソッド）がスローした例外
+	 */
+	public Object proceed() throws Exception {
+		if (proceeded) {
+			throw new IllegalStateException("proceed() has already been called");
+		}
+		proceeded = true;
+		result = invocation.proceed();
+		return result;
+	}
+
+	/**
+	 * <p>proceed実行判定</p>
+	 *
+	 * @return boolean
+	 *         true  : proceedを実行した
+	 *         false : proceedを実行していない
+	 */
+	public boolean isProceeded() {
+		return proceeded;
+	}
+
+	/**
+	 * <p>proceedの戻り値取得</p>
+	 *
+	 * @return proceedの戻り値（proceedを実行していない場合はnull）
+	 */
+	public Object getResult() {
+		return result;
+	}
+
+	public HttpServletRequest getRequest() {
+		return request;
+	}
+
+	public HttpServletResponse getResponse() {
+		return response;
+	}
+
+	public RequestMapping getRequestMapping() {
+		return requestMapping;
+	}
+
+	/**
+	 * <p>実行メソッドの引数値配列取得</p>
+	 * <pre>
+	 * 配列の要素を変更すると、実行メソッドには変更後の値が渡される。
+	 * </pre>
+	 *
+	 * @return 実行メソッドの引数値配列（実行メソッドの引数の位置順）
+	 */
+	public Object[] getArgs() {
+		return args;
+	}
+
+}
@@ -0,0 +1,134 @@
+package net.skuratani.simplecontroller4j.aspect;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
+
+/**
+ * <p>リクエストスナップショット</p>
+ * <pre>
+ * 非同期（async = true）の[at]After・[at]AfterReturningのアスペクトメソッドに渡す、リクエストの処理結果の複製。
+ * HTTPサーブレットリクエスト・レスポンスはリクエストの処理完了後にコンテナで再利用される為、
+ * 非同期のアスペクトメソッドには、レスポンス出力後に以下の値を複製したスナップショットを渡す。
+ *     1. HTTPメソッド・リクエストURI・クエリストリング・リモートアドレス・リモートユーザー
+ *     2. リクエストパラメータ
+ *     3. レスポンスのステータスコード
+ *     4. リクエストマッピング情報・実行メソッドの戻り値
+ *     5. レスポンス出力完了時刻（エポックミリ秒）
+ * </pre>
+ */
+public final class RequestSnapshot {
+
+	/** HTTPメソッド */
+	private final String method;
+
+	/** リクエストURI */
+	private final String requestUri;
+
+	/** クエリストリング */
+	private final String queryString;
+
+	/** リモートアドレス */
+	private final String remoteAddr;
+
+	/** リモートユーザー */
+	private final String remoteUser;
+
+	/** リクエストパラメータ */
+	private final Map<String, String[]> parameters;
+
+	/** ステータスコード */
+	private final int status;
+
+	/** リクエストマッピング情報 */
+	private final RequestMapping requestMapping;
+
+	/** 実行メソッドの戻り値 */
+	private final Object result;
+
+	/** レスポンス出力完了時刻 */
+	private final long completedAt;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param request        HTTPサーブレットリクエスト
+	 * @param response       HTTPサーブレットレスポンス
+	 * @param requestMapping リクエストマッピング情報
+	 * @param result         実行メソッドの戻り値
+	 */
+	public RequestSnapshot(HttpServletRequest request, HttpServletResponse response,
+						   RequestMapping requestMapping, Object result) {
+		this.method = request.getMethod();
+		this.requestUri = request.getRequestURI();
+		this.queryString = request.getQueryString();
+		this.remoteAddr = request.getRemoteAddr();
+		this.remoteUser = request.getRemoteUser();
+		Map<String, String[]> parameters = new LinkedHashMap<>();
+		for (Map.Entry<String, String[]> entry : request.getParameterMap().entrySet()) {
+			parameters.put(entry.getKey(), entry.getValue().clone());
+		}
+		this.parameters = Collections.unmodifiableMap(parameters);
+		this.status = response.getStatus();
+		this.requestMapping = requestMapping;
+		this.result = result;
+		this.completedAt = System.currentTimeMillis();
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public String getRequestUri() {
+		return requestUri;
+	}
+
+	public String getQueryString() {
+		return queryString;
+	}
+
+	public String getRemoteAddr() {
+		return remoteAddr;
+	}
+
+	public String getRemoteUser() {
+		return remoteUser;
+	}
+
+	/**
+	 * <p>リクエストパラメータ取得</p>
+	 *
+	 * @param  name パラメータ名
+	 * @return パラメータ値（存在しない場合はnull）
+	 */
+	public String getParameter(String name) {
+		String[] values = parameters.get(name);
+		return values == null || values.length == 0 ? null : values[0];
+	}
+
+	public Map<String, String[]> getParameterMap() {
+		return parameters;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public RequestMapping getRequestMapping() {
+		return requestMapping;
+	}
+
+	public Object getResult() {
+		return result;
+	}
+
+	public long getCompletedAt() {
+		return completedAt;
+	}
+
+}
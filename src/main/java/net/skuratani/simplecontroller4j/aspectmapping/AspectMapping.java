@@ -1,8 +1,16 @@
 package net.skuratani.simplecontroller4j.aspectmapping;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
 
 import net.skuratani.simplecontroller4j.annotation.JoinPoint;
+import net.skuratani.simplecontroller4j.aspect.ProceedingJoinPoint;
+import net.skuratani.simplecontroller4j.aspect.RequestSnapshot;
+import net.skuratani.simplecontroller4j.execute.MethodInvoker;
 
 /**
  * <p>アスペクトマッピング情報クラス</p>
@@ -11,6 +19,9 @@ import net.skuratani.simplecontroller4j.annotation.JoinPoint;
  *     1. 実行クラス
  *     2. 実行メソッド
  *     3. ジョインポイント(BEFORE・AFTER・AROUND・AFTER_RETURNING・AFTER_THROWING)
+ *     4. 実行メソッドの実行オブジェクト（MethodHandle）
+ *     5. 実行メソッドの引数の型（ServletRequest・ServletResponse・ProceedingJoinPoint・RequestSnapshotの引数のみ、引数の位置順）
+ *     6. 非同期実行（[at]After・[at]AfterReturningのasync）
  * </pre>
  *
  * @author  Shigeru Kuratani
@@ -27,6 +38,18 @@ public class AspectMapping {
 	/** ジョインポイント */
 	private JoinPoint joinPoint;
 
+	/** 実行メソッドの実行オブジェクト */
+	private MethodInvoker invoker;
+
+	/** 実行メソッドの引数の型 */
+	private Class<?>[] argumentTypes;
+
+	/** ProceedingJoinPointの引数を持つか */
+	private boolean proceeding;
+
+	/** 非同期実行 */
+	private boolean async;
+
 	public Class<?> getAspectClass() {
 		return aspectClass;
 	}
@@ -41,6 +64,13 @@ public class AspectMapping {
 
 	public void setAspectMethod(Method aspectMethod) {
 		this.aspectMethod = aspectMethod;
+		this.invoker = MethodInvoker.forMethod(aspectMethod);
+		this.argumentTypes = Arrays.stream(aspectMethod.getParameters())
+				.map(Parameter::getType)
+				.filter(type -> type == ServletRequest.class || type == ServletResponse.class
+							 || type == ProceedingJoinPoint.class || type == RequestSnapshot.class)
+				.toArray(Class<?>[]::new);
+		this.proceeding = Arrays.asList(argumentTypes).contains(ProceedingJoinPoint.class);
 	}
 
 	public JoinPoint getJoinPoint() {
@@ -51,4 +81,24 @@ public class AspectMapping {
 		this.joinPoint = joinPoint;
 	}
 
+	public MethodInvoker getInvoker() {
+		return invoker;
+	}
+
+	public Class<?>[] getArgumentTypes() {
+		return argumentTypes;
+	}
+
+	public boolean isProceeding() {
+		return proceeding;
+	}
+
+	public boolean isAsync() {
+		return async;
+	}
+
+	public void setAsync(boolean async) {
+		this.async = async;
+	}
+
 }
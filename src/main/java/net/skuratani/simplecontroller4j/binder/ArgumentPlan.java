@@ -0,0 +1,330 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import net.skuratani.simplecontroller4j.annotation.PathVariable;
+import net.skuratani.simplecontroller4j.annotation.RequestBody;
+import net.skuratani.simplecontroller4j.annotation.RequestParam;
+import net.skuratani.simplecontroller4j.converter.Converter;
+import net.skuratani.simplecontroller4j.converter.ConverterRegistry;
+import net.skuratani.simplecontroller4j.json.JsonBinder;
+import net.skuratani.simplecontroller4j.multipart.MultipartForm;
+import net.skuratani.simplecontroller4j.multipart.MultipartReader;
+import net.skuratani.simplecontroller4j.multipart.UploadedFile;
+import net.skuratani.simplecontroller4j.routing.PathTemplate;
+
+/**
+ * <p>引数解決プラン</p>
+ * <pre>
+ * 実行メソッドの引数の位置毎に、引数値を取得する引数リゾルバを起動時に1度だけ決定したもの。
+ * リクエスト時は引数の位置順に引数リゾルバを実行し、引数値の配列を直接生成する。
+ *     1. [at]PathVariable("XXX")  : パスバインド値のN番目（Nはパステンプレートから決定）
+ *     2. [at]RequestParam("XXX")  : リクエストパラメータ「XXX」を引数の型に変換した値
+ *                                   （multipart/form-dataの場合はフォーム項目、またはUploadedFile型の引数にはファイルパート）
+ *                                   数値配列型の引数はPrimitiveArrayParserでバイト列から直接変換する
+ *     3. [at]RequestBody          : リクエストボディー（String・byte[]・ByteBuffer・InputStream・ReadableByteChannel・MultipartReader）、
+ *                                   JSONをバインドした値（Content-Typeがapplication/jsonの場合）
+ *                                   またはパラメータ格納インスタンス
+ *     4. ServletContext           : サーブレットコンテキスト
+ *     5. HttpServletRequest       : HTTPサーブレットリクエスト（フォームの場合はパラメータソースを参照するラッパー）
+ *        ServletRequest
+ *     6. HttpServletResponse      : HTTPサーブレットレスポンス
+ *        ServletResponse
+ * 4～6は引数の型が完全に一致する場合のみ（Object等のスーパータイプの引数には設定しない）。
+ * 型変換は型変換レジストリ（ConverterRegistry）から引数毎に1度だけ決定する。
+ * 上記に該当しない引数、または値が存在しない引数はnullとなる。
+ * </pre>
+ */
+public class ArgumentPlan {
+
+	/** 引数が存在しない場合のリゾルバ */
+	private static final ArgumentResolver NULL_RESOLVER = bindingContext -> null;
+
+	/** 引数なしの引数値配列 */
+	private static final Object[] NO_ARGUMENTS = new Object[0];
+
+	/** 区切り文字を指定した配列型の引数の既定の最大要素数 */
+	public static final int DEFAULT_MAX_LENGTH = 10000;
+
+	/** 引数の位置毎の引数リゾルバ */
+	private final ArgumentResolver[] resolvers;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param resolvers 引数の位置毎の引数リゾルバ
+	 */
+	protected ArgumentPlan(ArgumentResolver[] resolvers) {
+		this.resolvers = resolvers;
+	}
+
+	/**
+	 * <p>引数解決プラン生成</p>
+	 *
+	 * @param  method       実行メソッド
+	 * @param  pathTemplate 実行メソッドのパステンプレート
+	 * @return 引数解決プラン
+	 */
+	public static ArgumentPlan compile(Method method, PathTemplate pathTemplate) {
+		return compile(method, pathTemplate, ConverterRegistry.getDefault());
+	}
+
+	/**
+	 * <p>引数解決プラン生成</p>
+	 *
+	 * @param  method       実行メソッド
+	 * @param  pathTemplate 実行メソッドのパステンプレート
+	 * @param  registry     型変換レジストリ
+	 * @return 引数解決プラン
+	 */
+	public static ArgumentPlan compile(Method method, PathTemplate pathTemplate, ConverterRegistry registry) {
+		Parameter[] parameters = method.getParameters();
+		ArgumentResolver[] resolvers = new ArgumentResolver[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			resolvers[i] = resolverOf(parameters[i], pathTemplate, registry);
+		}
+		return new ArgumentPlan(resolvers);
+	}
+
+	/**
+	 * <p>引数値配列生成</p>
+	 *
+	 * @param  bindingContext バインディングコンテキスト
+	 * @return 引数値配列（実行メソッドの引数の位置順）
+	 * @throws IOException                  リクエストボディーから値の取得に失敗した場合
+	 * @throws ReflectiveOperationException パラメータ格納インスタンスの生成・セッターの実行に失敗した場合
+	 */
+	public Object[] resolve(BindingContext bindingContext)
+		throws IOException, ReflectiveOperationException {
+
+		if (resolvers.length == 0) return NO_ARGUMENTS;
+		Object[] args = new Object[resolvers.length];
+		for (int i = 0; i < resolvers.length; i++) {
+			args[i] = resolvers[i].resolve(bindingContext);
+		}
+		return args;
+	}
+
+	/**
+	 * <p>引数の数取得</p>
+	 *
+	 * @return 引数の数
+	 */
+	public int size() {
+		return resolvers.length;
+	}
+
+	/**
+	 * <p>引数リゾルバ決定</p>
+	 *
+	 * @param  parameter    実行メソッド引数
+	 * @param  pathTemplate 実行メソッドのパステンプレート
+	 * @param  registry     型変換レジストリ
+	 * @return 引数リゾルバ
+	 */
+	protected static ArgumentResolver resolverOf(Parameter parameter, PathTemplate pathTemplate,
+												 ConverterRegistry registry) {
+
+		Class<?> type = parameter.getType();
+
+		// パスパラメータ
+		PathVariable pathVariable = parameter.getDeclaredAnnotation(PathVariable.class);
+		if (pathVariable != null) {
+			int index = pathTemplate.indexOf(pathVariable.value());
+			if (index < 0) return NULL_RESOLVER;
+			Converter<?> converter = registry.find(type);
+			if (converter == null || wrap(type).isAssignableFrom(pathTemplate.getValueType(index))) {
+				return bindingContext -> bindingContext.getPathValue(index);
+			}
+			// パステンプレートの型と引数の型が異なる場合は文字列値から変換する
+			return bindingContext -> converter.convert(String.valueOf(bindingContext.getPathValue(index)));
+		}
+
+		// リクエストパラメータ
+		RequestParam requestParam = parameter.getDeclaredAnnotation(RequestParam.class);
+		if (requestParam != null) {
+			String name = requestParam.value();
+			if (type == UploadedFile.class || type == UploadedFile[].class) {
+				boolean multiple = type.isArray();
+				return bindingContext -> {
+					MultipartForm form = bindingContext.getMultipartForm();
+					if (form == null) return null;
+					return multiple ? form.getFiles(name) : form.getFile(name);
+				};
+			}
+			int delimiter = delimiterOf(requestParam);
+			int maxLength = maxLengthOf(requestParam, delimiter);
+			if (PrimitiveArrayParser.supports(type)) {
+				PrimitiveArrayParser parser = new PrimitiveArrayParser(name, type.getComponentType(), delimiter, maxLength);
+				return parser::parse;
+			}
+			Function<String[], Object> converter = valuesConverterOf(type, registry);
+			if (!type.isArray()) {
+				return bindingContext -> {
+					String[] values = bindingContext.getParameterValues(name);
+					return values == null || values.length == 0 ? null : converter.apply(values);
+				};
+			}
+			return bindingContext -> {
+				String[] values = bindingContext.getParameterValues(name);
+				if (values == null || values.length == 0) return null;
+				if (delimiter >= 0) values = split(values, (char) delimiter);
+				if (maxLength >= 0 && values.length > maxLength) {
+					throw new IllegalArgumentException(name + " : more than " + maxLength + " values");
+				}
+				return converter.apply(values);
+			};
+		}
+
+		// リクエストボディー
+		RequestBody requestBody = parameter.getDeclaredAnnotation(RequestBody.class);
+		if (requestBody != null) {
+			long maxSize = requestBody.maxSize();
+			if (type == String.class) {
+				return bindingContext -> bindingContext.getBodyReader().readString(bindingContext.getRequest(), maxSize);
+			}
+			if (type == byte[].class) {
+				return bindingContext -> bindingContext.getBodyReader().readBytes(bindingContext.getRequest(), maxSize);
+			}
+			if (type == ByteBuffer.class) {
+				return bindingContext -> bindingContext.getBodyReader().readBuffer(bindingContext, maxSize);
+			}
+			if (type == InputStream.class) {
+				return bindingContext -> bindingContext.getBodyReader().openStream(bindingContext.getRequest(), maxSize);
+			}
+			if (type == ReadableByteChannel.class) {
+				return bindingContext -> bindingContext.getBodyReader().openChannel(bindingContext.getRequest(), maxSize);
+			}
+			if (type == MultipartReader.class) {
+				return bindingContext -> bindingContext.getBodyReader().openMultipart(bindingContext.getRequest(), maxSize);
+			}
+			Type genericType = parameter.getParameterizedType();
+			JsonBinder jsonBinder = registry == ConverterRegistry.getDefault() ? JsonBinder.getDefault() : new JsonBinder(registry);
+			BeanBinding beanBinding = DataBinder.isBeanType(type, registry) ? BeanBinding.of(type, registry) : null;
+			return bindingContext -> {
+				HttpServletRequest request = bindingContext.getRequest();
+				// JSONの場合はリクエストボディーを読み込みながら直接バインドする
+				if (DataBinder.isJson(request)) {
+					return jsonBinder.read(bindingContext.getBodyReader().openStream(request, maxSize), genericType);
+				}
+				return beanBinding == null ? null : beanBinding.bind(bindingContext.getParameterMap());
+			};
+		}
+
+		// サーブレットコンテキスト・HTTPサーブレットリクエスト・HTTPサーブレットレスポンス（型の完全一致）
+		if (type == ServletContext.class) {
+			return BindingContext::getContext;
+		}
+		if (type == HttpServletRequest.class || type == ServletRequest.class) {
+			return bindingContext -> bindingContext.getParameterSource().getRequest();
+		}
+		if (type == HttpServletResponse.class || type == ServletResponse.class) {
+			return BindingContext::getResponse;
+		}
+
+		return NULL_RESOLVER;
+	}
+
+	/**
+	 * <p>パラメータ値型変換関数決定</p>
+	 * <pre>
+	 * 配列型の引数は全パラメータ値、それ以外の引数は先頭のパラメータ値を変換する。
+	 * 変換できない型の場合は、先頭のパラメータ値（配列型の場合はパラメータ値の配列）をそのまま使用する。
+	 * </pre>
+	 *
+	 * @param  type     引数の型
+	 * @param  registry 型変換レジストリ
+	 * @return 型変換関数
+	 */
+	protected static Function<String[], Object> valuesConverterOf(Class<?> type, ConverterRegistry registry) {
+		if (type.isArray()) {
+			Function<String[], Object> converter = registry.arrayConverter(type.getComponentType());
+			return converter != null ? converter : values -> values.clone();
+		}
+		Converter<?> converter = registry.find(type);
+		if (converter == null) return values -> values[0];
+		return values -> converter.convert(values[0]);
+	}
+
+	/**
+	 * <p>区切り文字取得</p>
+	 *
+	 * @param  requestParam [at]RequestParam
+	 * @return 区切り文字（splitを省略した場合は-1）
+	 * @throws IllegalArgumentException splitが1文字のASCII文字でない場合
+	 */
+	protected static int delimiterOf(RequestParam requestParam) {
+		String split = requestParam.split();
+		if (split.isEmpty()) return -1;
+		if (split.length() != 1 || split.charAt(0) >= 0x80) {
+			throw new IllegalArgumentException("@RequestParam(\"" + requestParam.value() + "\") split must be a single ASCII character : " + split);
+		}
+		return split.charAt(0);
+	}
+
+	/**
+	 * <p>最大要素数決定</p>
+	 * <pre>
+	 * maxLengthを省略（0）した場合、区切り文字を指定した引数は既定の最大要素数（10000）、
+	 * 指定しない引数は従来通り無制限とする。
+	 * </pre>
+	 *
+	 * @param  requestParam リクエストパラメータ アノテーション
+	 * @param  delimiter    区切り文字（分割しない場合は-1）
+	 * @return 最大要素数（負数の場合は無制限）
+	 */
+	protected static int maxLengthOf(RequestParam requestParam, int delimiter) {
+		int maxLength = requestParam.maxLength();
+		if (maxLength != 0) return maxLength;
+		return delimiter >= 0 ? DEFAULT_MAX_LENGTH : -1;
+	}
+
+	/**
+	 * <p>パラメータ値分割</p>
+	 *
+	 * @param  values    パラメータ値
+	 * @param  delimiter 区切り文字
+	 * @return 区切り文字で分割したパラメータ値（前後の空白を除く。空のパラメータ値は要素なし）
+	 */
+	protected static String[] split(String[] values, char delimiter) {
+		List<String> elements = new ArrayList<>(values.length);
+		for (String value : values) {
+			if (value.isBlank()) continue;
+			int start = 0;
+			for (int end = value.indexOf(delimiter); ; end = value.indexOf(delimiter, start)) {
+				elements.add(value.substring(start, end < 0 ? value.length() : end).trim());
+				if (end < 0) break;
+				start = end + 1;
+			}
+		}
+		return elements.toArray(new String[elements.size()]);
+	}
+
+	/**
+	 * <p>プリミティブ型のラッパー型取得</p>
+	 *
+	 * @param  type 型
+	 * @return ラッパー型（プリミティブ型でない場合は引数の型）
+	 */
+	protected static Class<?> wrap(Class<?> type) {
+		if (!type.isPrimitive()) return type;
+		return MethodType.methodType(type).wrap().returnType();
+	}
+
+}
@@ -0,0 +1,27 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import java.io.IOException;
+
+/**
+ * <p>引数リゾルバ</p>
+ * <pre>
+ * 実行メソッドの1つの引数について、リクエスト時に引数値を取得する。
+ * 引数の種類（パスパラメータ・リクエストパラメータ・リクエストボディーなど）と型変換は
+ * 起動時に解決済みであり、リクエスト時は値の取得のみを行う。
+ * </pre>
+ */
+@FunctionalInterface
+public interface ArgumentResolver {
+
+	/**
+	 * <p>引数値取得</p>
+	 *
+	 * @param  bindingContext バインディングコンテキスト
+	 * @return 引数値
+	 * @throws IOException                  リクエストボディーから値の取得に失敗した場合
+	 * @throws ReflectiveOperationException パラメータ格納インスタンスの生成・セッターの実行に失敗した場合
+	 */
+	Object resolve(BindingContext bindingContext)
+		throws IOException, ReflectiveOperationException;
+
+}
@@ -0,0 +1,321 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.skuratani.simplecontroller4j.converter.Converter;
+import net.skuratani.simplecontroller4j.converter.ConverterRegistry;
+
+/**
+ * <p>パラメータ格納クラスのバインド情報</p>
+ * <pre>
+ * [at]RequestBodyのパラメータ格納クラス毎に1度だけ生成し、以下の情報を保持する。
+ *     1. 引数なしのコンストラクタ（MethodHandle）
+ *     2. フィールド名毎のプロパティ（型・型変換・セッター（MethodHandle））
+ * セッターはフィールド名から「set + フィールド名（先頭大文字）」のpublicメソッドを探索し、
+ * 存在しない場合はpublicフィールドに直接設定する。いずれも存在しないフィールドはバインドしない。
+ * 親クラス（Objectを除く）で宣言されたフィールドも対象とする。
+ * レコードクラスの場合は、コンポーネント毎のプロパティと正規コンストラクタを保持し、
+ * 全コンポーネントの値を揃えてから正規コンストラクタでインスタンスを生成する。
+ * バインドはリクエストパラメータを1度だけ走査し、パラメータ名からプロパティを探索して値を設定する。
+ * </pre>
+ */
+public class BeanBinding {
+
+	/** 既定の型変換レジストリを使用するバインド情報 */
+	private static final ClassValue<BeanBinding> BINDINGS = new ClassValue<>() {
+		@Override
+		protected BeanBinding computeValue(Class<?> type) {
+			return new BeanBinding(type, ConverterRegistry.getDefault());
+		}
+	};
+
+	/** セッターの型 */
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	/** パラメータ格納クラス */
+	private final Class<?> type;
+
+	/** 引数なしのコンストラクタ・レコードの正規コンストラクタ（存在しない場合はnull） */
+	private final MethodHandle constructor;
+
+	/** フィールド名（コンポーネント名）毎のプロパティ */
+	private final Map<String, Property> properties = new HashMap<>();
+
+	/** レコードコンポーネントのプロパティ（レコードクラスでない場合はnull） */
+	private final Property[] components;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param type     パラメータ格納クラス
+	 * @param registry 型変換レジストリ
+	 */
+	protected BeanBinding(Class<?> type, ConverterRegistry registry) {
+		this.type = type;
+		MethodHandles.Lookup lookup = lookupFor(type);
+
+		if (type.isRecord()) {
+			RecordComponent[] recordComponents = type.getRecordComponents();
+			Class<?>[] componentTypes = new Class<?>[recordComponents.length];
+			components = new Property[recordComponents.length];
+			for (int i = 0; i < recordComponents.length; i++) {
+				componentTypes[i] = recordComponents[i].getType();
+				components[i] = new Property(i, componentTypes[i], recordComponents[i].getGenericType(),
+											 registry.find(componentTypes[i]), null);
+				properties.put(recordComponents[i].getName(), components[i]);
+			}
+			constructor = findConstructor(lookup, type, componentTypes);
+			return;
+		}
+
+		components = null;
+		constructor = findConstructor(lookup, type);
+		for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+			for (Field field : clazz.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) || properties.containsKey(field.getName())) continue;
+				MethodHandle setter = findSetter(lookup, field);
+				if (setter == null) continue;
+				properties.put(field.getName(), new Property(-1, field.getType(), field.getGenericType(),
+															 registry.find(field.getType()), setter.asType(SETTER_TYPE)));
+			}
+		}
+	}
+
+	/**
+	 * <p>バインド情報取得</p>
+	 *
+	 * @param  type     パラメータ格納クラス
+	 * @param  registry 型変換レジストリ
+	 * @return バインド情報（既定の型変換レジストリの場合はクラス毎に共有される）
+	 */
+	public static BeanBinding of(Class<?> type, ConverterRegistry registry) {
+		if (registry == ConverterRegistry.getDefault()) {
+			return BINDINGS.get(type);
+		}
+		return new BeanBinding(type, registry);
+	}
+
+	/**
+	 * <p>パラメータ格納インスタンス生成</p>
+	 *
+	 * @param  paramMap リクエストパラメータ
+	 * @return パラメータ格納インスタンス
+	 * @throws NoSuchMethodException     コンストラクタが存在しない場合
+	 * @throws InvocationTargetException コンストラクタ・セッターがスローする例外をラップする例外
+	 */
+	public Object bind(Map<String, String[]> paramMap) throws NoSuchMethodException, InvocationTargetException {
+
+		Object target = newTarget();
+		for (Map.Entry<String, String[]> entry : paramMap.entrySet()) {
+			Property property = properties.get(entry.getKey());
+			String[] values = entry.getValue();
+			if (property == null || values == null || values.length == 0) continue;
+			set(target, property, property.converter == null ? values[0] : property.converter.convert(values[0]));
+		}
+		return complete(target);
+	}
+
+	/**
+	 * <p>バインド先生成</p>
+	 * <pre>
+	 * 通常のクラスの場合はインスタンスを、レコードクラスの場合はコンポーネント値の配列を生成する。
+	 * 値はsetで設定し、completeでパラメータ格納インスタンスを取得する。
+	 * </pre>
+	 *
+	 * @return バインド先
+	 * @throws NoSuchMethodException     コンストラクタが存在しない場合
+	 * @throws InvocationTargetException コンストラクタがスローする例外をラップする例外
+	 */
+	public Object newTarget() throws NoSuchMethodException, InvocationTargetException {
+		if (constructor == null) {
+			throw new NoSuchMethodException(type.getName() + ".<init>()");
+		}
+		if (components != null) {
+			return new Object[components.length];
+		}
+		try {
+			return (Object) constructor.invokeExact();
+		} catch (Throwable t) {
+			throw new InvocationTargetException(t);
+		}
+	}
+
+	/**
+	 * <p>プロパティ値設定</p>
+	 *
+	 * @param  target   バインド先（newTargetで生成したもの）
+	 * @param  property プロパティ
+	 * @param  value    値
+	 * @throws InvocationTargetException セッターがスローする例外をラップする例外
+	 */
+	public void set(Object target, Property property, Object value) throws InvocationTargetException {
+		if (property.index >= 0) {
+			((Object[]) target)[property.index] = value;
+			return;
+		}
+		if (value == null && property.rawType.isPrimitive()) return;
+		try {
+			property.setter.invokeExact(target, value);
+		} catch (Throwable t) {
+			throw new InvocationTargetException(t);
+		}
+	}
+
+	/**
+	 * <p>パラメータ格納インスタンス取得</p>
+	 *
+	 * @param  target バインド先（newTargetで生成したもの）
+	 * @return パラメータ格納インスタンス
+	 * @throws InvocationTargetException 正規コンストラクタがスローする例外をラップする例外
+	 */
+	public Object complete(Object target) throws InvocationTargetException {
+		if (components == null) return target;
+		Object[] values = (Object[]) target;
+		for (Property component : components) {
+			if (values[component.index] == null && component.rawType.isPrimitive()) {
+				values[component.index] = Array.get(Array.newInstance(component.rawType, 1), 0);
+			}
+		}
+		try {
+			if (values.length == 0) return (Object) constructor.invokeExact();
+			return (Object) constructor.invokeExact(values);
+		} catch (Throwable t) {
+			throw new InvocationTargetException(t);
+		}
+	}
+
+	/**
+	 * <p>プロパティ取得</p>
+	 *
+	 * @param  name フィールド名（コンポーネント名）
+	 * @return プロパティ（存在しない場合はnull）
+	 */
+	public Property getProperty(String name) {
+		return properties.get(name);
+	}
+
+	public Class<?> getType() {
+		return type;
+	}
+
+	/**
+	 * <p>ルックアップ取得</p>
+	 * <pre>
+	 * パラメータ格納クラスのモジュールが開かれている場合（クラスパス上のクラスなど）は、
+	 * publicでないクラス・コンストラクタにもアクセスできるルックアップを返却する。
+	 * </pre>
+	 *
+	 * @param  type パラメータ格納クラス
+	 * @return ルックアップ
+	 */
+	protected static MethodHandles.Lookup lookupFor(Class<?> type) {
+		try {
+			return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+		} catch (IllegalAccessException | IllegalArgumentException | SecurityException e) {
+			return MethodHandles.publicLookup();
+		}
+	}
+
+	/**
+	 * <p>コンストラクタ探索</p>
+	 *
+	 * @param  lookup         ルックアップ
+	 * @param  type           パラメータ格納クラス
+	 * @param  parameterTypes コンストラクタの引数の型
+	 * @return コンストラクタ（型：()Object、引数ありの場合は(Object[])Object。存在しない場合はnull）
+	 */
+	protected static MethodHandle findConstructor(MethodHandles.Lookup lookup, Class<?> type,
+												  Class<?>... parameterTypes) {
+		if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) return null;
+		try {
+			MethodHandle handle = lookup.findConstructor(type, MethodType.methodType(void.class, parameterTypes));
+			if (parameterTypes.length == 0) {
+				return handle.asType(MethodType.methodType(Object.class));
+			}
+			return handle.asSpreader(Object[].class, parameterTypes.length)
+						 .asType(MethodType.methodType(Object.class, Object[].class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * <p>セッター探索</p>
+	 *
+	 * @param  lookup ルックアップ
+	 * @param  field  フィールド
+	 * @return セッター（存在しない場合はnull）
+	 */
+	protected static MethodHandle findSetter(MethodHandles.Lookup lookup, Field field) {
+		String name = "set" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+		try {
+			Method method = field.getDeclaringClass().getMethod(name, field.getType());
+			if (!Modifier.isStatic(method.getModifiers())) {
+				return lookup.unreflect(method);
+			}
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			// セッターが存在しない場合はpublicフィールドを探索
+		}
+		if (Modifier.isPublic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
+			try {
+				return lookup.unreflectSetter(field);
+			} catch (IllegalAccessException e) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * <p>プロパティ</p>
+	 */
+	public static final class Property {
+
+		/** レコードコンポーネントの位置（レコードクラスでない場合は-1） */
+		private final int index;
+
+		/** 型 */
+		private final Class<?> rawType;
+
+		/** 型（型引数を含む） */
+		private final Type genericType;
+
+		/** 型変換（変換できない型の場合はnull） */
+		private final Converter<?> converter;
+
+		/** セッター（型：(Object, Object)void。レコードクラスの場合はnull） */
+		private final MethodHandle setter;
+
+		Property(int index, Class<?> rawType, Type genericType, Converter<?> converter, MethodHandle setter) {
+			this.index = index;
+			this.rawType = rawType;
+			this.genericType = genericType;
+			this.converter = converter;
+			this.setter = setter;
+		}
+
+		public Class<?> getRawType() {
+			return rawType;
+		}
+
+		public Type getGenericType() {
+			return genericType;
+		}
+
+		public Converter<?> getConverter() {
+			return converter;
+		}
+	}
+
+}
@@ -0,0 +1,242 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import net.skuratani.simplecontroller4j.multipart.MultipartForm;
+import net.skuratani.simplecontroller4j.routing.RouteMatch;
+
+/**
+ * <p>バインディングコンテキスト</p>
+ * <pre>
+ * 引数リゾルバが引数値を取得する為の、1リクエスト分のバインド元情報。
+ *     1. サーブレットコンテキスト
+ *     2. HTTPサーブレットリクエスト
+ *     3. HTTPサーブレットレスポンス
+ *     4. ルーティング探索結果（パスバインド値）
+ *     5. リクエストボディーリーダー
+ *     6. マルチパートフォーム（multipart/form-dataの場合、初回のパラメータ取得時に読み込む）
+ *     7. リクエストパラメータソース（クエリストリング・フォームの値を要求されたパラメータ名だけデコードする）
+ * インスタンスはスレッド毎に1つ保持して再利用する（acquire・release）。
+ * 使用中に同一スレッドで再度acquireされた場合（フォワード・インクルード先での
+ * ディスパッチなど）は、新たなインスタンスを生成して返却する。
+ * 引数値に使用したプールのダイレクトバッファ・アップロードファイルの一時ファイルはreleaseで返却・削除する為、
+ * releaseは実行メソッドの実行完了後に行うこと。
+ * </pre>
+ */
+public final class BindingContext {
+
+	/** スレッド毎のインスタンス */
+	private static final ThreadLocal<BindingContext> ARENA = ThreadLocal.withInitial(BindingContext::new);
+
+	/** サーブレットコンテキスト */
+	private ServletContext context;
+
+	/** HTTPサーブレットリクエスト */
+	private HttpServletRequest request;
+
+	/** HTTPサーブレットレスポンス */
+	private HttpServletResponse response;
+
+	/** ルーティング探索結果 */
+	private RouteMatch routeMatch;
+
+	/** リクエストボディーリーダー */
+	private RequestBodyReader bodyReader;
+
+	/** 引数値に使用したプールのダイレクトバッファ */
+	private final List<ByteBuffer> pooledBuffers = new ArrayList<>(1);
+
+	/** リクエストパラメータソース */
+	private final ParameterSource parameterSource = new ParameterSource();
+
+	/** マルチパートフォーム（multipart/form-dataでない場合・未読み込みの場合はnull） */
+	private MultipartForm multipartForm;
+
+	/** マルチパートフォームの読み込み判定済みフラグ */
+	private boolean multipartResolved;
+
+	/** 使用中フラグ */
+	private boolean inUse;
+
+	private BindingContext() {
+	}
+
+	/**
+	 * <p>バインディングコンテキスト取得</p>
+	 *
+	 * @param  context    サーブレットコンテキスト
+	 * @param  request    HTTPサーブレットリクエスト
+	 * @param  response   HTTPサーブレットレスポンス
+	 * @param  routeMatch ルーティング探索結果
+	 * @param  bodyReader リクエストボディーリーダー
+	 * @return バインディングコンテキスト（使用後はreleaseすること）
+	 */
+	public static BindingContext acquire(ServletContext context, HttpServletRequest request,
+										 HttpServletResponse response, RouteMatch routeMatch,
+										 RequestBodyReader bodyReader) {
+		BindingContext bindingContext = ARENA.get();
+		if (bindingContext.inUse) {
+			bindingContext = new BindingContext();
+		}
+		bindingContext.inUse = true;
+		bindingContext.context = context;
+		bindingContext.request = request;
+		bindingContext.response = response;
+		bindingContext.routeMatch = routeMatch;
+		bindingContext.bodyReader = bodyReader;
+		bindingContext.parameterSource.reset(request, bodyReader);
+		return bindingContext;
+	}
+
+	/**
+	 * <p>バインディングコンテキスト解放</p>
+	 * <pre>
+	 * 保持しているリクエスト情報の参照を破棄し、スレッドのインスタンスを再利用可能にする。
+	 * プールのダイレクトバッファはプールに返却する。
+	 * </pre>
+	 */
+	public void release() {
+		for (int i = 0; i < pooledBuffers.size(); i++) {
+			bodyReader.releaseBuffer(pooledBuffers.get(i));
+		}
+		pooledBuffers.clear();
+		if (multipartForm != null) {
+			multipartForm.delete();
+			multipartForm = null;
+		}
+		multipartResolved = false;
+		parameterSource.reset(null, null);
+		bodyReader = null;
+		context = null;
+		request = null;
+		response = null;
+		routeMatch = null;
+		inUse = false;
+	}
+
+	/**
+	 * <p>パスバインド値取得</p>
+	 *
+	 * @param  index バインド変数の位置
+	 * @return パスバインド値
+	 */
+	public Object getPathValue(int index) {
+		return routeMatch.getPathValues()[index];
+	}
+
+	/**
+	 * <p>マルチパートフォーム取得</p>
+	 *
+	 * @return マルチパートフォーム（multipart/form-dataでない場合はnull）
+	 * @throws IOException リクエストボディーの読み込みに失敗した場合・サイズ制限を超える場合
+	 */
+	public MultipartForm getMultipartForm() throws IOException {
+		if (!multipartResolved) {
+			multipartResolved = true;
+			multipartForm = bodyReader.readMultipart(request);
+		}
+		return multipartForm;
+	}
+
+	/**
+	 * <p>リクエストパラメータ値取得</p>
+	 *
+	 * @param  name パラメータ名
+	 * @return パラメータ値（multipart/form-dataの場合はフォーム項目の値、フォーム項目にない場合はクエリストリングの値。
+	 *         存在しない場合はnull）
+	 * @throws IOException リクエストボディーの読み込みに失敗した場合・サイズ制限を超える場合
+	 */
+	public String[] getParameterValues(String name) throws IOException {
+		MultipartForm form = getMultipartForm();
+		String[] values = form != null ? form.getValues(name) : null;
+		return values != null ? values : parameterSource.getValues(name);
+	}
+
+	/**
+	 * <p>リクエストパラメータ値走査</p>
+	 * <pre>
+	 * パラメータ値を文字列を生成せずにバイト列の範囲として処理する。
+	 * multipart/form-dataの場合はクエリストリングの値に続けて、フォーム項目の値を処理する。
+	 * </pre>
+	 *
+	 * @param  name    パラメータ名
+	 * @param  handler パラメータ値の処理
+	 * @throws IOException リクエストボディーの読み込みに失敗した場合・サイズ制限を超える場合
+	 */
+	public void forEachRawValue(String name, ParameterSource.RawValueHandler handler) throws IOException {
+		// multipart/form-dataの場合、パラメータソースはクエリストリングのみを処理する
+		parameterSource.forEachRawValue(name, handler);
+		MultipartForm form = getMultipartForm();
+		if (form == null) return;
+		String[] values = form.getValues(name);
+		if (values == null) return;
+		for (String value : values) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			handler.value(bytes, 0, bytes.length, false);
+		}
+	}
+
+	/**
+	 * <p>リクエストパラメータ取得</p>
+	 *
+	 * @return パラメータ名毎のパラメータ値（multipart/form-dataの場合はクエリストリングの値・フォーム項目の値の順に連結）
+	 * @throws IOException リクエストボディーの読み込みに失敗した場合・サイズ制限を超える場合
+	 */
+	public Map<String, String[]> getParameterMap() throws IOException {
+		MultipartForm form = getMultipartForm();
+		if (form == null) return parameterSource.getParameterMap();
+
+		Map<String, String[]> parameterMap = new LinkedHashMap<>(parameterSource.getParameterMap());
+		form.getParameterMap().forEach((name, values) -> parameterMap.merge(name, values, (query, field) -> {
+			String[] merged = Arrays.copyOf(query, query.length + field.length);
+			System.arraycopy(field, 0, merged, query.length, field.length);
+			return merged;
+		}));
+		return parameterMap;
+	}
+
+	/**
+	 * <p>プールのダイレクトバッファ登録</p>
+	 *
+	 * @param buffer 引数値に使用したプールのダイレクトバッファ
+	 */
+	void addPooledBuffer(ByteBuffer buffer) {
+		pooledBuffers.add(buffer);
+	}
+
+	public ServletContext getContext() {
+		return context;
+	}
+
+	public HttpServletRequest getRequest() {
+		return request;
+	}
+
+	public HttpServletResponse getResponse() {
+		return response;
+	}
+
+	public RouteMatch getRouteMatch() {
+		return routeMatch;
+	}
+
+	public ParameterSource getParameterSource() {
+		return parameterSource;
+	}
+
+	public RequestBodyReader getBodyReader() {
+		return bodyReader;
+	}
+
+}
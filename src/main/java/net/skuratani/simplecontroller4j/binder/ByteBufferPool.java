@@ -0,0 +1,67 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * <p>ダイレクトバッファプール</p>
+ * <pre>
+ * 同一容量のダイレクトバッファを最大数まで保持し、リクエスト間で再利用する。
+ * バッファは初回の取得時に生成し、プールが空の場合はnullを返却する（呼び出し側でヒープバッファを使用する）。
+ * </pre>
+ */
+public class ByteBufferPool {
+
+	/** 最大バッファ数 */
+	private final int poolSize;
+
+	/** バッファ容量（バイト） */
+	private final int bufferSize;
+
+	/** 未使用のバッファ */
+	private final ArrayBlockingQueue<ByteBuffer> buffers;
+
+	/** 生成済みのバッファ数 */
+	private int created;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param poolSize   最大バッファ数
+	 * @param bufferSize バッファ容量（バイト）
+	 */
+	public ByteBufferPool(int poolSize, int bufferSize) {
+		this.poolSize = poolSize;
+		this.bufferSize = bufferSize;
+		this.buffers = new ArrayBlockingQueue<>(poolSize);
+	}
+
+	/**
+	 * <p>バッファ取得</p>
+	 *
+	 * @return クリアしたバッファ（最大数まで使用中の場合はnull）
+	 */
+	public ByteBuffer acquire() {
+		ByteBuffer buffer = buffers.poll();
+		if (buffer != null) return buffer.clear();
+		synchronized (this) {
+			if (created >= poolSize) return null;
+			created++;
+		}
+		return ByteBuffer.allocateDirect(bufferSize);
+	}
+
+	/**
+	 * <p>バッファ返却</p>
+	 *
+	 * @param buffer acquireで取得したバッファ
+	 */
+	public void release(ByteBuffer buffer) {
+		buffers.offer(buffer);
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+}
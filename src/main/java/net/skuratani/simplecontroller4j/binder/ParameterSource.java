@@ -0,0 +1,461 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * <p>リクエストパラメータソース</p>
+ * <pre>
+ * クエリストリング・application/x-www-form-urlencodedのリクエストボディーを、
+ * 要求されたパラメータ名の値だけその都度デコードして返却する。
+ *     1. クエリストリング・リクエストボディーは初回の参照時に1度だけバイト列として取得する
+ *     2. パラメータ名は、エンコードされていない場合はバイト列のまま比較する
+ *     3. パラメータ値は、ASCII文字のみ（%・+を含まない）の場合はデコード処理を行わない
+ * 要求されていないパラメータはデコード・コピーされない。
+ * 値の順序はサーブレット仕様と同様にクエリストリング、リクエストボディーの順とする。
+ * 文字コードはリクエストの文字エンコーディング（指定がない場合はUTF-8）を使用する。
+ * リクエストボディーを読み込む為、コンテナのHttpServletRequest#getParameterではボディーのパラメータを取得できない。
+ * 実行メソッド・アスペクトにはgetRequestで取得したラッパーを渡すこと。
+ * パラメータソースはスレッド毎に再利用される為、ラッパーはリクエスト毎に生成し、
+ * パラメータソースの初期化（reset）時にそのリクエストの取得済みの値を複製したパラメータソースへ切り離す。
+ * リクエストの処理完了後にラッパーを参照した場合も、次のリクエストのパラメータを返却することはない。
+ * </pre>
+ */
+public final class ParameterSource {
+
+	/** パラメータが存在しない場合のバイト列 */
+	private static final byte[] EMPTY = new byte[0];
+
+	/** HTTPサーブレットリクエスト */
+	private HttpServletRequest request;
+
+	/** リクエストボディーリーダー */
+	private RequestBodyReader bodyReader;
+
+	/** 文字コード */
+	private Charset charset;
+
+	/** クエリストリング（未取得の場合はnull） */
+	private byte[] query;
+
+	/** リクエストボディー（未取得の場合はnull） */
+	private byte[] body;
+
+	/** 全パラメータ（getParameterMapで生成） */
+	private Map<String, String[]> parameterMap;
+
+	/** パラメータ取得用のリクエストラッパー */
+	private HttpServletRequest requestWrapper;
+
+	/**
+	 * <p>初期化</p>
+	 *
+	 * @param request    HTTPサーブレットリクエスト
+	 * @param bodyReader リクエストボディーリーダー
+	 */
+	void reset(HttpServletRequest request, RequestBodyReader bodyReader) {
+		if (requestWrapper instanceof ParameterRequest) {
+			((ParameterRequest) requestWrapper).detach(copy());
+		}
+		this.request = request;
+		this.bodyReader = bodyReader;
+		this.charset = null;
+		this.query = null;
+		this.body = null;
+		this.parameterMap = null;
+		this.requestWrapper = null;
+	}
+
+	/**
+	 * <p>フォームリクエスト判定</p>
+	 *
+	 * @param  request HTTPサーブレットリクエスト
+	 * @return boolean
+	 *         true  : Content-Typeがapplication/x-www-form-urlencoded
+	 *         false : 上記以外
+	 */
+	public static boolean isFormBody(HttpServletRequest request) {
+		String contentType = request.getContentType();
+		return contentType != null
+			&& contentType.regionMatches(true, 0, "application/x-www-form-urlencoded", 0, 33)
+			&& (contentType.length() == 33 || contentType.charAt(33) == ';' || contentType.charAt(33) == ' ');
+	}
+
+	/**
+	 * <p>パラメータ値取得</p>
+	 *
+	 * @param  name パラメータ名
+	 * @return パラメータ値（存在しない場合はnull）
+	 * @throws IOException リクエストボディーの読み込みに失敗した場合・最大サイズを超える場合
+	 */
+	public String[] getValues(String name) throws IOException {
+		if (parameterMap != null) {
+			String[] values = parameterMap.get(name);
+			return values == null ? null : values.clone();
+		}
+		List<String> values = null;
+		values = collect(query(), name, values);
+		values = collect(body(), name, values);
+		return values == null ? null : values.toArray(new String[values.size()]);
+	}
+
+	/**
+	 * <p>パラメータ値走査</p>
+	 * <pre>
+	 * パラメータ名が一致するパラメータ値を、デコードせずにバイト列の範囲として処理する。
+	 * </pre>
+	 *
+	 * @param  name    パラメータ名
+	 * @param  handler パラメータ値の処理
+	 * @throws IOException リクエストボディーの読み込みに失敗した場合・最大サイズを超える場合
+	 */
+	public void forEachRawValue(String name, RawValueHandler handler) throws IOException {
+		scan(query(), name, handler);
+		scan(body(), name, handler);
+	}
+
+	/**
+	 * <p>先頭のパラメータ値取得</p>
+	 *
+	 * @param  name パラメータ名
+	 * @return 先頭のパラメータ値（存在しない場合はnull）
+	 * @throws IOException リクエストボディーの読み込みに失敗した場合・最大サイズを超える場合
+	 */
+	public String getFirst(String name) throws IOException {
+		String[] values = getValues(name);
+		return values == null ? null : values[0];
+	}
+
+	/**
+	 * <p>全パラメータ取得</p>
+	 * <pre>
+	 * 全パラメータをデコードし、以降のgetValuesでも使用する。
+	 * </pre>
+	 *
+	 * @return パラメータ名毎のパラメータ値（変更不可）
+	 * @throws IOException リクエストボディーの読み込みに失敗した場合・最大サイズを超える場合
+	 */
+	public Map<String, String[]> getParameterMap() throws IOException {
+		if (parameterMap == null) {
+			Map<String, List<String>> collected = new LinkedHashMap<>();
+			collectAll(query(), collected);
+			collectAll(body(), collected);
+			Map<String, String[]> map = new LinkedHashMap<>();
+			collected.forEach((key, values) -> map.put(key, values.toArray(new String[values.size()])));
+			parameterMap = Collections.unmodifiableMap(map);
+		}
+		return parameterMap;
+	}
+
+	/**
+	 * <p>パラメータ取得用リクエスト取得</p>
+	 * <pre>
+	 * application/x-www-form-urlencodedの場合は、getParameter系メソッドをこのパラメータソースで
+	 * 処理するラッパーを返却する（リクエストボディーを読み込み済みでもパラメータを取得できる）。
+	 * それ以外の場合は元のリクエストを返却する。
+	 * </pre>
+	 *
+	 * @return HTTPサーブレットリクエスト
+	 */
+	public HttpServletRequest getRequest() {
+		if (requestWrapper == null) {
+			requestWrapper = isFormBody(request) ? new ParameterRequest(request, this) : request;
+		}
+		return requestWrapper;
+	}
+
+	/**
+	 * <p>複製</p>
+	 * <pre>
+	 * 再利用されない（スレッド毎に保持しない）パラメータソースに、現在のリクエストの状態を複製する。
+	 * バイト列・パラメータマップはリクエスト毎に生成され変更されない為、参照を共有する。
+	 * </pre>
+	 *
+	 * @return パラメータソース
+	 */
+	private ParameterSource copy() {
+		ParameterSource copy = new ParameterSource();
+		copy.request = request;
+		copy.bodyReader = bodyReader;
+		copy.charset = charset;
+		copy.query = query;
+		copy.body = body;
+		copy.parameterMap = parameterMap;
+		return copy;
+	}
+
+	/**
+	 * <p>クエリストリング取得</p>
+	 *
+	 * @return クエリストリングのバイト列
+	 */
+	private byte[] query() {
+		if (query == null) {
+			String queryString = request.getQueryString();
+			query = queryString == null ? EMPTY : queryString.getBytes(StandardCharsets.ISO_8859_1);
+		}
+		return query;
+	}
+
+	/**
+	 * <p>リクエストボディー取得</p>
+	 *
+	 * @return リクエストボディーのバイト列（application/x-www-form-urlencodedでない場合は空）
+	 * @throws IOException リクエストボディーの読み込みに失敗した場合・フォームの最大サイズを超える場合
+	 */
+	private byte[] body() throws IOException {
+		if (body == null) {
+			body = isFormBody(request) ? bodyReader.readForm(request) : EMPTY;
+		}
+		return body;
+	}
+
+	/**
+	 * <p>文字コード取得</p>
+	 *
+	 * @return リクエストの文字エンコーディング（指定がない場合・不正な場合はUTF-8）
+	 */
+	private Charset charset() {
+		if (charset == null) {
+			String encoding = request.getCharacterEncoding();
+			try {
+				charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+			} catch (IllegalArgumentException e) {
+				charset = StandardCharsets.UTF_8;
+			}
+		}
+		return charset;
+	}
+
+	/**
+	 * <p>パラメータ値収集</p>
+	 *
+	 * @param  source クエリストリング・リクエストボディーのバイト列
+	 * @param  name   パラメータ名
+	 * @param  values 収集済みのパラメータ値（未収集の場合はnull）
+	 * @return 収集したパラメータ値（存在しない場合はnull）
+	 */
+	private List<String> collect(byte[] source, String name, List<String> values) {
+		int start = 0;
+		while (start < source.length) {
+			int end = indexOf(source, (byte) '&', start, source.length);
+			int eq = indexOf(source, (byte) '=', start, end);
+			int nameEnd = eq < 0 ? end : eq;
+			if (nameEnd > start && nameEquals(source, start, nameEnd, name)) {
+				if (values == null) values = new ArrayList<>(1);
+				values.add(eq < 0 ? "" : decode(source, eq + 1, end));
+			}
+			start = end + 1;
+		}
+		return values;
+	}
+
+	/**
+	 * <p>パラメータ値走査</p>
+	 *
+	 * @param source  クエリストリング・リクエストボディーのバイト列
+	 * @param name    パラメータ名
+	 * @param handler パラメータ値の処理
+	 */
+	private void scan(byte[] source, String name, RawValueHandler handler) {
+		int start = 0;
+		while (start < source.length) {
+			int end = indexOf(source, (byte) '&', start, source.length);
+			int eq = indexOf(source, (byte) '=', start, end);
+			int nameEnd = eq < 0 ? end : eq;
+			if (nameEnd > start && nameEquals(source, start, nameEnd, name)) {
+				handler.value(source, eq < 0 ? end : eq + 1, end, true);
+			}
+			start = end + 1;
+		}
+	}
+
+	/**
+	 * <p>全パラメータ収集</p>
+	 *
+	 * @param source    クエリストリング・リクエストボディーのバイト列
+	 * @param collected パラメータ名毎のパラメータ値
+	 */
+	private void collectAll(byte[] source, Map<String, List<String>> collected) {
+		int start = 0;
+		while (start < source.length) {
+			int end = indexOf(source, (byte) '&', start, source.length);
+			int eq = indexOf(source, (byte) '=', start, end);
+			int nameEnd = eq < 0 ? end : eq;
+			if (nameEnd > start) {
+				collected.computeIfAbsent(decode(source, start, nameEnd), key -> new ArrayList<>(1))
+						 .add(eq < 0 ? "" : decode(source, eq + 1, end));
+			}
+			start = end + 1;
+		}
+	}
+
+	/**
+	 * <p>パラメータ名比較</p>
+	 * <pre>
+	 * エンコードされていないASCII文字のパラメータ名は、デコードせずにバイト単位で比較する。
+	 * </pre>
+	 *
+	 * @param  source バイト列
+	 * @param  from   パラメータ名の開始位置
+	 * @param  to     パラメータ名の終了位置
+	 * @param  name   比較するパラメータ名
+	 * @return boolean
+	 */
+	private boolean nameEquals(byte[] source, int from, int to, String name) {
+		if (!isPlain(source, from, to)) {
+			return name.equals(decode(source, from, to));
+		}
+		if (to - from != name.length()) return false;
+		for (int i = from; i < to; i++) {
+			if (source[i] != name.charAt(i - from)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * <p>URLデコード</p>
+	 *
+	 * @param  source バイト列
+	 * @param  from   開始位置
+	 * @param  to     終了位置
+	 * @return デコードした文字列
+	 */
+	private String decode(byte[] source, int from, int to) {
+		// ASCII文字のみでエンコードされていない場合はそのまま文字列化する
+		if (isPlain(source, from, to)) {
+			return new String(source, from, to - from, StandardCharsets.ISO_8859_1);
+		}
+		byte[] decoded = new byte[to - from];
+		int length = 0;
+		for (int i = from; i < to; i++) {
+			byte b = source[i];
+			if (b == '+') {
+				b = ' ';
+			} else if (b == '%' && i + 2 < to) {
+				int high = Character.digit(source[i + 1], 16);
+				int low = Character.digit(source[i + 2], 16);
+				if (high >= 0 && low >= 0) {
+					b = (byte) ((high << 4) | low);
+					i += 2;
+				}
+			}
+			decoded[length++] = b;
+		}
+		return new String(decoded, 0, length, charset());
+	}
+
+	/**
+	 * <p>デコード不要判定</p>
+	 *
+	 * @param  source バイト列
+	 * @param  from   開始位置
+	 * @param  to     終了位置
+	 * @return boolean
+	 *         true  : ASCII文字のみで、%・+を含まない
+	 *         false : 上記以外
+	 */
+	private static boolean isPlain(byte[] source, int from, int to) {
+		for (int i = from; i < to; i++) {
+			byte b = source[i];
+			if (b < 0 || b == '%' || b == '+') return false;
+		}
+		return true;
+	}
+
+	/**
+	 * <p>バイト探索</p>
+	 *
+	 * @param  source バイト列
+	 * @param  target 探索するバイト
+	 * @param  from   開始位置
+	 * @param  to     終了位置
+	 * @return 位置（存在しない場合は、'&amp;'の探索ではto、それ以外は-1）
+	 */
+	private static int indexOf(byte[] source, byte target, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (source[i] == target) return i;
+		}
+		return target == '&' ? to : -1;
+	}
+
+	/**
+	 * <p>パラメータ値の処理</p>
+	 */
+	@FunctionalInterface
+	public interface RawValueHandler {
+
+		/**
+		 * <p>パラメータ値処理</p>
+		 *
+		 * @param source     バイト列
+		 * @param from       パラメータ値の開始位置
+		 * @param to         パラメータ値の終了位置
+		 * @param urlEncoded URLエンコードされているか（%XX・+のデコードが必要か）
+		 */
+		void value(byte[] source, int from, int to, boolean urlEncoded);
+	}
+
+	/**
+	 * <p>パラメータ取得用リクエストラッパー</p>
+	 * <pre>
+	 * リクエスト毎に生成する。パラメータソースの初期化時に、複製したパラメータソースへ切り離される。
+	 * </pre>
+	 */
+	private static final class ParameterRequest extends HttpServletRequestWrapper {
+
+		/** パラメータソース（切り離し後は複製したパラメータソース） */
+		private volatile ParameterSource parameterSource;
+
+		ParameterRequest(HttpServletRequest request, ParameterSource parameterSource) {
+			super(request);
+			this.parameterSource = parameterSource;
+		}
+
+		/**
+		 * <p>パラメータソースの切り離し</p>
+		 *
+		 * @param copy 複製したパラメータソース
+		 */
+		void detach(ParameterSource copy) {
+			parameterSource = copy;
+		}
+
+		@Override
+		public String getParameter(String name) {
+			String[] values = getParameterValues(name);
+			return values == null ? null : values[0];
+		}
+
+		@Override
+		public String[] getParameterValues(String name) {
+			String[] values = getParameterMap().get(name);
+			return values == null ? null : values.clone();
+		}
+
+		@Override
+		public Map<String, String[]> getParameterMap() {
+			try {
+				return parameterSource.getParameterMap();
+			} catch (IOException e) {
+				throw new IllegalStateException(e.getMessage(), e);
+			}
+		}
+
+		@Override
+		public Enumeration<String> getParameterNames() {
+			return Collections.enumeration(getParameterMap().keySet());
+		}
+	}
+
+}
@@ -0,0 +1,33 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import java.io.IOException;
+
+/**
+ * <p>リクエストボディーサイズ超過例外</p>
+ * <pre>
+ * リクエストボディーが最大サイズを超える場合にスローされる。
+ * 引数値の生成時にスローされた場合、ディスパッチャサーブレットは413（Payload Too Large）を返却する。
+ * </pre>
+ */
+public class PayloadTooLargeException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	/** 最大サイズ（バイト） */
+	private final long maxSize;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param maxSize 最大サイズ（バイト）
+	 */
+	public PayloadTooLargeException(long maxSize) {
+		super("request body exceeds " + maxSize + " bytes");
+		this.maxSize = maxSize;
+	}
+
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+}
@@ -0,0 +1,369 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p>数値配列パーサ</p>
+ * <pre>
+ * int[]・long[]・short[]・double[]・float[]型の[at]RequestParamの引数値を、
+ * パラメータ値の文字列・要素毎の文字列を生成せずに、URLエンコードされたバイト列から直接生成する。
+ *     1. 1回目の走査で要素数を数え、最大要素数を判定してから配列を1度だけ生成する
+ *     2. 2回目の走査で要素をデコードしながら配列に直接格納する
+ * 区切り文字を指定した場合は、各パラメータ値を区切り文字で分割する（%XXでエンコードされた区切り文字を含む）。
+ * 要素の前後の空白は無視し、空のパラメータ値は要素なしとして扱う。
+ * 数値として不正な要素・型の範囲外の要素はNumberFormatExceptionとなる。
+ * 小数は仮数が2^53未満・指数±22以内（floatは2^24未満・±10以内）の場合は文字列を生成せずに変換し、それ以外はDouble#parseDoubleで変換する。
+ * </pre>
+ */
+final class PrimitiveArrayParser {
+
+	/** 10の累乗（doubleで正確に表現できる範囲） */
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+		1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	/** 10の累乗（floatで正確に表現できる範囲） */
+	private static final float[] FLOAT_POWERS_OF_TEN = {
+		1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+	};
+
+	/** パラメータ名 */
+	private final String name;
+
+	/** 要素の型 */
+	private final Class<?> componentType;
+
+	/** 区切り文字（分割しない場合は-1） */
+	private final int delimiter;
+
+	/** 最大要素数（負数の場合は無制限） */
+	private final int maxLength;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param name          パラメータ名
+	 * @param componentType 要素の型（int・long・short・double・float）
+	 * @param delimiter     区切り文字（分割しない場合は-1）
+	 * @param maxLength     最大要素数（負数の場合は無制限）
+	 */
+	PrimitiveArrayParser(String name, Class<?> componentType, int delimiter, int maxLength) {
+		this.name = name;
+		this.componentType = componentType;
+		this.delimiter = delimiter;
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * <p>対応型判定</p>
+	 *
+	 * @param  type 引数の型
+	 * @return boolean
+	 *         true  : int[]・long[]・short[]・double[]・float[]
+	 *         false : 上記以外
+	 */
+	static boolean supports(Class<?> type) {
+		return type == int[].class || type == long[].class || type == short[].class
+			|| type == double[].class || type == float[].class;
+	}
+
+	/**
+	 * <p>引数値生成</p>
+	 *
+	 * @param  bindingContext バインディングコンテキスト
+	 * @return 数値配列（パラメータが存在しない場合はnull）
+	 * @throws IOException リクエストボディーの読み込みに失敗した場合
+	 * @throws IllegalArgumentException 最大要素数を超える場合・数値として不正な要素が存在する場合
+	 */
+	Object parse(BindingContext bindingContext) throws IOException {
+		Parse parse = new Parse();
+		bindingContext.forEachRawValue(name, parse::count);
+		if (!parse.found) return null;
+		if (maxLength >= 0 && parse.length > maxLength) {
+			throw new IllegalArgumentException(name + " : more than " + maxLength + " values");
+		}
+		parse.allocate();
+		bindingContext.forEachRawValue(name, parse::fill);
+		return parse.array;
+	}
+
+	/**
+	 * <p>1リクエスト分の変換状態</p>
+	 */
+	private final class Parse {
+
+		/** パラメータが存在したか */
+		boolean found;
+
+		/** 要素数 */
+		int length;
+
+		/** 格納済みの要素数 */
+		int index;
+
+		/** 数値配列 */
+		Object array;
+
+		/** デコードした要素の文字 */
+		char[] token = new char[32];
+
+		/** デコードした要素の文字数 */
+		int tokenLength;
+
+		/** 10進数分解結果：仮数 */
+		private long mantissa;
+
+		/** 10進数分解結果：10の指数 */
+		private int exponent;
+
+		/** 10進数分解結果：負数 */
+		private boolean negative;
+
+		/**
+		 * <p>要素数加算</p>
+		 */
+		void count(byte[] source, int from, int to, boolean urlEncoded) {
+			found = true;
+			boolean blank = true;
+			int delimiters = 0;
+			for (int i = from; i < to; i++) {
+				int c = source[i] & 0xff;
+				if (urlEncoded && c == '%' && i + 2 < to) {
+					int decoded = hex(source[i + 1], source[i + 2]);
+					if (decoded >= 0) {
+						c = decoded;
+						i += 2;
+					}
+				} else if (urlEncoded && c == '+') {
+					c = ' ';
+				}
+				if (c == delimiter) {
+					delimiters++;
+				} else if (c != ' ') {
+					blank = false;
+				}
+			}
+			if (!blank || delimiters > 0) length += delimiters + 1;
+		}
+
+		/**
+		 * <p>配列生成</p>
+		 */
+		void allocate() {
+			if (componentType == int.class) {
+				array = new int[length];
+			} else if (componentType == long.class) {
+				array = new long[length];
+			} else if (componentType == short.class) {
+				array = new short[length];
+			} else if (componentType == double.class) {
+				array = new double[length];
+			} else {
+				array = new float[length];
+			}
+		}
+
+		/**
+		 * <p>要素格納</p>
+		 */
+		void fill(byte[] source, int from, int to, boolean urlEncoded) {
+			int start = index;
+			tokenLength = 0;
+			boolean blank = true;
+			for (int i = from; i < to; i++) {
+				int c = source[i] & 0xff;
+				if (urlEncoded && c == '%' && i + 2 < to) {
+					int decoded = hex(source[i + 1], source[i + 2]);
+					if (decoded >= 0) {
+						c = decoded;
+						i += 2;
+					}
+				} else if (urlEncoded && c == '+') {
+					c = ' ';
+				}
+				if (c == delimiter) {
+					store();
+					blank = false;
+				} else {
+					if (c != ' ') blank = false;
+					append((char) c);
+				}
+			}
+			// 空のパラメータ値は要素なし
+			if (blank && index == start) return;
+			store();
+		}
+
+		/**
+		 * <p>要素の文字追加</p>
+		 */
+		private void append(char c) {
+			if (tokenLength == token.length) token = Arrays.copyOf(token, token.length * 2);
+			token[tokenLength++] = c;
+		}
+
+		/**
+		 * <p>要素変換・格納</p>
+		 */
+		private void store() {
+			int from = 0;
+			int to = tokenLength;
+			while (from < to && token[from] == ' ') from++;
+			while (to > from && token[to - 1] == ' ') to--;
+			if (componentType == int.class) {
+				((int[]) array)[index] = (int) parseLong(token, from, to, Integer.MIN_VALUE, Integer.MAX_VALUE);
+			} else if (componentType == long.class) {
+				((long[]) array)[index] = parseLong(token, from, to, Long.MIN_VALUE, Long.MAX_VALUE);
+			} else if (componentType == short.class) {
+				((short[]) array)[index] = (short) parseLong(token, from, to, Short.MIN_VALUE, Short.MAX_VALUE);
+			} else if (componentType == double.class) {
+				((double[]) array)[index] = parseDouble(from, to);
+			} else {
+				((float[]) array)[index] = parseFloat(from, to);
+			}
+			index++;
+			tokenLength = 0;
+		}
+
+		/**
+		 * <p>小数変換</p>
+		 */
+		private double parseDouble(int from, int to) {
+			if (decompose(from, to) && mantissa < (1L << 53) && exponent >= -22 && exponent <= 22) {
+				double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+				return negative ? -value : value;
+			}
+			try {
+				return Double.parseDouble(new String(token, from, to - from));
+			} catch (NumberFormatException e) {
+				throw numberFormat(token, from, to);
+			}
+		}
+
+		/**
+		 * <p>小数変換（float）</p>
+		 */
+		private float parseFloat(int from, int to) {
+			if (decompose(from, to) && mantissa < (1L << 24) && exponent >= -10 && exponent <= 10) {
+				float value = exponent < 0 ? mantissa / FLOAT_POWERS_OF_TEN[-exponent] : mantissa * FLOAT_POWERS_OF_TEN[exponent];
+				return negative ? -value : value;
+			}
+			try {
+				return Float.parseFloat(new String(token, from, to - from));
+			} catch (NumberFormatException e) {
+				throw numberFormat(token, from, to);
+			}
+		}
+
+		/**
+		 * <p>10進数分解</p>
+		 *
+		 * @return boolean
+		 *         true  : 仮数・10の指数に分解した
+		 *         false : 有効桁数が16桁を超える場合・10進数の形式でない場合（NaN・16進数など）
+		 */
+		private boolean decompose(int from, int to) {
+			char[] chars = token;
+			int i = from;
+			negative = false;
+			if (i < to && (chars[i] == '-' || chars[i] == '+')) {
+				negative = chars[i] == '-';
+				i++;
+			}
+			mantissa = 0;
+			exponent = 0;
+			int significantDigits = 0;
+			boolean digits = false;
+			for (; i < to && chars[i] >= '0' && chars[i] <= '9'; i++) {
+				if (mantissa != 0 || chars[i] != '0') significantDigits++;
+				if (significantDigits > 16) return false;
+				mantissa = mantissa * 10 + (chars[i] - '0');
+				digits = true;
+			}
+			if (i < to && chars[i] == '.') {
+				for (i++; i < to && chars[i] >= '0' && chars[i] <= '9'; i++) {
+					if (mantissa != 0 || chars[i] != '0') significantDigits++;
+					if (significantDigits > 16) return false;
+					mantissa = mantissa * 10 + (chars[i] - '0');
+					exponent--;
+					digits = true;
+				}
+			}
+			if (!digits) return false;
+			if (i < to && (chars[i] == 'e' || chars[i] == 'E')) {
+				i++;
+				boolean negativeExponent = false;
+				if (i < to && (chars[i] == '-' || chars[i] == '+')) {
+					negativeExponent = chars[i] == '-';
+					i++;
+				}
+				int explicit = 0;
+				int start = i;
+				for (; i < to && chars[i] >= '0' && chars[i] <= '9'; i++) {
+					if (explicit > 1000) return false;
+					explicit = explicit * 10 + (chars[i] - '0');
+				}
+				if (i == start) return false;
+				exponent += negativeExponent ? -explicit : explicit;
+			}
+			return i == to;
+		}
+	}
+
+	/**
+	 * <p>整数変換</p>
+	 *
+	 * @param  chars 文字
+	 * @param  from  開始位置
+	 * @param  to    終了位置
+	 * @param  min   最小値
+	 * @param  max   最大値
+	 * @return 整数
+	 * @throws NumberFormatException 整数として不正な場合・範囲外の場合
+	 */
+	static long parseLong(char[] chars, int from, int to, long min, long max) {
+		int i = from;
+		boolean negative = false;
+		if (i < to && (chars[i] == '-' || chars[i] == '+')) {
+			negative = chars[i] == '-';
+			i++;
+		}
+		if (i == to) throw numberFormat(chars, from, to);
+
+		// 負数で累積して最小値まで表現する
+		long limit = negative ? min : -max;
+		long multiplyMin = limit / 10;
+		long result = 0;
+		for (; i < to; i++) {
+			int digit = chars[i] - '0';
+			if (digit < 0 || digit > 9 || result < multiplyMin) throw numberFormat(chars, from, to);
+			result *= 10;
+			if (result < limit + digit) throw numberFormat(chars, from, to);
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+
+	/**
+	 * <p>16進数2桁デコード</p>
+	 *
+	 * @param  high 上位桁
+	 * @param  low  下位桁
+	 * @return デコードした値（16進数でない場合は-1）
+	 */
+	private static int hex(byte high, byte low) {
+		int h = Character.digit(high, 16);
+		int l = Character.digit(low, 16);
+		return h < 0 || l < 0 ? -1 : (h << 4) | l;
+	}
+
+	/**
+	 * <p>数値変換例外生成</p>
+	 */
+	private static NumberFormatException numberFormat(char[] chars, int from, int to) {
+		return new NumberFormatException("For input string: \"" + new String(chars, from, to - from) + "\"");
+	}
+
+}
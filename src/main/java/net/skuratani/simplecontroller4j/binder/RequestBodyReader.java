@@ -0,0 +1,347 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import net.skuratani.simplecontroller4j.multipart.MultipartConfig;
+import net.skuratani.simplecontroller4j.multipart.MultipartException;
+import net.skuratani.simplecontroller4j.multipart.MultipartForm;
+import net.skuratani.simplecontroller4j.multipart.MultipartReader;
+
+/**
+ * <p>リクエストボディーリーダー</p>
+ * <pre>
+ * [at]RequestBodyの引数値を、文字コード変換を行わずにリクエストボディーから取得する。
+ *     1. byte[]              : Content-Length（最大64KB）のサイズで生成した配列に読み込み、
+ *                              読み込んだデータ量に応じて配列を拡張する（Content-Lengthを超えては拡張しない）
+ *     2. ByteBuffer          : ダイレクトバッファプールが有効で、Content-Lengthがバッファ容量以下の場合は
+ *                              プールのダイレクトバッファに読み込む（それ以外はbyte[]をラップしたバッファ）
+ *     3. InputStream         : リクエストの入力ストリーム
+ *     4. ReadableByteChannel : リクエストの入力ストリームのチャネル
+ *     5. MultipartReader     : multipart/form-dataのパートを順に読み込むマルチパートリーダー
+ * multipart/form-dataの[at]RequestParamの値は、readMultipartで読み込んだマルチパートフォームから取得する。
+ * 既定の最大サイズは2MB（DEFAULT_MAX_SIZE）。0を指定した場合は無制限となる。
+ * application/x-www-form-urlencodedのリクエストボディー（[at]RequestParamの値）は、
+ * [at]RequestBodyとは別のフォームの最大サイズ（既定は2MB。DEFAULT_MAX_FORM_SIZE）で読み込む（readForm）。
+ * 最大サイズは読み込み前にContent-Lengthで判定し、超える場合はPayloadTooLargeExceptionをスローする。
+ * Content-Lengthが不明な場合（chunked）は、読み込んだバイト数が最大サイズを超えた時点でスローする。
+ * InputStream・ReadableByteChannelの場合は実行メソッドでの読み込み時にスローされる。
+ * プールのダイレクトバッファはリクエストの処理完了時（BindingContext#release）にプールへ返却される為、
+ * 実行メソッドの外でバッファを参照しないこと。
+ * </pre>
+ */
+public class RequestBodyReader {
+
+	/** 既定の最大サイズ（バイト。サーブレットコンテナのPOSTの既定の最大サイズと同じ2MB） */
+	public static final long DEFAULT_MAX_SIZE = 2 * 1024 * 1024;
+
+	/** フォームの既定の最大サイズ（バイト。サーブレットコンテナのmaxPostSizeの既定値と同じ2MB） */
+	public static final long DEFAULT_MAX_FORM_SIZE = 2 * 1024 * 1024;
+
+	/** 既定の最大サイズ・ダイレクトバッファプールなしのリクエストボディーリーダー */
+	public static final RequestBodyReader DEFAULT = new RequestBodyReader(DEFAULT_MAX_SIZE, null, MultipartConfig.DEFAULT);
+
+	/** バイト配列の初期サイズの上限（Content-Lengthが大きい場合も、この値を超えて先行確保しない） */
+	private static final int INITIAL_CHUNK_SIZE = 64 * 1024;
+
+	/** バイト配列の最大サイズ */
+	private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+	/** 最大サイズ（バイト。0の場合は無制限） */
+	private final long maxSize;
+
+	/** フォームの最大サイズ（バイト。0の場合は無制限） */
+	private final long maxFormSize;
+
+	/** ダイレクトバッファプール（使用しない場合はnull） */
+	private final ByteBufferPool bufferPool;
+
+	/** マルチパート設定 */
+	private final MultipartConfig multipartConfig;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param maxSize    最大サイズ（バイト。0の場合は無制限）
+	 * @param bufferPool ダイレクトバッファプール（使用しない場合はnull）
+	 */
+	public RequestBodyReader(long maxSize, ByteBufferPool bufferPool) {
+		this(maxSize, bufferPool, MultipartConfig.DEFAULT);
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param maxSize         最大サイズ（バイト。0の場合は無制限）
+	 * @param bufferPool      ダイレクトバッファプール（使用しない場合はnull）
+	 * @param multipartConfig マルチパート設定
+	 */
+	public RequestBodyReader(long maxSize, ByteBufferPool bufferPool, MultipartConfig multipartConfig) {
+		this(maxSize, DEFAULT_MAX_FORM_SIZE, bufferPool, multipartConfig);
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param maxSize         最大サイズ（バイト。0の場合は無制限）
+	 * @param maxFormSize     フォームの最大サイズ（バイト。0の場合は無制限）
+	 * @param bufferPool      ダイレクトバッファプール（使用しない場合はnull）
+	 * @param multipartConfig マルチパート設定
+	 */
+	public RequestBodyReader(long maxSize, long maxFormSize, ByteBufferPool bufferPool, MultipartConfig multipartConfig) {
+		this.maxSize = maxSize;
+		this.maxFormSize = maxFormSize;
+		this.bufferPool = bufferPool;
+		this.multipartConfig = multipartConfig;
+	}
+
+	/**
+	 * <p>最大サイズ決定</p>
+	 *
+	 * @param  limit [at]RequestBodyのmaxSize（負数の場合は既定の最大サイズ）
+	 * @return 最大サイズ（0の場合は無制限）
+	 */
+	public long limitOf(long limit) {
+		return limit < 0 ? maxSize : limit;
+	}
+
+	/**
+	 * <p>Content-Length判定</p>
+	 *
+	 * @param  request HTTPサーブレットリクエスト
+	 * @param  limit   [at]RequestBodyのmaxSize（負数の場合は既定の最大サイズ）
+	 * @return Content-Length（不明な場合は-1）
+	 * @throws PayloadTooLargeException Content-Lengthが最大サイズを超える場合
+	 */
+	public long checkLength(HttpServletRequest request, long limit) throws PayloadTooLargeException {
+		long max = limitOf(limit);
+		long contentLength = request.getContentLengthLong();
+		if (max > 0 && contentLength > max) {
+			throw new PayloadTooLargeException(max);
+		}
+		return contentLength;
+	}
+
+	/**
+	 * <p>入力ストリーム取得</p>
+	 *
+	 * @param  request HTTPサーブレットリクエスト
+	 * @param  limit   [at]RequestBodyのmaxSize（負数の場合は既定の最大サイズ）
+	 * @return 入力ストリーム（最大サイズを超えて読み込んだ場合はPayloadTooLargeExceptionをスローする）
+	 * @throws IOException Content-Lengthが最大サイズを超える場合・入力ストリームの取得に失敗した場合
+	 */
+	public InputStream openStream(HttpServletRequest request, long limit) throws IOException {
+		checkLength(request, limit);
+		long max = limitOf(limit);
+		InputStream in = request.getInputStream();
+		return max > 0 ? new LimitedInputStream(in, max) : in;
+	}
+
+	/**
+	 * <p>チャネル取得</p>
+	 *
+	 * @param  request HTTPサーブレットリクエスト
+	 * @param  limit   [at]RequestBodyのmaxSize（負数の場合は既定の最大サイズ）
+	 * @return 入力ストリームのチャネル
+	 * @throws IOException Content-Lengthが最大サイズを超える場合・入力ストリームの取得に失敗した場合
+	 */
+	public ReadableByteChannel openChannel(HttpServletRequest request, long limit) throws IOException {
+		return Channels.newChannel(openStream(request, limit));
+	}
+
+	/**
+	 * <p>バイト配列読み込み</p>
+	 *
+	 * @param  request HTTPサーブレットリクエスト
+	 * @param  limit   [at]RequestBodyのmaxSize（負数の場合は既定の最大サイズ）
+	 * @return リクエストボディー
+	 * @throws IOException リクエストボディーが最大サイズを超える場合・読み込みに失敗した場合
+	 */
+	public byte[] readBytes(HttpServletRequest request, long limit) throws IOException {
+		long contentLength = checkLength(request, limit);
+		long max = limitOf(limit);
+		InputStream in = request.getInputStream();
+
+		// 配列の上限：Content-Length、不明な場合は最大サイズ＋1（超過の検出用）
+		long capacity = contentLength >= 0 ? contentLength : (max > 0 ? max + 1 : MAX_ARRAY_SIZE);
+		if (capacity > MAX_ARRAY_SIZE) capacity = MAX_ARRAY_SIZE;
+
+		// Content-Lengthは読み込み前の申告値の為、先行確保は初期サイズの上限までとする
+		byte[] body = new byte[(int) Math.min(capacity, INITIAL_CHUNK_SIZE)];
+		int length = 0;
+		while (true) {
+			if (length == body.length) {
+				if (length >= capacity) break;
+				body = Arrays.copyOf(body, (int) Math.min(Math.max((long) length * 2, INITIAL_CHUNK_SIZE), capacity));
+			}
+			int read = in.read(body, length, body.length - length);
+			if (read < 0) break;
+			length += read;
+			if (max > 0 && length > max) {
+				throw new PayloadTooLargeException(max);
+			}
+		}
+		if (contentLength < 0 && length == MAX_ARRAY_SIZE && in.read() >= 0) {
+			throw new PayloadTooLargeException(MAX_ARRAY_SIZE);
+		}
+		return length == body.length ? body : Arrays.copyOf(body, length);
+	}
+
+	/**
+	 * <p>フォーム読み込み</p>
+	 * <pre>
+	 * application/x-www-form-urlencodedのリクエストボディーを、フォームの最大サイズで読み込む。
+	 * </pre>
+	 *
+	 * @param  request HTTPサーブレットリクエスト
+	 * @return リクエストボディー
+	 * @throws IOException リクエストボディーがフォームの最大サイズを超える場合・読み込みに失敗した場合
+	 */
+	public byte[] readForm(HttpServletRequest request) throws IOException {
+		return readBytes(request, maxFormSize);
+	}
+
+	/**
+	 * <p>バイトバッファ読み込み</p>
+	 *
+	 * @param  bindingContext バインディングコンテキスト（プールのバッファを登録する）
+	 * @param  limit          [at]RequestBodyのmaxSize（負数の場合は既定の最大サイズ）
+	 * @return リクエストボディー（読み込み位置0・リミットはボディーのサイズ）
+	 * @throws IOException リクエストボディーが最大サイズを超える場合・読み込みに失敗した場合
+	 */
+	public ByteBuffer readBuffer(BindingContext bindingContext, long limit) throws IOException {
+		HttpServletRequest request = bindingContext.getRequest();
+		long contentLength = checkLength(request, limit);
+		if (bufferPool != null && contentLength >= 0 && contentLength <= bufferPool.getBufferSize()) {
+			ByteBuffer buffer = bufferPool.acquire();
+			if (buffer != null) {
+				bindingContext.addPooledBuffer(buffer);
+				buffer.limit((int) contentLength);
+				ReadableByteChannel channel = Channels.newChannel(request.getInputStream());
+				while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+					// Content-Lengthまで読み込む
+				}
+				return buffer.flip();
+			}
+		}
+		return ByteBuffer.wrap(readBytes(request, limit));
+	}
+
+	/**
+	 * <p>リクエストボディー文字列読み込み</p>
+	 *
+	 * @param  request HTTPサーブレットリクエスト
+	 * @param  limit   [at]RequestBodyのmaxSize（負数の場合は既定の最大サイズ）
+	 * @return リクエストボディー
+	 * @throws IOException リクエストボディーが最大サイズを超える場合・読み込みに失敗した場合
+	 */
+	public String readString(HttpServletRequest request, long limit) throws IOException {
+		checkLength(request, limit);
+		long max = limitOf(limit);
+		Reader reader = request.getReader();
+		StringBuilder body = new StringBuilder();
+		char[] buffer = new char[4096];
+		int length;
+		while ((length = reader.read(buffer)) != -1) {
+			body.append(buffer, 0, length);
+			// 1文字は1バイト以上の為、文字数が最大サイズを超える場合はバイト数も超えている
+			if (max > 0 && body.length() > max) {
+				throw new PayloadTooLargeException(max);
+			}
+		}
+		return body.toString();
+	}
+
+	/**
+	 * <p>マルチパートリーダー取得</p>
+	 *
+	 * @param  request HTTPサーブレットリクエスト
+	 * @param  limit   [at]RequestBodyのmaxSize（負数の場合はマルチパート設定のmaxRequestSize）
+	 * @return マルチパートリーダー（multipart/form-dataでない場合はnull）
+	 * @throws IOException Content-Lengthが最大サイズを超える場合・入力ストリームの取得に失敗した場合
+	 */
+	public MultipartReader openMultipart(HttpServletRequest request, long limit) throws IOException {
+		String contentType = request.getContentType();
+		if (!MultipartReader.isMultipart(contentType)) return null;
+		String boundary = MultipartReader.boundaryOf(contentType);
+		if (boundary == null) throw new MultipartException("multipart boundary is not specified");
+		if (limit < 0 && multipartConfig.getMaxRequestSize() != 0) limit = Math.max(multipartConfig.getMaxRequestSize(), 0);
+		return new MultipartReader(openStream(request, limit), boundary, multipartConfig.getMaxFileSize());
+	}
+
+	/**
+	 * <p>マルチパートフォーム読み込み</p>
+	 *
+	 * @param  request HTTPサーブレットリクエスト
+	 * @return マルチパートフォーム（multipart/form-dataでない場合はnull）
+	 * @throws IOException リクエストボディーの読み込みに失敗した場合・サイズ制限を超える場合
+	 */
+	public MultipartForm readMultipart(HttpServletRequest request) throws IOException {
+		MultipartReader reader = openMultipart(request, -1);
+		return reader == null ? null : MultipartForm.read(reader, multipartConfig);
+	}
+
+	/**
+	 * <p>プールのバッファ返却</p>
+	 *
+	 * @param buffer readBufferで取得したプールのバッファ
+	 */
+	void releaseBuffer(ByteBuffer buffer) {
+		bufferPool.release(buffer);
+	}
+
+	/**
+	 * <p>最大サイズ付き入力ストリーム</p>
+	 */
+	private static final class LimitedInputStream extends FilterInputStream {
+
+		/** 残りの読み込み可能バイト数 */
+		private long remaining;
+
+		/** 最大サイズ（バイト） */
+		private final long maxSize;
+
+		LimitedInputStream(InputStream in, long maxSize) {
+			super(in);
+			this.remaining = maxSize;
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) count(1);
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int length = super.read(b, off, len);
+			if (length > 0) count(length);
+			return length;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long length = super.skip(n);
+			if (length > 0) count(length);
+			return length;
+		}
+
+		private void count(long length) throws PayloadTooLargeException {
+			remaining -= length;
+			if (remaining < 0) {
+				throw new PayloadTooLargeException(maxSize);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,25 @@
+package net.skuratani.simplecontroller4j.converter;
+
+/**
+ * <p>型変換</p>
+ * <pre>
+ * リクエストパラメータ・パスパラメータの文字列値を、実行メソッド引数・パラメータ格納クラスの
+ * フィールドの型に変換する。
+ * 変換できない値の場合はIllegalArgumentException（NumberFormatExceptionなど）をスローする。
+ * </pre>
+ *
+ * @param <T> 変換後の型
+ */
+@FunctionalInterface
+public interface Converter<T> {
+
+	/**
+	 * <p>型変換</p>
+	 *
+	 * @param  value 文字列値
+	 * @return 変換した値
+	 * @throws IllegalArgumentException 変換できない値の場合
+	 */
+	T convert(String value);
+
+}
@@ -0,0 +1,26 @@
+package net.skuratani.simplecontroller4j.converter;
+
+/**
+ * <p>型変換プロバイダ</p>
+ * <pre>
+ * アプリケーション独自の型変換を登録するサービスプロバイダインターフェイス。
+ * 実装クラスを「META-INF/services/net.skuratani.simplecontroller4j.converter.ConverterProvider」に
+ * 記述すると、既定の型変換レジストリの生成時に読み込まれる。
+ * 組み込みの型変換と同じ型を登録した場合は、登録した型変換が優先される。
+ *    (ex.) public class MyConverterProvider implements ConverterProvider {
+ *              public void register(ConverterRegistry registry) {
+ *                  registry.register(Money.class, Money::parse);
+ *              }
+ *          }
+ * </pre>
+ */
+public interface ConverterProvider {
+
+	/**
+	 * <p>型変換登録</p>
+	 *
+	 * @param registry 型変換レジストリ
+	 */
+	void register(ConverterRegistry registry);
+
+}
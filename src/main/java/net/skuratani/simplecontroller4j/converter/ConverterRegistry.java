@@ -0,0 +1,277 @@
+package net.skuratani.simplecontroller4j.converter;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * <p>型変換レジストリ</p>
+ * <pre>
+ * 型毎の型変換を保持する。実行メソッド引数・パラメータ格納クラスのフィールドの型変換は
+ * 起動時（引数解決プラン・バインド情報の生成時）に1度だけ決定し、リクエスト時は決定済みの
+ * 型変換を直接実行する。
+ * 組み込みの型変換は以下の通り。
+ *     1. String
+ *     2. boolean・int・long・short・byte・char・float・double とそのラッパー型
+ *     3. BigDecimal・BigInteger・UUID
+ *     4. LocalDate・LocalDateTime・LocalTime・OffsetDateTime・ZonedDateTime・Instant・Duration（ISO-8601形式）
+ *     5. 列挙型（定数名）
+ * 上記の配列型は、要素の型変換から配列の型変換を生成する（arrayConverter）。
+ * 既定のレジストリ（getDefault）には、ConverterProviderで登録された型変換が追加される。
+ * 引数解決プランの生成後に登録した型変換は、生成済みの引数解決プランには反映されない。
+ * </pre>
+ */
+public class ConverterRegistry {
+
+	/** 既定のレジストリ */
+	private static volatile ConverterRegistry defaultRegistry;
+
+	/** 型毎の型変換 */
+	private final Map<Class<?>, Converter<?>> converters = new ConcurrentHashMap<>();
+
+	/**
+	 * <p>コンストラクタ</p>
+	 * <pre>
+	 * 組み込みの型変換を登録したレジストリを生成する。
+	 * </pre>
+	 */
+	public ConverterRegistry() {
+		registerDefaults();
+	}
+
+	/**
+	 * <p>既定のレジストリ取得</p>
+	 * <pre>
+	 * 初回呼び出し時に、組み込みの型変換とConverterProviderで登録された型変換から生成する。
+	 * </pre>
+	 *
+	 * @return 既定のレジストリ
+	 */
+	public static ConverterRegistry getDefault() {
+		ConverterRegistry registry = defaultRegistry;
+		if (registry == null) {
+			synchronized (ConverterRegistry.class) {
+				registry = defaultRegistry;
+				if (registry == null) {
+					registry = new ConverterRegistry();
+					for (ConverterProvider provider : ServiceLoader.load(ConverterProvider.class,
+							Thread.currentThread().getContextClassLoader())) {
+						provider.register(registry);
+					}
+					defaultRegistry = registry;
+				}
+			}
+		}
+		return registry;
+	}
+
+	/**
+	 * <p>型変換登録</p>
+	 *
+	 * @param <T>       変換後の型
+	 * @param type      変換後の型
+	 * @param converter 型変換
+	 */
+	public <T> void register(Class<T> type, Converter<? extends T> converter) {
+		converters.put(type, converter);
+	}
+
+	/**
+	 * <p>型変換取得</p>
+	 *
+	 * @param  type 変換後の型
+	 * @return 型変換（変換できない型の場合はnull）
+	 */
+	public Converter<?> find(Class<?> type) {
+		Converter<?> converter = converters.get(type);
+		if (converter == null && type.isEnum()) {
+			converter = converters.computeIfAbsent(type, ConverterRegistry::enumConverter);
+		}
+		return converter;
+	}
+
+	/**
+	 * <p>配列型変換取得</p>
+	 * <pre>
+	 * 要素の型変換を使用して、文字列配列を指定した要素の型の配列に変換する関数を生成する。
+	 * プリミティブ型の配列は、要素毎にプリミティブ型の配列へ直接格納する。
+	 * </pre>
+	 *
+	 * @param  componentType 配列要素の型
+	 * @return 配列型変換（要素の型が変換できない型の場合はnull）
+	 */
+	public Function<String[], Object> arrayConverter(Class<?> componentType) {
+		Converter<?> converter = find(componentType);
+		if (converter == null) return null;
+
+		// boolean型
+		if (componentType == boolean.class) {
+			return values -> {
+				boolean[] array = new boolean[values.length];
+				for (int i = 0; i < values.length; i++) array[i] = (Boolean) converter.convert(values[i]);
+				return array;
+			};
+		// int型
+		} else if (componentType == int.class) {
+			return values -> {
+				int[] array = new int[values.length];
+				for (int i = 0; i < values.length; i++) array[i] = (Integer) converter.convert(values[i]);
+				return array;
+			};
+		// long型
+		} else if (componentType == long.class) {
+			return values -> {
+				long[] array = new long[values.length];
+				for (int i = 0; i < values.length; i++) array[i] = (Long) converter.convert(values[i]);
+				return array;
+			};
+		// short型
+		} else if (componentType == short.class) {
+			return values -> {
+				short[] array = new short[values.length];
+				for (int i = 0; i < values.length; i++) array[i] = (Short) converter.convert(values[i]);
+				return array;
+			};
+		// byte型
+		} else if (componentType == byte.class) {
+			return values -> {
+				byte[] array = new byte[values.length];
+				for (int i = 0; i < values.length; i++) array[i] = (Byte) converter.convert(values[i]);
+				return array;
+			};
+		// char型
+		} else if (componentType == char.class) {
+			return values -> {
+				char[] array = new char[values.length];
+				for (int i = 0; i < values.length; i++) array[i] = (Character) converter.convert(values[i]);
+				return array;
+			};
+		// float型
+		} else if (componentType == float.class) {
+			return values -> {
+				float[] array = new float[values.length];
+				for (int i = 0; i < values.length; i++) array[i] = (Float) converter.convert(values[i]);
+				return array;
+			};
+		// double型
+		} else if (componentType == double.class) {
+			return values -> {
+				double[] array = new double[values.length];
+				for (int i = 0; i < values.length; i++) array[i] = (Double) converter.convert(values[i]);
+				return array;
+			};
+		// String型
+		} else if (componentType == String.class) {
+			return values -> values.clone();
+		// 参照型
+		} else {
+			return values -> {
+				Object[] array = (Object[]) Array.newInstance(componentType, values.length);
+				for (int i = 0; i < values.length; i++) array[i] = converter.convert(values[i]);
+				return array;
+			};
+		}
+	}
+
+	/**
+	 * <p>組み込みの型変換登録</p>
+	 */
+	protected void registerDefaults() {
+		register(String.class, value -> value);
+		register(boolean.class, Boolean::parseBoolean);
+		register(Boolean.class, Boolean::valueOf);
+		register(int.class, Integer::valueOf);
+		register(Integer.class, Integer::valueOf);
+		register(long.class, Long::valueOf);
+		register(Long.class, Long::valueOf);
+		register(short.class, Short::valueOf);
+		register(Short.class, Short::valueOf);
+		register(byte.class, Byte::valueOf);
+		register(Byte.class, Byte::valueOf);
+		register(char.class, ConverterRegistry::toCharacter);
+		register(Character.class, ConverterRegistry::toCharacter);
+		register(float.class, Float::valueOf);
+		register(Float.class, Float::valueOf);
+		register(double.class, Double::valueOf);
+		register(Double.class, Double::valueOf);
+		register(BigDecimal.class, BigDecimal::new);
+		register(BigInteger.class, BigInteger::new);
+		register(UUID.class, UUID::fromString);
+		register(LocalDate.class, value -> parseTime(value, LocalDate::parse));
+		register(LocalDateTime.class, value -> parseTime(value, LocalDateTime::parse));
+		register(LocalTime.class, value -> parseTime(value, LocalTime::parse));
+		register(OffsetDateTime.class, value -> parseTime(value, OffsetDateTime::parse));
+		register(ZonedDateTime.class, value -> parseTime(value, ZonedDateTime::parse));
+		register(Instant.class, value -> parseTime(value, Instant::parse));
+		register(Duration.class, value -> parseTime(value, Duration::parse));
+	}
+
+	/**
+	 * <p>文字変換</p>
+	 *
+	 * @param  value 文字列値
+	 * @return 文字
+	 * @throws IllegalArgumentException 1文字でない場合
+	 */
+	private static Character toCharacter(String value) {
+		if (value.length() != 1) {
+			throw new IllegalArgumentException("not a single character : " + value);
+		}
+		return value.charAt(0);
+	}
+
+	/**
+	 * <p>日時変換</p>
+	 * <pre>
+	 * DateTimeParseExceptionをIllegalArgumentExceptionでラップしてスローする。
+	 * </pre>
+	 *
+	 * @param  <T>    変換後の型
+	 * @param  value  文字列値
+	 * @param  parser 変換関数
+	 * @return 変換した値
+	 * @throws IllegalArgumentException 変換できない値の場合
+	 */
+	private static <T> T parseTime(String value, Function<String, T> parser) {
+		try {
+			return parser.apply(value);
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * <p>列挙型変換生成</p>
+	 *
+	 * @param  type 列挙型
+	 * @return 型変換（定数名から列挙定数へ変換する）
+	 */
+	private static Converter<?> enumConverter(Class<?> type) {
+		Map<String, Object> constants = new HashMap<>();
+		for (Object constant : type.getEnumConstants()) {
+			constants.put(((Enum<?>) constant).name(), constant);
+		}
+		return value -> {
+			Object constant = constants.get(value);
+			if (constant == null) {
+				throw new IllegalArgumentException("No enum constant " + type.getName() + "." + value);
+			}
+			return constant;
+		};
+	}
+
+}
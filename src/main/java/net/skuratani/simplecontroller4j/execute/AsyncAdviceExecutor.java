@@ -0,0 +1,144 @@
+package net.skuratani.simplecontroller4j.execute;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>非同期アドバイス実行</p>
+ * <pre>
+ * 非同期（async = true）の[at]After・[at]AfterReturningのアスペクトメソッドを、
+ * レスポンス出力後にリクエストスレッド以外のスレッドで実行する。
+ *     1. スレッド数・待ち行列の容量は固定で、待ち行列が満杯の場合はあふれ時の動作に従う
+ *     2. DISCARD     : アスペクトメソッドを実行せずに破棄し、破棄件数を加算する
+ *     3. CALLER_RUNS : リクエストスレッドで実行する
+ * スレッドはデーモンスレッドで、最初の実行時に生成され、一定時間使用されない場合は終了する。
+ * アスペクトメソッドがスローした例外はスタックトレースを出力し、失敗件数を加算する。
+ * </pre>
+ */
+public class AsyncAdviceExecutor {
+
+	/**
+	 * <p>待ち行列があふれた場合の動作</p>
+	 */
+	public enum OverflowPolicy {
+		/** 破棄する */
+		DISCARD,
+		/** リクエストスレッドで実行する */
+		CALLER_RUNS
+	}
+
+	/** スレッドプール */
+	private final ThreadPoolExecutor threadPool;
+
+	/** あふれ時の動作 */
+	private final OverflowPolicy overflowPolicy;
+
+	/** 受付件数 */
+	private final LongAdder submittedCount = new LongAdder();
+
+	/** 破棄件数 */
+	private final LongAdder droppedCount = new LongAdder();
+
+	/** 失敗件数 */
+	private final LongAdder failedCount = new LongAdder();
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param threads        スレッド数
+	 * @param queueSize      待ち行列の容量
+	 * @param overflowPolicy 待ち行列があふれた場合の動作
+	 */
+	public AsyncAdviceExecutor(int threads, int queueSize, OverflowPolicy overflowPolicy) {
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, "simplecontroller4j-advice-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		this.threadPool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+												 new ArrayBlockingQueue<>(queueSize), threadFactory,
+												 new ThreadPoolExecutor.AbortPolicy());
+		this.threadPool.allowCoreThreadTimeOut(true);
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * <p>アスペクトメソッド実行依頼</p>
+	 *
+	 * @param task アスペクトメソッドの実行
+	 */
+	public void submit(Runnable task) {
+		submittedCount.increment();
+		Runnable guarded = () -> {
+			try {
+				task.run();
+			} catch (RuntimeException | Error e) {
+				failedCount.increment();
+				e.printStackTrace();
+			}
+		};
+		try {
+			threadPool.execute(guarded);
+		} catch (RejectedExecutionException e) {
+			if (overflowPolicy == OverflowPolicy.CALLER_RUNS && !threadPool.isShutdown()) {
+				guarded.run();
+			} else {
+				droppedCount.increment();
+			}
+		}
+	}
+
+	/**
+	 * <p>終了処理</p>
+	 * <pre>
+	 * 新たな実行依頼を受け付けず、待ち行列のアスペクトメソッドの実行完了を待機する。
+	 * </pre>
+	 *
+	 * @param  timeoutMillis 最大待機時間（ミリ秒）
+	 * @return boolean
+	 *         true  : 全てのアスペクトメソッドの実行が完了した
+	 *         false : 最大待機時間を超えた（残りのアスペクトメソッドは中断する）
+	 */
+	public boolean shutdown(long timeoutMillis) {
+		threadPool.shutdown();
+		try {
+			if (threadPool.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		droppedCount.add(threadPool.shutdownNow().size());
+		return false;
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	public long getSubmittedCount() {
+		return submittedCount.sum();
+	}
+
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
+	public long getFailedCount() {
+		return failedCount.sum();
+	}
+
+	/**
+	 * <p>待ち行列の件数取得</p>
+	 *
+	 * @return 実行待ちのアスペクトメソッドの件数
+	 */
+	public int getQueuedCount() {
+		return threadPool.getQueue().size();
+	}
+
+}
@@ -1,23 +1,20 @@
 package net.skuratani.simplecontroller4j.execute;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import net.skuratani.simplecontroller4j.annotation.JoinPoint;
-import net.skuratani.simplecontroller4j.annotation.PathVariable;
-import net.skuratani.simplecontroller4j.annotation.RequestBody;
-import net.skuratani.simplecontroller4j.annotation.RequestParam;
+import net.skuratani.simplecontroller4j.aspect.ProceedingJoinPoint;
+import net.skuratani.simplecontroller4j.aspect.RequestSnapshot;
 import net.skuratani.simplecontroller4j.aspectmapping.AspectMapping;
 import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
 
@@ -26,7 +23,11 @@ import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
  * <pre>
  * 以下の情報を使用してディスパッチャサーブレットからメソッドを実行する
  *     1. RouterがリクエストURLから探索した「実行クラス・実行メソッド」
- *     2. DataBinderが生成した実行メソッド引数値リスト
+ *     2. DataBinderが生成した実行メソッド引数値配列
+ * メソッドは起動時に解決したMethodInvoker（MethodHandle）で実行する。
+ * 実行クラスのインスタンスはInstanceProviderからスコープに従って取得する。
+ * エグゼキューターはリクエスト毎に生成し、REQUESTスコープのインスタンスを保持する。
+ * 非同期（async = true）のアスペクトメソッドは実行を保留し、submitDeferredで非同期アドバイス実行に依頼する。
  * </pre>
  *
  * @author Shigeru Kuratani
@@ -34,70 +35,70 @@ import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
  */
 public class Executor {
 
+	/** インスタンス提供（nullの場合は実行の都度インスタンスを生成する） */
+	private final InstanceProvider instanceProvider;
+
+	/** REQUESTスコープのインスタンス */
+	private final Map<Class<?>, Object> requestInstances = new HashMap<>();
+
+	/** 非同期アドバイス実行（nullの場合はsubmitDeferredを実行したスレッドで実行する） */
+	private final AsyncAdviceExecutor asyncExecutor;
+
+	/** 保留中の非同期アスペクトメソッド */
+	private List<Deferred> deferred;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 * <pre>
+	 * 実行クラスのインスタンスは実行の都度生成する。
+	 * </pre>
+	 */
+	public Executor() {
+		this(null);
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param instanceProvider インスタンス提供
+	 */
+	public Executor(InstanceProvider instanceProvider) {
+		this(instanceProvider, null);
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param instanceProvider インスタンス提供
+	 * @param asyncExecutor    非同期アドバイス実行（nullの場合はsubmitDeferredを実行したスレッドで実行する）
+	 */
+	public Executor(InstanceProvider instanceProvider, AsyncAdviceExecutor asyncExecutor) {
+		this.instanceProvider = instanceProvider;
+		this.asyncExecutor = asyncExecutor;
+	}
+
 	/**
 	 * <p>
 	 * RequestMethodメソッド実行
 	 * </p>
 	 *
 	 * @param requestMapping リクエスト情報
-	 * @param bidingList     バインド値リスト
-	 * @return responseString レスポンス文字列
+	 * @param args           引数値配列（実行メソッドの引数の位置順）
+	 * @return 戻り値（戻り値がvoidの場合はnull）
 	 * @throws InstantiationException    実行クラスのインスタンス生成に失敗した場合
 	 * @throws IllegalAccessException    実行メソットアクセスに異常が発生した場合
 	 * @throws IllegalArgumentException  実行メソッッド実行の引数に不正がある場合
 	 * @throws InvocationTargetException 実行メソッドがスローする例外をラップする例外
-	 * @throws SecurityException         セキュリティ侵害が発生した場合
-	 * @throws NoSuchMethodException     パラメータ格納インスタンスの生成に失敗した場合
+	 * @throws NoSuchMethodException     実行クラスに引数なしのコンストラクタが存在しない場合
 	 */
-	public String executeMethod(RequestMapping requestMapping, List<Map<String, Object>> bidingList)
+	public Object executeMethod(RequestMapping requestMapping, Object[] args)
 			throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException,
-				   NoSuchMethodException, SecurityException {
-		// 実行クラス
-		Class<?> clazz = requestMapping.getRequestClass();
-		// 実行メソッド
-		Method method = requestMapping.getRequestMethod();
-		// レスポンス文字列
-		String responseString = null;
-		// ------------------------------------------//
-		// メソッド実行
-		// ------------------------------------------//
-		List<Object> arguments = new ArrayList<>();
-		Parameter[] parameters = method.getParameters();
-		for (Parameter parameter : parameters) {
-			for (Map<String, Object> bindArg : bidingList) {
-				for (Annotation annotation: parameter.getDeclaredAnnotations()) {
-					if (annotation.annotationType().equals(PathVariable.class)
-					    && ((PathVariable) annotation).value().equals(bindArg.entrySet().iterator().next().getKey())) {
-						arguments.add(bindArg.entrySet().iterator().next().getValue());	
-					}
-					if (annotation.annotationType().equals(RequestParam.class)
-					    && ((RequestParam) annotation).value().equals(bindArg.entrySet().iterator().next().getKey())) {
-						arguments.add(bindArg.entrySet().iterator().next().getValue());	
-					}
-					if (annotation.annotationType().equals(RequestBody.class)
-					&& bindArg.entrySet().iterator().next().getKey().equals("body")) {
-						arguments.add(bindArg.entrySet().iterator().next().getValue());	
-					}
-				}
-				if (parameter.getType() == ServletContext.class
-					&& bindArg.entrySet().iterator().next().getKey().equals("context")) {
-					arguments.add(bindArg.entrySet().iterator().next().getValue());
-				}
-				if (parameter.getType() == HttpServletRequest.class
-					&& bindArg.entrySet().iterator().next().getKey().equals("request")) {
-					arguments.add(bindArg.entrySet().iterator().next().getValue());
-				}
-				if (parameter.getType() == HttpServletResponse.class
-					&& bindArg.entrySet().iterator().next().getKey().equals("response")) {
-					arguments.add(bindArg.entrySet().iterator().next().getValue());
-				}
-			}
-		}
-		Object obj = clazz.getConstructor().newInstance();
-		Object[] args = arguments.toArray(new Object[arguments.size()]);
-		responseString = (String) method.invoke(obj, args);
+				   NoSuchMethodException {
 
-		return responseString;
+		Object obj = getInstance(requestMapping.getRequestClass());
+		MethodInvoker invoker = requestMapping.getInvoker() != null
+				? requestMapping.getInvoker() : MethodInvoker.forMethod(requestMapping.getRequestMethod());
+		return invoker.invoke(obj, args);
 	}
 
 	/**
@@ -126,23 +127,162 @@ public class Executor {
 			if (aspectMapping.getJoinPoint() == joinPoint) {
 				// 実行クラス
 				Class<?> clazz = aspectMapping.getAspectClass();
-				// 実行メソッド
-				Method method = aspectMapping.getAspectMethod();
-				// データバインド
-				List<Object> arguments = new ArrayList<>();
-				for (Parameter param : aspectMapping.getAspectMethod().getParameters()) {
-					if (param.getType() == ServletRequest.class) {
-						arguments.add((ServletRequest) request);
-					}
-					if (param.getType() == ServletResponse.class) {
-						arguments.add((ServletResponse) response);
-					}
+				// メソッド実行（非同期の場合はインスタンスのみ取得して保留）
+				Object obj = getInstance(clazz);
+				if (aspectMapping.isAsync()) {
+					if (deferred == null) deferred = new ArrayList<>();
+					deferred.add(new Deferred(aspectMapping, obj));
+					continue;
+				}
+				aspectMapping.getInvoker().invoke(obj, aspectArguments(aspectMapping, request, response, null));
+			}
+		}
+	}
+
+	/**
+	 * <p>保留中の非同期アスペクトメソッド実行依頼</p>
+	 * <pre>
+	 * レスポンス出力後に実行する。リクエストスナップショットは1度だけ生成し、全ての非同期アスペクトメソッドで共有する。
+	 * </pre>
+	 *
+	 * @param request        HTTPリクエスト
+	 * @param response       HTTPレスポンス
+	 * @param requestMapping リクエスト情報
+	 * @param result         実行メソッドの戻り値
+	 */
+	public void submitDeferred(HttpServletRequest request, HttpServletResponse response,
+							   RequestMapping requestMapping, Object result) {
+		if (deferred == null) return;
+
+		RequestSnapshot snapshot = new RequestSnapshot(request, response, requestMapping, result);
+		for (Deferred pending : deferred) {
+			AspectMapping aspectMapping = pending.aspectMapping();
+			Object obj = pending.instance();
+			Object[] args = new Object[aspectMapping.getArgumentTypes().length];
+			Arrays.fill(args, snapshot);
+			Runnable task = () -> {
+				try {
+					aspectMapping.getInvoker().invoke(obj, args);
+				} catch (IllegalAccessException | InvocationTargetException e) {
+					throw new IllegalStateException(e.getMessage(), e);
 				}
-				// メソッド実行
-				Object obj = clazz.getConstructor().newInstance();
-				Object[] args = arguments.toArray(new Object[arguments.size()]);
-				method.invoke(obj, args);
+			};
+			if (asyncExecutor == null) {
+				task.run();
+			} else {
+				asyncExecutor.submit(task);
 			}
 		}
+		deferred = null;
 	}
+
+	/**
+	 * <p>Aroundアスペクト実行</p>
+	 * <pre>
+	 * [at]Aroundのアスペクトメソッドを宣言順に入れ子で実行し、最後に後続の処理（実行メソッド）を実行する。
+	 * ProceedingJoinPointを引数に持つアスペクトメソッドは1度だけ実行し、proceedで次のアスペクトメソッドを実行する。
+	 * 戻り値がvoidの場合はproceedの戻り値を、それ以外はアスペクトメソッドの戻り値を返却する。
+	 * ProceedingJoinPointを引数に持たないアスペクトメソッドは、従来通り後続の処理の前後に同じインスタンスで2回実行する。
+	 * </pre>
+	 *
+	 * @param  request           HTTPリクエスト
+	 * @param  response          HTTPレスポンス
+	 * @param  requestMapping    リクエスト情報
+	 * @param  args              引数値配列（実行メソッドの引数の位置順）
+	 * @param  aspectMappingList Aroundのアスペクトマッピング情報（実行順）
+	 * @param  invocation        後続の処理（実行メソッド）
+	 * @return 実行メソッドの戻り値（アスペクトメソッドが戻り値を返却した場合はその値）
+	 * @throws InvocationTargetException アスペクトメソッドがスローする例外をラップする例外
+	 * @throws Exception                 後続の処理がスローした例外・アスペクトメソッドの実行に失敗した場合
+	 */
+	public Object executeAround(HttpServletRequest request, HttpServletResponse response,
+								RequestMapping requestMapping, Object[] args,
+								List<AspectMapping> aspectMappingList, ProceedingJoinPoint.Invocation invocation)
+								throws Exception {
+		return proceedAround(request, response, requestMapping, args, aspectMappingList, 0, invocation);
+	}
+
+	/**
+	 * <p>Aroundアスペクト実行（index番目以降）</p>
+	 */
+	private Object proceedAround(HttpServletRequest request, HttpServletResponse response,
+								 RequestMapping requestMapping, Object[] args,
+								 List<AspectMapping> aspectMappingList, int index, ProceedingJoinPoint.Invocation invocation)
+								 throws Exception {
+
+		if (index == aspectMappingList.size()) {
+			return invocation.proceed();
+		}
+		AspectMapping aspectMapping = aspectMappingList.get(index);
+		ProceedingJoinPoint.Invocation next =
+				() -> proceedAround(request, response, requestMapping, args, aspectMappingList, index + 1, invocation);
+		Object obj = getInstance(aspectMapping.getAspectClass());
+
+		// ProceedingJoinPointを引数に持たない場合は後続の処理の前後に実行する
+		if (!aspectMapping.isProceeding()) {
+			Object[] aspectArgs = aspectArguments(aspectMapping, request, response, null);
+			aspectMapping.getInvoker().invoke(obj, aspectArgs);
+			Object result = next.proceed();
+			aspectMapping.getInvoker().invoke(obj, aspectArgs);
+			return result;
+		}
+
+		ProceedingJoinPoint joinPoint = new ProceedingJoinPoint(request, response, requestMapping, args, next);
+		Object value = aspectMapping.getInvoker().invoke(obj, aspectArguments(aspectMapping, request, response, joinPoint));
+		return aspectMapping.getAspectMethod().getReturnType() == void.class ? joinPoint.getResult() : value;
+	}
+
+	/**
+	 * <p>アスペクトメソッドの引数値配列生成</p>
+	 *
+	 * @param  aspectMapping アスペクトマッピング情報（引数の型は起動時に解決済み）
+	 * @param  request       HTTPリクエスト
+	 * @param  response      HTTPレスポンス
+	 * @param  joinPoint     実行中のジョインポイント（Around以外はnull）
+	 * @return 引数値配列
+	 */
+	protected Object[] aspectArguments(AspectMapping aspectMapping, HttpServletRequest request,
+									   HttpServletResponse response, ProceedingJoinPoint joinPoint) {
+		Class<?>[] argumentTypes = aspectMapping.getArgumentTypes();
+		Object[] args = new Object[argumentTypes.length];
+		for (int i = 0; i < argumentTypes.length; i++) {
+			if (argumentTypes[i] == ServletRequest.class) {
+				args[i] = request;
+			} else if (argumentTypes[i] == ServletResponse.class) {
+				args[i] = response;
+			} else {
+				args[i] = joinPoint;
+			}
+		}
+		return args;
+	}
+
+	/**
+	 * <p>実行クラスのインスタンス取得</p>
+	 *
+	 * @param  clazz 実行クラス
+	 * @return インスタンス
+	 * @throws InstantiationException    実行クラスのインスタンス生成に失敗した場合
+	 * @throws IllegalAccessException    コンストラクタへのアクセス権がない場合
+	 * @throws InvocationTargetException コンストラクタがスローする例外をラップする例外
+	 * @throws NoSuchMethodException     引数なしのコンストラクタが存在しない場合
+	 */
+	protected Object getInstance(Class<?> clazz)
+		throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+
+		if (instanceProvider == null) {
+			return clazz.getConstructor().newInstance();
+		}
+		return instanceProvider.getInstance(clazz, requestInstances);
+	}
+
+	/**
+	 * <p>保留中の非同期アスペクトメソッド</p>
+	 *
+	 * @param aspectMapping アスペクトマッピング情報
+	 * @param instance      アスペクトクラスのインスタンス
+	 */
+	private record Deferred(AspectMapping aspectMapping, Object instance) {
+	}
+
 }
@@ -0,0 +1,145 @@
+package net.skuratani.simplecontroller4j.execute;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.skuratani.simplecontroller4j.annotation.Aspect;
+import net.skuratani.simplecontroller4j.annotation.Controller;
+import net.skuratani.simplecontroller4j.annotation.Scope;
+
+/**
+ * <p>インスタンス提供</p>
+ * <pre>
+ * コントローラ・アスペクトクラスのインスタンスを、アノテーションのスコープに従って提供する。
+ * AUTOは構築時にクラスのフィールドを判定して、SINGLETON・PROTOTYPEのいずれかに決定する。
+ *     1. SINGLETON : 構築時に生成したインスタンスを返却する
+ *     2. PROTOTYPE : 呼び出し毎に生成したインスタンスを返却する
+ *     3. REQUEST   : リクエスト毎のインスタンスマップに生成済みのインスタンスを返却する
+ * 構築後は変更されないため、全リクエストスレッドから同期なしで参照できる。
+ * コントローラ・アスペクトアノテーションのないクラスはPROTOTYPEとして扱う。
+ * </pre>
+ */
+public class InstanceProvider {
+
+	/** クラス毎のスコープ */
+	private final Map<Class<?>, Scope> scopes = new HashMap<>();
+
+	/** クラス毎のコンストラクタ */
+	private final Map<Class<?>, Constructor<?>> constructors = new HashMap<>();
+
+	/** シングルトンインスタンス */
+	private final Map<Class<?>, Object> singletons = new HashMap<>();
+
+	/**
+	 * <p>コンストラクタ</p>
+	 * <pre>
+	 * SINGLETONスコープのクラスはここでインスタンスを生成する。
+	 * </pre>
+	 *
+	 * @param  classList コントローラ・アスペクトクラスリスト
+	 * @throws InstantiationException    インスタンス生成に失敗した場合
+	 * @throws IllegalAccessException    コンストラクタへのアクセス権がない場合
+	 * @throws InvocationTargetException コンストラクタがスローする例外をラップする例外
+	 * @throws NoSuchMethodException     引数なしのコンストラクタが存在しない場合
+	 */
+	public InstanceProvider(Iterable<Class<?>> classList)
+		throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+
+		for (Class<?> clazz : classList) {
+			if (clazz.isInterface() || scopes.containsKey(clazz)) continue;
+			Scope scope = scopeOf(clazz);
+			if (scope == null) continue;
+			Constructor<?> constructor = clazz.getConstructor();
+			scopes.put(clazz, scope);
+			constructors.put(clazz, constructor);
+			if (scope == Scope.SINGLETON) {
+				singletons.put(clazz, constructor.newInstance());
+			}
+		}
+	}
+
+	/**
+	 * <p>アノテーションからスコープ取得</p>
+	 *
+	 * @param  clazz クラス
+	 * @return スコープ（AUTOの場合は決定したスコープ。コントローラ・アスペクトアノテーションがない場合はnull）
+	 */
+	public static Scope scopeOf(Class<?> clazz) {
+		Scope scope = null;
+		Controller controller = clazz.getAnnotation(Controller.class);
+		if (controller != null) {
+			scope = controller.scope();
+		} else {
+			Aspect aspect = clazz.getAnnotation(Aspect.class);
+			if (aspect != null) scope = aspect.scope();
+		}
+		if (scope == Scope.AUTO) scope = isStateless(clazz) ? Scope.SINGLETON : Scope.PROTOTYPE;
+		return scope;
+	}
+
+	/**
+	 * <p>状態を持たないクラスの判定</p>
+	 *
+	 * @param  clazz クラス
+	 * @return boolean
+	 *         true  : スーパークラスを含めて、staticでもfinalでもないフィールドがない
+	 *         false : staticでもfinalでもないフィールドがある
+	 */
+	public static boolean isStateless(Class<?> clazz) {
+		for (Class<?> type = clazz; type != null && type != Object.class; type = type.getSuperclass()) {
+			for (Field field : type.getDeclaredFields()) {
+				int modifiers = field.getModifiers();
+				if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !field.isSynthetic()) return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * <p>インスタンス取得</p>
+	 *
+	 * @param  clazz            クラス
+	 * @param  requestInstances リクエストスコープのインスタンスマップ（リクエスト毎に用意する）
+	 * @return インスタンス
+	 * @throws InstantiationException    インスタンス生成に失敗した場合
+	 * @throws IllegalAccessException    コンストラクタへのアクセス権がない場合
+	 * @throws InvocationTargetException コンストラクタがスローする例外をラップする例外
+	 * @throws NoSuchMethodException     引数なしのコンストラクタが存在しない場合
+	 */
+	public Object getInstance(Class<?> clazz, Map<Class<?>, Object> requestInstances)
+		throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+
+		Scope scope = scopes.get(clazz);
+		if (scope == null) {
+			return clazz.getConstructor().newInstance();
+		}
+		switch (scope) {
+		case SINGLETON:
+			return singletons.get(clazz);
+		case REQUEST:
+			Object instance = requestInstances.get(clazz);
+			if (instance == null) {
+				instance = constructors.get(clazz).newInstance();
+				requestInstances.put(clazz, instance);
+			}
+			return instance;
+		default:
+			return constructors.get(clazz).newInstance();
+		}
+	}
+
+	/**
+	 * <p>スコープ取得</p>
+	 *
+	 * @param  clazz クラス
+	 * @return スコープ（登録されていないクラスの場合はPROTOTYPE）
+	 */
+	public Scope getScope(Class<?> clazz) {
+		return scopes.getOrDefault(clazz, Scope.PROTOTYPE);
+	}
+
+}
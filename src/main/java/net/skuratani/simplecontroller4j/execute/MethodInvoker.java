@@ -0,0 +1,188 @@
+package net.skuratani.simplecontroller4j.execute;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>メソッド実行オブジェクト</p>
+ * <pre>
+ * コントローラ・アスペクトのメソッドを起動時に1度だけMethodHandleに解決し、
+ * 型「(Object, Object[])Object」に統一したMethodHandleをinvokeExactで実行する。
+ * リフレクション（Method.invoke）と比較して、JITコンパイラによるインライン展開が可能となる。
+ * メソッドがスローした例外は、Method.invokeと同様にInvocationTargetExceptionでラップしてスローする。
+ * 実行インスタンス・引数の型は実行前にMethod.invokeと同じ規則（プリミティブ型の引数はアンボクシング後の
+ * 拡大変換を許容する。例：Integer → long・double）で判定し、一致しない場合はIllegalArgumentExceptionをスローする
+ * （型変換の失敗をメソッドの例外として扱わない為）。拡大変換はMethodHandleの型変換で行う。
+ * Errorはラップせずにそのままスローする。
+ * 実行オブジェクトはメソッドの宣言クラス毎（ClassValue）に保持する為、アプリケーションの再配置時に
+ * クラスローダーを保持し続けることはない。
+ * MethodHandleに解決できない場合（アクセス権がない場合など）はMethod.invokeで実行する。
+ * </pre>
+ */
+public final class MethodInvoker {
+
+	/** 統一したMethodHandleの型 */
+	private static final MethodType INVOKER_TYPE =
+			MethodType.methodType(Object.class, Object.class, Object[].class);
+
+	/** 宣言クラス毎の（メソッド毎の）実行オブジェクト */
+	private static final ClassValue<Map<Method, MethodInvoker>> INVOKERS = new ClassValue<>() {
+		@Override
+		protected Map<Method, MethodInvoker> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/** 実行メソッド */
+	private final Method method;
+
+	/** MethodHandle（解決できない場合はnull） */
+	private final MethodHandle handle;
+
+	/** プリミティブ型の引数位置 */
+	private final int[] primitiveIndexes;
+
+	/** 引数の型 */
+	private final Class<?>[] parameterTypes;
+
+	private MethodInvoker(Method method, MethodHandle handle) {
+		this.method = method;
+		this.handle = handle;
+		parameterTypes = method.getParameterTypes();
+		int count = 0;
+		for (Class<?> type : parameterTypes) {
+			if (type.isPrimitive()) count++;
+		}
+		primitiveIndexes = new int[count];
+		for (int i = 0, j = 0; i < parameterTypes.length; i++) {
+			if (parameterTypes[i].isPrimitive()) primitiveIndexes[j++] = i;
+		}
+	}
+
+	/**
+	 * <p>実行オブジェクト取得</p>
+	 * <pre>
+	 * メソッド毎に1度だけ生成し、以降は生成済みの実行オブジェクトを返却する。
+	 * </pre>
+	 *
+	 * @param  method 実行メソッド
+	 * @return 実行オブジェクト
+	 */
+	public static MethodInvoker forMethod(Method method) {
+		return INVOKERS.get(method.getDeclaringClass()).computeIfAbsent(method, MethodInvoker::create);
+	}
+
+	/**
+	 * <p>実行オブジェクト生成</p>
+	 *
+	 * @param  method 実行メソッド
+	 * @return 実行オブジェクト
+	 */
+	private static MethodInvoker create(Method method) {
+		MethodHandle handle;
+		try {
+			handle = MethodHandles.lookup().unreflect(method);
+			if (Modifier.isStatic(method.getModifiers())) {
+				handle = MethodHandles.dropArguments(handle, 0, Object.class);
+			}
+			handle = handle.asType(handle.type().generic())
+						   .asSpreader(Object[].class, method.getParameterCount())
+						   .asType(INVOKER_TYPE);
+		} catch (IllegalAccessException e) {
+			handle = null;
+		}
+		return new MethodInvoker(method, handle);
+	}
+
+	/**
+	 * <p>メソッド実行</p>
+	 *
+	 * @param  target 実行インスタンス（staticメソッドの場合は無視される）
+	 * @param  args   引数
+	 * @return 戻り値（戻り値がvoidの場合はnull）
+	 * @throws IllegalAccessException    メソッドへのアクセス権がない場合
+	 * @throws IllegalArgumentException  実行インスタンス・引数の数・引数の型が一致しない、またはプリミティブ型の引数がnullの場合
+	 * @throws InvocationTargetException 実行メソッドがスローする例外（Errorを除く）をラップする例外
+	 */
+	public Object invoke(Object target, Object[] args)
+		throws IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+
+		if (handle == null) {
+			return method.invoke(target, args);
+		}
+		if (args.length != method.getParameterCount()) {
+			throw new IllegalArgumentException("wrong number of arguments: " + args.length
+					+ " expected: " + method.getParameterCount());
+		}
+		for (int index : primitiveIndexes) {
+			if (args[index] == null) {
+				throw new IllegalArgumentException("null argument for primitive parameter " + index + " of " + method);
+			}
+		}
+		for (int i = 0; i < args.length; i++) {
+			if (args[i] != null && !isAssignable(parameterTypes[i], args[i])) {
+				throw new IllegalArgumentException("argument type mismatch: " + args[i].getClass().getName()
+						+ " for parameter " + i + " of " + method);
+			}
+		}
+		if (!Modifier.isStatic(method.getModifiers()) && !method.getDeclaringClass().isInstance(target)) {
+			throw new IllegalArgumentException("object is not an instance of declaring class: " + method);
+		}
+		try {
+			return (Object) handle.invokeExact(target, args);
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new InvocationTargetException(t);
+		}
+	}
+
+	/**
+	 * <p>引数の型判定</p>
+	 * <pre>
+	 * Method.invokeと同じく、参照型は代入可能か、プリミティブ型はアンボクシングした値が
+	 * 同じ型か拡大変換（JLS 5.1.2）可能な型かを判定する。
+	 * </pre>
+	 *
+	 * @param  parameterType 引数の型
+	 * @param  arg           引数（null以外）
+	 * @return boolean
+	 *         true  : 引数として渡すことができる
+	 *         false : 渡すことができない
+	 */
+	static boolean isAssignable(Class<?> parameterType, Object arg) {
+		if (!parameterType.isPrimitive()) return parameterType.isInstance(arg);
+
+		Class<?> source = MethodType.methodType(arg.getClass()).unwrap().returnType();
+		if (source == parameterType) return true;
+		if (source == byte.class) {
+			return parameterType == short.class || parameterType == int.class || parameterType == long.class
+				|| parameterType == float.class || parameterType == double.class;
+		}
+		if (source == short.class || source == char.class) {
+			return parameterType == int.class || parameterType == long.class
+				|| parameterType == float.class || parameterType == double.class;
+		}
+		if (source == int.class) {
+			return parameterType == long.class || parameterType == float.class || parameterType == double.class;
+		}
+		if (source == long.class) {
+			return parameterType == float.class || parameterType == double.class;
+		}
+		if (source == float.class) {
+			return parameterType == double.class;
+		}
+		return false;
+	}
+
+	public Method getMethod() {
+		return method;
+	}
+
+}
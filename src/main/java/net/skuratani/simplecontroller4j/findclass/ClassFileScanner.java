@@ -0,0 +1,364 @@
+package net.skuratani.simplecontroller4j.findclass;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * <p>クラスファイルスキャナ</p>
+ * <pre>
+ * クラスファイルをロードせずに、クラスファイルの定数プール・RuntimeVisibleAnnotations属性を直接読み取り、
+ * 指定したアノテーションがクラスに記述されているかを判定する。
+ * ディレクトリ配下のクラスファイル・jarファイルのエントリをForkJoinPoolで並列に読み取り、
+ * 判定に一致したクラスのみをクラスローダでロードする（クラスの初期化は行わない）。
+ * </pre>
+ */
+public class ClassFileScanner {
+
+	/** クラスファイルのマジックナンバー */
+	private static final int MAGIC = 0xCAFEBABE;
+
+	/** アクセスフラグ（インターフェイス・アノテーション・モジュール） */
+	private static final int ACC_INTERFACE = 0x0200;
+	private static final int ACC_ANNOTATION = 0x2000;
+	private static final int ACC_MODULE = 0x8000;
+
+	/** 属性名 */
+	private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS =
+			"RuntimeVisibleAnnotations".getBytes(StandardCharsets.US_ASCII);
+
+	/** 探索アノテーションの型記述子（例：Lnet/skuratani/simplecontroller4j/annotation/Controller;） */
+	private final byte[][] descriptors;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param annotationTypes 探索アノテーション
+	 */
+	public ClassFileScanner(List<Class<?>> annotationTypes) {
+		descriptors = new byte[annotationTypes.size()][];
+		for (int i = 0; i < annotationTypes.size(); i++) {
+			descriptors[i] = ("L" + annotationTypes.get(i).getName().replace('.', '/') + ";")
+					.getBytes(StandardCharsets.US_ASCII);
+		}
+	}
+
+	/**
+	 * <p>探索アノテーションが記述されたクラスをロード</p>
+	 *
+	 * @param  classesDir  クラスディレクトリ（nullの場合は探索しない）
+	 * @param  libDir      jarディレクトリ（nullの場合は探索しない）
+	 * @param  classLoader クラスローダ
+	 * @return クラスリスト（クラス名順）
+	 * @throws IOException            クラスファイル・jarファイルの読み込みに失敗した場合
+	 * @throws ClassNotFoundException 探索したクラスのロードに失敗した場合
+	 */
+	public List<Class<?>> scan(Path classesDir, Path libDir, ClassLoader classLoader)
+		throws IOException, ClassNotFoundException {
+
+		List<Path> classFiles = new ArrayList<>();
+		List<Path> jarFiles = new ArrayList<>();
+		if (classesDir != null && Files.isDirectory(classesDir)) {
+			try (Stream<Path> stream = Files.walk(classesDir)) {
+				stream.filter(path -> path.getFileName().toString().endsWith(".class"))
+					  .filter(Files::isRegularFile)
+					  .forEach(classFiles::add);
+			}
+		}
+		if (libDir != null && Files.isDirectory(libDir)) {
+			try (Stream<Path> stream = Files.list(libDir)) {
+				stream.filter(path -> path.getFileName().toString().endsWith(".jar"))
+					  .forEach(jarFiles::add);
+			}
+		}
+
+		List<String> classNames;
+		ForkJoinPool pool = new ForkJoinPool();
+		try {
+			classNames = pool.submit(() -> Stream.concat(
+						classFiles.parallelStream().map(this::scanClassFile),
+						jarFiles.parallelStream().flatMap(jar -> scanJarFile(jar).stream()))
+					.filter(Objects::nonNull)
+					.distinct()
+					.sorted(Comparator.naturalOrder())
+					.collect(Collectors.toList())).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e.getMessage(), e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+			throw new IOException(e.getCause().getMessage(), e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+
+		List<Class<?>> classes = new ArrayList<>();
+		for (String className : classNames) {
+			classes.add(Class.forName(className, false, classLoader));
+		}
+		return classes;
+	}
+
+	/**
+	 * <p>クラスファイル読み取り</p>
+	 *
+	 * @param  classFile クラスファイル
+	 * @return 探索アノテーションが記述されたクラスの場合はクラス名、それ以外はnull
+	 */
+	protected String scanClassFile(Path classFile) {
+		try (FileChannel channel = FileChannel.open(classFile, StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0) {}
+			buffer.flip();
+			return findAnnotatedClass(buffer);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * <p>jarファイル読み取り</p>
+	 *
+	 * @param  jarFile jarファイル
+	 * @return 探索アノテーションが記述されたクラス名リスト
+	 */
+	protected List<String> scanJarFile(Path jarFile) {
+		List<String> classNames = new ArrayList<>();
+		try (JarFile jar = new JarFile(jarFile.toFile())) {
+			Enumeration<JarEntry> entries = jar.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = entries.nextElement();
+				if (entry.isDirectory() || !entry.getName().endsWith(".class")
+					|| entry.getName().startsWith("META-INF/")) {
+					continue;
+				}
+				try (InputStream in = jar.getInputStream(entry)) {
+					String className = findAnnotatedClass(ByteBuffer.wrap(in.readAllBytes()));
+					if (className != null) classNames.add(className);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return classNames;
+	}
+
+	/**
+	 * <p>クラスファイル解析</p>
+	 * <pre>
+	 * 定数プールに探索アノテーションの型記述子が存在しない場合は、定数プールの読み取りのみで終了する。
+	 * 存在する場合はクラスのRuntimeVisibleAnnotations属性まで読み進め、クラスへの記述を確認する。
+	 * 不正なクラスファイルの場合はnullを返却する。
+	 * </pre>
+	 *
+	 * @param  buffer クラスファイル内容
+	 * @return 探索アノテーションが記述されたクラスの場合はクラス名、それ以外はnull
+	 */
+	public String findAnnotatedClass(ByteBuffer buffer) {
+		try {
+			if (buffer.getInt() != MAGIC) return null;
+			buffer.getShort(); // minor_version
+			buffer.getShort(); // major_version
+
+			//------------------------------------------//
+			// 定数プール
+			//------------------------------------------//
+			int constantPoolCount = buffer.getShort() & 0xFFFF;
+			int[] offsets = new int[constantPoolCount];
+			boolean candidate = false;
+			for (int i = 1; i < constantPoolCount; i++) {
+				int tag = buffer.get();
+				offsets[i] = buffer.position();
+				switch (tag) {
+				case 1: // Utf8
+					int length = buffer.getShort() & 0xFFFF;
+					if (!candidate && isDescriptor(buffer, buffer.position(), length)) candidate = true;
+					skip(buffer, length);
+					break;
+				case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+					skip(buffer, 4);
+					break;
+				case 5: case 6: // Long・Double（2エントリ分）
+					skip(buffer, 8);
+					i++;
+					break;
+				case 7: case 8: case 16: case 19: case 20:
+					skip(buffer, 2);
+					break;
+				case 15:
+					skip(buffer, 3);
+					break;
+				default:
+					return null;
+				}
+			}
+			if (!candidate) return null;
+
+			int accessFlags = buffer.getShort() & 0xFFFF;
+			if ((accessFlags & (ACC_INTERFACE | ACC_ANNOTATION | ACC_MODULE)) != 0) return null;
+			int thisClass = buffer.getShort() & 0xFFFF;
+			buffer.getShort(); // super_class
+			skip(buffer, (buffer.getShort() & 0xFFFF) * 2); // interfaces
+
+			//------------------------------------------//
+			// フィールド・メソッド（読み飛ばし）
+			//------------------------------------------//
+			for (int member = 0; member < 2; member++) {
+				int count = buffer.getShort() & 0xFFFF;
+				for (int i = 0; i < count; i++) {
+					skip(buffer, 6);
+					skipAttributes(buffer);
+				}
+			}
+
+			//------------------------------------------//
+			// クラス属性
+			//------------------------------------------//
+			int attributeCount = buffer.getShort() & 0xFFFF;
+			for (int i = 0; i < attributeCount; i++) {
+				int nameIndex = buffer.getShort() & 0xFFFF;
+				int length = buffer.getInt();
+				int end = buffer.position() + length;
+				if (utf8Equals(buffer, offsets[nameIndex], RUNTIME_VISIBLE_ANNOTATIONS)) {
+					int annotationCount = buffer.getShort() & 0xFFFF;
+					for (int j = 0; j < annotationCount; j++) {
+						int typeIndex = buffer.getShort() & 0xFFFF;
+						int offset = offsets[typeIndex];
+						if (isDescriptor(buffer, offset + 2, buffer.getShort(offset) & 0xFFFF)) {
+							int nameOffset = offsets[buffer.getShort(offsets[thisClass]) & 0xFFFF];
+							return utf8(buffer, nameOffset).replace('/', '.');
+						}
+						skipElementValuePairs(buffer);
+					}
+				}
+				buffer.position(end);
+			}
+			return null;
+
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * <p>探索アノテーションの型記述子との一致判定</p>
+	 */
+	private boolean isDescriptor(ByteBuffer buffer, int offset, int length) {
+		for (byte[] descriptor : descriptors) {
+			if (descriptor.length != length) continue;
+			boolean match = true;
+			for (int i = 0; i < length && match; i++) {
+				match = buffer.get(offset + i) == descriptor[i];
+			}
+			if (match) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * <p>Utf8定数との一致判定</p>
+	 */
+	private boolean utf8Equals(ByteBuffer buffer, int offset, byte[] value) {
+		int length = buffer.getShort(offset) & 0xFFFF;
+		if (length != value.length) return false;
+		for (int i = 0; i < length; i++) {
+			if (buffer.get(offset + 2 + i) != value[i]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * <p>Utf8定数の文字列取得</p>
+	 * <pre>
+	 * クラス名はASCII以外を含む場合があるため、修正UTF-8の2・3バイト表現も復号する。
+	 * </pre>
+	 */
+	private String utf8(ByteBuffer buffer, int offset) {
+		int length = buffer.getShort(offset) & 0xFFFF;
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = offset + 2; i < offset + 2 + length; i++) {
+			int b = buffer.get(i) & 0xFF;
+			if (b < 0x80) {
+				builder.append((char) b);
+			} else if ((b & 0xE0) == 0xC0) {
+				builder.append((char) (((b & 0x1F) << 6) | (buffer.get(++i) & 0x3F)));
+			} else {
+				int b2 = buffer.get(++i) & 0x3F;
+				int b3 = buffer.get(++i) & 0x3F;
+				builder.append((char) (((b & 0x0F) << 12) | (b2 << 6) | b3));
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * <p>属性の読み飛ばし</p>
+	 */
+	private void skipAttributes(ByteBuffer buffer) {
+		int count = buffer.getShort() & 0xFFFF;
+		for (int i = 0; i < count; i++) {
+			buffer.getShort(); // attribute_name_index
+			skip(buffer, buffer.getInt());
+		}
+	}
+
+	/**
+	 * <p>アノテーション要素の読み飛ばし</p>
+	 */
+	private void skipElementValuePairs(ByteBuffer buffer) {
+		int count = buffer.getShort() & 0xFFFF;
+		for (int i = 0; i < count; i++) {
+			buffer.getShort(); // element_name_index
+			skipElementValue(buffer);
+		}
+	}
+
+	/**
+	 * <p>アノテーション要素値の読み飛ばし</p>
+	 */
+	private void skipElementValue(ByteBuffer buffer) {
+		int tag = buffer.get();
+		switch (tag) {
+		case 'e':
+			skip(buffer, 4);
+			break;
+		case '@':
+			buffer.getShort(); // type_index
+			skipElementValuePairs(buffer);
+			break;
+		case '[':
+			int count = buffer.getShort() & 0xFFFF;
+			for (int i = 0; i < count; i++) {
+				skipElementValue(buffer);
+			}
+			break;
+		default: // B C D F I J S Z s c
+			skip(buffer, 2);
+		}
+	}
+
+	private static void skip(ByteBuffer buffer, int length) {
+		buffer.position(buffer.position() + length);
+	}
+
+}
@@ -0,0 +1,97 @@
+package net.skuratani.simplecontroller4j.findclass;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>クラスインデックス</p>
+ * <pre>
+ * コンパイル時にアノテーションプロセッサ（IndexProcessor）が生成するインデックスファイルを読み込む。
+ * インデックスファイルはクラスパス上の「META-INF/simplecontroller4j/index」に出力され、
+ * 1行に1エントリをタブ区切りで記述する。
+ *     1. controller [コントローラクラス名]
+ *     2. route      [コントローラクラス名] [HTTPメソッド] [ルーティングパス] [実行メソッドシグネチャ]
+ *     3. aspect     [アスペクトクラス名]
+ *     4. advice     [アスペクトクラス名] [ジョインポイント] [アスペクトメソッドシグネチャ] [execution]
+ * 「#」で始まる行はコメントとして無視される。
+ * route・adviceはツール・運用確認向けの情報であり、ディスパッチャサーブレットは
+ * controller・aspectに記載されたクラスのみをロードする。
+ * </pre>
+ */
+public class ClassIndex {
+
+	/** インデックスファイルのリソースパス */
+	public static final String RESOURCE_NAME = "META-INF/simplecontroller4j/index";
+
+	/** コントローラエントリ */
+	public static final String CONTROLLER = "controller";
+	/** ルーティングエントリ */
+	public static final String ROUTE = "route";
+	/** アスペクトエントリ */
+	public static final String ASPECT = "aspect";
+	/** アドバイスエントリ */
+	public static final String ADVICE = "advice";
+
+	/** フィールド区切り文字 */
+	public static final String SEPARATOR = "\t";
+
+	/**
+	 * <p>インデックスに記載されたコントローラ・アスペクトクラスをロード</p>
+	 *
+	 * @param  classLoader クラスローダ
+	 * @return クラスリスト（インデックスファイルが存在しない場合はnull）
+	 * @throws IOException            インデックスファイルの読み込みに失敗した場合
+	 * @throws ClassNotFoundException インデックスに記載されたクラスが存在しない場合
+	 */
+	public static List<Class<?>> loadClasses(ClassLoader classLoader)
+		throws IOException, ClassNotFoundException {
+
+		Enumeration<URL> resources = classLoader.getResources(RESOURCE_NAME);
+		if (!resources.hasMoreElements()) return null;
+
+		Set<String> classNames = new LinkedHashSet<>();
+		while (resources.hasMoreElements()) {
+			try (InputStream in = resources.nextElement().openStream()) {
+				classNames.addAll(readClassNames(in));
+			}
+		}
+
+		List<Class<?>> classes = new ArrayList<>();
+		for (String className : classNames) {
+			classes.add(classLoader.loadClass(className));
+		}
+		return classes;
+	}
+
+	/**
+	 * <p>インデックスファイルからコントローラ・アスペクトクラス名を読み込み</p>
+	 *
+	 * @param  in インデックスファイル入力ストリーム
+	 * @return クラス名リスト
+	 * @throws IOException インデックスファイルの読み込みに失敗した場合
+	 */
+	public static List<String> readClassNames(InputStream in) throws IOException {
+
+		List<String> classNames = new ArrayList<>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.isBlank() || line.startsWith("#")) continue;
+			String[] fields = line.split(SEPARATOR);
+			if (fields.length >= 2 && (CONTROLLER.equals(fields[0]) || ASPECT.equals(fields[0]))) {
+				classNames.add(fields[1].trim());
+			}
+		}
+		return classNames;
+	}
+
+}
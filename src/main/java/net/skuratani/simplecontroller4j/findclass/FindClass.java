@@ -1,46 +1,47 @@
 package net.skuratani.simplecontroller4j.findclass;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
 
+import net.skuratani.simplecontroller4j.annotation.Aspect;
+import net.skuratani.simplecontroller4j.annotation.Controller;
+
 /**
  * <p>クラス探索</p>
  * <pre>
- * ルーター・アスペクトからの依頼を受けて、指定ディレクトリ配下の全クラスを取得する。
+ * ルーター・アスペクトからの依頼を受けて、指定ディレクトリ配下のコントローラクラス・アスペクトクラスを取得する。
+ * クラスファイルの内容からアノテーションを判定するため、コントローラ・アスペクト以外のクラスはロードされない。
  * </pre>
  */
 public class FindClass {
 
     /**
-     * <p>指定ディレクトリ配下の全クラスをリスト取得</p>
+     * <p>指定ディレクトリ配下のコントローラクラス・アスペクトクラスをリスト取得</p>
      *
      * @param  dir     探索ディレクトリ
      * @return classes クラスリスト
      * @throws ClassNotFoundException 探索したクラスが存在しない場合
-     * @throws IOException 
+     * @throws IOException クラスファイルの読み込みに失敗した場合
      */
 	public static List<Class<?>> findClasses(Path dir)
         throws IOException, ClassNotFoundException {
+		return findClasses(dir, null);
+    }
 
-        List<Class<?>> classes = new ArrayList<>();
-        for (Path entry : Files.list(dir).toList()) {
-            if (Files.isRegularFile(entry) && entry.getFileName().toString().endsWith(".class")) {
-                classes.add(Thread.currentThread().getContextClassLoader().loadClass(
-                        entry.toAbsolutePath().toString()
-                            .substring(entry.toAbsolutePath().toString().indexOf("classes") + 8)
-                        	.replace("\\", ".")
-                            .replace("/", ".")
-                            .replace(".class", ""))
-                );
-            } else if (Files.isDirectory(entry)) {
-                classes.addAll(findClasses(dir.resolve(entry)));
-            }
-        }
-
-        return classes;
+    /**
+     * <p>指定ディレクトリ・jarディレクトリ配下のコントローラクラス・アスペクトクラスをリスト取得</p>
+     *
+     * @param  dir     探索ディレクトリ（WEB-INF/classes）
+     * @param  libDir  探索jarディレクトリ（WEB-INF/lib）。nullの場合は探索しない
+     * @return classes クラスリスト
+     * @throws ClassNotFoundException 探索したクラスが存在しない場合
+     * @throws IOException クラスファイル・jarファイルの読み込みに失敗した場合
+     */
+	public static List<Class<?>> findClasses(Path dir, Path libDir)
+        throws IOException, ClassNotFoundException {
+		return new ClassFileScanner(List.of(Controller.class, Aspect.class))
+				.scan(dir, libDir, Thread.currentThread().getContextClassLoader());
     }
 
 }
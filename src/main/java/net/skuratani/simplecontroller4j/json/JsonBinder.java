@@ -0,0 +1,376 @@
+package net.skuratani.simplecontroller4j.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.skuratani.simplecontroller4j.binder.BeanBinding;
+import net.skuratani.simplecontroller4j.converter.Converter;
+import net.skuratani.simplecontroller4j.converter.ConverterRegistry;
+
+/**
+ * <p>JSONバインダ</p>
+ * <pre>
+ * JSONリーダーから読み込んだ値を、指定した型のオブジェクトに直接バインドする。
+ * 中間の文字列・木構造は生成しない。
+ *     1. JSONオブジェクト → レコードクラス・パラメータ格納クラス（BeanBindingのバインド情報を使用）・Map
+ *     2. JSON配列        → 配列・List・Set・Collection
+ *     3. 文字列・数値     → String・型変換レジストリで変換できる型（数値型・列挙型・UUID・java.time型など）
+ *     4. 真偽値          → boolean・Boolean・String
+ *     5. null            → null（プリミティブ型のフィールドは設定しない）
+ * バインド先の型がObjectの場合は、JSONの値の種類に従ってMap・List・String・数値・Booleanを生成する。
+ * パラメータ格納クラスに存在しないメンバーは読み飛ばす。
+ * </pre>
+ */
+public class JsonBinder {
+
+	/** 既定の型変換レジストリを使用するJSONバインダ */
+	private static volatile JsonBinder defaultBinder;
+
+	/** 型変換レジストリ */
+	private final ConverterRegistry registry;
+
+	/** クラス毎のバインド情報 */
+	private final Map<Class<?>, BeanBinding> beanBindings = new ConcurrentHashMap<>();
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param registry 型変換レジストリ
+	 */
+	public JsonBinder(ConverterRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * <p>既定のJSONバインダ取得</p>
+	 *
+	 * @return 既定の型変換レジストリを使用するJSONバインダ
+	 */
+	public static JsonBinder getDefault() {
+		JsonBinder binder = defaultBinder;
+		if (binder == null) {
+			binder = new JsonBinder(ConverterRegistry.getDefault());
+			defaultBinder = binder;
+		}
+		return binder;
+	}
+
+	/**
+	 * <p>JSON読み込み</p>
+	 *
+	 * @param  in   入力ストリーム（UTF-8）
+	 * @param  type バインド先の型
+	 * @return バインドしたオブジェクト（空の入力の場合はnull）
+	 * @throws IOException                  入力ストリームの読み込みに失敗した場合
+	 * @throws ReflectiveOperationException バインド先のインスタンス生成・セッターの実行に失敗した場合
+	 * @throws JsonException                JSONが不正な場合・バインド先の型に変換できない場合
+	 */
+	public Object read(InputStream in, Type type) throws IOException, ReflectiveOperationException {
+		JsonReader reader = new JsonReader(in);
+		if (reader.peek() == JsonToken.END_DOCUMENT) return null;
+		Object value = readValue(reader, type, null);
+		reader.endDocument();
+		return value;
+	}
+
+	/**
+	 * <p>値読み込み</p>
+	 *
+	 * @param  reader    JSONリーダー
+	 * @param  type      バインド先の型
+	 * @param  converter バインド先の型の型変換（未決定の場合はnull）
+	 * @return バインドした値
+	 * @throws IOException                  入力ストリームの読み込みに失敗した場合
+	 * @throws ReflectiveOperationException バインド先のインスタンス生成・セッターの実行に失敗した場合
+	 */
+	protected Object readValue(JsonReader reader, Type type, Converter<?> converter)
+		throws IOException, ReflectiveOperationException {
+
+		Class<?> raw = rawType(type);
+		JsonToken token = reader.peek();
+		switch (token) {
+		case NULL:
+			reader.nextNull();
+			return null;
+		case BEGIN_ARRAY:
+			if (raw.isArray()) {
+				return readArray(reader, componentType(type));
+			}
+			if (raw == Object.class || raw == Iterable.class || Collection.class.isAssignableFrom(raw)) {
+				return readCollection(reader, raw, typeArgument(type, 0));
+			}
+			throw mismatch(token, type);
+		case BEGIN_OBJECT:
+			if (raw == Object.class || Map.class.isAssignableFrom(raw)) {
+				return readMap(reader, raw, typeArgument(type, 0), typeArgument(type, 1));
+			}
+			if (raw.isArray() || raw.isPrimitive() || raw.isInterface() || registry.find(raw) != null) {
+				throw mismatch(token, type);
+			}
+			return readBean(reader, raw);
+		case STRING:
+			return convert(reader.nextString(), raw, converter, token, type);
+		case NUMBER:
+			String number = reader.nextNumber();
+			if (raw == Object.class || raw == Number.class) return toNumber(number);
+			return convert(number, raw, converter, token, type);
+		case BOOLEAN:
+			boolean bool = reader.nextBoolean();
+			if (raw == boolean.class || raw == Boolean.class || raw == Object.class) return bool;
+			if (raw == String.class) return String.valueOf(bool);
+			throw mismatch(token, type);
+		default:
+			throw mismatch(token, type);
+		}
+	}
+
+	/**
+	 * <p>オブジェクト読み込み（レコードクラス・パラメータ格納クラス）</p>
+	 *
+	 * @param  reader JSONリーダー
+	 * @param  type   バインド先のクラス
+	 * @return バインドしたオブジェクト
+	 * @throws IOException                  入力ストリームの読み込みに失敗した場合
+	 * @throws ReflectiveOperationException バインド先のインスタンス生成・セッターの実行に失敗した場合
+	 */
+	protected Object readBean(JsonReader reader, Class<?> type) throws IOException, ReflectiveOperationException {
+
+		BeanBinding beanBinding = beanBindings.computeIfAbsent(type, t -> BeanBinding.of(t, registry));
+		Object target = beanBinding.newTarget();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			BeanBinding.Property property = beanBinding.getProperty(reader.nextName());
+			if (property == null) {
+				reader.skipValue();
+				continue;
+			}
+			beanBinding.set(target, property,
+							readValue(reader, property.getGenericType(), property.getConverter()));
+		}
+		reader.endObject();
+		return beanBinding.complete(target);
+	}
+
+	/**
+	 * <p>Map読み込み</p>
+	 *
+	 * @param  reader    JSONリーダー
+	 * @param  type      バインド先のクラス
+	 * @param  keyType   キーの型
+	 * @param  valueType 値の型
+	 * @return バインドしたMap
+	 * @throws IOException                  入力ストリームの読み込みに失敗した場合
+	 * @throws ReflectiveOperationException バインド先のインスタンス生成・セッターの実行に失敗した場合
+	 */
+	@SuppressWarnings("unchecked")
+	protected Object readMap(JsonReader reader, Class<?> type, Type keyType, Type valueType)
+		throws IOException, ReflectiveOperationException {
+
+		Map<Object, Object> map;
+		if (type.isAssignableFrom(LinkedHashMap.class)) {
+			map = new LinkedHashMap<>();
+		} else if (type.isAssignableFrom(TreeMap.class)) {
+			map = new TreeMap<>();
+		} else {
+			map = (Map<Object, Object>) type.getDeclaredConstructor().newInstance();
+		}
+
+		Class<?> rawKeyType = rawType(keyType);
+		Converter<?> keyConverter = rawKeyType == String.class || rawKeyType == Object.class ? null : registry.find(rawKeyType);
+		if (keyConverter == null && rawKeyType != String.class && rawKeyType != Object.class) {
+			throw new JsonException("cannot bind a JSON object name to " + keyType.getTypeName());
+		}
+		Converter<?> valueConverter = registry.find(rawType(valueType));
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name = reader.nextName();
+			Object key = keyConverter == null ? name : keyConverter.convert(name);
+			map.put(key, readValue(reader, valueType, valueConverter));
+		}
+		reader.endObject();
+		return map;
+	}
+
+	/**
+	 * <p>Collection読み込み</p>
+	 *
+	 * @param  reader      JSONリーダー
+	 * @param  type        バインド先のクラス
+	 * @param  elementType 要素の型
+	 * @return バインドしたCollection
+	 * @throws IOException                  入力ストリームの読み込みに失敗した場合
+	 * @throws ReflectiveOperationException バインド先のインスタンス生成・セッターの実行に失敗した場合
+	 */
+	@SuppressWarnings("unchecked")
+	protected Object readCollection(JsonReader reader, Class<?> type, Type elementType)
+		throws IOException, ReflectiveOperationException {
+
+		Collection<Object> collection;
+		if (type.isAssignableFrom(ArrayList.class)) {
+			collection = new ArrayList<>();
+		} else if (type.isAssignableFrom(LinkedHashSet.class)) {
+			collection = new LinkedHashSet<>();
+		} else if (type.isAssignableFrom(TreeSet.class)) {
+			collection = new TreeSet<>();
+		} else {
+			collection = (Collection<Object>) type.getDeclaredConstructor().newInstance();
+		}
+
+		Converter<?> elementConverter = registry.find(rawType(elementType));
+		reader.beginArray();
+		while (reader.hasNext()) {
+			collection.add(readValue(reader, elementType, elementConverter));
+		}
+		reader.endArray();
+		return collection;
+	}
+
+	/**
+	 * <p>配列読み込み</p>
+	 *
+	 * @param  reader        JSONリーダー
+	 * @param  componentType 要素の型
+	 * @return バインドした配列
+	 * @throws IOException                  入力ストリームの読み込みに失敗した場合
+	 * @throws ReflectiveOperationException バインド先のインスタンス生成・セッターの実行に失敗した場合
+	 */
+	protected Object readArray(JsonReader reader, Type componentType)
+		throws IOException, ReflectiveOperationException {
+
+		Class<?> rawComponentType = rawType(componentType);
+		Converter<?> elementConverter = registry.find(rawComponentType);
+		List<Object> elements = new ArrayList<>();
+		reader.beginArray();
+		while (reader.hasNext()) {
+			Object element = readValue(reader, componentType, elementConverter);
+			if (element == null && rawComponentType.isPrimitive()) {
+				throw new JsonException("null element for " + rawComponentType.getName() + "[]");
+			}
+			elements.add(element);
+		}
+		reader.endArray();
+
+		Object array = Array.newInstance(rawComponentType, elements.size());
+		for (int i = 0; i < elements.size(); i++) {
+			Array.set(array, i, elements.get(i));
+		}
+		return array;
+	}
+
+	/**
+	 * <p>文字列・数値の型変換</p>
+	 *
+	 * @param  value     文字列・数値の文字列表現
+	 * @param  raw       バインド先のクラス
+	 * @param  converter バインド先の型の型変換（未決定の場合はnull）
+	 * @param  token     JSONトークン
+	 * @param  type      バインド先の型
+	 * @return 変換した値
+	 */
+	protected Object convert(String value, Class<?> raw, Converter<?> converter, JsonToken token, Type type) {
+		if (raw == String.class || raw == Object.class || raw == CharSequence.class) return value;
+		if (converter == null) converter = registry.find(raw);
+		if (converter == null) throw mismatch(token, type);
+		return converter.convert(value);
+	}
+
+	/**
+	 * <p>数値生成（バインド先の型がObjectの場合）</p>
+	 *
+	 * @param  number 数値の文字列表現
+	 * @return Integer・Long・BigInteger・Double
+	 */
+	protected static Object toNumber(String number) {
+		for (int i = 0; i < number.length(); i++) {
+			char c = number.charAt(i);
+			if (c == '.' || c == 'e' || c == 'E') return Double.valueOf(number);
+		}
+		if (number.length() <= 18) {
+			long value = Long.parseLong(number);
+			if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) return (int) value;
+			return value;
+		}
+		BigInteger value = new BigInteger(number);
+		return value.bitLength() < 64 ? (Object) value.longValue() : value;
+	}
+
+	/**
+	 * <p>型の不一致例外生成</p>
+	 *
+	 * @param  token JSONトークン
+	 * @param  type  バインド先の型
+	 * @return JSON例外
+	 */
+	private static JsonException mismatch(JsonToken token, Type type) {
+		return new JsonException("cannot bind JSON " + token + " to " + type.getTypeName());
+	}
+
+	/**
+	 * <p>型のクラス取得</p>
+	 *
+	 * @param  type 型
+	 * @return クラス（型変数・ワイルドカードの場合は上限境界のクラス）
+	 */
+	protected static Class<?> rawType(Type type) {
+		if (type instanceof Class) {
+			return (Class<?>) type;
+		} else if (type instanceof ParameterizedType) {
+			return (Class<?>) ((ParameterizedType) type).getRawType();
+		} else if (type instanceof GenericArrayType) {
+			return Array.newInstance(rawType(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+		} else if (type instanceof TypeVariable) {
+			Type[] bounds = ((TypeVariable<?>) type).getBounds();
+			return bounds.length == 0 ? Object.class : rawType(bounds[0]);
+		} else if (type instanceof WildcardType) {
+			Type[] bounds = ((WildcardType) type).getUpperBounds();
+			return bounds.length == 0 ? Object.class : rawType(bounds[0]);
+		}
+		return Object.class;
+	}
+
+	/**
+	 * <p>型引数取得</p>
+	 *
+	 * @param  type  型
+	 * @param  index 型引数の位置
+	 * @return 型引数（型引数が指定されていない場合はObject）
+	 */
+	protected static Type typeArgument(Type type, int index) {
+		if (type instanceof ParameterizedType) {
+			Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+			if (index < arguments.length) return arguments[index];
+		}
+		return Object.class;
+	}
+
+	/**
+	 * <p>配列要素の型取得</p>
+	 *
+	 * @param  type 配列の型
+	 * @return 配列要素の型
+	 */
+	protected static Type componentType(Type type) {
+		if (type instanceof GenericArrayType) {
+			return ((GenericArrayType) type).getGenericComponentType();
+		}
+		return ((Class<?>) type).getComponentType();
+	}
+
+}
@@ -0,0 +1,33 @@
+package net.skuratani.simplecontroller4j.json;
+
+/**
+ * <p>JSON例外</p>
+ * <pre>
+ * リクエストボディーのJSONが不正な場合、またはバインド先の型に変換できない場合にスローされる。
+ * 不正なパラメータ値と同様にIllegalArgumentExceptionとして扱われる。
+ * </pre>
+ */
+public class JsonException extends IllegalArgumentException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param message メッセージ
+	 */
+	public JsonException(String message) {
+		super(message);
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param message メッセージ
+	 * @param cause   原因
+	 */
+	public JsonException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+}
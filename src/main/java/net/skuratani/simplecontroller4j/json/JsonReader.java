@@ -0,0 +1,621 @@
+package net.skuratani.simplecontroller4j.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * <p>JSONリーダー</p>
+ * <pre>
+ * 入力ストリームのバイト列（UTF-8）から、JSONの値を先頭から順に読み込むプルパーサー。
+ * 入力は固定長のバッファ単位で読み込み、ボディー全体の文字列や木構造は生成しない。
+ * 文字列値はASCII文字をバッファから直接読み取り、それ以外の文字はUTF-8として復号する。
+ *    (ex.) reader.beginObject();
+ *          while (reader.hasNext()) {
+ *              String name = reader.nextName();
+ *              ...
+ *          }
+ *          reader.endObject();
+ * 入れ子の深さが上限（既定値：512）を超えた場合はJsonExceptionをスローする。
+ * </pre>
+ */
+public class JsonReader {
+
+	/** 入れ子の深さの既定の上限 */
+	public static final int DEFAULT_MAX_DEPTH = 512;
+
+	/** 読み込みバッファサイズ */
+	private static final int BUFFER_SIZE = 8192;
+
+	/** スコープ：値の読み込み前のドキュメント */
+	private static final byte EMPTY_DOCUMENT = 0;
+	/** スコープ：値の読み込み後のドキュメント */
+	private static final byte NONEMPTY_DOCUMENT = 1;
+	/** スコープ：要素の読み込み前の配列 */
+	private static final byte EMPTY_ARRAY = 2;
+	/** スコープ：要素の読み込み後の配列 */
+	private static final byte NONEMPTY_ARRAY = 3;
+	/** スコープ：メンバーの読み込み前のオブジェクト */
+	private static final byte EMPTY_OBJECT = 4;
+	/** スコープ：メンバーの読み込み後のオブジェクト */
+	private static final byte NONEMPTY_OBJECT = 5;
+	/** スコープ：名前の読み込み後のオブジェクト */
+	private static final byte DANGLING_NAME = 6;
+
+	/** 入力ストリーム */
+	private final InputStream in;
+
+	/** 読み込みバッファ */
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+
+	/** バッファの読み込み位置 */
+	private int pos;
+
+	/** バッファの有効データ終了位置 */
+	private int limit;
+
+	/** スコープスタック */
+	private final byte[] scopes;
+
+	/** スコープスタックの深さ */
+	private int depth;
+
+	/** 先読みしたトークン */
+	private JsonToken peeked;
+
+	/** 文字列読み込みバッファ */
+	private final StringBuilder text = new StringBuilder();
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param in 入力ストリーム
+	 */
+	public JsonReader(InputStream in) {
+		this(in, DEFAULT_MAX_DEPTH);
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param in       入力ストリーム
+	 * @param maxDepth 入れ子の深さの上限
+	 */
+	public JsonReader(InputStream in, int maxDepth) {
+		this.in = in;
+		this.scopes = new byte[maxDepth + 1];
+		this.scopes[depth++] = EMPTY_DOCUMENT;
+	}
+
+	/**
+	 * <p>次のトークン取得</p>
+	 * <pre>
+	 * 区切り文字（「,」「:」）は読み飛ばし、次に読み込む値の種類を返却する。
+	 * トークンは消費しない。
+	 * </pre>
+	 *
+	 * @return 次のトークン
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	public JsonToken peek() throws IOException {
+		if (peeked != null) return peeked;
+
+		int c;
+		switch (scopes[depth - 1]) {
+		case EMPTY_DOCUMENT:
+			scopes[depth - 1] = NONEMPTY_DOCUMENT;
+			c = nextNonWhitespace();
+			if (c == -1) return peeked = JsonToken.END_DOCUMENT;
+			break;
+		case NONEMPTY_DOCUMENT:
+			c = nextNonWhitespace();
+			if (c == -1) return peeked = JsonToken.END_DOCUMENT;
+			throw syntaxError("unexpected data after the end of the document", c);
+		case EMPTY_ARRAY:
+			scopes[depth - 1] = NONEMPTY_ARRAY;
+			c = nextNonWhitespace();
+			if (c == ']') return peeked = JsonToken.END_ARRAY;
+			break;
+		case NONEMPTY_ARRAY:
+			c = nextNonWhitespace();
+			if (c == ']') return peeked = JsonToken.END_ARRAY;
+			if (c != ',') throw syntaxError("expected ',' or ']'", c);
+			c = nextNonWhitespace();
+			break;
+		case EMPTY_OBJECT:
+		case NONEMPTY_OBJECT:
+			c = nextNonWhitespace();
+			if (c == '}') return peeked = JsonToken.END_OBJECT;
+			if (scopes[depth - 1] == NONEMPTY_OBJECT) {
+				if (c != ',') throw syntaxError("expected ',' or '}'", c);
+				c = nextNonWhitespace();
+			}
+			if (c != '"') throw syntaxError("expected a name", c);
+			scopes[depth - 1] = DANGLING_NAME;
+			return peeked = JsonToken.NAME;
+		case DANGLING_NAME:
+			c = nextNonWhitespace();
+			if (c != ':') throw syntaxError("expected ':'", c);
+			scopes[depth - 1] = NONEMPTY_OBJECT;
+			c = nextNonWhitespace();
+			break;
+		default:
+			throw new IllegalStateException();
+		}
+
+		switch (c) {
+		case '{':
+			return peeked = JsonToken.BEGIN_OBJECT;
+		case '[':
+			return peeked = JsonToken.BEGIN_ARRAY;
+		case '"':
+			return peeked = JsonToken.STRING;
+		case 't':
+		case 'f':
+			pos--;
+			return peeked = JsonToken.BOOLEAN;
+		case 'n':
+			pos--;
+			return peeked = JsonToken.NULL;
+		default:
+			if (c == '-' || (c >= '0' && c <= '9')) {
+				pos--;
+				return peeked = JsonToken.NUMBER;
+			}
+			throw syntaxError("unexpected character", c);
+		}
+	}
+
+	/**
+	 * <p>次の要素・メンバーの存在判定</p>
+	 *
+	 * @return boolean
+	 *         true  : 配列・オブジェクトに次の要素・メンバーが存在する
+	 *         false : 配列・オブジェクトの終端
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	public boolean hasNext() throws IOException {
+		JsonToken token = peek();
+		return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+	}
+
+	/**
+	 * <p>オブジェクト開始</p>
+	 *
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	public void beginObject() throws IOException {
+		expect(JsonToken.BEGIN_OBJECT);
+		push(EMPTY_OBJECT);
+	}
+
+	/**
+	 * <p>オブジェクト終了</p>
+	 *
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	public void endObject() throws IOException {
+		expect(JsonToken.END_OBJECT);
+		depth--;
+	}
+
+	/**
+	 * <p>配列開始</p>
+	 *
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	public void beginArray() throws IOException {
+		expect(JsonToken.BEGIN_ARRAY);
+		push(EMPTY_ARRAY);
+	}
+
+	/**
+	 * <p>配列終了</p>
+	 *
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	public void endArray() throws IOException {
+		expect(JsonToken.END_ARRAY);
+		depth--;
+	}
+
+	/**
+	 * <p>メンバー名読み込み</p>
+	 *
+	 * @return メンバー名
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	public String nextName() throws IOException {
+		expect(JsonToken.NAME);
+		return readString();
+	}
+
+	/**
+	 * <p>文字列値読み込み</p>
+	 *
+	 * @return 文字列値
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	public String nextString() throws IOException {
+		expect(JsonToken.STRING);
+		return readString();
+	}
+
+	/**
+	 * <p>数値読み込み</p>
+	 *
+	 * @return 数値の文字列表現
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	public String nextNumber() throws IOException {
+		expect(JsonToken.NUMBER);
+		return readNumber();
+	}
+
+	/**
+	 * <p>真偽値読み込み</p>
+	 *
+	 * @return 真偽値
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	public boolean nextBoolean() throws IOException {
+		expect(JsonToken.BOOLEAN);
+		if (peekByte() == 't') {
+			readLiteral("true");
+			return true;
+		}
+		readLiteral("false");
+		return false;
+	}
+
+	/**
+	 * <p>null読み込み</p>
+	 *
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	public void nextNull() throws IOException {
+		expect(JsonToken.NULL);
+		readLiteral("null");
+	}
+
+	/**
+	 * <p>値の読み飛ばし</p>
+	 * <pre>
+	 * 次の値（配列・オブジェクトの場合は入れ子の値を含む）を読み飛ばす。
+	 * </pre>
+	 *
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	public void skipValue() throws IOException {
+		int count = 0;
+		do {
+			switch (peek()) {
+			case BEGIN_OBJECT:
+				beginObject();
+				count++;
+				break;
+			case BEGIN_ARRAY:
+				beginArray();
+				count++;
+				break;
+			case END_OBJECT:
+				endObject();
+				count--;
+				break;
+			case END_ARRAY:
+				endArray();
+				count--;
+				break;
+			case NAME:
+				nextName();
+				break;
+			case STRING:
+				nextString();
+				break;
+			case NUMBER:
+				nextNumber();
+				break;
+			case BOOLEAN:
+				nextBoolean();
+				break;
+			case NULL:
+				nextNull();
+				break;
+			default:
+				throw new JsonException("unexpected end of the document");
+			}
+		} while (count > 0);
+	}
+
+	/**
+	 * <p>ドキュメント終了</p>
+	 * <pre>
+	 * 値の後に空白以外のデータが存在しないことを確認する。
+	 * </pre>
+	 *
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	public void endDocument() throws IOException {
+		expect(JsonToken.END_DOCUMENT);
+	}
+
+	/**
+	 * <p>トークン確認</p>
+	 *
+	 * @param  token 期待するトークン
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private void expect(JsonToken token) throws IOException {
+		JsonToken actual = peek();
+		if (actual != token) {
+			throw new JsonException("expected " + token + " but was " + actual);
+		}
+		peeked = null;
+	}
+
+	/**
+	 * <p>スコープ追加</p>
+	 *
+	 * @param scope スコープ
+	 */
+	private void push(byte scope) {
+		if (depth == scopes.length) {
+			throw new JsonException("nesting depth exceeds " + (scopes.length - 1));
+		}
+		scopes[depth++] = scope;
+	}
+
+	/**
+	 * <p>文字列読み込み</p>
+	 * <pre>
+	 * 開始の「"」は読み込み済みであること。
+	 * </pre>
+	 *
+	 * @return 文字列
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private String readString() throws IOException {
+		text.setLength(0);
+		while (true) {
+			// ASCII文字（制御文字・「"」・「\」を除く）はバッファから直接読み取る
+			int start = pos;
+			while (pos < limit) {
+				byte b = buffer[pos];
+				if (b < 0x20 || b == '"' || b == '\\') break;
+				pos++;
+			}
+			for (int i = start; i < pos; i++) {
+				text.append((char) buffer[i]);
+			}
+			if (pos == limit) {
+				if (!fill()) throw new JsonException("unterminated string");
+				continue;
+			}
+
+			int b = buffer[pos++] & 0xFF;
+			if (b == '"') {
+				return text.toString();
+			} else if (b == '\\') {
+				readEscape();
+			} else if (b < 0x20) {
+				throw syntaxError("unescaped control character in string", b);
+			} else {
+				text.appendCodePoint(readMultiByte(b));
+			}
+		}
+	}
+
+	/**
+	 * <p>エスケープ文字読み込み</p>
+	 *
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private void readEscape() throws IOException {
+		int c = read();
+		switch (c) {
+		case '"':
+		case '\\':
+		case '/':
+			text.append((char) c);
+			break;
+		case 'b':
+			text.append('\b');
+			break;
+		case 'f':
+			text.append('\f');
+			break;
+		case 'n':
+			text.append('\n');
+			break;
+		case 'r':
+			text.append('\r');
+			break;
+		case 't':
+			text.append('\t');
+			break;
+		case 'u':
+			int value = 0;
+			for (int i = 0; i < 4; i++) {
+				int h = read();
+				int digit = Character.digit(h, 16);
+				if (h == -1 || digit < 0) throw syntaxError("invalid unicode escape", h);
+				value = (value << 4) | digit;
+			}
+			text.append((char) value);
+			break;
+		default:
+			throw syntaxError("invalid escape sequence", c);
+		}
+	}
+
+	/**
+	 * <p>UTF-8の複数バイト文字読み込み</p>
+	 *
+	 * @param  first 先頭バイト
+	 * @return コードポイント
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private int readMultiByte(int first) throws IOException {
+		int codePoint;
+		if ((first >> 5) == 0x06) {
+			codePoint = ((first & 0x1F) << 6) | continuation();
+			if (codePoint >= 0x80) return codePoint;
+		} else if ((first >> 4) == 0x0E) {
+			codePoint = ((first & 0x0F) << 12) | (continuation() << 6) | continuation();
+			if (codePoint >= 0x800 && !Character.isSurrogate((char) codePoint)) return codePoint;
+		} else if ((first >> 3) == 0x1E) {
+			codePoint = ((first & 0x07) << 18) | (continuation() << 12) | (continuation() << 6) | continuation();
+			if (codePoint >= 0x10000 && codePoint <= Character.MAX_CODE_POINT) return codePoint;
+		}
+		throw new JsonException("malformed UTF-8 sequence");
+	}
+
+	/**
+	 * <p>UTF-8の後続バイト読み込み</p>
+	 *
+	 * @return 後続バイトの値（下位6ビット）
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private int continuation() throws IOException {
+		int b = read();
+		if (b == -1 || (b & 0xC0) != 0x80) throw new JsonException("malformed UTF-8 sequence");
+		return b & 0x3F;
+	}
+
+	/**
+	 * <p>数値読み込み</p>
+	 * <pre>
+	 * RFC 8259の数値の書式（-?(0|[1-9][0-9]*)(.[0-9]+)?([eE][+-]?[0-9]+)?）であることを確認する。
+	 * </pre>
+	 *
+	 * @return 数値の文字列表現
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private String readNumber() throws IOException {
+		text.setLength(0);
+		while (true) {
+			int c = peekByte();
+			if (c == -1) break;
+			if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+				text.append((char) c);
+				pos++;
+			} else {
+				break;
+			}
+		}
+
+		int i = 0;
+		int length = text.length();
+		if (i < length && text.charAt(i) == '-') i++;
+		int digits = i;
+		while (i < length && isDigit(text.charAt(i))) i++;
+		boolean valid = i > digits && (text.charAt(digits) != '0' || i == digits + 1);
+		if (valid && i < length && text.charAt(i) == '.') {
+			int fraction = ++i;
+			while (i < length && isDigit(text.charAt(i))) i++;
+			valid = i > fraction;
+		}
+		if (valid && i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+			i++;
+			if (i < length && (text.charAt(i) == '+' || text.charAt(i) == '-')) i++;
+			int exponent = i;
+			while (i < length && isDigit(text.charAt(i))) i++;
+			valid = i > exponent;
+		}
+		if (!valid || i != length) {
+			throw new JsonException("invalid number : " + text);
+		}
+		return text.toString();
+	}
+
+	/**
+	 * <p>リテラル読み込み</p>
+	 *
+	 * @param  literal リテラル（true・false・null）
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private void readLiteral(String literal) throws IOException {
+		for (int i = 0; i < literal.length(); i++) {
+			int c = read();
+			if (c != literal.charAt(i)) throw syntaxError("invalid literal", c);
+		}
+	}
+
+	/**
+	 * <p>空白以外の次の文字読み込み</p>
+	 *
+	 * @return 文字（入力の終端の場合は-1）
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private int nextNonWhitespace() throws IOException {
+		while (true) {
+			int c = read();
+			if (c != ' ' && c != '\t' && c != '\n' && c != '\r') return c;
+		}
+	}
+
+	/**
+	 * <p>1バイト読み込み</p>
+	 *
+	 * @return バイト値（入力の終端の場合は-1）
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private int read() throws IOException {
+		if (pos == limit && !fill()) return -1;
+		return buffer[pos++] & 0xFF;
+	}
+
+	/**
+	 * <p>1バイト先読み</p>
+	 *
+	 * @return バイト値（入力の終端の場合は-1）
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private int peekByte() throws IOException {
+		if (pos == limit && !fill()) return -1;
+		return buffer[pos] & 0xFF;
+	}
+
+	/**
+	 * <p>バッファ読み込み</p>
+	 * <pre>
+	 * 未読データが存在しない状態で呼び出すこと。
+	 * </pre>
+	 *
+	 * @return boolean
+	 *         true  : データを読み込んだ
+	 *         false : 入力の終端
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private boolean fill() throws IOException {
+		int n;
+		do {
+			n = in.read(buffer, 0, buffer.length);
+		} while (n == 0);
+		if (n < 0) return false;
+		pos = 0;
+		limit = n;
+		return true;
+	}
+
+	/**
+	 * <p>数字判定</p>
+	 *
+	 * @param  c 文字
+	 * @return boolean
+	 */
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * <p>構文エラー生成</p>
+	 *
+	 * @param  message メッセージ
+	 * @param  c       エラー位置の文字（入力の終端の場合は-1）
+	 * @return JSON例外
+	 */
+	private static JsonException syntaxError(String message, int c) {
+		return new JsonException(message + (c == -1 ? " (end of input)" : " : '" + (char) c + "'"));
+	}
+
+}
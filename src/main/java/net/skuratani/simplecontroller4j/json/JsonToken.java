@@ -0,0 +1,11 @@
+package net.skuratani.simplecontroller4j.json;
+
+/**
+ * <p>JSONトークン列挙型</p>
+ * <pre>
+ * JsonReader#peekが返却する、次に読み込む値の種類です。
+ * </pre>
+ */
+public enum JsonToken {
+	BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+}
@@ -0,0 +1,75 @@
+package net.skuratani.simplecontroller4j.multipart;
+
+import java.nio.file.Path;
+
+/**
+ * <p>マルチパート設定</p>
+ * <pre>
+ * multipart/form-dataのリクエストボディーを読み込む際のサイズ制限・一時ファイルの出力先。
+ *     1. maxFileSize       : ファイルパート1つの最大サイズ（バイト。0の場合は無制限）
+ *     2. maxRequestSize    : リクエストボディー全体の最大サイズ（バイト。0の場合はリクエストボディーの既定の最大サイズ）
+ *     3. maxFieldSize      : ファイル以外のパート（フォーム項目）1つの最大サイズ（バイト）
+ *     4. fileSizeThreshold : ファイルパートをメモリに保持する最大サイズ（バイト）。超える場合は一時ファイルに書き出す
+ *     5. location          : 一時ファイルの出力先ディレクトリ（nullの場合はシステムの一時ディレクトリ）
+ * サイズ制限はいずれも読み込み中に判定し、超えた時点でPayloadTooLargeExceptionをスローする。
+ * </pre>
+ */
+public class MultipartConfig {
+
+	/** 既定のマルチパート設定 */
+	public static final MultipartConfig DEFAULT = new MultipartConfig(0, -1, 1024 * 1024, 64 * 1024, null);
+
+	/** ファイルパート1つの最大サイズ */
+	private final long maxFileSize;
+
+	/** リクエストボディー全体の最大サイズ */
+	private final long maxRequestSize;
+
+	/** フォーム項目1つの最大サイズ */
+	private final int maxFieldSize;
+
+	/** ファイルパートをメモリに保持する最大サイズ */
+	private final int fileSizeThreshold;
+
+	/** 一時ファイルの出力先ディレクトリ */
+	private final Path location;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param maxFileSize       ファイルパート1つの最大サイズ（バイト。0の場合は無制限）
+	 * @param maxRequestSize    リクエストボディー全体の最大サイズ（バイト。0の場合はリクエストボディーの既定の最大サイズ、負数の場合は無制限）
+	 * @param maxFieldSize      フォーム項目1つの最大サイズ（バイト）
+	 * @param fileSizeThreshold ファイルパートをメモリに保持する最大サイズ（バイト）
+	 * @param location          一時ファイルの出力先ディレクトリ（nullの場合はシステムの一時ディレクトリ）
+	 */
+	public MultipartConfig(long maxFileSize, long maxRequestSize, int maxFieldSize, int fileSizeThreshold,
+						   Path location) {
+		this.maxFileSize = maxFileSize;
+		this.maxRequestSize = maxRequestSize;
+		this.maxFieldSize = maxFieldSize;
+		this.fileSizeThreshold = fileSizeThreshold;
+		this.location = location;
+	}
+
+	public long getMaxFileSize() {
+		return maxFileSize;
+	}
+
+	public long getMaxRequestSize() {
+		return maxRequestSize;
+	}
+
+	public int getMaxFieldSize() {
+		return maxFieldSize;
+	}
+
+	public int getFileSizeThreshold() {
+		return fileSizeThreshold;
+	}
+
+	public Path getLocation() {
+		return location;
+	}
+
+}
@@ -0,0 +1,23 @@
+package net.skuratani.simplecontroller4j.multipart;
+
+/**
+ * <p>マルチパート例外</p>
+ * <pre>
+ * multipart/form-dataのリクエストボディーの形式が不正な場合にスローされる。
+ * 不正なパラメータ値と同様にIllegalArgumentExceptionとして扱われる。
+ * </pre>
+ */
+public class MultipartException extends IllegalArgumentException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param message メッセージ
+	 */
+	public MultipartException(String message) {
+		super(message);
+	}
+
+}
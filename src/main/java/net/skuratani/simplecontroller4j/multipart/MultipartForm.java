@@ -0,0 +1,148 @@
+package net.skuratani.simplecontroller4j.multipart;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.skuratani.simplecontroller4j.binder.PayloadTooLargeException;
+
+/**
+ * <p>マルチパートフォーム</p>
+ * <pre>
+ * multipart/form-dataのリクエストボディーを1度だけ読み込んだ結果。
+ *     1. フォーム項目（filenameを指定していないパート）: パート名毎の文字列値（パートのcharset、指定がない場合はUTF-8）
+ *     2. ファイルパート                              : パート名毎のアップロードファイル
+ * [at]RequestParamのバインドでは、フォーム項目はリクエストパラメータと同様に型変換され、
+ * ファイルパートはUploadedFile（UploadedFile[]）型の引数にバインドされる。
+ * </pre>
+ */
+public class MultipartForm {
+
+	/** パート名毎のフォーム項目の値 */
+	private final Map<String, List<String>> fields = new LinkedHashMap<>();
+
+	/** パート名毎のアップロードファイル */
+	private final Map<String, List<UploadedFile>> files = new LinkedHashMap<>();
+
+	/**
+	 * <p>マルチパートフォーム読み込み</p>
+	 * <pre>
+	 * 読み込みに失敗した場合は、作成済みの一時ファイルを削除してから例外をスローする。
+	 * </pre>
+	 *
+	 * @param  reader マルチパートリーダー
+	 * @param  config マルチパート設定
+	 * @return マルチパートフォーム
+	 * @throws IOException リクエストボディーの読み込みに失敗した場合・サイズ制限を超える場合
+	 */
+	public static MultipartForm read(MultipartReader reader, MultipartConfig config) throws IOException {
+		MultipartForm form = new MultipartForm();
+		try {
+			while (reader.nextPart()) {
+				String name = reader.getName();
+				if (name == null) continue;
+				if (reader.getFileName() == null) {
+					form.fields.computeIfAbsent(name, key -> new ArrayList<>(1))
+							   .add(readField(reader, config.getMaxFieldSize()));
+				} else {
+					form.files.computeIfAbsent(name, key -> new ArrayList<>(1))
+							  .add(UploadedFile.read(reader, config));
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			form.delete();
+			throw e;
+		}
+		return form;
+	}
+
+	/**
+	 * <p>フォーム項目読み込み</p>
+	 *
+	 * @param  reader       マルチパートリーダー
+	 * @param  maxFieldSize フォーム項目の最大サイズ（バイト）
+	 * @return フォーム項目の値
+	 * @throws IOException パートの読み込みに失敗した場合・最大サイズを超える場合
+	 */
+	protected static String readField(MultipartReader reader, int maxFieldSize) throws IOException {
+		InputStream in = reader.getInputStream();
+		ByteArrayOutputStream value = new ByteArrayOutputStream();
+		byte[] buffer = new byte[256];
+		int length;
+		while ((length = in.read(buffer)) > 0) {
+			value.write(buffer, 0, length);
+			if (value.size() > maxFieldSize) throw new PayloadTooLargeException(maxFieldSize);
+		}
+		String charset = MultipartReader.parseParameters(reader.getContentType()).get("charset");
+		return value.toString(charset != null && Charset.isSupported(charset) ? Charset.forName(charset) : StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * <p>フォーム項目の値取得</p>
+	 *
+	 * @param  name パート名
+	 * @return フォーム項目の値（存在しない場合はnull）
+	 */
+	public String[] getValues(String name) {
+		List<String> values = fields.get(name);
+		return values == null ? null : values.toArray(new String[0]);
+	}
+
+	/**
+	 * <p>フォーム項目取得</p>
+	 *
+	 * @return パート名毎のフォーム項目の値（リクエストパラメータと同形式）
+	 */
+	public Map<String, String[]> getParameterMap() {
+		Map<String, String[]> parameterMap = new LinkedHashMap<>();
+		fields.forEach((name, values) -> parameterMap.put(name, values.toArray(new String[0])));
+		return parameterMap;
+	}
+
+	/**
+	 * <p>アップロードファイル取得</p>
+	 *
+	 * @param  name パート名
+	 * @return 先頭のアップロードファイル（存在しない場合はnull）
+	 */
+	public UploadedFile getFile(String name) {
+		List<UploadedFile> uploadedFiles = files.get(name);
+		return uploadedFiles == null ? null : uploadedFiles.get(0);
+	}
+
+	/**
+	 * <p>アップロードファイル取得</p>
+	 *
+	 * @param  name パート名
+	 * @return 全アップロードファイル（存在しない場合はnull）
+	 */
+	public UploadedFile[] getFiles(String name) {
+		List<UploadedFile> uploadedFiles = files.get(name);
+		return uploadedFiles == null ? null : uploadedFiles.toArray(new UploadedFile[0]);
+	}
+
+	/**
+	 * <p>一時ファイル削除</p>
+	 * <pre>
+	 * 全アップロードファイルの一時ファイル（transferToで移動したものを除く）を削除する。
+	 * </pre>
+	 */
+	public void delete() {
+		for (List<UploadedFile> uploadedFiles : files.values()) {
+			for (UploadedFile uploadedFile : uploadedFiles) {
+				try {
+					uploadedFile.delete();
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,416 @@
+package net.skuratani.simplecontroller4j.multipart;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import net.skuratani.simplecontroller4j.binder.PayloadTooLargeException;
+
+/**
+ * <p>マルチパートリーダー</p>
+ * <pre>
+ * multipart/form-dataのリクエストボディーを、入力ストリームから先頭から順にパート単位で読み込むプルパーサ。
+ * リクエストボディー全体をメモリに保持せず、固定サイズのバッファで境界文字列を探索する。
+ *     (ex.) while (reader.nextPart()) {
+ *               String name = reader.getName();
+ *               InputStream in = reader.getInputStream();  // 次のnextPartまで有効
+ *               ...
+ *           }
+ * パートの入力ストリームを最後まで読み込まずにnextPartを呼び出した場合は、残りを読み飛ばす。
+ * パートの最大サイズを指定した場合は、読み込み中に超えた時点でPayloadTooLargeExceptionをスローする。
+ * </pre>
+ */
+public class MultipartReader {
+
+	/** バッファサイズ */
+	private static final int BUFFER_SIZE = 8192;
+
+	/** パートヘッダーの最大サイズ */
+	private static final int MAX_HEADER_SIZE = 4096;
+
+	/** 入力ストリーム */
+	private final InputStream in;
+
+	/** 区切り文字列（CRLF + "--" + 境界文字列） */
+	private final byte[] delimiter;
+
+	/** 読み込みバッファ */
+	private final byte[] buffer;
+
+	/** バッファの読み込み位置 */
+	private int pos;
+
+	/** バッファの有効データ終端 */
+	private int limit;
+
+	/** パートの最大サイズ（0の場合は無制限） */
+	private final long maxPartSize;
+
+	/** 現在のパートの入力ストリーム（最初のパートの前はプリアンブル） */
+	private PartInputStream current;
+
+	/** 終端の区切り文字列を読み込んだか */
+	private boolean finished;
+
+	/** 現在のパートのヘッダー（ヘッダー名は小文字） */
+	private Map<String, String> headers;
+
+	/** 現在のパートの名前 */
+	private String name;
+
+	/** 現在のパートのファイル名 */
+	private String fileName;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param in          入力ストリーム
+	 * @param boundary    境界文字列
+	 * @param maxPartSize パートの最大サイズ（バイト。0の場合は無制限）
+	 */
+	public MultipartReader(InputStream in, String boundary, long maxPartSize) {
+		this.in = in;
+		this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+		this.buffer = new byte[Math.max(BUFFER_SIZE, delimiter.length * 2)];
+		this.maxPartSize = maxPartSize;
+		// 最初の区切り文字列の前にはCRLFがない為、CRLFを読み込んだ状態から開始する
+		buffer[0] = '\r';
+		buffer[1] = '\n';
+		limit = 2;
+	}
+
+	/**
+	 * <p>マルチパート判定</p>
+	 *
+	 * @param  contentType Content-Type
+	 * @return boolean
+	 *         true  : multipart/form-data
+	 *         false : 上記以外
+	 */
+	public static boolean isMultipart(String contentType) {
+		return contentType != null && contentType.regionMatches(true, 0, "multipart/form-data", 0, 19);
+	}
+
+	/**
+	 * <p>境界文字列取得</p>
+	 *
+	 * @param  contentType Content-Type
+	 * @return 境界文字列（指定されていない場合はnull）
+	 */
+	public static String boundaryOf(String contentType) {
+		Map<String, String> parameters = parseParameters(contentType);
+		String boundary = parameters.get("boundary");
+		return boundary == null || boundary.isEmpty() ? null : boundary;
+	}
+
+	/**
+	 * <p>次のパートへ移動</p>
+	 *
+	 * @return boolean
+	 *         true  : 次のパートが存在する
+	 *         false : 全パートを読み込んだ
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合・パートが最大サイズを超える場合
+	 * @throws MultipartException リクエストボディーの形式が不正な場合
+	 */
+	public boolean nextPart() throws IOException {
+		if (finished) return false;
+		if (current == null) current = new PartInputStream(0);
+		current.skipAll();
+
+		// 区切り文字列の後は「--」（終端）またはCRLF
+		if (!ensure(2)) throw new MultipartException("unexpected end of multipart body");
+		if (buffer[pos] == '-' && buffer[pos + 1] == '-') {
+			pos += 2;
+			finished = true;
+			current = null;
+			return false;
+		}
+		while (buffer[pos] == ' ' || buffer[pos] == '\t') {
+			pos++;
+			if (!ensure(2)) throw new MultipartException("unexpected end of multipart body");
+		}
+		if (buffer[pos] != '\r' || buffer[pos + 1] != '\n') {
+			throw new MultipartException("malformed multipart boundary");
+		}
+		pos += 2;
+
+		readHeaders();
+		current = new PartInputStream(maxPartSize);
+		return true;
+	}
+
+	/**
+	 * <p>パートの入力ストリーム取得</p>
+	 *
+	 * @return 現在のパートのボディーを読み込む入力ストリーム（次のnextPartまで有効）
+	 */
+	public InputStream getInputStream() {
+		return current;
+	}
+
+	/**
+	 * <p>パートヘッダー取得</p>
+	 *
+	 * @param  headerName ヘッダー名（大文字・小文字は区別しない）
+	 * @return ヘッダー値（存在しない場合はnull）
+	 */
+	public String getHeader(String headerName) {
+		return headers == null ? null : headers.get(headerName.toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * <p>パート名取得</p>
+	 *
+	 * @return Content-Dispositionのname（存在しない場合はnull）
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * <p>ファイル名取得</p>
+	 *
+	 * @return Content-Dispositionのfilename（ファイルパートでない場合はnull）
+	 */
+	public String getFileName() {
+		return fileName;
+	}
+
+	/**
+	 * <p>Content-Type取得</p>
+	 *
+	 * @return パートのContent-Type（存在しない場合はnull）
+	 */
+	public String getContentType() {
+		return getHeader("content-type");
+	}
+
+	/**
+	 * <p>パートヘッダー読み込み</p>
+	 *
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private void readHeaders() throws IOException {
+		headers = new HashMap<>();
+		int headerSize = 0;
+		while (true) {
+			String line = readLine(MAX_HEADER_SIZE - headerSize);
+			if (line.isEmpty()) break;
+			headerSize += line.length() + 2;
+			int colon = line.indexOf(':');
+			if (colon <= 0) throw new MultipartException("malformed multipart header : " + line);
+			headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+		}
+		Map<String, String> disposition = parseParameters(headers.get("content-disposition"));
+		name = disposition.get("name");
+		fileName = disposition.get("filename");
+	}
+
+	/**
+	 * <p>ヘッダー行読み込み</p>
+	 *
+	 * @param  maxLength 行の最大バイト数
+	 * @return ヘッダー行（CRLFを除く。UTF-8でデコード）
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private String readLine(int maxLength) throws IOException {
+		int scanned = 0;
+		while (true) {
+			for (int i = pos + scanned; i + 1 < limit; i++) {
+				if (buffer[i] == '\r' && buffer[i + 1] == '\n') {
+					if (i - pos > maxLength) throw new MultipartException("multipart header too large");
+					String line = new String(buffer, pos, i - pos, StandardCharsets.UTF_8);
+					pos = i + 2;
+					return line;
+				}
+			}
+			scanned = Math.max(0, limit - pos - 1);
+			if (scanned > maxLength) throw new MultipartException("multipart header too large");
+			if (!fill()) throw new MultipartException("unexpected end of multipart body");
+		}
+	}
+
+	/**
+	 * <p>Content-Type・Content-Dispositionのパラメータ解析</p>
+	 *
+	 * @param  value ヘッダー値（(ex.) form-data; name="file"; filename="a.txt"）
+	 * @return パラメータ名（小文字）毎のパラメータ値
+	 */
+	static Map<String, String> parseParameters(String value) {
+		Map<String, String> parameters = new HashMap<>();
+		if (value == null) return parameters;
+		int i = value.indexOf(';');
+		while (i >= 0 && i < value.length()) {
+			i++;
+			int eq = value.indexOf('=', i);
+			if (eq < 0) break;
+			String key = value.substring(i, eq).trim().toLowerCase(Locale.ROOT);
+			i = eq + 1;
+			while (i < value.length() && value.charAt(i) == ' ') i++;
+			StringBuilder parameter = new StringBuilder();
+			if (i < value.length() && value.charAt(i) == '"') {
+				for (i++; i < value.length() && value.charAt(i) != '"'; i++) {
+					char c = value.charAt(i);
+					if (c == '\\' && i + 1 < value.length()) c = value.charAt(++i);
+					parameter.append(c);
+				}
+				i = value.indexOf(';', i);
+			} else {
+				int end = value.indexOf(';', i);
+				parameter.append(value, i, end < 0 ? value.length() : end);
+				i = end;
+			}
+			parameters.putIfAbsent(key, parameter.toString().trim());
+		}
+		return parameters;
+	}
+
+	/**
+	 * <p>バッファ読み込み保証</p>
+	 *
+	 * @param  length 必要なバイト数
+	 * @return boolean
+	 *         true  : バッファに必要なバイト数が存在する
+	 *         false : 入力ストリームの終端に達した
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private boolean ensure(int length) throws IOException {
+		while (limit - pos < length) {
+			if (!fill()) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * <p>バッファ読み込み</p>
+	 * <pre>
+	 * 未読のデータをバッファの先頭に移動し、空き領域に入力ストリームから読み込む。
+	 * </pre>
+	 *
+	 * @return boolean
+	 *         true  : 1バイト以上読み込んだ
+	 *         false : 入力ストリームの終端に達した
+	 * @throws IOException 入力ストリームの読み込みに失敗した場合
+	 */
+	private boolean fill() throws IOException {
+		if (pos > 0) {
+			System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+			limit -= pos;
+			pos = 0;
+		}
+		int length = in.read(buffer, limit, buffer.length - limit);
+		if (length < 0) return false;
+		limit += length;
+		return true;
+	}
+
+	/**
+	 * <p>区切り文字列探索</p>
+	 *
+	 * @return 区切り文字列の開始位置（バッファ内に存在しない場合は-1）
+	 */
+	private int indexOfDelimiter() {
+		byte first = delimiter[0];
+		int last = limit - delimiter.length;
+		outer:
+		for (int i = pos; i <= last; i++) {
+			if (buffer[i] != first) continue;
+			for (int j = 1; j < delimiter.length; j++) {
+				if (buffer[i + j] != delimiter[j]) continue outer;
+			}
+			return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * <p>パート入力ストリーム</p>
+	 * <pre>
+	 * 区切り文字列の直前までを読み込む。区切り文字列の一部の可能性がある末尾のデータは、
+	 * 後続のデータを読み込んで区切り文字列でないことを確認するまで返却しない。
+	 * </pre>
+	 */
+	private final class PartInputStream extends InputStream {
+
+		/** パートの最大サイズ（0の場合は無制限） */
+		private final long maxSize;
+
+		/** 読み込んだバイト数 */
+		private long count;
+
+		/** 区切り文字列を読み込んだか */
+		private boolean done;
+
+		PartInputStream(long maxSize) {
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (done || current != this) return -1;
+			if (len == 0) return 0;
+			while (true) {
+				if (limit - pos < delimiter.length && !fill()) {
+					throw new MultipartException("unexpected end of multipart body");
+				}
+				int index = indexOfDelimiter();
+				if (index == pos) {
+					pos += delimiter.length;
+					done = true;
+					return -1;
+				}
+				int available = index >= 0 ? index - pos : limit - pos - delimiter.length + 1;
+				if (available > 0) {
+					int length = Math.min(len, available);
+					System.arraycopy(buffer, pos, b, off, length);
+					pos += length;
+					count += length;
+					if (maxSize > 0 && count > maxSize) {
+						throw new PayloadTooLargeException(maxSize);
+					}
+					return length;
+				}
+				if (!fill()) throw new MultipartException("unexpected end of multipart body");
+			}
+		}
+
+		@Override
+		public int available() {
+			if (done || current != this) return 0;
+			int index = indexOfDelimiter();
+			return Math.max(0, index >= 0 ? index - pos : limit - pos - delimiter.length + 1);
+		}
+
+		/**
+		 * <p>残りのデータ読み飛ばし</p>
+		 *
+		 * @throws IOException 入力ストリームの読み込みに失敗した場合
+		 */
+		void skipAll() throws IOException {
+			while (!done) {
+				if (limit - pos < delimiter.length && !fill()) {
+					throw new MultipartException("unexpected end of multipart body");
+				}
+				int index = indexOfDelimiter();
+				if (index >= 0) {
+					pos = index + delimiter.length;
+					done = true;
+				} else {
+					// 区切り文字列の長さに満たないデータしか読み込めていない場合は読み込み位置を戻さない
+					pos = Math.max(pos, limit - delimiter.length + 1);
+					if (!fill()) throw new MultipartException("unexpected end of multipart body");
+				}
+			}
+		}
+	}
+
+}
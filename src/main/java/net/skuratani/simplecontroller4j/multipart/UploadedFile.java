@@ -0,0 +1,196 @@
+package net.skuratani.simplecontroller4j.multipart;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+import net.skuratani.simplecontroller4j.binder.PayloadTooLargeException;
+
+/**
+ * <p>アップロードファイル</p>
+ * <pre>
+ * multipart/form-dataのファイルパート（filenameを指定したパート）の内容。
+ * サイズがfileSizeThreshold以下の場合はメモリに保持し、超える場合は一時ファイルに書き出す。
+ * 一時ファイルはリクエストの処理完了時に削除される為、保存する場合は実行メソッド内でtransferToを呼び出すこと。
+ * </pre>
+ */
+public class UploadedFile {
+
+	/** パート名 */
+	private final String name;
+
+	/** ファイル名 */
+	private final String fileName;
+
+	/** Content-Type */
+	private final String contentType;
+
+	/** サイズ（バイト） */
+	private final long size;
+
+	/** メモリに保持した内容（一時ファイルに書き出した場合はnull） */
+	private final byte[] content;
+
+	/** 一時ファイル（メモリに保持した場合・transferTo後はnull） */
+	private Path tempFile;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param name        パート名
+	 * @param fileName    ファイル名
+	 * @param contentType Content-Type
+	 * @param size        サイズ（バイト）
+	 * @param content     メモリに保持した内容（一時ファイルに書き出した場合はnull）
+	 * @param tempFile    一時ファイル（メモリに保持した場合はnull）
+	 */
+	protected UploadedFile(String name, String fileName, String contentType, long size, byte[] content,
+						   Path tempFile) {
+		this.name = name;
+		this.fileName = fileName;
+		this.contentType = contentType;
+		this.size = size;
+		this.content = content;
+		this.tempFile = tempFile;
+	}
+
+	/**
+	 * <p>アップロードファイル読み込み</p>
+	 * <pre>
+	 * マルチパートリーダーの現在のパートを読み込む。
+	 * fileSizeThresholdを超えた時点で、読み込み済みの内容と残りの内容を一時ファイルに書き出す。
+	 * </pre>
+	 *
+	 * @param  reader マルチパートリーダー
+	 * @param  config マルチパート設定
+	 * @return アップロードファイル
+	 * @throws IOException パートの読み込み・一時ファイルの書き出しに失敗した場合、パートが最大サイズを超える場合
+	 */
+	static UploadedFile read(MultipartReader reader, MultipartConfig config) throws IOException {
+		InputStream in = reader.getInputStream();
+		int threshold = config.getFileSizeThreshold();
+		byte[] memory = new byte[Math.min(Math.max(threshold, 0), 8192) + 1];
+		int length = 0;
+		int read;
+		while ((read = in.read(memory, length, memory.length - length)) > 0) {
+			length += read;
+			if (length > threshold) break;
+			if (length == memory.length) memory = Arrays.copyOf(memory, Math.min(memory.length * 2, threshold + 1));
+		}
+		if (length <= threshold) {
+			return new UploadedFile(reader.getName(), reader.getFileName(), reader.getContentType(), length,
+									Arrays.copyOf(memory, length), null);
+		}
+
+		// fileSizeThresholdを超える場合は一時ファイルに書き出す
+		Path tempFile = config.getLocation() == null
+						? Files.createTempFile("simplecontroller4j-", ".upload")
+						: Files.createTempFile(config.getLocation(), "simplecontroller4j-", ".upload");
+		try (OutputStream out = Files.newOutputStream(tempFile)) {
+			out.write(memory, 0, length);
+			long size = length + in.transferTo(out);
+			return new UploadedFile(reader.getName(), reader.getFileName(), reader.getContentType(), size, null,
+									tempFile);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(tempFile);
+			throw e;
+		}
+	}
+
+	/**
+	 * <p>入力ストリーム取得</p>
+	 *
+	 * @return ファイル内容の入力ストリーム
+	 * @throws IOException 一時ファイルの読み込みに失敗した場合
+	 */
+	public InputStream getInputStream() throws IOException {
+		if (content != null) return new ByteArrayInputStream(content);
+		return Files.newInputStream(tempFile());
+	}
+
+	/**
+	 * <p>ファイル内容取得</p>
+	 *
+	 * @return ファイル内容
+	 * @throws IOException 一時ファイルの読み込みに失敗した場合
+	 */
+	public byte[] getBytes() throws IOException {
+		if (content != null) return content.clone();
+		if (size > Integer.MAX_VALUE - 8) throw new PayloadTooLargeException(Integer.MAX_VALUE - 8);
+		return Files.readAllBytes(tempFile());
+	}
+
+	/**
+	 * <p>ファイル保存</p>
+	 * <pre>
+	 * 一時ファイルに書き出している場合は、一時ファイルを移動する（コピーは行わない）。
+	 * </pre>
+	 *
+	 * @param  target 保存先ファイル（存在する場合は上書き）
+	 * @throws IOException ファイルの保存に失敗した場合
+	 */
+	public void transferTo(Path target) throws IOException {
+		if (content != null) {
+			Files.write(target, content);
+			return;
+		}
+		Files.move(tempFile(), target, StandardCopyOption.REPLACE_EXISTING);
+		tempFile = null;
+	}
+
+	/**
+	 * <p>一時ファイル削除</p>
+	 *
+	 * @throws IOException 一時ファイルの削除に失敗した場合
+	 */
+	public void delete() throws IOException {
+		if (tempFile != null) {
+			Files.deleteIfExists(tempFile);
+			tempFile = null;
+		}
+	}
+
+	/**
+	 * <p>メモリ保持判定</p>
+	 *
+	 * @return boolean
+	 *         true  : メモリに保持している
+	 *         false : 一時ファイルに書き出している
+	 */
+	public boolean isInMemory() {
+		return content != null;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * <p>一時ファイル取得</p>
+	 *
+	 * @return 一時ファイル
+	 * @throws IOException 一時ファイルが移動・削除済みの場合
+	 */
+	private Path tempFile() throws IOException {
+		if (tempFile == null) throw new IOException(fileName + " has already been moved or deleted");
+		return tempFile;
+	}
+
+}
@@ -0,0 +1,232 @@
+package net.skuratani.simplecontroller4j.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import net.skuratani.simplecontroller4j.annotation.After;
+import net.skuratani.simplecontroller4j.annotation.AfterReturning;
+import net.skuratani.simplecontroller4j.annotation.AfterThrowing;
+import net.skuratani.simplecontroller4j.annotation.Around;
+import net.skuratani.simplecontroller4j.annotation.Aspect;
+import net.skuratani.simplecontroller4j.annotation.Before;
+import net.skuratani.simplecontroller4j.annotation.Controller;
+import net.skuratani.simplecontroller4j.annotation.JoinPoint;
+import net.skuratani.simplecontroller4j.annotation.Route;
+import net.skuratani.simplecontroller4j.findclass.ClassIndex;
+
+/**
+ * <p>インデックス生成アノテーションプロセッサ</p>
+ * <pre>
+ * コンパイル時にControllerアノテーション・Aspectアノテーションが記述されたクラスを収集し、
+ * クラス出力先に「META-INF/simplecontroller4j/index」を生成する。
+ * ディスパッチャサーブレットはインデックスが存在する場合、「WEB-INF/classes」配下の探索を行わず、
+ * インデックスに記載されたクラスのみをロードする。
+ * SimpleController4JのjarをクラスパスにおいてコンパイルするとJavaコンパイラに自動登録される。
+ * 差分コンパイルの場合は、既存のインデックスのうちコンパイル対象外のクラスのエントリを引き継ぐ。
+ * </pre>
+ */
+@SupportedAnnotationTypes({
+	"net.skuratani.simplecontroller4j.annotation.Controller",
+	"net.skuratani.simplecontroller4j.annotation.Aspect"
+})
+public class IndexProcessor extends AbstractProcessor {
+
+	/** クラス名毎のインデックスエントリ */
+	private final Map<String, List<String>> entries = new LinkedHashMap<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+		if (roundEnv.processingOver()) {
+			writeIndex();
+			return false;
+		}
+
+		for (Element element : roundEnv.getElementsAnnotatedWith(Controller.class)) {
+			if (element.getKind() != ElementKind.CLASS) continue;
+			addController((TypeElement) element);
+		}
+		for (Element element : roundEnv.getElementsAnnotatedWith(Aspect.class)) {
+			if (element.getKind() != ElementKind.CLASS) continue;
+			addAspect((TypeElement) element);
+		}
+		return false;
+	}
+
+	/**
+	 * <p>コントローラエントリ追加</p>
+	 *
+	 * @param type コントローラクラス
+	 */
+	protected void addController(TypeElement type) {
+
+		String className = binaryName(type);
+		List<String> lines = entries.computeIfAbsent(className, k -> new ArrayList<>());
+		lines.add(line(ClassIndex.CONTROLLER, className));
+
+		Route classRoute = type.getAnnotation(Route.class);
+		String classMappingPath = classRoute == null ? "" : classRoute.path();
+		for (Element member : type.getEnclosedElements()) {
+			if (member.getKind() != ElementKind.METHOD) continue;
+			Route route = member.getAnnotation(Route.class);
+			if (route == null) continue;
+			lines.add(line(ClassIndex.ROUTE, className, route.method().name(),
+					  classMappingPath + route.path(), signature((ExecutableElement) member)));
+		}
+	}
+
+	/**
+	 * <p>アスペクトエントリ追加</p>
+	 *
+	 * @param type アスペクトクラス
+	 */
+	protected void addAspect(TypeElement type) {
+
+		String className = binaryName(type);
+		List<String> lines = entries.computeIfAbsent(className, k -> new ArrayList<>());
+		lines.add(line(ClassIndex.ASPECT, className));
+
+		for (Element member : type.getEnclosedElements()) {
+			if (member.getKind() != ElementKind.METHOD) continue;
+			String signature = signature((ExecutableElement) member);
+			Before before = member.getAnnotation(Before.class);
+			if (before != null) lines.add(advice(className, JoinPoint.BEFORE, signature, before.execution()));
+			After after = member.getAnnotation(After.class);
+			if (after != null) lines.add(advice(className, JoinPoint.AFTER, signature, after.execution()));
+			Around around = member.getAnnotation(Around.class);
+			if (around != null) lines.add(advice(className, JoinPoint.AROUND, signature, around.execution()));
+			AfterReturning afterReturning = member.getAnnotation(AfterReturning.class);
+			if (afterReturning != null) {
+				lines.add(advice(className, JoinPoint.AFTER_RETURNING, signature, afterReturning.execution()));
+			}
+			AfterThrowing afterThrowing = member.getAnnotation(AfterThrowing.class);
+			if (afterThrowing != null) {
+				lines.add(advice(className, JoinPoint.AFTER_THROWING, signature, afterThrowing.execution()));
+			}
+		}
+	}
+
+	/**
+	 * <p>インデックスファイル出力</p>
+	 */
+	protected void writeIndex() {
+
+		Map<String, List<String>> index = readExistingIndex();
+		index.putAll(entries);
+		if (index.isEmpty()) return;
+
+		try {
+			FileObject file = processingEnv.getFiler()
+					.createResource(StandardLocation.CLASS_OUTPUT, "", ClassIndex.RESOURCE_NAME);
+			try (Writer writer = file.openWriter()) {
+				writer.write("# SimpleController4J index (generated by " + getClass().getName() + ")\n");
+				for (List<String> lines : index.values()) {
+					for (String line : lines) {
+						writer.write(line);
+						writer.write('\n');
+					}
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"Failed to write " + ClassIndex.RESOURCE_NAME + " : " + e.getMessage());
+		}
+	}
+
+	/**
+	 * <p>既存インデックス読み込み（差分コンパイル用）</p>
+	 * <pre>
+	 * 今回コンパイルされなかったクラスのうち、現在も存在するクラスのエントリのみを返却する。
+	 * </pre>
+	 *
+	 * @return クラス名毎のインデックスエントリ
+	 */
+	protected Map<String, List<String>> readExistingIndex() {
+
+		Map<String, List<String>> index = new LinkedHashMap<>();
+		try {
+			FileObject file = processingEnv.getFiler()
+					.getResource(StandardLocation.CLASS_OUTPUT, "", ClassIndex.RESOURCE_NAME);
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(file.openInputStream(), StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (line.isBlank() || line.startsWith("#")) continue;
+					String[] fields = line.split(ClassIndex.SEPARATOR);
+					if (fields.length < 2 || entries.containsKey(fields[1])) continue;
+					TypeElement type = processingEnv.getElementUtils().getTypeElement(fields[1].replace('$', '.'));
+					if (type == null
+						|| (type.getAnnotation(Controller.class) == null && type.getAnnotation(Aspect.class) == null)) {
+						continue;
+					}
+					index.computeIfAbsent(fields[1], k -> new ArrayList<>()).add(line);
+				}
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			// 既存インデックスが存在しない場合
+		}
+		return index;
+	}
+
+	/**
+	 * <p>アドバイスエントリ生成</p>
+	 */
+	private String advice(String className, JoinPoint joinPoint, String signature, String[] execution) {
+		return line(ClassIndex.ADVICE, className, joinPoint.name(), signature, String.join(",", execution));
+	}
+
+	/**
+	 * <p>インデックス行生成</p>
+	 */
+	private String line(String... fields) {
+		return String.join(ClassIndex.SEPARATOR, fields);
+	}
+
+	/**
+	 * <p>バイナリ名取得（ネストクラスは「$」区切り）</p>
+	 */
+	private String binaryName(TypeElement type) {
+		return processingEnv.getElementUtils().getBinaryName(type).toString();
+	}
+
+	/**
+	 * <p>メソッドシグネチャ生成</p>
+	 * <pre>
+	 * (ex.) getUser(int,jakarta.servlet.http.HttpServletRequest)
+	 * </pre>
+	 */
+	private String signature(ExecutableElement method) {
+		List<? extends VariableElement> parameters = method.getParameters();
+		return method.getSimpleName() + "(" + parameters.stream()
+				.map(parameter -> processingEnv.getTypeUtils().erasure(parameter.asType()).toString())
+				.collect(Collectors.joining(",")) + ")";
+	}
+
+}
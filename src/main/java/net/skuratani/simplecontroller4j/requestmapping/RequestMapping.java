@@ -3,6 +3,10 @@ package net.skuratani.simplecontroller4j.requestmapping;
 import java.lang.reflect.Method;
 
 import lombok.Data;
+import net.skuratani.simplecontroller4j.aspect.AspectChain;
+import net.skuratani.simplecontroller4j.binder.ArgumentPlan;
+import net.skuratani.simplecontroller4j.execute.MethodInvoker;
+import net.skuratani.simplecontroller4j.routing.PathTemplate;
 
 /**
  * <p>リクエストマッピング情報クラス</p>
@@ -12,6 +16,11 @@ import lombok.Data;
  *     2. 実行メソッド
  *     3. 実行クラスマッピングパス
  *        (e.g.)/userlist/init/&lt;count:int&gt;/&lt;column:int&gt;/&lt;device&gt;
+ *     4. 実行メソッドパスを解析したパステンプレート
+ *     5. HTTPメソッド
+ *     6. 実行メソッドの実行オブジェクト（MethodHandle）
+ *     7. 実行メソッドの引数解決プラン
+ *     8. 実行メソッドに一致するアスペクトチェーン
  * </pre>
  */
 @Data
@@ -26,4 +35,19 @@ public class RequestMapping {
 	/** 実行メソッドパス */
 	private String executeMethodPath;
 
+	/** パステンプレート */
+	private PathTemplate pathTemplate;
+
+	/** HTTPメソッド */
+	private net.skuratani.simplecontroller4j.annotation.Method httpMethod;
+
+	/** 実行メソッドの実行オブジェクト */
+	private MethodInvoker invoker;
+
+	/** 実行メソッドの引数解決プラン */
+	private ArgumentPlan argumentPlan;
+
+	/** アスペクトチェーン */
+	private AspectChain aspectChain = AspectChain.EMPTY;
+
 }
@@ -0,0 +1,156 @@
+package net.skuratani.simplecontroller4j.resource;
+
+import java.nio.file.Path;
+
+/**
+ * <p>キャッシュ済み静的リソース</p>
+ * <pre>
+ * 静的リソースキャッシュに格納するファイルの内容と検証情報。
+ * 内容・圧縮表現は生成後に変更しない（ファイルが更新された場合はエントリごと破棄する）。
+ *     1. ファイルの内容（identity）・ETag
+ *     2. 圧縮表現（エンコーディング名・内容・ETag）。エンコーダーの優先順に格納する
+ *     3. ファイルサイズ・最終更新日時（ファイル更新の検出に使用する）
+ * </pre>
+ */
+public final class CachedResource {
+
+	/** ファイルパス */
+	private final Path path;
+
+	/** Content-Type */
+	private final String contentType;
+
+	/** ファイルサイズ */
+	private final long length;
+
+	/** 最終更新日時（エポックミリ秒） */
+	private final long lastModified;
+
+	/** ETag */
+	private final String etag;
+
+	/** ファイルの内容 */
+	private final byte[] content;
+
+	/** 圧縮表現のエンコーディング名 */
+	private final String[] encodings;
+
+	/** 圧縮表現の内容 */
+	private final byte[][] encodedContents;
+
+	/** 圧縮表現のETag */
+	private final String[] encodedEtags;
+
+	/** キャッシュの使用量（ファイルの内容と圧縮表現の合計バイト数） */
+	private final long weight;
+
+	/** ファイル更新の最終確認日時（エポックミリ秒） */
+	private volatile long checkedAt;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param path            ファイルパス
+	 * @param contentType     Content-Type
+	 * @param lastModified    最終更新日時（エポックミリ秒）
+	 * @param etag            ETag
+	 * @param content         ファイルの内容
+	 * @param encodings       圧縮表現のエンコーディング名
+	 * @param encodedContents 圧縮表現の内容（encodingsと同じ位置）
+	 */
+	CachedResource(Path path, String contentType, long lastModified, String etag, byte[] content,
+				   String[] encodings, byte[][] encodedContents) {
+		this.path = path;
+		this.contentType = contentType;
+		this.length = content.length;
+		this.lastModified = lastModified;
+		this.etag = etag;
+		this.content = content;
+		this.encodings = encodings;
+		this.encodedContents = encodedContents;
+		this.encodedEtags = new String[encodings.length];
+		long weight = content.length;
+		for (int i = 0; i < encodings.length; i++) {
+			// 表現毎に異なるETag（"サイズ-最終更新日時-エンコーディング名"）
+			encodedEtags[i] = etag.substring(0, etag.length() - 1) + "-" + encodings[i] + "\"";
+			weight += encodedContents[i].length;
+		}
+		this.weight = weight;
+		this.checkedAt = System.currentTimeMillis();
+	}
+
+	public Path getPath() {
+		return path;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public long getLength() {
+		return length;
+	}
+
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	public String getEtag() {
+		return etag;
+	}
+
+	/**
+	 * <p>ファイルの内容取得</p>
+	 * <pre>
+	 * 返却する配列はキャッシュと共有している為、変更してはならない。
+	 * </pre>
+	 *
+	 * @return ファイルの内容
+	 */
+	public byte[] getContent() {
+		return content;
+	}
+
+	/**
+	 * <p>圧縮表現の数取得</p>
+	 *
+	 * @return 圧縮表現の数
+	 */
+	public int getEncodingCount() {
+		return encodings.length;
+	}
+
+	public String getEncoding(int index) {
+		return encodings[index];
+	}
+
+	/**
+	 * <p>圧縮表現の内容取得</p>
+	 * <pre>
+	 * 返却する配列はキャッシュと共有している為、変更してはならない。
+	 * </pre>
+	 *
+	 * @param  index 圧縮表現の位置
+	 * @return 圧縮表現の内容
+	 */
+	public byte[] getEncodedContent(int index) {
+		return encodedContents[index];
+	}
+
+	public String getEncodedEtag(int index) {
+		return encodedEtags[index];
+	}
+
+	public long getWeight() {
+		return weight;
+	}
+
+	long getCheckedAt() {
+		return checkedAt;
+	}
+
+	void setCheckedAt(long checkedAt) {
+		this.checkedAt = checkedAt;
+	}
+
+}
@@ -0,0 +1,31 @@
+package net.skuratani.simplecontroller4j.resource;
+
+import java.io.IOException;
+
+/**
+ * <p>コンテンツエンコーダー</p>
+ * <pre>
+ * 静的リソースキャッシュに格納するファイルの圧縮表現（Content-Encoding）を生成する。
+ * gzip以外の形式（brotli等）を使用する場合は、本インターフェイスを実装したクラスを
+ * DispatcherServlet#createContentEncodersで返却する。
+ * </pre>
+ */
+public interface ContentEncoder {
+
+	/**
+	 * <p>エンコーディング名取得</p>
+	 *
+	 * @return Content-Encoding・Accept-Encodingに使用する名前（例：gzip、br）
+	 */
+	String getName();
+
+	/**
+	 * <p>エンコード</p>
+	 *
+	 * @param  content ファイルの内容
+	 * @return エンコードした内容
+	 * @throws IOException エンコードに失敗した場合
+	 */
+	byte[] encode(byte[] content) throws IOException;
+
+}
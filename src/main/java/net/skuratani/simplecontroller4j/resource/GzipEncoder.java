@@ -0,0 +1,34 @@
+package net.skuratani.simplecontroller4j.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <p>gzipエンコーダー</p>
+ * <pre>
+ * 静的リソースキャッシュへの格納時に1度だけ圧縮する為、最大の圧縮レベルを使用する。
+ * </pre>
+ */
+public class GzipEncoder implements ContentEncoder {
+
+	@Override
+	public String getName() {
+		return "gzip";
+	}
+
+	@Override
+	public byte[] encode(byte[] content) throws IOException {
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream(content.length / 2 + 64);
+		try (GZIPOutputStream out = new GZIPOutputStream(encoded) {
+				{
+					def.setLevel(Deflater.BEST_COMPRESSION);
+				}
+			}) {
+			out.write(content);
+		}
+		return encoded.toByteArray();
+	}
+
+}
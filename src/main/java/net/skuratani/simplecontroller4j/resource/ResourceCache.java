@@ -0,0 +1,249 @@
+package net.skuratani.simplecontroller4j.resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>静的リソースキャッシュ</p>
+ * <pre>
+ * 静的リソースのファイルの内容と圧縮表現を、リクエストパスをキーにメモリ上に保持する。
+ *     1. 最大エントリサイズ以下のファイルのみ格納し、それを超えるファイルは都度ファイルから出力する
+ *     2. 使用量（ファイルの内容と圧縮表現の合計バイト数）が最大サイズを超えた場合は、
+ *        最も長く参照されていないエントリから破棄する（LRU）
+ *     3. 圧縮表現は格納時に1度だけ生成し、圧縮後の方が小さい場合のみ保持する
+ *        圧縮対象はテキスト系のContent-Type（isCompressibleを参照）のみ
+ *     4. 確認間隔毎にファイルサイズ・最終更新日時を確認し、変更・削除された場合はエントリを破棄する
+ *        確認間隔が負の場合は確認しない（デプロイ後にファイルを変更しない場合）
+ * ヒット数・ミス数・破棄数を計測する。
+ * </pre>
+ */
+public class ResourceCache {
+
+	/** 圧縮する最小サイズ（バイト） */
+	private static final int MIN_COMPRESS_SIZE = 256;
+
+	/** 最大サイズ（バイト） */
+	private final long maximumSize;
+
+	/** 最大エントリサイズ（バイト） */
+	private final long maximumEntrySize;
+
+	/** ファイル更新の確認間隔（ミリ秒） */
+	private final long checkIntervalMillis;
+
+	/** コンテンツエンコーダー（優先順） */
+	private final List<ContentEncoder> encoders;
+
+	/** エントリ（アクセス順） */
+	private final LinkedHashMap<String, CachedResource> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+	/** 使用量（バイト） */
+	private long currentSize;
+
+	/** ヒット数 */
+	private final LongAdder hitCount = new LongAdder();
+	/** ミス数 */
+	private final LongAdder missCount = new LongAdder();
+	/** 破棄数 */
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param maximumSize         最大サイズ（バイト。1以上）
+	 * @param maximumEntrySize    最大エントリサイズ（バイト。最大サイズを超える場合は最大サイズ）
+	 * @param checkIntervalMillis ファイル更新の確認間隔（ミリ秒。負の場合は確認しない）
+	 * @param encoders            コンテンツエンコーダー（優先順）
+	 */
+	public ResourceCache(long maximumSize, long maximumEntrySize, long checkIntervalMillis,
+						 List<ContentEncoder> encoders) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("maximumSize must be positive : " + maximumSize);
+		}
+		this.maximumSize = maximumSize;
+		this.maximumEntrySize = Math.min(maximumEntrySize, maximumSize);
+		this.checkIntervalMillis = checkIntervalMillis;
+		this.encoders = List.copyOf(encoders);
+	}
+
+	/**
+	 * <p>キャッシュ取得</p>
+	 * <pre>
+	 * 確認間隔を経過したエントリは、ファイルサイズ・最終更新日時を確認してから返却する。
+	 * </pre>
+	 *
+	 * @param  requestPath リクエストパス
+	 * @return キャッシュ済み静的リソース（存在しない場合・ファイルが更新された場合はnull）
+	 */
+	public CachedResource get(String requestPath) {
+		CachedResource resource;
+		synchronized (this) {
+			resource = entries.get(requestPath);
+		}
+		if (resource == null) {
+			missCount.increment();
+			return null;
+		}
+		if (checkIntervalMillis >= 0) {
+			long now = System.currentTimeMillis();
+			if (now - resource.getCheckedAt() >= checkIntervalMillis) {
+				if (!isUnchanged(resource)) {
+					remove(requestPath, resource);
+					missCount.increment();
+					return null;
+				}
+				resource.setCheckedAt(now);
+			}
+		}
+		hitCount.increment();
+		return resource;
+	}
+
+	/**
+	 * <p>キャッシュ対象判定</p>
+	 *
+	 * @param  length ファイルサイズ
+	 * @return boolean
+	 *         true  : 最大エントリサイズ以下
+	 *         false : 最大エントリサイズを超える
+	 */
+	public boolean isCacheable(long length) {
+		return length <= maximumEntrySize;
+	}
+
+	/**
+	 * <p>キャッシュ登録</p>
+	 * <pre>
+	 * ファイルを読み込み、圧縮表現を生成して格納する。
+	 * 読み込み中にファイルが変更された場合（サイズが一致しない場合）は格納しない。
+	 * </pre>
+	 *
+	 * @param  requestPath  リクエストパス
+	 * @param  file         ファイルパス
+	 * @param  attributes   ファイル属性
+	 * @param  contentType  Content-Type
+	 * @param  etag         ETag
+	 * @return キャッシュ済み静的リソース（格納しない場合はnull）
+	 * @throws IOException ファイルの読み込み・圧縮に失敗した場合
+	 */
+	public CachedResource load(String requestPath, Path file, BasicFileAttributes attributes, String contentType,
+							   String etag) throws IOException {
+		if (!isCacheable(attributes.size())) return null;
+		byte[] content = Files.readAllBytes(file);
+		if (content.length != attributes.size()) return null;
+
+		List<String> encodings = new ArrayList<>(encoders.size());
+		List<byte[]> encodedContents = new ArrayList<>(encoders.size());
+		if (content.length >= MIN_COMPRESS_SIZE && isCompressible(contentType)) {
+			for (ContentEncoder encoder : encoders) {
+				byte[] encoded = encoder.encode(content);
+				if (encoded.length < content.length) {
+					encodings.add(encoder.getName());
+					encodedContents.add(encoded);
+				}
+			}
+		}
+		CachedResource resource = new CachedResource(file, contentType, attributes.lastModifiedTime().toMillis(),
+													 etag, content, encodings.toArray(new String[0]),
+													 encodedContents.toArray(new byte[0][]));
+		if (resource.getWeight() > maximumSize) return null;
+		put(requestPath, resource);
+		return resource;
+	}
+
+	/**
+	 * <p>圧縮対象判定</p>
+	 *
+	 * @param  contentType Content-Type
+	 * @return boolean
+	 *         true  : テキスト系（text/*・JavaScript・JSON・XML・SVG）
+	 *         false : その他（画像・フォント・圧縮済みのファイル等）
+	 */
+	protected boolean isCompressible(String contentType) {
+		if (contentType == null) return false;
+		String type = contentType.toLowerCase();
+		return type.startsWith("text/") || type.startsWith("application/javascript")
+			|| type.startsWith("application/json") || type.startsWith("application/xml")
+			|| type.startsWith("image/svg+xml") || type.contains("+xml") || type.contains("+json");
+	}
+
+	/**
+	 * <p>キャッシュ使用量取得</p>
+	 *
+	 * @return 使用量（バイト）
+	 */
+	public synchronized long getCurrentSize() {
+		return currentSize;
+	}
+
+	/**
+	 * <p>キャッシュエントリ数取得</p>
+	 *
+	 * @return エントリ数
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	/**
+	 * <p>エントリ格納（最大サイズを超えた分を破棄）</p>
+	 */
+	private synchronized void put(String requestPath, CachedResource resource) {
+		CachedResource previous = entries.put(requestPath, resource);
+		if (previous != null) currentSize -= previous.getWeight();
+		currentSize += resource.getWeight();
+
+		Iterator<CachedResource> iterator = entries.values().iterator();
+		while (currentSize > maximumSize && iterator.hasNext()) {
+			CachedResource eldest = iterator.next();
+			if (eldest == resource) continue;
+			iterator.remove();
+			currentSize -= eldest.getWeight();
+			evictionCount.increment();
+		}
+	}
+
+	/**
+	 * <p>エントリ破棄（他のスレッドが再格納したエントリは破棄しない）</p>
+	 */
+	private synchronized void remove(String requestPath, CachedResource resource) {
+		if (entries.get(requestPath) == resource) {
+			entries.remove(requestPath);
+			currentSize -= resource.getWeight();
+			evictionCount.increment();
+		}
+	}
+
+	/**
+	 * <p>ファイル未変更判定</p>
+	 */
+	private static boolean isUnchanged(CachedResource resource) {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(resource.getPath(), BasicFileAttributes.class);
+			return attributes.isRegularFile() && attributes.size() == resource.getLength()
+				&& attributes.lastModifiedTime().toMillis() == resource.getLastModified();
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,461 @@
+package net.skuratani.simplecontroller4j.resource;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * <p>静的リソースハンドラ</p>
+ * <pre>
+ * 拡張子を持つリクエストパス（例：/js/app.js）のファイルをレスポンスに出力する。
+ *     1. Content-Type（ServletContext#getMimeType）・Content-Length・Last-Modified・ETag・Accept-Rangesを設定する
+ *     2. If-None-Match・If-Modified-Sinceに一致する場合は304（Not Modified）を返却する
+ *     3. Range（単一範囲のみ）を指定した場合は206（Partial Content）、範囲外の場合は416（Range Not Satisfiable）を返却する
+ *        If-Rangeが一致しない場合・複数範囲の場合はファイル全体を返却する
+ *     4. ファイルはFileChannel#transferToでレスポンスに出力する
+ *        コンテナがsendfileに対応している場合（Tomcat）は、一定サイズ以上のファイルの出力をコンテナに委譲する
+ *     5. 静的リソースキャッシュを使用する場合は、キャッシュ済みのファイルをメモリから出力し、
+ *        Accept-Encodingに応じて圧縮表現（gzip等）を選択する（ResourceCacheを参照）
+ * ファイルが存在しない場合・ディレクトリの場合は404（Not Found）を返却する。
+ * </pre>
+ */
+public class StaticResourceHandler {
+
+	/** sendfile対応を示すリクエスト属性（Tomcat） */
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+	/** sendfileのファイル名のリクエスト属性（Tomcat） */
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+	/** sendfileの開始位置のリクエスト属性（Tomcat） */
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+	/** sendfileの終了位置（この位置を含まない）のリクエスト属性（Tomcat） */
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	/** sendfileを使用する最小サイズ（バイト） */
+	private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+	/** Content-Typeが判定できない場合のContent-Type */
+	private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+	/** 範囲外のRangeを示す値 */
+	private static final long[] UNSATISFIABLE = new long[0];
+
+	/** サーブレットコンテキスト */
+	private final ServletContext servletContext;
+
+	/** Cache-Control（設定しない場合はnull） */
+	private final String cacheControl;
+
+	/** 静的リソースキャッシュ（使用しない場合はnull） */
+	private final ResourceCache resourceCache;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param servletContext サーブレットコンテキスト
+	 * @param cacheControl   Cache-Control（設定しない場合はnull）
+	 */
+	public StaticResourceHandler(ServletContext servletContext, String cacheControl) {
+		this(servletContext, cacheControl, null);
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param servletContext サーブレットコンテキスト
+	 * @param cacheControl   Cache-Control（設定しない場合はnull）
+	 * @param resourceCache  静的リソースキャッシュ（使用しない場合はnull）
+	 */
+	public StaticResourceHandler(ServletContext servletContext, String cacheControl, ResourceCache resourceCache) {
+		this.servletContext = servletContext;
+		this.cacheControl = cacheControl;
+		this.resourceCache = resourceCache;
+	}
+
+	public ResourceCache getResourceCache() {
+		return resourceCache;
+	}
+
+	/**
+	 * <p>静的リソースのパス判定</p>
+	 * <pre>
+	 * 「/」で始まり、最後の「.」の前に1文字以上あり、最後の「.」の後が英字のみ（1文字以上）の場合に静的リソースとする。
+	 * 正規表現「^/[\s\S]+\.[a-zA-Z]{1,}$」と同じ判定を、正規表現を使用せずに行う。
+	 * </pre>
+	 *
+	 * @param  requestPath リクエストパス
+	 * @return boolean
+	 *         true  : 静的リソース
+	 *         false : 静的リソースでない
+	 */
+	public static boolean isResourcePath(String requestPath) {
+		int dot = requestPath.lastIndexOf('.');
+		if (dot < 2 || dot == requestPath.length() - 1 || requestPath.charAt(0) != '/') return false;
+		for (int i = dot + 1; i < requestPath.length(); i++) {
+			char c = requestPath.charAt(i);
+			if ((c < 'a' || c > 'z') && (c < 'A' || c > 'Z')) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * <p>静的リソース出力</p>
+	 * <pre>
+	 * 静的リソースキャッシュを使用する場合は、キャッシュ済みのファイルをファイルシステムを参照せずに出力し、
+	 * 未格納のファイルは読み込んで格納してから出力する。
+	 * </pre>
+	 *
+	 * @param  request     HTTPサーブレットリクエスト
+	 * @param  response    HTTPサーブレットレスポンス
+	 * @param  requestPath リクエストパス
+	 * @throws IOException ファイルの読み込み・レスポンスの出力に失敗した場合
+	 */
+	public void serve(HttpServletRequest request, HttpServletResponse response, String requestPath)
+		throws IOException {
+
+		if (resourceCache != null) {
+			CachedResource resource = resourceCache.get(requestPath);
+			if (resource != null) {
+				serveCached(request, response, resource);
+				return;
+			}
+		}
+
+		String realPath = servletContext.getRealPath(requestPath);
+		if (realPath == null) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		Path file = Path.of(realPath);
+		BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(file, BasicFileAttributes.class);
+		} catch (NoSuchFileException e) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		if (!attributes.isRegularFile()) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+
+		long length = attributes.size();
+		long lastModified = attributes.lastModifiedTime().toMillis();
+		String etag = etagOf(length, lastModified);
+		String contentType = servletContext.getMimeType(file.getFileName().toString());
+		if (contentType == null) contentType = DEFAULT_CONTENT_TYPE;
+
+		if (resourceCache != null && resourceCache.isCacheable(length)) {
+			CachedResource resource = resourceCache.load(requestPath, file, attributes, contentType, etag);
+			if (resource != null) {
+				serveCached(request, response, resource);
+				return;
+			}
+		}
+
+		long[] bounds = prepare(request, response, etag, lastModified, length, contentType);
+		if (bounds == null) return;
+		long start = bounds[0];
+		long count = bounds[1] - bounds[0] + 1;
+
+		//-------------------------------------------//
+		// ファイル出力
+		//-------------------------------------------//
+		if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+			request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+			request.setAttribute(SENDFILE_START, start);
+			request.setAttribute(SENDFILE_END, start + count);
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+			long position = start;
+			long end = start + count;
+			while (position < end) {
+				long transferred = channel.transferTo(position, end - position, out);
+				// 出力中にファイルが切り詰められた場合
+				if (transferred <= 0) break;
+				position += transferred;
+			}
+		}
+	}
+
+	/**
+	 * <p>キャッシュ済み静的リソース出力</p>
+	 * <pre>
+	 * Accept-Encodingに一致する圧縮表現がある場合は、エンコーダーの優先順で最初に一致した表現を出力する。
+	 * Rangeを指定した場合は、範囲の基準を一定にする為にファイルの内容（identity）を出力する。
+	 * 圧縮表現がある場合は「Vary: Accept-Encoding」を設定する。
+	 * </pre>
+	 *
+	 * @param  request  HTTPサーブレットリクエスト
+	 * @param  response HTTPサーブレットレスポンス
+	 * @param  resource キャッシュ済み静的リソース
+	 * @throws IOException レスポンスの出力に失敗した場合
+	 */
+	protected void serveCached(HttpServletRequest request, HttpServletResponse response, CachedResource resource)
+		throws IOException {
+
+		byte[] content = resource.getContent();
+		String etag = resource.getEtag();
+		if (resource.getEncodingCount() > 0) {
+			response.setHeader("Vary", "Accept-Encoding");
+			int index = selectEncoding(request, resource);
+			if (index >= 0) {
+				content = resource.getEncodedContent(index);
+				etag = resource.getEncodedEtag(index);
+				response.setHeader("Content-Encoding", resource.getEncoding(index));
+			}
+		}
+
+		long[] bounds = prepare(request, response, etag, resource.getLastModified(), content.length,
+								resource.getContentType());
+		if (bounds == null) return;
+		response.getOutputStream().write(content, (int) bounds[0], (int) (bounds[1] - bounds[0] + 1));
+	}
+
+	/**
+	 * <p>圧縮表現選択</p>
+	 *
+	 * @param  request  HTTPサーブレットリクエスト
+	 * @param  resource キャッシュ済み静的リソース
+	 * @return 圧縮表現の位置（ファイルの内容を出力する場合は-1）
+	 */
+	protected int selectEncoding(HttpServletRequest request, CachedResource resource) {
+		String acceptEncoding = request.getHeader("Accept-Encoding");
+		if (acceptEncoding == null || request.getHeader("Range") != null) return -1;
+		for (int i = 0; i < resource.getEncodingCount(); i++) {
+			if (acceptsEncoding(acceptEncoding, resource.getEncoding(i))) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * <p>レスポンスヘッダー設定・範囲決定</p>
+	 * <pre>
+	 * 検証ヘッダー・Content-Type・Content-Lengthを設定し、条件付きリクエスト・範囲リクエストを判定する。
+	 * 304・416を返却した場合、HEADリクエストの場合、出力する内容がない場合は、本文を出力せずにnullを返却する。
+	 * </pre>
+	 *
+	 * @param  request      HTTPサーブレットリクエスト
+	 * @param  response     HTTPサーブレットレスポンス
+	 * @param  etag         ETag
+	 * @param  lastModified 最終更新日時（エポックミリ秒）
+	 * @param  length       出力する表現のサイズ
+	 * @param  contentType  Content-Type
+	 * @return 出力する開始位置・終了位置（終了位置を含む）。本文を出力しない場合はnull
+	 * @throws IOException エラーレスポンスの出力に失敗した場合
+	 */
+	protected long[] prepare(HttpServletRequest request, HttpServletResponse response, String etag,
+							 long lastModified, long length, String contentType) throws IOException {
+
+		//-------------------------------------------//
+		// 検証ヘッダー・条件付きリクエスト
+		//-------------------------------------------//
+		response.setHeader("ETag", etag);
+		response.setDateHeader("Last-Modified", lastModified);
+		response.setHeader("Accept-Ranges", "bytes");
+		if (cacheControl != null) response.setHeader("Cache-Control", cacheControl);
+		if (isNotModified(request, etag, lastModified)) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return null;
+		}
+		response.setContentType(contentType);
+
+		//-------------------------------------------//
+		// 範囲リクエスト
+		//-------------------------------------------//
+		long[] bounds = {0, length - 1};
+		String range = request.getHeader("Range");
+		if (range != null && "GET".equals(request.getMethod()) && matchesIfRange(request, etag, lastModified)) {
+			long[] requested = parseRange(range, length);
+			if (requested == UNSATISFIABLE) {
+				response.setHeader("Content-Range", "bytes */" + length);
+				response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+				return null;
+			}
+			if (requested != null) {
+				bounds = requested;
+				response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+				response.setHeader("Content-Range", "bytes " + bounds[0] + "-" + bounds[1] + "/" + length);
+			}
+		}
+		long count = bounds[1] - bounds[0] + 1;
+		response.setContentLengthLong(count);
+		if ("HEAD".equals(request.getMethod()) || count == 0) return null;
+		return bounds;
+	}
+
+	/**
+	 * <p>ETag生成</p>
+	 *
+	 * @param  length       ファイルサイズ
+	 * @param  lastModified 最終更新日時（エポックミリ秒）
+	 * @return ETag（強いETag）
+	 */
+	protected String etagOf(long length, long lastModified) {
+		return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+	}
+
+	/**
+	 * <p>未更新判定</p>
+	 * <pre>
+	 * If-None-Matchを指定した場合はETag（弱い比較）のみで判定し、If-Modified-Sinceは使用しない。
+	 * </pre>
+	 *
+	 * @param  request      HTTPサーブレットリクエスト
+	 * @param  etag         ETag
+	 * @param  lastModified 最終更新日時（エポックミリ秒）
+	 * @return boolean
+	 *         true  : 未更新（304を返却する）
+	 *         false : 更新あり・条件なし
+	 */
+	protected boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+		String method = request.getMethod();
+		if (!"GET".equals(method) && !"HEAD".equals(method)) return false;
+
+		String ifNoneMatch = request.getHeader("If-None-Match");
+		if (ifNoneMatch != null) {
+			String opaque = opaqueTag(etag);
+			for (String tag : ifNoneMatch.split(",")) {
+				tag = tag.trim();
+				if (tag.equals("*") || opaqueTag(tag).equals(opaque)) return true;
+			}
+			return false;
+		}
+		long ifModifiedSince = dateHeader(request, "If-Modified-Since");
+		return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+	}
+
+	/**
+	 * <p>If-Range判定</p>
+	 *
+	 * @param  request      HTTPサーブレットリクエスト
+	 * @param  etag         ETag
+	 * @param  lastModified 最終更新日時（エポックミリ秒）
+	 * @return boolean
+	 *         true  : If-Rangeがない・一致する（Rangeを使用する）
+	 *         false : 一致しない（ファイル全体を返却する）
+	 */
+	protected boolean matchesIfRange(HttpServletRequest request, String etag, long lastModified) {
+		String ifRange = request.getHeader("If-Range");
+		if (ifRange == null) return true;
+		ifRange = ifRange.trim();
+		// ETagは強い比較（弱いETagは一致しない）
+		if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) return ifRange.equals(etag);
+		long date = dateHeader(request, "If-Range");
+		return date >= 0 && lastModified / 1000 == date / 1000;
+	}
+
+	/**
+	 * <p>Range解析</p>
+	 * <pre>
+	 * 「bytes=開始-終了」「bytes=開始-」「bytes=-末尾からのバイト数」の単一範囲のみ対応する。
+	 * 複数範囲・形式が不正な場合はnull（Rangeを無視してファイル全体を返却）とする。
+	 * </pre>
+	 *
+	 * @param  range  Rangeヘッダー値
+	 * @param  length ファイルサイズ
+	 * @return 開始位置・終了位置（終了位置を含む）、範囲外の場合はUNSATISFIABLE、無視する場合はnull
+	 */
+	protected long[] parseRange(String range, long length) {
+		range = range.trim();
+		if (!range.regionMatches(true, 0, "bytes=", 0, 6)) return null;
+		String spec = range.substring(6).trim();
+		int dash = spec.indexOf('-');
+		if (dash < 0 || spec.indexOf(',') >= 0) return null;
+
+		try {
+			String first = spec.substring(0, dash).trim();
+			String last = spec.substring(dash + 1).trim();
+			if (first.isEmpty()) {
+				// 末尾からのバイト数
+				if (last.isEmpty()) return null;
+				long suffix = Long.parseLong(last);
+				if (suffix < 0) return null;
+				if (suffix == 0 || length == 0) return UNSATISFIABLE;
+				return new long[] {Math.max(0, length - suffix), length - 1};
+			}
+			long start = Long.parseLong(first);
+			long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+			if (start < 0 || end < start) return null;
+			if (start >= length) return UNSATISFIABLE;
+			return new long[] {start, Math.min(end, length - 1)};
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * <p>Accept-Encoding判定</p>
+	 *
+	 * @param  acceptEncoding Accept-Encodingヘッダー値
+	 * @param  encoding       エンコーディング名
+	 * @return boolean
+	 *         true  : エンコーディング名・「*」をq=0以外で指定している
+	 *         false : 指定していない・q=0を指定している
+	 */
+	protected static boolean acceptsEncoding(String acceptEncoding, String encoding) {
+		boolean wildcard = false;
+		for (String coding : acceptEncoding.split(",")) {
+			int semicolon = coding.indexOf(';');
+			String name = (semicolon < 0 ? coding : coding.substring(0, semicolon)).trim();
+			boolean accepted = semicolon < 0 || qualityOf(coding.substring(semicolon + 1)) > 0;
+			if (name.equalsIgnoreCase(encoding)) return accepted;
+			if (name.equals("*")) wildcard = accepted;
+		}
+		return wildcard;
+	}
+
+	/**
+	 * <p>q値取得</p>
+	 *
+	 * @return q値（指定がない場合は1、形式が不正な場合は0）
+	 */
+	private static double qualityOf(String parameters) {
+		for (String parameter : parameters.split(";")) {
+			parameter = parameter.trim();
+			if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+				try {
+					return Double.parseDouble(parameter.substring(2).trim());
+				} catch (NumberFormatException e) {
+					return 0;
+				}
+			}
+		}
+		return 1;
+	}
+
+	/**
+	 * <p>ETagの比較部分取得（弱いETagの「W/」を除く）</p>
+	 */
+	private static String opaqueTag(String tag) {
+		return tag.startsWith("W/") ? tag.substring(2) : tag;
+	}
+
+	/**
+	 * <p>日付ヘッダー取得</p>
+	 *
+	 * @return 日付（エポックミリ秒。ヘッダーがない場合・形式が不正な場合は-1）
+	 */
+	private static long dateHeader(HttpServletRequest request, String name) {
+		try {
+			return request.getDateHeader(name);
+		} catch (IllegalArgumentException e) {
+			return -1;
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+package net.skuratani.simplecontroller4j.response;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>エンコード済みレスポンスボディー</p>
+ * <pre>
+ * 実行メソッドの戻り値に使用できる、バイト列にエンコード済みのレスポンスボディー。
+ * 内容が変わらないレスポンスは定数として保持することで、リクエスト毎の文字列のエンコードを省略できる。
+ *     (ex.) private static final ResponseBody OK = ResponseBody.text("OK", "text/plain");
+ * Content-Typeを指定した場合、実行メソッドでContent-Typeを設定していなければレスポンスに設定する。
+ * </pre>
+ */
+public final class ResponseBody {
+
+	/** 内容 */
+	private final byte[] content;
+
+	/** Content-Type（設定しない場合はnull） */
+	private final String contentType;
+
+	private ResponseBody(byte[] content, String contentType) {
+		this.content = content;
+		this.contentType = contentType;
+	}
+
+	/**
+	 * <p>バイト列のレスポンスボディー生成</p>
+	 * <pre>
+	 * 内容は複製して保持する為、生成後に引数の配列を変更してもレスポンスボディーは変わらない。
+	 * </pre>
+	 *
+	 * @param  content     内容
+	 * @param  contentType Content-Type（設定しない場合はnull）
+	 * @return レスポンスボディー
+	 */
+	public static ResponseBody of(byte[] content, String contentType) {
+		return new ResponseBody(content.clone(), contentType);
+	}
+
+	/**
+	 * <p>文字列のレスポンスボディー生成（UTF-8）</p>
+	 *
+	 * @param  text     内容
+	 * @param  mimeType MIMEタイプ（Content-Typeは「MIMEタイプ;charset=UTF-8」となる。設定しない場合はnull）
+	 * @return レスポンスボディー
+	 */
+	public static ResponseBody text(String text, String mimeType) {
+		return new ResponseBody(text.getBytes(StandardCharsets.UTF_8),
+								mimeType == null ? null : mimeType + ";charset=UTF-8");
+	}
+
+	/**
+	 * <p>内容のバイト数取得</p>
+	 *
+	 * @return バイト数
+	 */
+	public int length() {
+		return content.length;
+	}
+
+	/**
+	 * <p>内容取得</p>
+	 * <pre>
+	 * 返却する配列はレスポンスボディーと共有している為、変更してはならない。
+	 * </pre>
+	 *
+	 * @return 内容
+	 */
+	byte[] getContent() {
+		return content;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+}
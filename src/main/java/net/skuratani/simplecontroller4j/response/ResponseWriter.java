@@ -0,0 +1,174 @@
+package net.skuratani.simplecontroller4j.response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * <p>レスポンスライター</p>
+ * <pre>
+ * 実行メソッドの戻り値を、Content-Lengthを設定してからバイト列のままレスポンスに出力する。
+ *     1. String       : レスポンスの文字コードでエンコードして出力する
+ *                       Content-Typeが未設定の場合は文字コードをUTF-8とし、
+ *                       UTF-8のエンコードはスレッド毎に再利用するバッファ上で行う
+ *     2. byte[]       : そのまま出力する
+ *     3. ByteBuffer   : 位置から上限までを出力する（引数のバッファの位置は変更しない）
+ *     4. ResponseBody : エンコード済みの内容を出力する（Content-Typeが未設定の場合は設定する）
+ * 実行メソッドが既にgetWriterを使用している場合、String以外はIllegalStateExceptionとなる為、
+ * Stringの場合のみ従来通りgetWriterで出力する。
+ * </pre>
+ */
+public final class ResponseWriter {
+
+	/** スレッド毎に保持するバッファの初期容量（バイト） */
+	private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+	/** スレッド毎に保持するバッファの最大容量（バイト。これを超える場合は都度生成する） */
+	private static final int MAX_BUFFER_SIZE = 64 * 1024;
+
+	/** スレッド毎のエンコード用バッファ */
+	private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[INITIAL_BUFFER_SIZE]);
+
+	private ResponseWriter() {
+	}
+
+	/**
+	 * <p>戻り値出力</p>
+	 *
+	 * @param  response HTTPサーブレットレスポンス
+	 * @param  result   実行メソッドの戻り値（nullの場合は出力しない）
+	 * @throws IOException              レスポンスの出力に失敗した場合
+	 * @throws IllegalArgumentException 出力できない型の場合
+	 */
+	public static void write(HttpServletResponse response, Object result) throws IOException {
+		if (result == null) return;
+		if (result instanceof String text) {
+			writeText(response, text);
+		} else if (result instanceof byte[] bytes) {
+			writeBytes(response, bytes, 0, bytes.length);
+		} else if (result instanceof ByteBuffer buffer) {
+			writeBuffer(response, buffer.duplicate());
+		} else if (result instanceof ResponseBody body) {
+			if (body.getContentType() != null && response.getContentType() == null) {
+				response.setContentType(body.getContentType());
+			}
+			writeBytes(response, body.getContent(), 0, body.length());
+		} else {
+			throw new IllegalArgumentException("unsupported return type : " + result.getClass().getName());
+		}
+	}
+
+	/**
+	 * <p>文字列出力</p>
+	 */
+	private static void writeText(HttpServletResponse response, String text) throws IOException {
+		if (response.getContentType() == null) response.setCharacterEncoding("UTF-8");
+		Charset charset;
+		try {
+			charset = Charset.forName(response.getCharacterEncoding());
+		} catch (IllegalArgumentException e) {
+			charset = StandardCharsets.ISO_8859_1;
+		}
+
+		OutputStream out;
+		try {
+			out = response.getOutputStream();
+		} catch (IllegalStateException e) {
+			// 実行メソッドがgetWriterを使用済みの場合
+			response.getWriter().print(text);
+			response.getWriter().flush();
+			return;
+		}
+
+		if (!StandardCharsets.UTF_8.equals(charset) || (long) text.length() * 3 > MAX_BUFFER_SIZE) {
+			byte[] bytes = text.getBytes(charset);
+			writeBytes(response, out, bytes, 0, bytes.length);
+			return;
+		}
+		byte[] buffer = BUFFER.get();
+		if (buffer.length < text.length() * 3) {
+			buffer = new byte[Math.min(MAX_BUFFER_SIZE, Math.max(buffer.length * 2, text.length() * 3))];
+			BUFFER.set(buffer);
+		}
+		writeBytes(response, out, buffer, 0, encodeUtf8(text, buffer));
+	}
+
+	/**
+	 * <p>UTF-8エンコード</p>
+	 * <pre>
+	 * バッファの容量は文字数の3倍以上であること。
+	 * 対になっていないサロゲートは「?」とする（String#getBytesと同じ）。
+	 * </pre>
+	 *
+	 * @return エンコード後のバイト数
+	 */
+	private static int encodeUtf8(String text, byte[] buffer) {
+		int position = 0;
+		int length = text.length();
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c < 0x80) {
+				buffer[position++] = (byte) c;
+			} else if (c < 0x800) {
+				buffer[position++] = (byte) (0xC0 | (c >> 6));
+				buffer[position++] = (byte) (0x80 | (c & 0x3F));
+			} else if (Character.isSurrogate(c)) {
+				if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+					int codePoint = Character.toCodePoint(c, text.charAt(++i));
+					buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+					buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+					buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+					buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+				} else {
+					buffer[position++] = '?';
+				}
+			} else {
+				buffer[position++] = (byte) (0xE0 | (c >> 12));
+				buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				buffer[position++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+		return position;
+	}
+
+	/**
+	 * <p>ByteBuffer出力</p>
+	 */
+	private static void writeBuffer(HttpServletResponse response, ByteBuffer buffer) throws IOException {
+		if (buffer.hasArray()) {
+			writeBytes(response, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+			return;
+		}
+		if (!response.isCommitted()) response.setContentLength(buffer.remaining());
+		OutputStream out = response.getOutputStream();
+		WritableByteChannel channel = Channels.newChannel(out);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		out.flush();
+	}
+
+	/**
+	 * <p>バイト列出力</p>
+	 */
+	private static void writeBytes(HttpServletResponse response, byte[] bytes, int offset, int length) throws IOException {
+		writeBytes(response, response.getOutputStream(), bytes, offset, length);
+	}
+
+	/**
+	 * <p>バイト列出力（Content-Length設定後に1度で出力する）</p>
+	 */
+	private static void writeBytes(HttpServletResponse response, OutputStream out, byte[] bytes, int offset, int length)
+		throws IOException {
+		if (!response.isCommitted()) response.setContentLength(length);
+		out.write(bytes, offset, length);
+		out.flush();
+	}
+
+}
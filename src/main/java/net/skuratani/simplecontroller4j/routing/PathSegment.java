@@ -0,0 +1,223 @@
+package net.skuratani.simplecontroller4j.routing;
+
+import java.util.regex.Pattern;
+
+/**
+ * <p>ルーティングパスセグメント</p>
+ * <pre>
+ * Routeアノテーションのパスを「/」で区切った1セグメントを表現する。
+ * 起動時に1度だけ解析され、リクエスト毎の正規表現コンパイルを行わずにマッチングを実行する。
+ *     1. 固定文字列 : init
+ *     2. 指定なし   : {XXX}
+ *     3. int       : {XXX:int}
+ *     4. float     : {XXX:float}
+ *     5. regex     : {XXX:re:exp}
+ * </pre>
+ */
+public class PathSegment {
+
+	/**
+	 * <p>セグメント種別</p>
+	 * <pre>
+	 * 列挙順はルーティング探索時の優先順位を表す。
+	 * </pre>
+	 */
+	public enum Type {
+		LITERAL, INT, FLOAT, REGEX, STRING
+	}
+
+	/** セグメント種別 */
+	private final Type type;
+	/** 固定文字列（LITERAL）またはバインド変数名 */
+	private final String name;
+	/** コンパイル済み正規表現（REGEX） */
+	private final Pattern pattern;
+
+	private PathSegment(Type type, String name, Pattern pattern) {
+		this.type = type;
+		this.name = name;
+		this.pattern = pattern;
+	}
+
+	/**
+	 * <p>セグメント解析</p>
+	 *
+	 * @param  segment パスセグメント文字列（「/」を含まない）
+	 * @return パスセグメント
+	 */
+	public static PathSegment parse(String segment) {
+
+		if (segment.length() < 2 || segment.charAt(0) != '{' || segment.charAt(segment.length() - 1) != '}') {
+			return new PathSegment(Type.LITERAL, segment, null);
+		}
+
+		String body = segment.substring(1, segment.length() - 1);
+		int colon = body.indexOf(':');
+		// 型指定がない場合
+		if (colon < 0) {
+			return new PathSegment(Type.STRING, body, null);
+		}
+		String name = body.substring(0, colon);
+		String spec = body.substring(colon + 1);
+		// int型の場合
+		if (spec.equals("int")) {
+			return new PathSegment(Type.INT, name, null);
+		// float型の場合
+		} else if (spec.equals("float")) {
+			return new PathSegment(Type.FLOAT, name, null);
+		// 正規表現の場合
+		} else if (spec.startsWith("re:")) {
+			return new PathSegment(Type.REGEX, name, Pattern.compile(spec.substring(3)));
+		}
+		// それ以外
+		return new PathSegment(Type.STRING, name, null);
+	}
+
+	/**
+	 * <p>リクエストパスの区間とのマッチング確認</p>
+	 *
+	 * @param  path リクエストパス
+	 * @param  from セグメント開始位置
+	 * @param  to   セグメント終了位置（この位置を含まない）
+	 * @return boolean
+	 *         true  : マッチする
+	 *         false : マッチしない
+	 */
+	public boolean matches(String path, int from, int to) {
+		switch (type) {
+		case LITERAL:
+			return name.length() == to - from && path.regionMatches(from, name, 0, name.length());
+		case INT:
+			return isInt(path, from, to);
+		case FLOAT:
+			return isFloat(path, from, to);
+		case REGEX:
+			return pattern.matcher(path).region(from, to).matches();
+		default:
+			return from < to;
+		}
+	}
+
+	/**
+	 * <p>int値判定</p>
+	 * <pre>
+	 * Integer.parseIntが受け付ける10進表記かつint範囲内であるかを判定する。
+	 * </pre>
+	 */
+	static boolean isInt(CharSequence s, int from, int to) {
+		int i = from;
+		boolean negative = false;
+		if (i < to && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+			negative = s.charAt(i) == '-';
+			i++;
+		}
+		if (i >= to) return false;
+		long value = 0;
+		for (; i < to; i++) {
+			char c = s.charAt(i);
+			if (c < '0' || c > '9') return false;
+			value = value * 10 + (c - '0');
+			if (value > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * <p>int値変換</p>
+	 * <pre>
+	 * 文字列を切り出さずに区間の文字から直接int値を生成する。
+	 * isIntで判定済みの区間に対して使用する。
+	 * </pre>
+	 */
+	static int parseInt(CharSequence s, int from, int to) {
+		int i = from;
+		boolean negative = false;
+		if (s.charAt(i) == '-' || s.charAt(i) == '+') {
+			negative = s.charAt(i) == '-';
+			i++;
+		}
+		// 負数で累積してInteger.MIN_VALUEを表現可能にする
+		int value = 0;
+		for (; i < to; i++) {
+			value = value * 10 - (s.charAt(i) - '0');
+		}
+		return negative ? value : -value;
+	}
+
+	/**
+	 * <p>float値判定</p>
+	 * <pre>
+	 * Float.parseFloatが受け付ける表記であるかを判定する。
+	 * 10進表記は文字列を切り出さずに判定し、それ以外（NaN・Infinity・16進表記・前後の空白など）のみ
+	 * Float.parseFloatで判定する。
+	 * </pre>
+	 */
+	static boolean isFloat(CharSequence s, int from, int to) {
+		if (isDecimalFloat(s, from, to)) return true;
+		try {
+			Float.parseFloat(s.subSequence(from, to).toString());
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * <p>10進表記のfloat値判定</p>
+	 * <pre>
+	 * [符号]数字[.数字][指数][型接尾辞] の10進表記であるかを判定する。
+	 * </pre>
+	 */
+	private static boolean isDecimalFloat(CharSequence s, int from, int to) {
+		int i = from;
+		if (i < to && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+		int digits = 0;
+		while (i < to && isDigit(s.charAt(i))) { i++; digits++; }
+		if (i < to && s.charAt(i) == '.') {
+			i++;
+			while (i < to && isDigit(s.charAt(i))) { i++; digits++; }
+		}
+		if (digits == 0) return false;
+		if (i < to && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+			i++;
+			if (i < to && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+			int expDigits = 0;
+			while (i < to && isDigit(s.charAt(i))) { i++; expDigits++; }
+			if (expDigits == 0) return false;
+		}
+		if (i < to && "fFdD".indexOf(s.charAt(i)) >= 0) i++;
+		return i == to;
+	}
+
+	private static boolean isDigit(char c) {
+		return '0' <= c && c <= '9';
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Pattern getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * <p>同一セグメント判定（ルーティングツリー構築用）</p>
+	 *
+	 * @param  other 比較対象セグメント
+	 * @return boolean
+	 *         true  : 同一のマッチ条件を持つ
+	 *         false : 異なるマッチ条件を持つ
+	 */
+	boolean sameCondition(PathSegment other) {
+		if (type != other.type) return false;
+		if (type == Type.LITERAL) return name.equals(other.name);
+		if (type == Type.REGEX) return pattern.pattern().equals(other.pattern.pattern());
+		return true;
+	}
+
+}
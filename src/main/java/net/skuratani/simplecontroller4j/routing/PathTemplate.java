@@ -0,0 +1,274 @@
+package net.skuratani.simplecontroller4j.routing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>ルーティングパステンプレート</p>
+ * <pre>
+ * Routeアノテーションのパス（クラスのパス＋メソッドのパス）を起動時に1度だけ解析したもの。
+ * リクエスト時はリクエストパスのセグメント位置から直接バインド変数値を読み取り、型変換を行う。
+ *     (ex.) 実行メソッドパス：/userlist/init/{count:int}/{column:int}/{device}
+ *           URLパス：/userlist/init/100/3/pc
+ *           バインド変数名：["count", "column", "device"]
+ *           バインド変数値：[100, 3, "pc"]
+ * バインド変数値の型は以下の通り。
+ *     1. 指定なし: {XXX}        → String
+ *     2. int    : {XXX:int}    → Integer
+ *     3. float  : {XXX:float}  → Float
+ *     4. regex  : {XXX:re:exp} → String
+ * </pre>
+ */
+public class PathTemplate {
+
+	/** パステンプレート文字列 */
+	private final String path;
+	/** パスセグメントリスト */
+	private final List<PathSegment> segments;
+	/** バインド変数セグメント */
+	private final PathSegment[] variables;
+	/** バインド変数セグメントの位置（セグメントリストのインデックス） */
+	private final int[] variableIndexes;
+	/** バインド変数名 */
+	private final String[] variableNames;
+
+	private PathTemplate(String path, List<PathSegment> segments) {
+		this.path = path;
+		this.segments = Collections.unmodifiableList(segments);
+
+		List<Integer> indexes = new ArrayList<>();
+		for (int i = 0; i < segments.size(); i++) {
+			if (segments.get(i).getType() != PathSegment.Type.LITERAL) indexes.add(i);
+		}
+		variables = new PathSegment[indexes.size()];
+		variableIndexes = new int[indexes.size()];
+		variableNames = new String[indexes.size()];
+		for (int i = 0; i < indexes.size(); i++) {
+			variableIndexes[i] = indexes.get(i);
+			variables[i] = segments.get(indexes.get(i));
+			variableNames[i] = variables[i].getName();
+		}
+	}
+
+	/**
+	 * <p>パステンプレート解析</p>
+	 * <pre>
+	 * バインド変数（{...}）の範囲を先に判定してから「/」で分割する為、正規表現の量指定子（{n,m}）を含むことができる。
+	 *     (ex.) /zip/{code:re:\d{3}-\d{4}} → ["zip", "{code:re:\d{3}-\d{4}}"]
+	 * 正規表現は1セグメントに対してマッチングされる為、文字クラス（[...]）・エスケープ以外の「/」を含むことはできない。
+	 * </pre>
+	 *
+	 * @param  path ルーティングパス
+	 * @return パステンプレート
+	 * @throws IllegalArgumentException バインド変数が閉じていない場合・バインド変数に「/」を含む場合
+	 */
+	public static PathTemplate compile(String path) {
+		List<PathSegment> segments = new ArrayList<>();
+		for (String segment : splitSegments(path)) {
+			segments.add(PathSegment.parse(segment));
+		}
+		return new PathTemplate(path, segments);
+	}
+
+	/**
+	 * <p>パスのセグメント分割</p>
+	 * <pre>
+	 * バインド変数の外側の「/」でのみ分割し、空のセグメントは除外する。
+	 * バインド変数の内側では、エスケープ（\x）・文字クラス（[...]）内の文字を括弧の対応判定から除外する。
+	 * </pre>
+	 *
+	 * @param  path ルーティングパス
+	 * @return セグメント文字列リスト
+	 * @throws IllegalArgumentException バインド変数が閉じていない場合・バインド変数に「/」を含む場合
+	 */
+	static List<String> splitSegments(String path) {
+		List<String> segments = new ArrayList<>();
+		StringBuilder builder = new StringBuilder();
+		int depth = 0;
+		boolean escaped = false;
+		boolean inClass = false;
+		for (int i = 0; i < path.length(); i++) {
+			char c = path.charAt(i);
+			if (depth == 0) {
+				if (c == '/') {
+					if (builder.length() > 0) segments.add(builder.toString());
+					builder.setLength(0);
+					continue;
+				}
+				if (c == '{') depth = 1;
+			} else if (escaped) {
+				escaped = false;
+			} else if (c == '\\') {
+				escaped = true;
+			} else if (inClass) {
+				if (c == ']') inClass = false;
+			} else if (c == '[') {
+				inClass = true;
+			} else if (c == '{') {
+				depth++;
+			} else if (c == '}') {
+				depth--;
+			} else if (c == '/') {
+				throw new IllegalArgumentException("illegal route path : " + path
+						+ " : a path variable is matched against one segment and cannot contain '/'");
+			}
+			builder.append(c);
+		}
+		if (depth > 0) {
+			throw new IllegalArgumentException("illegal route path : " + path + " : unclosed '{'");
+		}
+		if (builder.length() > 0) segments.add(builder.toString());
+		return segments;
+	}
+
+	/**
+	 * <p>固定パス判定</p>
+	 *
+	 * @return boolean
+	 *         true  : バインド変数を含まない
+	 *         false : バインド変数を含む
+	 */
+	public boolean isStatic() {
+		return variables.length == 0;
+	}
+
+	/**
+	 * <p>正規化した固定パスを取得</p>
+	 * <pre>
+	 * (例) /userlist//init/ → /userlist/init
+	 *      （空文字）       → /
+	 * </pre>
+	 *
+	 * @return 固定パス
+	 */
+	public String getStaticPath() {
+		if (segments.isEmpty()) return "/";
+		StringBuilder builder = new StringBuilder();
+		for (PathSegment segment : segments) {
+			builder.append('/').append(segment.getName());
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * <p>バインド変数値取得（セグメント位置指定）</p>
+	 * <pre>
+	 * ルーティングツリーの探索で既にマッチングが確認されたリクエストパスに対して使用する。
+	 * </pre>
+	 *
+	 * @param  requestPath リクエストパス
+	 * @param  bounds      各セグメントの開始位置・終了位置（[開始, 終了, 開始, 終了, ...]）
+	 * @return バインド変数値（バインド変数の出現順）
+	 */
+	public Object[] bind(String requestPath, int[] bounds) {
+		Object[] values = new Object[variables.length];
+		for (int i = 0; i < variables.length; i++) {
+			int index = variableIndexes[i];
+			values[i] = convert(variables[i], requestPath, bounds[index * 2], bounds[index * 2 + 1]);
+		}
+		return values;
+	}
+
+	/**
+	 * <p>バインド変数値取得</p>
+	 *
+	 * @param  requestPath リクエストパス
+	 * @return バインド変数値（バインド変数の出現順）。マッチしない場合はnull
+	 */
+	public Object[] bind(String requestPath) {
+		int[] bounds = new int[segments.size() * 2];
+		int offset = 0;
+		for (int i = 0; i < segments.size(); i++) {
+			int from = offset;
+			while (from < requestPath.length() && requestPath.charAt(from) == '/') from++;
+			if (from == requestPath.length()) return null;
+			int to = requestPath.indexOf('/', from);
+			if (to < 0) to = requestPath.length();
+			if (!segments.get(i).matches(requestPath, from, to)) return null;
+			bounds[i * 2] = from;
+			bounds[i * 2 + 1] = to;
+			offset = to;
+		}
+		while (offset < requestPath.length() && requestPath.charAt(offset) == '/') offset++;
+		if (offset != requestPath.length()) return null;
+
+		return bind(requestPath, bounds);
+	}
+
+	/**
+	 * <p>セグメント値の型変換</p>
+	 *
+	 * @param  segment     バインド変数セグメント
+	 * @param  requestPath リクエストパス
+	 * @param  from        セグメント開始位置
+	 * @param  to          セグメント終了位置（この位置を含まない）
+	 * @return 型変換した値
+	 */
+	protected Object convert(PathSegment segment, String requestPath, int from, int to) {
+		switch (segment.getType()) {
+		case INT:
+			return PathSegment.parseInt(requestPath, from, to);
+		case FLOAT:
+			return Float.parseFloat(requestPath.substring(from, to));
+		default:
+			return requestPath.substring(from, to);
+		}
+	}
+
+	/**
+	 * <p>バインド変数の位置取得</p>
+	 *
+	 * @param  name バインド変数名
+	 * @return バインド変数の位置（存在しない場合は-1）
+	 */
+	public int indexOf(String name) {
+		for (int i = 0; i < variableNames.length; i++) {
+			if (variableNames[i].equals(name)) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * <p>バインド変数値の型取得</p>
+	 *
+	 * @param  index バインド変数の位置
+	 * @return バインド変数値の型（Integer・Float・String）
+	 */
+	public Class<?> getValueType(int index) {
+		switch (variables[index].getType()) {
+		case INT:
+			return Integer.class;
+		case FLOAT:
+			return Float.class;
+		default:
+			return String.class;
+		}
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public List<PathSegment> getSegments() {
+		return segments;
+	}
+
+	/**
+	 * <p>バインド変数名取得</p>
+	 * <pre>
+	 * 返却される配列は共有されるため、変更してはならない。
+	 * </pre>
+	 *
+	 * @return バインド変数名（バインド変数の出現順）
+	 */
+	public String[] getVariableNames() {
+		return variableNames;
+	}
+
+	@Override
+	public String toString() {
+		return path;
+	}
+
+}
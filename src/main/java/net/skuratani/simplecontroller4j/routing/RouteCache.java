@@ -0,0 +1,184 @@
+package net.skuratani.simplecontroller4j.routing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.skuratani.simplecontroller4j.annotation.Method;
+
+/**
+ * <p>ルーティングキャッシュ</p>
+ * <pre>
+ * バインド変数を含むルーティングの探索結果を（リクエストメソッド・リクエストパス）をキーに保持する。
+ * 容量を超えた場合は、最も長く参照されていないエントリを破棄する（LRU）。
+ * ロック競合を避けるため、キャッシュはキーのハッシュ値で複数のセグメントに分割され、
+ * LRUの判定はセグメント毎に行われる。
+ * ヒット数・ミス数・破棄数を計測する。
+ * </pre>
+ */
+public class RouteCache {
+
+	/** 最大セグメント数 */
+	private static final int MAX_SEGMENTS = 16;
+
+	/** 最大エントリ数 */
+	private final int maximumSize;
+
+	/** セグメント */
+	private final Segment[] segments;
+
+	/** ヒット数 */
+	private final LongAdder hitCount = new LongAdder();
+	/** ミス数 */
+	private final LongAdder missCount = new LongAdder();
+	/** 破棄数 */
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param maximumSize 最大エントリ数（1以上）
+	 */
+	public RouteCache(int maximumSize) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("maximumSize must be positive : " + maximumSize);
+		}
+		this.maximumSize = maximumSize;
+		int segmentCount = 1;
+		while (segmentCount < MAX_SEGMENTS && segmentCount * 2 <= maximumSize) {
+			segmentCount *= 2;
+		}
+		segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			// 余りは先頭のセグメントから割り当てる
+			int capacity = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+			segments[i] = new Segment(capacity);
+		}
+	}
+
+	/**
+	 * <p>キャッシュ取得</p>
+	 *
+	 * @param  requestMethod リクエストメソッド
+	 * @param  requestPath   リクエストパス
+	 * @return ルーティング探索結果（存在しない場合はnull）
+	 */
+	public RouteMatch get(Method requestMethod, String requestPath) {
+		Key key = new Key(requestMethod, requestPath);
+		Segment segment = segmentFor(key);
+		RouteMatch routeMatch;
+		synchronized (segment) {
+			routeMatch = segment.get(key);
+		}
+		if (routeMatch != null) {
+			hitCount.increment();
+		} else {
+			missCount.increment();
+		}
+		return routeMatch;
+	}
+
+	/**
+	 * <p>キャッシュ登録</p>
+	 *
+	 * @param  requestMethod リクエストメソッド
+	 * @param  requestPath   リクエストパス
+	 * @param  routeMatch    ルーティング探索結果
+	 */
+	public void put(Method requestMethod, String requestPath, RouteMatch routeMatch) {
+		Key key = new Key(requestMethod, requestPath);
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			segment.put(key, routeMatch);
+		}
+	}
+
+	/**
+	 * <p>キャッシュエントリ数取得</p>
+	 *
+	 * @return エントリ数
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	private Segment segmentFor(Key key) {
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+		return segments[hash & (segments.length - 1)];
+	}
+
+	/**
+	 * <p>キャッシュセグメント（アクセス順LinkedHashMap）</p>
+	 */
+	@SuppressWarnings("serial")
+	private class Segment extends LinkedHashMap<Key, RouteMatch> {
+
+		/** セグメント容量 */
+		private final int capacity;
+
+		Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, RouteMatch> eldest) {
+			if (size() > capacity) {
+				evictionCount.increment();
+				return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * <p>キャッシュキー</p>
+	 */
+	private static final class Key {
+
+		private final Method requestMethod;
+		private final String requestPath;
+
+		Key(Method requestMethod, String requestPath) {
+			this.requestMethod = requestMethod;
+			this.requestPath = requestPath;
+		}
+
+		@Override
+		public int hashCode() {
+			return requestPath.hashCode() * 31 + requestMethod.ordinal();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof Key)) return false;
+			Key other = (Key) obj;
+			return requestMethod == other.requestMethod && requestPath.equals(other.requestPath);
+		}
+	}
+
+}
@@ -0,0 +1,55 @@
+package net.skuratani.simplecontroller4j.routing;
+
+import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
+
+/**
+ * <p>ルーティング探索結果</p>
+ * <pre>
+ * 以下の情報を格納するルーティング探索結果クラス。
+ * 生成後は変更されないため、ルーティングキャッシュにより複数リクエストで共有される。
+ *     1. リクエストマッピング情報
+ *     2. パスバインド値（ルーティングパスのバインド変数の出現順）
+ *        (ex.) URLパス：/userlist/init/100/3/pc
+ *            実行メソッドパス：/userlist/init/{count:int}/{column:int}/{device}
+ *            パスバインド値：[100, 3, "pc"]（パステンプレートで型変換済み）
+ * </pre>
+ */
+public class RouteMatch {
+
+	/** 空のパスバインド値 */
+	private static final Object[] NO_VALUES = new Object[0];
+
+	/** リクエストマッピング情報 */
+	private final RequestMapping requestMapping;
+
+	/** パスバインド値 */
+	private final Object[] pathValues;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param requestMapping リクエストマッピング情報
+	 * @param pathValues     パスバインド値
+	 */
+	public RouteMatch(RequestMapping requestMapping, Object[] pathValues) {
+		this.requestMapping = requestMapping;
+		this.pathValues = pathValues == null ? NO_VALUES : pathValues;
+	}
+
+	public RequestMapping getRequestMapping() {
+		return requestMapping;
+	}
+
+	/**
+	 * <p>パスバインド値取得</p>
+	 * <pre>
+	 * 返却される配列は共有されるため、変更してはならない。
+	 * </pre>
+	 *
+	 * @return パスバインド値
+	 */
+	public Object[] getPathValues() {
+		return pathValues;
+	}
+
+}
@@ -0,0 +1,148 @@
+package net.skuratani.simplecontroller4j.routing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
+
+/**
+ * <p>ルーティングツリー</p>
+ * <pre>
+ * ルーティングパスをセグメント単位の木構造（トライ木）で保持する。
+ * 起動時に全ルーティングを登録し、リクエスト時はリクエストパスのセグメントを先頭から辿って
+ * リクエストマッピングを探索する。探索時に通過したセグメントの位置から、
+ * リクエストマッピングのパステンプレートでパスバインド値を読み取る。
+ * 同一階層に複数の候補が存在する場合は、以下の優先順位で探索する。
+ *     1. 固定文字列
+ *     2. int
+ *     3. float
+ *     4. regex
+ *     5. 指定なし
+ * </pre>
+ */
+public class RouteTree {
+
+	/** ルートノード */
+	private final Node root = new Node(null);
+
+	/** 登録済みルーティングの最大セグメント数 */
+	private int maxDepth;
+
+	/**
+	 * <p>ルーティング登録</p>
+	 * <pre>
+	 * 同一のパスが既に登録されている場合は、先に登録されたルーティングを優先する。
+	 * </pre>
+	 *
+	 * @param  requestMapping リクエストマッピング情報（パステンプレート設定済み）
+	 */
+	public void insert(RequestMapping requestMapping) {
+		List<PathSegment> segments = requestMapping.getPathTemplate().getSegments();
+		Node node = root;
+		for (PathSegment segment : segments) {
+			node = node.child(segment);
+		}
+		if (node.requestMapping == null) {
+			node.requestMapping = requestMapping;
+			maxDepth = Math.max(maxDepth, segments.size());
+		}
+	}
+
+	/**
+	 * <p>ルーティング探索</p>
+	 *
+	 * @param  requestPath リクエストパス
+	 * @return ルーティング探索結果（存在しない場合はnull）
+	 */
+	public RouteMatch find(String requestPath) {
+		// 各階層のセグメント位置（開始位置・終了位置）
+		int[] bounds = new int[maxDepth * 2];
+		Node node = find(root, requestPath, 0, 0, bounds);
+		if (node == null) return null;
+
+		return new RouteMatch(node.requestMapping, node.requestMapping.getPathTemplate().bind(requestPath, bounds));
+	}
+
+	/**
+	 * <p>ノード以下のルーティング探索</p>
+	 *
+	 * @param  node        探索ノード
+	 * @param  requestPath リクエストパス
+	 * @param  offset      探索開始位置
+	 * @param  depth       探索ノードの階層
+	 * @param  bounds      各階層のセグメント位置
+	 * @return リクエストマッピングを保持する終端ノード（存在しない場合はnull）
+	 */
+	protected Node find(Node node, String requestPath, int offset, int depth, int[] bounds) {
+
+		// 区切り文字をスキップ
+		int from = offset;
+		while (from < requestPath.length() && requestPath.charAt(from) == '/') from++;
+		if (from == requestPath.length()) {
+			return node.requestMapping != null ? node : null;
+		}
+		if (depth == maxDepth) return null;
+		int to = requestPath.indexOf('/', from);
+		if (to < 0) to = requestPath.length();
+		bounds[depth * 2] = from;
+		bounds[depth * 2 + 1] = to;
+
+		// 固定文字列
+		if (!node.literals.isEmpty()) {
+			Node literal = node.literals.get(requestPath.substring(from, to));
+			if (literal != null) {
+				Node found = find(literal, requestPath, to, depth + 1, bounds);
+				if (found != null) return found;
+			}
+		}
+		// バインド変数
+		for (Node variable : node.variables) {
+			if (variable.segment.matches(requestPath, from, to)) {
+				Node found = find(variable, requestPath, to, depth + 1, bounds);
+				if (found != null) return found;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * <p>ルーティングツリーノード</p>
+	 */
+	protected static class Node {
+
+		/** ノードのセグメント（ルートノードはnull） */
+		private final PathSegment segment;
+		/** 固定文字列の子ノード */
+		private final Map<String, Node> literals = new HashMap<>();
+		/** バインド変数の子ノード（優先順位順） */
+		private final List<Node> variables = new ArrayList<>();
+		/** このノードで終端するリクエストマッピング */
+		private RequestMapping requestMapping;
+
+		Node(PathSegment segment) {
+			this.segment = segment;
+		}
+
+		/**
+		 * <p>子ノード取得（存在しない場合は生成）</p>
+		 */
+		Node child(PathSegment segment) {
+			if (segment.getType() == PathSegment.Type.LITERAL) {
+				return literals.computeIfAbsent(segment.getName(), k -> new Node(segment));
+			}
+			int index = 0;
+			for (; index < variables.size(); index++) {
+				Node variable = variables.get(index);
+				if (variable.segment.sameCondition(segment)) return variable;
+				if (variable.segment.getType().compareTo(segment.getType()) > 0) break;
+			}
+			Node node = new Node(segment);
+			variables.add(index, node);
+			return node;
+		}
+	}
+
+}
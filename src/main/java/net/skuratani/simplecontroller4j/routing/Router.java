@@ -1,12 +1,18 @@
 package net.skuratani.simplecontroller4j.routing;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import net.skuratani.simplecontroller4j.annotation.Controller;
 import net.skuratani.simplecontroller4j.annotation.Route;
+import net.skuratani.simplecontroller4j.aspect.Aspect;
+import net.skuratani.simplecontroller4j.binder.ArgumentPlan;
+import net.skuratani.simplecontroller4j.execute.MethodInvoker;
 import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
 
 /**
@@ -16,29 +22,51 @@ import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
  *     1. 実行クラス
  *     2. 実行メソッド
  *     3. リクエストパス情報 (例)/edit/init/35
- * リクエストURLに対応する実行クラスは「WEB-INF/classes」配下の全クラスをロードして、探索を実行する。
+ * 生成時に「WEB-INF/classes」配下のコントローラクラスからHTTPメソッド毎のルーティング表を構築する。
+ * バインド変数を含まないパスは固定パス表に登録され、リクエスト時は固定パス表を1度参照した後、
+ * 一致しない場合のみルーティングツリーを探索する。
+ * ルーティングキャッシュが有効な場合、ルーティングツリーの探索結果はルーティングキャッシュに保持される。
+ * 登録するリクエストマッピングには、一致するアスペクトのアスペクトチェーンを登録時に設定する。
  * </pre>
  */
 public class Router {
 
-	/** ルーティングクラス */
-	private Class<?> routingClass;
-	/** ルーティングメソッド */
-	private Method routingMethod;
-	/** 実行メソッドパス */
-	private String executeMethodPath;
+	/** HTTPメソッド毎の固定パス表 */
+	private final Map<net.skuratani.simplecontroller4j.annotation.Method, Map<String, RouteMatch>> staticRoutes =
+			new EnumMap<>(net.skuratani.simplecontroller4j.annotation.Method.class);
+
+	/** HTTPメソッド毎のルーティングツリー */
+	private final Map<net.skuratani.simplecontroller4j.annotation.Method, RouteTree> routeTrees =
+			new EnumMap<>(net.skuratani.simplecontroller4j.annotation.Method.class);
+
+	/** 登録済みリクエストマッピング（登録順） */
+	private final List<RequestMapping> requestMappings = new ArrayList<>();
+
+	/** ルーティングキャッシュ（無効な場合はnull） */
+	private final RouteCache routeCache;
+
+	/** アスペクト（ポイントカットマッチャー） */
+	private final Aspect aspect;
 
 	/**
-	 * <p>ディスパッチクラスを探索</p>
+	 * <p>コンストラクタ</p>
 	 *
-	 * @param  requestPath   リクエストパス
-	 * @param  requestMethod リクエストメソッド
-	 * @param  classList     クラスリスト
-	 * @return routingMap    ルーティング情報マップ（クラス・メソッド）
+	 * @param classList クラスリスト
 	 */
-	public RequestMapping findRoutingClass(String requestPath,
-										   net.skuratani.simplecontroller4j.annotation.Method requestMethod,
-										   List<Class<?>> classList) {
+	public Router(List<Class<?>> classList) {
+		this(classList, 0);
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param classList      クラスリスト
+	 * @param routeCacheSize ルーティングキャッシュの最大エントリ数（0以下の場合はキャッシュ無効）
+	 */
+	public Router(List<Class<?>> classList, int routeCacheSize) {
+
+		routeCache = routeCacheSize > 0 ? new RouteCache(routeCacheSize) : null;
+		aspect = new Aspect(classList);
 
         for (Class<?> clazz : classList) {
 
@@ -48,19 +76,127 @@ public class Router {
             // Controllerアノテーションチェック
             if (!hasControllerAnnotation(clazz)) continue;
 
-            // Routeアノテーションのマッチング
-            if (!matchRoutingPath(clazz, requestPath, requestMethod)) continue;
-
-            // リターン
-            return new RequestMapping() {
-            	{ setRequestClass(routingClass);
-            	  setRequestMethod(routingMethod);
-            	  setExecuteMethodPath(executeMethodPath); }
-            };
+            // ルーティング登録
+            registerRoutingPath(clazz);
         }
+	}
+
+	/**
+	 * <p>ディスパッチクラスを探索</p>
+	 * <pre>
+	 * 以下の順に探索し、最初に見つかったリクエストマッピングを返却する。
+	 *     1. リクエストメソッドの固定パス表
+	 *     2. Method.ALLの固定パス表
+	 *     3. リクエストメソッドのルーティングツリー
+	 *     4. Method.ALLのルーティングツリー
+	 * </pre>
+	 *
+	 * @param  requestPath   リクエストパス
+	 * @param  requestMethod リクエストメソッド
+	 * @return リクエストマッピング情報（存在しない場合はnull）
+	 */
+	public RequestMapping findRoutingClass(String requestPath,
+										   net.skuratani.simplecontroller4j.annotation.Method requestMethod) {
+		RouteMatch routeMatch = findRoute(requestPath, requestMethod);
+		return routeMatch == null ? null : routeMatch.getRequestMapping();
+	}
 
-        // ルーティングクラス・メソッドが存在しない場合
-        return null;
+	/**
+	 * <p>ルーティング探索</p>
+	 * <pre>
+	 * 探索順はfindRoutingClassと同様。
+	 * ルーティングツリーの探索前にルーティングキャッシュを参照する。
+	 * </pre>
+	 *
+	 * @param  requestPath   リクエストパス
+	 * @param  requestMethod リクエストメソッド
+	 * @return ルーティング探索結果（存在しない場合はnull）
+	 */
+	public RouteMatch findRoute(String requestPath,
+								net.skuratani.simplecontroller4j.annotation.Method requestMethod) {
+		return findRoute(requestPath, requestMethod, true);
+	}
+
+	/**
+	 * <p>ルーティング探索</p>
+	 * <pre>
+	 * ルーティングキャッシュを使用しない場合は、キャッシュの参照・登録を行わない
+	 * （ウォームアップの合成リクエストパスでキャッシュのエントリを追い出さない為）。
+	 * </pre>
+	 *
+	 * @param  requestPath   リクエストパス
+	 * @param  requestMethod リクエストメソッド
+	 * @param  useCache      ルーティングキャッシュを使用する
+	 * @return ルーティング探索結果（存在しない場合はnull）
+	 */
+	public RouteMatch findRoute(String requestPath,
+								net.skuratani.simplecontroller4j.annotation.Method requestMethod, boolean useCache) {
+
+		RouteMatch routeMatch = findStaticRoute(requestPath, requestMethod);
+		if (routeMatch != null) return routeMatch;
+		routeMatch = findStaticRoute(requestPath, net.skuratani.simplecontroller4j.annotation.Method.ALL);
+		if (routeMatch != null) return routeMatch;
+
+		if (useCache && routeCache != null) {
+			routeMatch = routeCache.get(requestMethod, requestPath);
+			if (routeMatch != null) return routeMatch;
+		}
+
+		routeMatch = findRouteTree(requestPath, requestMethod);
+		if (routeMatch == null) {
+			routeMatch = findRouteTree(requestPath, net.skuratani.simplecontroller4j.annotation.Method.ALL);
+		}
+
+		if (routeMatch != null && useCache && routeCache != null) {
+			routeCache.put(requestMethod, requestPath, routeMatch);
+		}
+
+        // ルーティングクラス・メソッドが存在しない場合はnull
+        return routeMatch;
+	}
+
+	/**
+	 * <p>固定パス表の探索</p>
+	 *
+	 * @param  requestPath   リクエストパス
+	 * @param  requestMethod リクエストメソッド
+	 * @return ルーティング探索結果（存在しない場合はnull）
+	 */
+	protected RouteMatch findStaticRoute(String requestPath,
+										 net.skuratani.simplecontroller4j.annotation.Method requestMethod) {
+		Map<String, RouteMatch> routes = staticRoutes.get(requestMethod);
+		return routes == null ? null : routes.get(requestPath);
+	}
+
+	/**
+	 * <p>ルーティングツリーの探索</p>
+	 *
+	 * @param  requestPath   リクエストパス
+	 * @param  requestMethod リクエストメソッド
+	 * @return ルーティング探索結果（存在しない場合はnull）
+	 */
+	protected RouteMatch findRouteTree(String requestPath,
+									   net.skuratani.simplecontroller4j.annotation.Method requestMethod) {
+		RouteTree routeTree = routeTrees.get(requestMethod);
+		return routeTree == null ? null : routeTree.find(requestPath);
+	}
+
+	/**
+	 * <p>登録済みリクエストマッピング取得</p>
+	 *
+	 * @return リクエストマッピングリスト（変更不可）
+	 */
+	public List<RequestMapping> getRequestMappings() {
+		return Collections.unmodifiableList(requestMappings);
+	}
+
+	/**
+	 * <p>ルーティングキャッシュ取得</p>
+	 *
+	 * @return ルーティングキャッシュ（無効な場合はnull）
+	 */
+	public RouteCache getRouteCache() {
+		return routeCache;
 	}
 
     /**
@@ -72,56 +208,43 @@ public class Router {
      *         false : 存在しない
      */
 	protected boolean hasControllerAnnotation(Class<?> clazz) {
-		return Arrays.asList(clazz.getDeclaredAnnotations()).stream()
-					.anyMatch(a -> a.annotationType().equals(Controller.class));
+		return clazz.isAnnotationPresent(Controller.class);
     }
 
     /**
-     * <p>ルーティングパスとのマッチング確認</p>
+     * <p>ルーティングパス登録</p>
      *
-     * @param  clazz         クラス
-     * @param  requestPath   リクエストパス
-     * @param  requestMethod リクエストメソッド
-     * @return boolean
-     *         true  : マッチする
-     *         false : マッチしない
+     * @param  clazz コントローラクラス
      */
-	protected boolean matchRoutingPath(Class<?> clazz, String requestPath,
-    								 net.skuratani.simplecontroller4j.annotation.Method requestMethod) {
+	protected void registerRoutingPath(Class<?> clazz) {
 
-    	boolean matchRoutingFlag = false;
     	String classMappingPath = "";
-    	for (Annotation annotation : clazz.getDeclaredAnnotations()) {
-            if (annotation.annotationType().equals(Route.class)) {
-            	classMappingPath = ((Route) annotation).path();
-            }
-        }
+    	Route classRoute = clazz.getDeclaredAnnotation(Route.class);
+    	if (classRoute != null) {
+    		classMappingPath = classRoute.path();
+    	}
     	for (Method method : clazz.getDeclaredMethods()) {
-    		String mappingPath = "";
-	        for (Annotation annotation : method.getDeclaredAnnotations()) {
-		        	if (annotation.annotationType().equals(Route.class)) {
-		        		if (((Route) annotation).path().matches(".+\\{.+")) {
-		        			mappingPath = classMappingPath + ((Route) annotation).path().substring(0, ((Route) annotation).path().indexOf("{") - 1);
-		        		} else {
-		        			mappingPath = classMappingPath + ((Route) annotation).path();
-		        		}
-			            if (requestPath.matches(mappingPath + ".*")) {
-			            	if (net.skuratani.simplecontroller4j.annotation.Method.ALL == ((Route) annotation).method()) {
-			            		routingClass = clazz;
-			            		routingMethod = method;
-			            		executeMethodPath = classMappingPath + ((Route) annotation).path();
-			            		matchRoutingFlag = true;
-			            	} else if (requestMethod == ((Route) annotation).method()) {
-			            		routingClass = clazz;
-			            		routingMethod = method;
-			            		executeMethodPath = classMappingPath + ((Route) annotation).path();
-			            		matchRoutingFlag = true;
-			            	}
-			            }
-		        	}
-	        }
+    		Route route = method.getDeclaredAnnotation(Route.class);
+    		if (route == null) continue;
+
+    		RequestMapping requestMapping = new RequestMapping();
+    		requestMapping.setRequestClass(clazz);
+    		requestMapping.setRequestMethod(method);
+    		requestMapping.setExecuteMethodPath(classMappingPath + route.path());
+    		requestMapping.setPathTemplate(PathTemplate.compile(requestMapping.getExecuteMethodPath()));
+    		requestMapping.setHttpMethod(route.method());
+    		requestMapping.setInvoker(MethodInvoker.forMethod(method));
+    		requestMapping.setArgumentPlan(ArgumentPlan.compile(method, requestMapping.getPathTemplate()));
+    		requestMapping.setAspectChain(aspect.chainFor(requestMapping));
+    		requestMappings.add(requestMapping);
+
+    		if (requestMapping.getPathTemplate().isStatic()) {
+    			staticRoutes.computeIfAbsent(route.method(), k -> new HashMap<>())
+    						.putIfAbsent(requestMapping.getPathTemplate().getStaticPath(), new RouteMatch(requestMapping, null));
+    		}
+    		routeTrees.computeIfAbsent(route.method(), k -> new RouteTree())
+    				  .insert(requestMapping);
     	}
-        return matchRoutingFlag;
     }
 
 }
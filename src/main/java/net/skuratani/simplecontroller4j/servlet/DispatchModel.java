@@ -0,0 +1,113 @@
+package net.skuratani.simplecontroller4j.servlet;
+
+import java.util.List;
+
+import net.skuratani.simplecontroller4j.binder.RequestBodyReader;
+import net.skuratani.simplecontroller4j.execute.AsyncAdviceExecutor;
+import net.skuratani.simplecontroller4j.execute.InstanceProvider;
+import net.skuratani.simplecontroller4j.resource.StaticResourceHandler;
+import net.skuratani.simplecontroller4j.routing.Router;
+
+/**
+ * <p>ディスパッチモデル</p>
+ * <pre>
+ * ディスパッチャサーブレットの初期化時に1度だけ構築され、以降は変更されないディスパッチ情報。
+ *     1. ロードされたコントローラクラス・アスペクトクラス
+ *     2. ルーター
+ *     3. コントローラ・アスペクトのインスタンス提供（SINGLETONスコープのインスタンスを保持）
+ *     4. リクエストボディーリーダー（最大サイズ・ダイレクトバッファプール）
+ *     5. 非同期アドバイス実行（非同期の[at]After・[at]AfterReturningを実行するスレッドプール）
+ *     6. 静的リソースハンドラ
+ * 全フィールドがfinalであるため、構築完了後は全リクエストスレッドから同期なしで参照できる。
+ * </pre>
+ */
+public class DispatchModel {
+
+	/** ロードされたコントローラクラス・アスペクトクラス */
+	private final List<Class<?>> classList;
+
+	/** ルーター */
+	private final Router router;
+
+	/** インスタンス提供 */
+	private final InstanceProvider instanceProvider;
+
+	/** リクエストボディーリーダー */
+	private final RequestBodyReader bodyReader;
+
+	/** 非同期アドバイス実行（nullの場合はリクエストスレッドで実行する） */
+	private final AsyncAdviceExecutor asyncExecutor;
+
+	/** 静的リソースハンドラ（nullの場合は静的リソースを出力しない） */
+	private final StaticResourceHandler resourceHandler;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param classList        ロードされたコントローラクラス・アスペクトクラス
+	 * @param router           ルーター
+	 * @param instanceProvider インスタンス提供
+	 */
+	public DispatchModel(List<Class<?>> classList, Router router, InstanceProvider instanceProvider) {
+		this(classList, router, instanceProvider, RequestBodyReader.DEFAULT);
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param classList        ロードされたコントローラクラス・アスペクトクラス
+	 * @param router           ルーター
+	 * @param instanceProvider インスタンス提供
+	 * @param bodyReader       リクエストボディーリーダー
+	 */
+	public DispatchModel(List<Class<?>> classList, Router router, InstanceProvider instanceProvider,
+						 RequestBodyReader bodyReader) {
+		this(classList, router, instanceProvider, bodyReader, null, null);
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param classList        ロードされたコントローラクラス・アスペクトクラス
+	 * @param router           ルーター
+	 * @param instanceProvider インスタンス提供
+	 * @param bodyReader       リクエストボディーリーダー
+	 * @param asyncExecutor    非同期アドバイス実行（nullの場合はリクエストスレッドで実行する）
+	 * @param resourceHandler  静的リソースハンドラ（nullの場合は静的リソースを出力しない）
+	 */
+	public DispatchModel(List<Class<?>> classList, Router router, InstanceProvider instanceProvider,
+						 RequestBodyReader bodyReader, AsyncAdviceExecutor asyncExecutor,
+						 StaticResourceHandler resourceHandler) {
+		this.classList = List.copyOf(classList);
+		this.router = router;
+		this.instanceProvider = instanceProvider;
+		this.bodyReader = bodyReader;
+		this.asyncExecutor = asyncExecutor;
+		this.resourceHandler = resourceHandler;
+	}
+
+	public List<Class<?>> getClassList() {
+		return classList;
+	}
+
+	public Router getRouter() {
+		return router;
+	}
+
+	public InstanceProvider getInstanceProvider() {
+		return instanceProvider;
+	}
+
+	public RequestBodyReader getBodyReader() {
+		return bodyReader;
+	}
+
+	public AsyncAdviceExecutor getAsyncExecutor() {
+		return asyncExecutor;
+	}
+
+	public StaticResourceHandler getResourceHandler() {
+		return resourceHandler;
+	}
+
+}
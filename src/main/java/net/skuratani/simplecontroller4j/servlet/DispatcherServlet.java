@@ -1,18 +1,9 @@
 package net.skuratani.simplecontroller4j.servlet;
 
-import java.beans.IntrospectionException;
-import java.io.BufferedInputStream;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.io.PrintWriter;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Path;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
@@ -21,12 +12,26 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import net.skuratani.simplecontroller4j.annotation.JoinPoint;
 import net.skuratani.simplecontroller4j.annotation.Method;
-import net.skuratani.simplecontroller4j.aspect.Aspect;
-import net.skuratani.simplecontroller4j.aspectmapping.AspectMapping;
+import net.skuratani.simplecontroller4j.aspect.AspectChain;
+import net.skuratani.simplecontroller4j.binder.BindingContext;
+import net.skuratani.simplecontroller4j.binder.ByteBufferPool;
 import net.skuratani.simplecontroller4j.binder.DataBinder;
+import net.skuratani.simplecontroller4j.binder.PayloadTooLargeException;
+import net.skuratani.simplecontroller4j.binder.RequestBodyReader;
+import net.skuratani.simplecontroller4j.execute.AsyncAdviceExecutor;
 import net.skuratani.simplecontroller4j.execute.Executor;
+import net.skuratani.simplecontroller4j.execute.InstanceProvider;
+import net.skuratani.simplecontroller4j.findclass.ClassIndex;
 import net.skuratani.simplecontroller4j.findclass.FindClass;
+import net.skuratani.simplecontroller4j.multipart.MultipartConfig;
 import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
+import net.skuratani.simplecontroller4j.resource.ContentEncoder;
+import net.skuratani.simplecontroller4j.resource.GzipEncoder;
+import net.skuratani.simplecontroller4j.resource.ResourceCache;
+import net.skuratani.simplecontroller4j.resource.StaticResourceHandler;
+import net.skuratani.simplecontroller4j.response.ResponseWriter;
+import net.skuratani.simplecontroller4j.routing.RouteCache;
+import net.skuratani.simplecontroller4j.routing.RouteMatch;
 import net.skuratani.simplecontroller4j.routing.Router;
 /**
  * <p>ディスパッチサーブレット</p>
@@ -48,11 +53,83 @@ public class DispatcherServlet extends HttpServlet {
 
     private static final long serialVersionUID = 1L;
 
-    // ロードされたコントローラクラス・アスペクトクラス
-    private List<Class<?>> classList;
+    // ディスパッチモデル（init()で構築）
+    private volatile DispatchModel dispatchModel;
 
-	// 初回ロードフラグ
-	private boolean firstFlag = true;
+    /**
+     * <p>初期化処理</p>
+     * <pre>
+     * コントローラ・アスペクトクラスをロードし、ディスパッチモデルを構築する。
+     * SINGLETONスコープのコントローラ・アスペクトのインスタンスはここで生成する。
+     * サーブレット初期化パラメータ「warmupIterations」を指定した場合は、構築後にウォームアップを実行する。
+     * </pre>
+     *
+     * @throws ServletException クラスのロード・ディスパッチモデルの構築に失敗した場合
+     */
+    @Override
+    public void init() throws ServletException {
+
+        //-------------------------------------------//
+        // コントローラ・アスペクトクラスロード
+        //-------------------------------------------//
+    	DispatchModel model;
+    	try {
+    		List<Class<?>> classList = loadClasses();
+    		model = new DispatchModel(classList, new Router(classList, getIntInitParameter("routeCacheSize")),
+    								  new InstanceProvider(classList), createBodyReader(), createAsyncExecutor(),
+    								  createResourceHandler());
+    	} catch (ClassNotFoundException | IOException | InstantiationException | IllegalAccessException |
+    			 InvocationTargetException | NoSuchMethodException e) {
+    		throw new ServletException(e.getMessage(), e);
+    	}
+
+        //-------------------------------------------//
+        // ウォームアップ
+        //-------------------------------------------//
+    	int warmupIterations = getIntInitParameter("warmupIterations");
+    	if (warmupIterations > 0) {
+    		long start = System.nanoTime();
+    		int routeCount = new Warmup(model, getServletContext()).run(warmupIterations);
+    		log("SimpleController4J warm-up : " + routeCount + " routes x " + warmupIterations + " iterations in "
+    			+ (System.nanoTime() - start) / 1_000_000 + " ms");
+    	}
+
+    	dispatchModel = model;
+    }
+
+    /**
+     * <p>終了処理</p>
+     * <pre>
+     * ルーティングキャッシュ・静的リソースキャッシュのエントリ数・ヒット数・ミス数・破棄数をログに出力する（キャッシュサイズ調整用）。
+     * 非同期アドバイス実行の待ち行列のアスペクトメソッドの実行完了を待機し（最大10秒）、実行件数をログに出力する。
+     * </pre>
+     */
+    @Override
+    public void destroy() {
+    	DispatchModel model = dispatchModel;
+    	if (model == null) return;
+
+    	RouteCache routeCache = model.getRouter().getRouteCache();
+    	if (routeCache != null) {
+    		log("SimpleController4J route cache : entries=" + routeCache.size() + "/" + routeCache.getMaximumSize()
+    			+ " hits=" + routeCache.getHitCount() + " misses=" + routeCache.getMissCount()
+    			+ " evictions=" + routeCache.getEvictionCount());
+    	}
+    	ResourceCache resourceCache = model.getResourceHandler() != null ? model.getResourceHandler().getResourceCache() : null;
+    	if (resourceCache != null) {
+    		log("SimpleController4J resource cache : entries=" + resourceCache.size() + " bytes=" + resourceCache.getCurrentSize()
+    			+ " hits=" + resourceCache.getHitCount() + " misses=" + resourceCache.getMissCount()
+    			+ " evictions=" + resourceCache.getEvictionCount());
+    	}
+    	if (model.getAsyncExecutor() == null) return;
+
+    	AsyncAdviceExecutor asyncExecutor = model.getAsyncExecutor();
+    	asyncExecutor.shutdown(10_000);
+    	if (asyncExecutor.getSubmittedCount() > 0) {
+    		log("SimpleController4J async advice : submitted=" + asyncExecutor.getSubmittedCount()
+    			+ " dropped=" + asyncExecutor.getDroppedCount() + " failed=" + asyncExecutor.getFailedCount());
+    	}
+    }
 
     /**
      * <p>serviceメソッド（ディスパッチ処理）</p>
@@ -63,67 +140,148 @@ public class DispatcherServlet extends HttpServlet {
     protected void service(HttpServletRequest request, HttpServletResponse response)
                            throws ServletException, IOException {
 
-    	// classesディレクトリ絶対パス
-        String classesPath = getServletContext().getRealPath("/WEB-INF/classes");
+        // ディスパッチモデル
+        DispatchModel model = dispatchModel;
         // リクエストパス
         String requestPath = request.getServletPath();
         // リクエストメソッド
         Method requestMethod = getRequestMethod(request);
 
-        //-------------------------------------------//
-        // コントローラ・アスペクトクラスロード
-        //-------------------------------------------//
-        if (firstFlag) {
-	        try {
-	        	classList = FindClass.findClasses(Path.of(classesPath));
-			} catch (ClassNotFoundException e) {
-				throw new ServletException(e.getMessage(), e);
-			}
-			firstFlag = false;
-        }
-
         //-------------------------------------------//
         // リソースファイルの場合はファイル内容を返却
         //-------------------------------------------//
-        Pattern pattern = Pattern.compile("^/[\\s\\S]+\\.[a-zA-Z]{1,}$");
-		Matcher matcher = pattern.matcher(requestPath);
-		if (matcher.find()) {
-			responseFileContent(Path.of(getServletContext().getRealPath(requestPath)), response);
+		if (model.getResourceHandler() != null && StaticResourceHandler.isResourcePath(requestPath)) {
+			model.getResourceHandler().serve(request, response, requestPath);
 			return;
 		}
 
 		//-------------------------------------------//
 		// ルーティング探索（ルーティングクラス・メソッド探索）
 		//-------------------------------------------//
-		RequestMapping requestMapping;
-		requestMapping = new Router().findRoutingClass(requestPath, requestMethod, classList);
+		RouteMatch routeMatch = model.getRouter().findRoute(requestPath, requestMethod);
+		if (routeMatch == null) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+
+		//-------------------------------------------//
+		// ディスパッチ
+		//-------------------------------------------//
+		BindingContext bindingContext = BindingContext.acquire(getServletContext(), request, response, routeMatch,
+															   model.getBodyReader());
+		try {
+			dispatch(request, response, model, bindingContext);
+		} finally {
+			bindingContext.release();
+		}
+    }
+
+    /**
+     * <p>ディスパッチ処理</p>
+     * <pre>
+     * 引数値を生成し、アスペクト・実行メソッドを実行して、戻り値（String・byte[]・ByteBuffer・ResponseBody）をレスポンスに出力する。
+     * リクエストボディーが最大サイズを超える場合は413（Payload Too Large）を返却する。
+     * </pre>
+     *
+     * @param  request        HTTPサーブレットリクエスト
+     * @param  response       HTTPサーブレットレスポンス
+     * @param  model          ディスパッチモデル
+     * @param  bindingContext バインディングコンテキスト
+     * @throws ServletException バインディング・ディスパッチ処理で例外発生した場合に、ServletExceptionで例外をラップしてスロー
+     * @throws IOException リクエストボディーの読み込み・レスポンスの出力に失敗した場合
+     */
+    protected void dispatch(HttpServletRequest request, HttpServletResponse response, DispatchModel model,
+    						BindingContext bindingContext) throws ServletException, IOException {
+
+		RequestMapping requestMapping = bindingContext.getRouteMatch().getRequestMapping();
+		// フォームの場合はリクエストボディーをパラメータソースで読み込む為、パラメータ取得用のリクエストを使用する
+		HttpServletRequest parameterRequest = bindingContext.getParameterSource().getRequest();
 
 		//-------------------------------------------//
 		// データバインディング処理
 		//-------------------------------------------//
-		List<Map<String, Object>> bidingList;
+		Object[] args;
 		try {
-			bidingList = new DataBinder().getBidingList(getServletContext(), request, response, requestPath, requestMapping);
-		} catch (IllegalArgumentException | InvocationTargetException | IntrospectionException |
-				 InstantiationException | IllegalAccessException | NoSuchMethodException | SecurityException e) {
+			args = new DataBinder().bind(bindingContext);
+		} catch (PayloadTooLargeException e) {
+			response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+			return;
+		} catch (IllegalArgumentException | ReflectiveOperationException | SecurityException e) {
 			e.printStackTrace();
 			throw new ServletException(e.getMessage(), e);
 		}
 
 		//-------------------------------------------//
-		// アスペクト探索（アスペクトクラス・メソッド探索）
+		// アスペクトチェーン（起動時に構築済み）
 		//-------------------------------------------//
-		List<AspectMapping> aspectMappingList = new Aspect().findAspectClass(requestMapping, classList);
+		AspectChain aspectChain = requestMapping.getAspectChain();
 
 		// エグゼキューター
-		Executor executor = new Executor();
+		Executor executor = new Executor(model.getInstanceProvider(), model.getAsyncExecutor());
+
+		//-------------------------------------------//
+		// アスペクト実行(AROUND)・ディスパッチ
+		//-------------------------------------------//
+		Object result;
+		try {
+			result = executor.executeAround(parameterRequest, response, requestMapping, args,
+											aspectChain.get(JoinPoint.AROUND),
+											() -> invokeHandler(parameterRequest, response, requestMapping, args, executor));
+		} catch (ServletException | IOException e) {
+			throw e;
+		} catch (InvocationTargetException e) {
+			// proceedがスローした例外はアスペクトメソッドの例外としてラップされる為、取り出してスロー
+			if (e.getCause() instanceof ServletException servletException) throw servletException;
+			e.printStackTrace();
+			throw new ServletException(e.getMessage(), e);
+		} catch (Exception e) {
+			e.printStackTrace();
+			throw new ServletException(e.getMessage(), e);
+		}
+
+		//-------------------------------------------//
+		// レスポンス出力（String・byte[]・ByteBuffer・ResponseBody）
+		//-------------------------------------------//
+		try {
+			ResponseWriter.write(response, result);
+		} catch (IllegalArgumentException e) {
+			e.printStackTrace();
+			throw new ServletException(requestMapping.getRequestClass().getName() + "."
+									   + requestMapping.getRequestMethod().getName() + " : " + e.getMessage(), e);
+		}
 
 		//-------------------------------------------//
-		// アスペクト実行(BEFORE・AROUND)
+		// アスペクト実行(非同期のAFTER・AFTER_RETURNING)
+		//-------------------------------------------//
+		executor.submitDeferred(parameterRequest, response, requestMapping, result);
+    }
+
+    /**
+     * <p>実行メソッド実行</p>
+     * <pre>
+     * [at]Aroundのアスペクトチェーンの最後に実行される処理。
+     * [at]Before・実行メソッド・[at]AfterThrowing（実行メソッドが例外をスローした場合）
+     * ・[at]AfterReturning（戻り値がnullでない場合）・[at]Afterの順に実行する。
+     * </pre>
+     *
+     * @param  request        HTTPサーブレットリクエスト
+     * @param  response       HTTPサーブレットレスポンス
+     * @param  requestMapping リクエストマッピング情報
+     * @param  args           引数値配列（実行メソッドの引数の位置順）
+     * @param  executor       エグゼキューター
+     * @return 実行メソッドの戻り値
+     * @throws ServletException アスペクト・実行メソッドで例外発生した場合に、ServletExceptionで例外をラップしてスロー
+     */
+    protected Object invokeHandler(HttpServletRequest request, HttpServletResponse response,
+    							   RequestMapping requestMapping, Object[] args, Executor executor) throws ServletException {
+
+		AspectChain aspectChain = requestMapping.getAspectChain();
+
+		//-------------------------------------------//
+		// アスペクト実行(BEFORE)
 		//-------------------------------------------//
 		try {
-			executor.executeAspect(request, response, aspectMappingList, JoinPoint.AROUND);
-			executor.executeAspect(request, response, aspectMappingList, JoinPoint.BEFORE);
+			executor.executeAspect(request, response, aspectChain.get(JoinPoint.BEFORE), JoinPoint.BEFORE);
 		} catch (InstantiationException | IllegalAccessException |
 				 IllegalArgumentException | InvocationTargetException | NoSuchMethodException | SecurityException e) {
 			e.printStackTrace();
@@ -133,9 +291,9 @@ public class DispatcherServlet extends HttpServlet {
 		//-------------------------------------------//
 		// ディスパッチ（ルーティグメソッド実行）
 		//-------------------------------------------//
-		String responseString = null;
+		Object result = null;
 		try {
-			responseString = executor.executeMethod(requestMapping, bidingList);
+			result = executor.executeMethod(requestMapping, args);
 		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException |
 				 NoSuchMethodException | SecurityException e) {
 			e.printStackTrace();
@@ -145,7 +303,7 @@ public class DispatcherServlet extends HttpServlet {
 				//-------------------------------------------//
 				// アスペクト実行(AFTER_THROWING)
 				//-------------------------------------------//
-				executor.executeAspect(request, response, aspectMappingList, JoinPoint.AFTER_THROWING);
+				executor.executeAspect(request, response, aspectChain.get(JoinPoint.AFTER_THROWING), JoinPoint.AFTER_THROWING);
 				ite.printStackTrace();
 				throw new ServletException(ite.getMessage(), ite);
 			} catch (InstantiationException | IllegalAccessException |
@@ -158,9 +316,9 @@ public class DispatcherServlet extends HttpServlet {
 		//------------------------------------------//
 		// アスペクト実行(AFTER_RETURNING)
 		//-------------------------------------------//
-		if (responseString != null) {
+		if (result != null) {
 			try {
-				executor.executeAspect(request, response, aspectMappingList, JoinPoint.AFTER_RETURNING);
+				executor.executeAspect(request, response, aspectChain.get(JoinPoint.AFTER_RETURNING), JoinPoint.AFTER_RETURNING);
 			} catch (InstantiationException | IllegalAccessException |
 					 IllegalArgumentException | InvocationTargetException | NoSuchMethodException | SecurityException e) {
 				e.printStackTrace();
@@ -169,25 +327,183 @@ public class DispatcherServlet extends HttpServlet {
 		}
 
 		//-------------------------------------------//
-		// アスペクト実行(AFTER・AROUND)
+		// アスペクト実行(AFTER)
 		//-------------------------------------------//
 		try {
-			executor.executeAspect(request, response, aspectMappingList, JoinPoint.AFTER);
-			executor.executeAspect(request, response, aspectMappingList, JoinPoint.AROUND);
+			executor.executeAspect(request, response, aspectChain.get(JoinPoint.AFTER), JoinPoint.AFTER);
 		} catch (InstantiationException | IllegalAccessException |
 				 IllegalArgumentException | InvocationTargetException | NoSuchMethodException | SecurityException e) {
 			e.printStackTrace();
 			throw new ServletException(e.getMessage(), e);
 		}
 
-		//-------------------------------------------//
-		// レスポンス文字列リターン
-		//-------------------------------------------//
-		if (responseString != null) {
-			PrintWriter out = response.getWriter();
-			out.print(responseString);
-			out.flush();
-		}
+		return result;
+    }
+
+    /**
+     * <p>コントローラ・アスペクトクラスロード</p>
+     * <pre>
+     * クラスパス上にインデックス（META-INF/simplecontroller4j/index）が存在する場合は、
+     * インデックスに記載されたクラスのみをロードする。
+     * 存在しない場合は「WEB-INF/classes」配下のクラスファイル・「WEB-INF/lib」配下のjarファイルから
+     * コントローラ・アスペクトクラスを探索する。
+     * </pre>
+     *
+     * @return クラスリスト
+     * @throws ClassNotFoundException ロードするクラスが存在しない場合
+     * @throws IOException インデックス・クラスファイルの読み込みに失敗した場合
+     */
+    protected List<Class<?>> loadClasses() throws ClassNotFoundException, IOException {
+    	List<Class<?>> classes = ClassIndex.loadClasses(Thread.currentThread().getContextClassLoader());
+    	if (classes != null) return classes;
+
+    	// classesディレクトリ・libディレクトリ絶対パス
+    	String classesPath = getServletContext().getRealPath("/WEB-INF/classes");
+    	String libPath = getServletContext().getRealPath("/WEB-INF/lib");
+    	return FindClass.findClasses(Path.of(classesPath), libPath == null ? null : Path.of(libPath));
+    }
+
+    /**
+     * <p>リクエストボディーリーダー生成</p>
+     * <pre>
+     * 以下の初期化パラメータを使用する。
+     *     1. maxRequestBodySize : [at]RequestBodyの既定の最大サイズ（バイト。省略した場合は2097152、0の場合は無制限）
+     *     2. maxFormBodySize    : application/x-www-form-urlencodedのリクエストボディーの最大サイズ
+     *                             （バイト。省略した場合は2097152、0の場合は無制限）
+     *     3. bodyBufferPoolSize : ByteBuffer引数に使用するダイレクトバッファの最大数（0の場合はプールなし）
+     *     4. bodyBufferSize     : ダイレクトバッファの容量（バイト。省略した場合は65536）
+     *     5. multipartMaxFileSize       : multipart/form-dataのファイルパート1つの最大サイズ（バイト。0の場合は無制限）
+     *     6. multipartMaxRequestSize    : multipart/form-dataのリクエストボディー全体の最大サイズ
+     *                                     （バイト。0の場合はmaxRequestBodySize。いずれも省略した場合は無制限）
+     *     7. multipartMaxFieldSize      : フォーム項目1つの最大サイズ（バイト。省略した場合は1048576）
+     *     8. multipartFileSizeThreshold : ファイルパートをメモリに保持する最大サイズ（バイト。省略した場合は65536）
+     *     9. multipartLocation          : 一時ファイルの出力先ディレクトリ（省略した場合はシステムの一時ディレクトリ）
+     * </pre>
+     *
+     * @return リクエストボディーリーダー
+     * @throws ServletException 初期化パラメータが数値でない場合
+     */
+    protected RequestBodyReader createBodyReader() throws ServletException {
+    	int poolSize = getIntInitParameter("bodyBufferPoolSize");
+    	int bufferSize = getIntInitParameter("bodyBufferSize");
+    	ByteBufferPool bufferPool = poolSize > 0 ? new ByteBufferPool(poolSize, bufferSize > 0 ? bufferSize : 65536) : null;
+
+    	MultipartConfig defaults = MultipartConfig.DEFAULT;
+    	int maxFieldSize = getIntInitParameter("multipartMaxFieldSize");
+    	String fileSizeThreshold = getInitParameter("multipartFileSizeThreshold");
+    	String location = getInitParameter("multipartLocation");
+    	String maxRequestBodySize = getInitParameter("maxRequestBodySize");
+    	boolean maxSizeSpecified = maxRequestBodySize != null && !maxRequestBodySize.isBlank();
+    	int maxRequestSize = getIntInitParameter("multipartMaxRequestSize");
+    	MultipartConfig multipartConfig = new MultipartConfig(
+    		getIntInitParameter("multipartMaxFileSize"),
+    		// マルチパートはファイルへ退避する為、いずれも省略した場合は従来通り無制限とする
+    		maxRequestSize > 0 || maxSizeSpecified ? maxRequestSize : -1,
+    		maxFieldSize > 0 ? maxFieldSize : defaults.getMaxFieldSize(),
+    		fileSizeThreshold == null || fileSizeThreshold.isBlank()
+    			? defaults.getFileSizeThreshold() : getIntInitParameter("multipartFileSizeThreshold"),
+    		location == null || location.isBlank() ? null : Path.of(location.trim()));
+
+    	String maxFormBodySize = getInitParameter("maxFormBodySize");
+    	return new RequestBodyReader(maxSizeSpecified ? getIntInitParameter("maxRequestBodySize") : RequestBodyReader.DEFAULT_MAX_SIZE,
+    								 maxFormBodySize == null || maxFormBodySize.isBlank()
+    								 	? RequestBodyReader.DEFAULT_MAX_FORM_SIZE : getIntInitParameter("maxFormBodySize"),
+    								 bufferPool, multipartConfig);
+    }
+
+    /**
+     * <p>非同期アドバイス実行生成</p>
+     * <pre>
+     * 以下の初期化パラメータを使用する。
+     *     1. asyncAdviceThreads   : 非同期の[at]After・[at]AfterReturningを実行するスレッド数（省略した場合は1）
+     *     2. asyncAdviceQueueSize : 実行待ちの待ち行列の容量（省略した場合は1024）
+     *     3. asyncAdviceOverflow  : 待ち行列があふれた場合の動作
+     *                               DISCARD（破棄して破棄件数を加算。省略した場合）・CALLER_RUNS（リクエストスレッドで実行）
+     * スレッドは最初の実行時に生成される為、非同期のアスペクトが存在しない場合はスレッドを生成しない。
+     * </pre>
+     *
+     * @return 非同期アドバイス実行
+     * @throws ServletException 初期化パラメータが不正な場合
+     */
+    protected AsyncAdviceExecutor createAsyncExecutor() throws ServletException {
+    	int threads = getIntInitParameter("asyncAdviceThreads");
+    	int queueSize = getIntInitParameter("asyncAdviceQueueSize");
+    	String overflow = getInitParameter("asyncAdviceOverflow");
+    	AsyncAdviceExecutor.OverflowPolicy overflowPolicy = AsyncAdviceExecutor.OverflowPolicy.DISCARD;
+    	if (overflow != null && !overflow.isBlank()) {
+    		try {
+    			overflowPolicy = AsyncAdviceExecutor.OverflowPolicy.valueOf(overflow.trim());
+    		} catch (IllegalArgumentException e) {
+    			throw new ServletException("asyncAdviceOverflow : " + overflow, e);
+    		}
+    	}
+    	return new AsyncAdviceExecutor(threads > 0 ? threads : 1, queueSize > 0 ? queueSize : 1024, overflowPolicy);
+    }
+
+    /**
+     * <p>静的リソースハンドラ生成</p>
+     * <pre>
+     * 以下の初期化パラメータを使用する。
+     *     1. resourceCacheControl       : 静的リソースのレスポンスに設定するCache-Control（省略した場合は設定しない）
+     *                                     (ex.) public, max-age=31536000, immutable
+     *     2. resourceCacheSize          : 静的リソースキャッシュの最大サイズ（バイト。0の場合はキャッシュ無効）
+     *                                     ファイルの内容と圧縮表現（gzip等）の合計で計算する
+     *     3. resourceCacheMaxEntrySize  : キャッシュするファイルの最大サイズ（バイト。省略した場合は1MB）
+     *     4. resourceCacheCheckInterval : ファイル更新の確認間隔（ミリ秒。省略した場合は5000、負の場合は確認しない）
+     * </pre>
+     *
+     * @return 静的リソースハンドラ
+     * @throws ServletException 初期化パラメータが数値でない場合
+     */
+    protected StaticResourceHandler createResourceHandler() throws ServletException {
+    	String cacheControl = getInitParameter("resourceCacheControl");
+    	int cacheSize = getIntInitParameter("resourceCacheSize");
+    	int maxEntrySize = getIntInitParameter("resourceCacheMaxEntrySize");
+    	int checkInterval = getIntInitParameter("resourceCacheCheckInterval");
+    	ResourceCache resourceCache = null;
+    	if (cacheSize > 0) {
+    		resourceCache = new ResourceCache(cacheSize, maxEntrySize > 0 ? maxEntrySize : 1024 * 1024,
+    										  checkInterval != 0 ? checkInterval : 5000, createContentEncoders());
+    	}
+    	return new StaticResourceHandler(getServletContext(),
+    									 cacheControl == null || cacheControl.isBlank() ? null : cacheControl.trim(),
+    									 resourceCache);
+    }
+
+    /**
+     * <p>コンテンツエンコーダー生成</p>
+     * <pre>
+     * 静的リソースキャッシュの圧縮表現を生成するエンコーダーを、優先順に返却する（初期値はgzipのみ）。
+     * brotli等を使用する場合は、本メソッドをオーバーライドしてエンコーダーを追加する。
+     * </pre>
+     *
+     * @return コンテンツエンコーダー（優先順）
+     */
+    protected List<ContentEncoder> createContentEncoders() {
+    	return List.of(new GzipEncoder());
+    }
+
+    /**
+     * <p>数値のサーブレット初期化パラメータ取得</p>
+     * <pre>
+     * 以下の初期化パラメータを使用する。指定がない場合は0とする。
+     *     1. routeCacheSize   : ルーティングキャッシュの最大エントリ数（0の場合はキャッシュ無効）
+     *     2. warmupIterations : 初期化時のウォームアップ繰り返し回数（0の場合はウォームアップなし）
+     *     3. maxRequestBodySize・bodyBufferPoolSize・bodyBufferSize : createBodyReaderを参照
+     * </pre>
+     *
+     * @param  name 初期化パラメータ名
+     * @return 初期化パラメータ値
+     * @throws ServletException 初期化パラメータが数値でない場合
+     */
+    protected int getIntInitParameter(String name) throws ServletException {
+    	String value = getInitParameter(name);
+    	if (value == null || value.isBlank()) return 0;
+    	try {
+    		return Integer.parseInt(value.trim());
+    	} catch (NumberFormatException e) {
+    		throw new ServletException(name + " : " + value, e);
+    	}
     }
 
     /**
@@ -218,30 +534,4 @@ public class DispatcherServlet extends HttpServlet {
 		return requestMethod;
     }
 
-    /**
-	 * <p>リソースファイル レスポンス処理</p>
-	 *
-	 * @param  filePath リソースファイルパス
-	 * @param  response レスポンスオブジェクト
-	 * @throws FileNotFoundException リソーフファイルが存在しない場合
-	 * @throws IOException リソースファイルの入出力に異常が発生した場合
-	 */
-    protected void responseFileContent(Path filePath, HttpServletResponse response)
-									 throws FileNotFoundException, IOException {
-
-		// 入出力ストリーム
-		OutputStream os = response.getOutputStream();
-		BufferedInputStream reader = new BufferedInputStream(new FileInputStream(filePath.toFile()));
-
-		// ファイル出力
-        int len = 0;
-        byte[] buffer = new byte[1024];
-        while ((len = reader.read(buffer)) >= 0) {
-            os.write(buffer, 0, len);
-        }
-
-        // リソースクローズ
-        reader.close();
-	}
-
 }
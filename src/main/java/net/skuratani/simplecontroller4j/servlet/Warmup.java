@@ -0,0 +1,251 @@
+package net.skuratani.simplecontroller4j.servlet;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import net.skuratani.simplecontroller4j.annotation.JoinPoint;
+import net.skuratani.simplecontroller4j.annotation.Method;
+import net.skuratani.simplecontroller4j.aspect.AspectChain;
+import net.skuratani.simplecontroller4j.aspectmapping.AspectMapping;
+import net.skuratani.simplecontroller4j.binder.BindingContext;
+import net.skuratani.simplecontroller4j.binder.DataBinder;
+import net.skuratani.simplecontroller4j.execute.Executor;
+import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
+import net.skuratani.simplecontroller4j.routing.PathSegment;
+import net.skuratani.simplecontroller4j.routing.RouteMatch;
+
+/**
+ * <p>ウォームアップ</p>
+ * <pre>
+ * ディスパッチャサーブレットの初期化時に、登録済みの全ルーティングに対して
+ * 合成したリクエストでディスパッチ処理の前半を繰り返し実行し、JITコンパイルを促す。
+ *     1. ルーティング探索（固定パス表・ルーティングツリー。ルーティングキャッシュは使用しない）
+ *     2. パスバインド値の型変換
+ *     3. 引数解決プラン（パラメータ・リクエストボディーのないスタブリクエストに対して実行）
+ *     4. アスペクトチェーンの走査（ジョインポイント毎のアスペクトメソッドの引数値配列の生成）
+ * コントローラ・アスペクトのメソッドはアプリケーションの処理（更新処理など）を伴うため実行しない。
+ * 合成したリクエストパスは以下の値で生成し、正規表現のバインド変数を含むルーティングは対象外とする。
+ *     (ex.) /user/{id:int}/{rate:float}/{name} → /user/0/0.0/warmup
+ * </pre>
+ */
+public class Warmup {
+
+	/** ディスパッチモデル */
+	private final DispatchModel dispatchModel;
+
+	/** サーブレットコンテキスト */
+	private final ServletContext servletContext;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param dispatchModel  ディスパッチモデル
+	 * @param servletContext サーブレットコンテキスト
+	 */
+	public Warmup(DispatchModel dispatchModel, ServletContext servletContext) {
+		this.dispatchModel = dispatchModel;
+		this.servletContext = servletContext;
+	}
+
+	/**
+	 * <p>ウォームアップ実行</p>
+	 *
+	 * @param  iterations 繰り返し回数
+	 * @return 対象となったルーティング数
+	 */
+	public int run(int iterations) {
+
+		AdviceArguments adviceArguments = new AdviceArguments(dispatchModel);
+		int routeCount = 0;
+		for (RequestMapping requestMapping : dispatchModel.getRouter().getRequestMappings()) {
+			String samplePath = samplePath(requestMapping);
+			if (samplePath == null) continue;
+			Method requestMethod = requestMapping.getHttpMethod() == Method.ALL ? Method.GET : requestMapping.getHttpMethod();
+			HttpServletRequest request = stubRequest(requestMethod, samplePath);
+			HttpServletResponse response = stub(HttpServletResponse.class);
+
+			for (int i = 0; i < iterations; i++) {
+				RouteMatch routeMatch = dispatchModel.getRouter().findRoute(samplePath, requestMethod, false);
+				if (routeMatch == null) break;
+				if (!bind(request, response, routeMatch)) break;
+				adviceArguments.traverse(routeMatch.getRequestMapping().getAspectChain(), request, response);
+			}
+			routeCount++;
+		}
+		return routeCount;
+	}
+
+	/**
+	 * <p>引数解決プラン実行</p>
+	 *
+	 * @param  request    スタブリクエスト
+	 * @param  response   スタブレスポンス
+	 * @param  routeMatch ルーティング探索結果
+	 * @return boolean
+	 *         true  : 引数値を生成できた
+	 *         false : 引数値の生成に失敗した（以降の繰り返しを行わない）
+	 */
+	protected boolean bind(HttpServletRequest request, HttpServletResponse response, RouteMatch routeMatch) {
+		BindingContext bindingContext = BindingContext.acquire(servletContext, request, response, routeMatch,
+															   dispatchModel.getBodyReader());
+		try {
+			new DataBinder().bind(bindingContext);
+			return true;
+		} catch (Exception e) {
+			return false;
+		} finally {
+			bindingContext.release();
+		}
+	}
+
+	/**
+	 * <p>合成リクエストパス生成</p>
+	 *
+	 * @param  requestMapping リクエストマッピング情報
+	 * @return 合成リクエストパス（生成できない場合はnull）
+	 */
+	protected String samplePath(RequestMapping requestMapping) {
+
+		StringBuilder builder = new StringBuilder();
+		for (PathSegment segment : requestMapping.getPathTemplate().getSegments()) {
+			builder.append('/');
+			switch (segment.getType()) {
+			case LITERAL:
+				builder.append(segment.getName());
+				break;
+			case INT:
+				builder.append('0');
+				break;
+			case FLOAT:
+				builder.append("0.0");
+				break;
+			case STRING:
+				builder.append("warmup");
+				break;
+			default:
+				return null;
+			}
+		}
+		return builder.length() == 0 ? "/" : builder.toString();
+	}
+
+	/**
+	 * <p>スタブリクエスト生成</p>
+	 * <pre>
+	 * クエリストリング・リクエストボディー・ヘッダーのないリクエスト。
+	 * </pre>
+	 *
+	 * @param  requestMethod リクエストメソッド
+	 * @param  samplePath    合成リクエストパス
+	 * @return スタブリクエスト
+	 */
+	protected HttpServletRequest stubRequest(Method requestMethod, String samplePath) {
+		ServletInputStream emptyStream = new ServletInputStream() {
+			@Override
+			public int read() {
+				return -1;
+			}
+
+			@Override
+			public boolean isFinished() {
+				return true;
+			}
+
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setReadListener(ReadListener readListener) {
+			}
+		};
+		return (HttpServletRequest) Proxy.newProxyInstance(Warmup.class.getClassLoader(),
+				new Class<?>[] {HttpServletRequest.class}, (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "getMethod":
+				return requestMethod.name();
+			case "getRequestURI":
+			case "getServletPath":
+				return samplePath;
+			case "getInputStream":
+				return emptyStream;
+			case "getReader":
+				return new BufferedReader(new StringReader(""));
+			case "getServletContext":
+				return servletContext;
+			default:
+				return defaultValue(proxy, method, args);
+			}
+		});
+	}
+
+	/**
+	 * <p>スタブ生成（全メソッドが既定値を返却する）</p>
+	 */
+	private static <T> T stub(Class<T> type) {
+		return type.cast(Proxy.newProxyInstance(Warmup.class.getClassLoader(), new Class<?>[] {type},
+												Warmup::defaultValue));
+	}
+
+	/**
+	 * <p>スタブのメソッドの既定値</p>
+	 * <pre>
+	 * 数値は-1（Content-Length等の「不明」）、真偽値はfalse、コレクション・マップは空、それ以外はnull。
+	 * </pre>
+	 */
+	private static Object defaultValue(Object proxy, java.lang.reflect.Method method, Object[] args) {
+		Class<?> type = method.getReturnType();
+		switch (method.getName()) {
+		case "hashCode":
+			return System.identityHashCode(proxy);
+		case "equals":
+			return proxy == args[0];
+		case "toString":
+			return "warmup";
+		default:
+			break;
+		}
+		if (type == boolean.class) return false;
+		if (type == int.class) return -1;
+		if (type == long.class) return -1L;
+		if (type == Map.class) return Collections.emptyMap();
+		if (type == Enumeration.class) return Collections.emptyEnumeration();
+		if (type == Collection.class) return Collections.emptyList();
+		return null;
+	}
+
+	/**
+	 * <p>アスペクトチェーンの走査</p>
+	 * <pre>
+	 * ジョインポイント毎のアスペクトメソッドについて、実行時と同じ引数値配列を生成する（アスペクトメソッドは実行しない）。
+	 * </pre>
+	 */
+	private static final class AdviceArguments extends Executor {
+
+		AdviceArguments(DispatchModel dispatchModel) {
+			super(dispatchModel.getInstanceProvider());
+		}
+
+		void traverse(AspectChain aspectChain, HttpServletRequest request, HttpServletResponse response) {
+			if (aspectChain.isEmpty()) return;
+			for (JoinPoint joinPoint : JoinPoint.values()) {
+				for (AspectMapping aspectMapping : aspectChain.get(joinPoint)) {
+					aspectArguments(aspectMapping, request, response, null);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+package net.skuratani.simplecontroller4j.aspect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.annotation.JoinPoint;
+import net.skuratani.simplecontroller4j.annotation.Method;
+import net.skuratani.simplecontroller4j.aspect.fixture.AuditAspect;
+import net.skuratani.simplecontroller4j.aspect.fixture.IgnoredAdvice;
+import net.skuratani.simplecontroller4j.aspect.fixture.IllegalAdvice;
+import net.skuratani.simplecontroller4j.aspect.fixture.LoggingAspect;
+import net.skuratani.simplecontroller4j.aspect.fixture.ShopController;
+import net.skuratani.simplecontroller4j.aspectmapping.AspectMapping;
+import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
+import net.skuratani.simplecontroller4j.routing.Router;
+
+/**
+ * <p>アスペクトクラス・メソッド探索 テスト</p>
+ */
+public class AspectTest {
+
+	private final Aspect aspect = new Aspect(Arrays.asList(ShopController.class, LoggingAspect.class,
+														   IgnoredAdvice.class, AuditAspect.class));
+
+	@Test
+	public void chainIsOrderedByAspectLoadOrder() throws Exception {
+		AspectChain chain = aspect.chainFor(mapping("getUser"));
+
+		assertEquals(List.of("LoggingAspect.logBefore", "AuditAspect.auditBefore"), names(chain.get(JoinPoint.BEFORE)));
+		assertEquals(List.of("LoggingAspect.logAfter"), names(chain.get(JoinPoint.AFTER)));
+		assertEquals(3, chain.getAll().size());
+	}
+
+	@Test
+	public void adviceMatchedByMultipleExpressionsIsAddedOnce() throws Exception {
+		AspectChain chain = aspect.chainFor(mapping("getUser"));
+
+		assertEquals(1, chain.get(JoinPoint.BEFORE).stream()
+							 .filter(aspectMapping -> aspectMapping.getAspectClass() == LoggingAspect.class).count());
+	}
+
+	@Test
+	public void chainGroupsAdviceByJoinPoint() throws Exception {
+		AspectChain chain = aspect.chainFor(mapping("listItems"));
+
+		assertEquals(List.of("AuditAspect.auditBefore"), names(chain.get(JoinPoint.BEFORE)));
+		assertEquals(List.of("LoggingAspect.aroundItems"), names(chain.get(JoinPoint.AROUND)));
+		assertTrue(chain.get(JoinPoint.AROUND).get(0).isProceeding());
+		assertTrue(chain.get(JoinPoint.AFTER_THROWING).isEmpty());
+	}
+
+	@Test
+	public void annotationPointcutMatchesAnnotatedMethod() throws Exception {
+		AspectChain chain = aspect.chainFor(mapping("deleteItem"));
+
+		assertEquals(List.of("AuditAspect.auditFailure"), names(chain.get(JoinPoint.AFTER_THROWING)));
+		List<AspectMapping> afterReturning = chain.get(JoinPoint.AFTER_RETURNING);
+		assertEquals(List.of("AuditAspect.auditSuccess"), names(afterReturning));
+		assertTrue(afterReturning.get(0).isAsync());
+	}
+
+	@Test
+	public void unmatchedMethodSharesEmptyChain() throws Exception {
+		RequestMapping requestMapping = new RequestMapping();
+		requestMapping.setRequestClass(AspectTest.class);
+		requestMapping.setRequestMethod(AspectTest.class.getMethod("unmatchedMethodSharesEmptyChain"));
+
+		AspectChain chain = aspect.chainFor(requestMapping);
+
+		assertSame(AspectChain.EMPTY, chain);
+		assertTrue(chain.isEmpty());
+		assertTrue(chain.get(JoinPoint.BEFORE).isEmpty());
+	}
+
+	@Test
+	public void classesWithoutAspectAnnotationAreIgnored() throws Exception {
+		Aspect ignored = new Aspect(Arrays.asList(ShopController.class, IgnoredAdvice.class));
+
+		assertSame(AspectChain.EMPTY, ignored.chainFor(mapping("getUser")));
+	}
+
+	@Test
+	public void chainListsAreUnmodifiable() throws Exception {
+		AspectChain chain = aspect.chainFor(mapping("getUser"));
+		try {
+			chain.get(JoinPoint.BEFORE).clear();
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// 変更不可
+		}
+	}
+
+	@Test
+	public void routerStoresChainOnEachRoute() {
+		Router router = new Router(Arrays.asList(ShopController.class, LoggingAspect.class, AuditAspect.class));
+
+		RequestMapping getUser = router.findRoute("/users", Method.GET).getRequestMapping();
+		assertEquals(List.of("LoggingAspect.logBefore", "AuditAspect.auditBefore"),
+					 names(getUser.getAspectChain().get(JoinPoint.BEFORE)));
+		RequestMapping deleteItem = router.findRoute("/items", Method.POST).getRequestMapping();
+		assertEquals(1, deleteItem.getAspectChain().get(JoinPoint.AFTER_THROWING).size());
+		// 同じルーティングは毎回同じアスペクトチェーンを返却する
+		assertSame(getUser.getAspectChain(), router.findRoute("/users", Method.GET).getRequestMapping().getAspectChain());
+	}
+
+	@Test
+	public void asyncAdviceRejectsServletParameters() {
+		try {
+			new Aspect(Arrays.asList(IllegalAdvice.AsyncWithRequest.class));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("RequestSnapshot"));
+		}
+	}
+
+	@Test
+	public void syncAdviceRejectsSnapshotParameter() {
+		try {
+			new Aspect(Arrays.asList(IllegalAdvice.SyncWithSnapshot.class));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("RequestSnapshot"));
+		}
+	}
+
+	private static RequestMapping mapping(String methodName) throws NoSuchMethodException {
+		RequestMapping requestMapping = new RequestMapping();
+		requestMapping.setRequestClass(ShopController.class);
+		requestMapping.setRequestMethod(ShopController.class.getMethod(methodName));
+		return requestMapping;
+	}
+
+	private static List<String> names(List<AspectMapping> aspectMappings) {
+		return aspectMappings.stream()
+				.map(aspectMapping -> aspectMapping.getAspectClass().getSimpleName() + "."
+									  + aspectMapping.getAspectMethod().getName())
+				.collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,200 @@
+package net.skuratani.simplecontroller4j.aspect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.aspect.fixture.Audited;
+import net.skuratani.simplecontroller4j.aspect.fixture.ShopController;
+
+/**
+ * <p>ポイントカットマッチャー テスト</p>
+ */
+public class PointcutMatcherTest {
+
+	@Test
+	public void matchesLiteralAndStar() {
+		PointcutMatcher matcher = matcher("app.UserController.getUser", "app.UserController.*", "*.getUser", "*");
+
+		assertEquals(ids(0, 1, 2, 3), matcher.match("app.UserController.getUser", null));
+		assertEquals(ids(1, 3), matcher.match("app.UserController.listUsers", null));
+		assertEquals(ids(2, 3), matcher.match("app.admin.AdminController.getUser", null));
+		assertEquals(ids(3), matcher.match("", null));
+	}
+
+	@Test
+	public void starMatchesAcrossDots() {
+		PointcutMatcher matcher = matcher("app*get*");
+
+		assertEquals(ids(0), matcher.match("app.a.b.C.getX", null));
+		assertEquals(ids(0), matcher.match("appget", null));
+		assertEquals(ids(), matcher.match("xapp.get", null));
+	}
+
+	@Test
+	public void packageWildcardMatchesZeroOrMoreSegments() {
+		PointcutMatcher matcher = matcher("app..get*");
+
+		assertEquals(ids(0), matcher.match("app.getUser", null));
+		assertEquals(ids(0), matcher.match("app.UserController.getUser", null));
+		assertEquals(ids(0), matcher.match("app.a.b.UserController.getUser", null));
+		assertEquals(ids(), matcher.match("application.UserController.getUser", null));
+		assertEquals(ids(), matcher.match("app.UserController.listUsers", null));
+		assertEquals(ids(), matcher.match("appget", null));
+	}
+
+	@Test
+	public void packageWildcardInMiddle() {
+		PointcutMatcher matcher = matcher("app..UserController.*");
+
+		assertEquals(ids(0), matcher.match("app.UserController.get", null));
+		assertEquals(ids(0), matcher.match("app.web.v1.UserController.get", null));
+		assertEquals(ids(), matcher.match("app.web.AdminUserController.get", null));
+	}
+
+	@Test
+	public void returnsEveryMatchingAdviceInOnePass() {
+		List<Pointcut[]> pointcuts = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			pointcuts.add(new Pointcut[] { Pointcut.compile("app.C" + i + ".*") });
+		}
+		pointcuts.add(new Pointcut[] { Pointcut.compile("nomatch"), Pointcut.compile("app.C7*") });
+		PointcutMatcher matcher = new PointcutMatcher(pointcuts);
+
+		assertEquals(ids(7, 100), matcher.match("app.C7.run", null));
+		assertEquals(ids(70, 100), matcher.match("app.C70.run", null));
+		assertEquals(ids(), matcher.match("app.C100.run", null));
+	}
+
+	@Test
+	public void matchesAnnotationExpressions() throws Exception {
+		PointcutMatcher matcher = matcher("@annotation(" + Audited.class.getName() + ")", "*.getUser",
+										  "@annotation(" + Override.class.getName() + ")");
+		Method deleteItem = ShopController.class.getMethod("deleteItem");
+		Method getUser = ShopController.class.getMethod("getUser");
+
+		assertEquals(ids(0), matcher.match(ShopController.class.getName() + ".deleteItem", deleteItem));
+		assertEquals(ids(1), matcher.match(ShopController.class.getName() + ".getUser", getUser));
+		// メソッドを指定しない場合はアノテーションの式を判定しない
+		assertEquals(ids(), matcher.match(ShopController.class.getName() + ".deleteItem", null));
+	}
+
+	@Test
+	public void emptyMatcherMatchesNothing() {
+		PointcutMatcher matcher = new PointcutMatcher(new ArrayList<>());
+
+		assertEquals(ids(), matcher.match("app.Controller.method", null));
+	}
+
+	@Test
+	public void returnedSetIsACopy() {
+		PointcutMatcher matcher = matcher("*");
+		matcher.match("a", null).set(5);
+
+		assertEquals(ids(0), matcher.match("a", null));
+	}
+
+	@Test
+	public void agreesWithRegularExpressionReference() {
+		Random random = new Random(7);
+		String alphabet = "ab.";
+		for (int round = 0; round < 200; round++) {
+			List<String> expressions = new ArrayList<>();
+			List<Pointcut[]> pointcuts = new ArrayList<>();
+			for (int i = 0; i < 1 + random.nextInt(6); i++) {
+				String expression = randomString(random, "ab.*", 1 + random.nextInt(7));
+				expressions.add(expression);
+				pointcuts.add(new Pointcut[] { Pointcut.compile(expression) });
+			}
+			PointcutMatcher matcher = new PointcutMatcher(pointcuts);
+			for (int n = 0; n < 50; n++) {
+				String signature = randomString(random, alphabet, random.nextInt(9));
+				BitSet expected = new BitSet();
+				for (int i = 0; i < expressions.size(); i++) {
+					if (reference(expressions.get(i)).matcher(signature).matches()) expected.set(i);
+				}
+				assertEquals(expressions + " : " + signature, expected, matcher.match(signature, null));
+			}
+		}
+	}
+
+	@Test
+	public void concurrentMatchingIsConsistent() throws Exception {
+		PointcutMatcher matcher = matcher("app..get*", "*.C1.*", "app.*.list*");
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				int seed = t;
+				results.add(pool.submit(() -> {
+					Random random = new Random(seed);
+					for (int i = 0; i < 2000; i++) {
+						String signature = "app.p" + random.nextInt(50) + ".C" + random.nextInt(3)
+										   + (random.nextBoolean() ? ".getX" : ".listX");
+						BitSet expected = new BitSet();
+						if (signature.endsWith(".getX")) expected.set(0);
+						if (signature.contains(".C1.")) expected.set(1);
+						if (signature.endsWith(".listX")) expected.set(2);
+						if (!expected.equals(matcher.match(signature, null))) return false;
+					}
+					return true;
+				}));
+			}
+			for (Future<Boolean> result : results) assertTrue(result.get());
+		} finally {
+			pool.shutdown();
+			pool.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * <p>正規表現による参照実装</p>
+	 * <pre>
+	 * 「*」は任意の文字列、「..」は「.」と0個以上の「名前.」に一致する。
+	 * </pre>
+	 */
+	private static Pattern reference(String expression) {
+		StringBuilder regex = new StringBuilder();
+		for (int token : Pointcut.compile(expression).getTokens()) {
+			if (token == Pointcut.STAR) {
+				regex.append(".*");
+			} else if (token == Pointcut.DOTDOT) {
+				regex.append("\\.(?:.*\\.)?");
+			} else {
+				regex.append(Pattern.quote(String.valueOf((char) token)));
+			}
+		}
+		return Pattern.compile(regex.toString(), Pattern.DOTALL);
+	}
+
+	private static String randomString(Random random, String alphabet, int length) {
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < length; i++) builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		return builder.toString();
+	}
+
+	private static PointcutMatcher matcher(String... expressions) {
+		List<Pointcut[]> pointcuts = new ArrayList<>();
+		for (String expression : expressions) pointcuts.add(new Pointcut[] { Pointcut.compile(expression) });
+		return new PointcutMatcher(pointcuts);
+	}
+
+	private static BitSet ids(int... ids) {
+		BitSet set = new BitSet();
+		for (int id : ids) set.set(id);
+		return set;
+	}
+
+}
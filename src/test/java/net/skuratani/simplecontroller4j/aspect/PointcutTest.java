@@ -0,0 +1,63 @@
+package net.skuratani.simplecontroller4j.aspect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * <p>ポイントカット テスト</p>
+ */
+public class PointcutTest {
+
+	@Test
+	public void compilesNameExpression() {
+		Pointcut pointcut = Pointcut.compile("a.*");
+
+		assertFalse(pointcut.isAnnotation());
+		assertEquals("a.*", pointcut.getExpression());
+		assertEquals(List.of((int) 'a', (int) '.', Pointcut.STAR), pointcut.getTokens());
+	}
+
+	@Test
+	public void collapsesConsecutiveStars() {
+		assertEquals(List.of(Pointcut.STAR, (int) 'x', Pointcut.STAR), Pointcut.compile("***x**").getTokens());
+	}
+
+	@Test
+	public void compilesPackageWildcard() {
+		assertEquals(List.of((int) 'a', Pointcut.DOTDOT, (int) 'b'), Pointcut.compile("a..b").getTokens());
+		// 「...」は「..」と「.」
+		assertEquals(List.of((int) 'a', Pointcut.DOTDOT, (int) '.', (int) 'b'), Pointcut.compile("a...b").getTokens());
+	}
+
+	@Test
+	public void compilesAnnotationExpression() {
+		Pointcut pointcut = Pointcut.compile("  @annotation( com.example.Audited )  ");
+
+		assertTrue(pointcut.isAnnotation());
+		assertEquals("com.example.Audited", pointcut.getAnnotationName());
+		assertTrue(pointcut.getTokens().isEmpty());
+	}
+
+	@Test
+	public void rejectsMalformedAnnotationExpression() {
+		assertIllegal("@annotation(com.example.Audited");
+		assertIllegal("@annotation()");
+		assertIllegal("@annotation(  )");
+	}
+
+	private static void assertIllegal(String expression) {
+		try {
+			Pointcut.compile(expression);
+			fail(expression);
+		} catch (IllegalArgumentException e) {
+			// 想定通り
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+package net.skuratani.simplecontroller4j.aspect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
+import net.skuratani.simplecontroller4j.stub.StubRequest;
+
+/**
+ * <p>実行中のジョインポイント テスト</p>
+ */
+public class ProceedingJoinPointTest {
+
+	@Test
+	public void proceedRecordsResult() throws Exception {
+		ProceedingJoinPoint joinPoint = new ProceedingJoinPoint(null, null, null, new Object[0], () -> "result");
+
+		assertFalse(joinPoint.isProceeded());
+		assertNull(joinPoint.getResult());
+		assertEquals("result", joinPoint.proceed());
+		assertTrue(joinPoint.isProceeded());
+		assertEquals("result", joinPoint.getResult());
+	}
+
+	@Test
+	public void proceedCanBeCalledOnlyOnce() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		ProceedingJoinPoint joinPoint = new ProceedingJoinPoint(null, null, null, new Object[0], calls::incrementAndGet);
+		joinPoint.proceed();
+		try {
+			joinPoint.proceed();
+			fail();
+		} catch (IllegalStateException e) {
+			// 想定通り
+		}
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void failedProceedCannotBeRetried() throws Exception {
+		ProceedingJoinPoint joinPoint = new ProceedingJoinPoint(null, null, null, new Object[0], () -> {
+			throw new IllegalArgumentException("failed");
+		});
+		try {
+			joinPoint.proceed();
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(joinPoint.isProceeded());
+		}
+		try {
+			joinPoint.proceed();
+			fail();
+		} catch (IllegalStateException e) {
+			// 想定通り
+		}
+	}
+
+	@Test
+	public void exposesRequestContext() {
+		HttpServletRequest request = StubRequest.get("/").build();
+		RequestMapping requestMapping = new RequestMapping();
+		Object[] args = { "a" };
+
+		ProceedingJoinPoint joinPoint = new ProceedingJoinPoint(request, null, requestMapping, args, () -> null);
+
+		assertSame(request, joinPoint.getRequest());
+		assertNull(joinPoint.getResponse());
+		assertSame(requestMapping, joinPoint.getRequestMapping());
+		assertSame(args, joinPoint.getArgs());
+	}
+
+}
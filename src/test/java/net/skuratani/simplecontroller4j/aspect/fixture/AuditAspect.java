@@ -0,0 +1,27 @@
+package net.skuratani.simplecontroller4j.aspect.fixture;
+
+import net.skuratani.simplecontroller4j.annotation.AfterReturning;
+import net.skuratani.simplecontroller4j.annotation.AfterThrowing;
+import net.skuratani.simplecontroller4j.annotation.Aspect;
+import net.skuratani.simplecontroller4j.annotation.Before;
+import net.skuratani.simplecontroller4j.aspect.RequestSnapshot;
+
+/**
+ * <p>アスペクトテスト用アスペクト（ロード順2番目）</p>
+ */
+@Aspect
+public class AuditAspect {
+
+	@Before(execution = "*.ShopController.*")
+	public void auditBefore() {
+	}
+
+	@AfterThrowing(execution = "@annotation(net.skuratani.simplecontroller4j.aspect.fixture.Audited)")
+	public void auditFailure() {
+	}
+
+	@AfterReturning(execution = "@annotation(net.skuratani.simplecontroller4j.aspect.fixture.Audited)", async = true)
+	public void auditSuccess(RequestSnapshot snapshot) {
+	}
+
+}
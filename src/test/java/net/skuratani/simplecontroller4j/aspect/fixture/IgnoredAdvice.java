@@ -0,0 +1,14 @@
+package net.skuratani.simplecontroller4j.aspect.fixture;
+
+import net.skuratani.simplecontroller4j.annotation.Before;
+
+/**
+ * <p>Aspectアノテーションを記述していないクラス（アドバイスとして登録されない）</p>
+ */
+public class IgnoredAdvice {
+
+	@Before(execution = "*")
+	public void before() {
+	}
+
+}
@@ -0,0 +1,33 @@
+package net.skuratani.simplecontroller4j.aspect.fixture;
+
+import jakarta.servlet.ServletRequest;
+
+import net.skuratani.simplecontroller4j.annotation.After;
+import net.skuratani.simplecontroller4j.annotation.Aspect;
+import net.skuratani.simplecontroller4j.annotation.Before;
+import net.skuratani.simplecontroller4j.aspect.RequestSnapshot;
+
+/**
+ * <p>引数が不正なアドバイス</p>
+ */
+public class IllegalAdvice {
+
+	/** 非同期のアドバイスにServletRequestを指定 */
+	@Aspect
+	public static class AsyncWithRequest {
+
+		@After(execution = "*", async = true)
+		public void after(ServletRequest request) {
+		}
+	}
+
+	/** 同期のアドバイスにRequestSnapshotを指定 */
+	@Aspect
+	public static class SyncWithSnapshot {
+
+		@Before(execution = "*")
+		public void before(RequestSnapshot snapshot) {
+		}
+	}
+
+}
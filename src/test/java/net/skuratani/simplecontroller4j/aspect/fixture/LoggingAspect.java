@@ -0,0 +1,29 @@
+package net.skuratani.simplecontroller4j.aspect.fixture;
+
+import net.skuratani.simplecontroller4j.annotation.After;
+import net.skuratani.simplecontroller4j.annotation.Around;
+import net.skuratani.simplecontroller4j.annotation.Aspect;
+import net.skuratani.simplecontroller4j.annotation.Before;
+import net.skuratani.simplecontroller4j.aspect.ProceedingJoinPoint;
+
+/**
+ * <p>アスペクトテスト用アスペクト（ロード順1番目）</p>
+ */
+@Aspect
+public class LoggingAspect {
+
+	/** 2つの式がどちらも一致するアドバイス */
+	@Before(execution = {"*.getUser", "net..ShopController.get*"})
+	public void logBefore() {
+	}
+
+	@After(execution = "*.ShopController.*")
+	public void logAfter() {
+	}
+
+	@Around(execution = "*.listItems")
+	public Object aroundItems(ProceedingJoinPoint joinPoint) throws Exception {
+		return joinPoint.proceed();
+	}
+
+}
@@ -0,0 +1,29 @@
+package net.skuratani.simplecontroller4j.aspect.fixture;
+
+import net.skuratani.simplecontroller4j.annotation.Controller;
+import net.skuratani.simplecontroller4j.annotation.Method;
+import net.skuratani.simplecontroller4j.annotation.Route;
+
+/**
+ * <p>アスペクトテスト用コントローラ</p>
+ */
+@Controller
+public class ShopController {
+
+	@Route(path = "/users", method = Method.GET)
+	public String getUser() {
+		return "user";
+	}
+
+	@Route(path = "/items", method = Method.GET)
+	public String listItems() {
+		return "items";
+	}
+
+	@Audited
+	@Route(path = "/items", method = Method.POST)
+	public String deleteItem() {
+		return "deleted";
+	}
+
+}
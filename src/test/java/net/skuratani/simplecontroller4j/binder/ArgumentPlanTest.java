@@ -0,0 +1,185 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.annotation.Method;
+import net.skuratani.simplecontroller4j.binder.fixture.ArgumentController;
+import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
+import net.skuratani.simplecontroller4j.routing.PathTemplate;
+import net.skuratani.simplecontroller4j.routing.RouteMatch;
+import net.skuratani.simplecontroller4j.routing.Router;
+import net.skuratani.simplecontroller4j.stub.StubRequest;
+
+/**
+ * <p>引数解決プラン テスト</p>
+ */
+public class ArgumentPlanTest {
+
+	private static final List<Class<?>> CLASSES = Arrays.asList(ArgumentController.class);
+
+	private final Router router = new Router(CLASSES);
+	private final ServletContext context = stub(ServletContext.class);
+	private final HttpServletResponse response = stub(HttpServletResponse.class);
+
+	@Test
+	public void resolvesArgumentsByParameterPosition() throws Exception {
+		HttpServletRequest request = StubRequest.get("/items/7/1.5/abc").build();
+
+		Object[] args = resolve(request, Method.GET);
+
+		assertEquals(6, args.length);
+		assertSame(response, args[0]);
+		assertEquals("abc", args[1]);
+		assertEquals(7, args[2]);
+		assertEquals(1.5f, args[3]);
+		assertSame(request, args[4]);
+		assertSame(context, args[5]);
+	}
+
+	@Test
+	public void convertsPathValuesToParameterType() throws Exception {
+		Object[] args = resolve(StubRequest.get("/convert/42").build(), Method.GET);
+
+		assertEquals("42", args[0]);
+		assertEquals(42L, args[1]);
+		assertNull(args[2]);
+	}
+
+	@Test
+	public void resolvesRequestParameters() throws Exception {
+		HttpServletRequest request = StubRequest.get("/params").query("id=12&tags=a&tags=b&csv=x,+y,,z").build();
+
+		Object[] args = resolve(request, Method.GET);
+
+		assertEquals(12, args[0]);
+		assertArrayEquals(new String[] {"a", "b"}, (String[]) args[1]);
+		assertArrayEquals(new String[] {"x", "y", "", "z"}, (String[]) args[2]);
+		assertNull(args[3]);
+		assertNull(args[4]);
+	}
+
+	@Test
+	public void enforcesExplicitMaxLength() throws Exception {
+		assertIllegalArgument(StubRequest.get("/limited").query("csv=1,2,3").build());
+		assertIllegalArgument(StubRequest.get("/limited").query("all=1&all=2&all=3").build());
+
+		Object[] args = resolve(StubRequest.get("/limited").query("csv=1,2&all=1&all=2").build(), Method.GET);
+		assertEquals(2, ((String[]) args[0]).length);
+		assertEquals(2, ((String[]) args[1]).length);
+	}
+
+	@Test
+	public void defaultMaxLengthAppliesOnlyToSplitParameters() throws Exception {
+		StringBuilder query = new StringBuilder("csv=0");
+		for (int i = 1; i <= ArgumentPlan.DEFAULT_MAX_LENGTH; i++) query.append(',').append(i);
+		assertIllegalArgument(StubRequest.get("/defaults").query(query.toString()).build());
+
+		StringBuilder repeated = new StringBuilder("all=0");
+		for (int i = 1; i <= ArgumentPlan.DEFAULT_MAX_LENGTH; i++) repeated.append("&all=").append(i);
+		Object[] args = resolve(StubRequest.get("/defaults").query(repeated.toString()).build(), Method.GET);
+		assertEquals(ArgumentPlan.DEFAULT_MAX_LENGTH + 1, ((String[]) args[1]).length);
+	}
+
+	@Test
+	public void defaultMaxLengthAppliesOnlyToSplitPrimitiveArrays() throws Exception {
+		StringBuilder query = new StringBuilder("csv=0");
+		for (int i = 1; i <= ArgumentPlan.DEFAULT_MAX_LENGTH; i++) query.append("%2C").append(i);
+		assertIllegalArgument(StubRequest.get("/numbers").query(query.toString()).build());
+
+		StringBuilder repeated = new StringBuilder("csv=1,2&all=0");
+		for (int i = 1; i <= ArgumentPlan.DEFAULT_MAX_LENGTH; i++) repeated.append("&all=").append(i);
+		Object[] args = resolve(StubRequest.get("/numbers").query(repeated.toString()).build(), Method.GET);
+		assertArrayEquals(new int[] {1, 2}, (int[]) args[0]);
+		assertEquals(ArgumentPlan.DEFAULT_MAX_LENGTH + 1, ((long[]) args[1]).length);
+	}
+
+	@Test
+	public void servletTypesRequireExactMatch() throws Exception {
+		HttpServletRequest request = StubRequest.get("/servlet").build();
+
+		Object[] args = resolve(request, Method.GET);
+
+		assertNull(args[0]);
+		assertSame(request, args[1]);
+		assertSame(response, args[2]);
+	}
+
+	@Test
+	public void resolvesRequestBody() throws Exception {
+		HttpServletRequest request = StubRequest.post("/body").contentType("text/plain").characterEncoding("UTF-8")
+												.body("本文").build();
+
+		assertEquals("本文", resolve(request, Method.POST)[0]);
+	}
+
+	@Test
+	public void noArgumentsSharesEmptyArray() throws Exception {
+		Object[] first = resolve(StubRequest.get("/none").build(), Method.GET);
+		Object[] second = resolve(StubRequest.get("/none").build(), Method.GET);
+
+		assertEquals(0, first.length);
+		assertSame(first, second);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsMultiCharacterSplit() throws Exception {
+		ArgumentPlan.compile(ArgumentController.class.getMethod("invalidSplit", String[].class), PathTemplate.compile("/"));
+	}
+
+	@Test
+	public void splitTrimsAndSkipsBlankValues() {
+		assertArrayEquals(new String[] {"a", "b", ""}, ArgumentPlan.split(new String[] {" a , b,", "  "}, ','));
+		assertArrayEquals(new String[0], ArgumentPlan.split(new String[] {""}, ','));
+	}
+
+	private Object[] resolve(HttpServletRequest request, Method method)
+		throws Exception {
+		RouteMatch routeMatch = router.findRoute(request.getRequestURI(), method);
+		RequestMapping requestMapping = routeMatch.getRequestMapping();
+		BindingContext bindingContext = BindingContext.acquire(context, request, response, routeMatch,
+															   RequestBodyReader.DEFAULT);
+		try {
+			return requestMapping.getArgumentPlan().resolve(bindingContext);
+		} finally {
+			bindingContext.release();
+		}
+	}
+
+	private void assertIllegalArgument(HttpServletRequest request) throws Exception {
+		try {
+			resolve(request, Method.GET);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// 想定通り
+		}
+	}
+
+	private static <T> T stub(Class<T> type) {
+		return type.cast(Proxy.newProxyInstance(ArgumentPlanTest.class.getClassLoader(), new Class<?>[] {type},
+				(proxy, method, args) -> {
+			switch (method.getName()) {
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return proxy == args[0];
+			default:
+				return null;
+			}
+		}));
+	}
+
+}
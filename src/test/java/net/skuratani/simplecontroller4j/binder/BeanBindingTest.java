@@ -0,0 +1,151 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.binder.fixture.NoDefaultConstructorForm;
+import net.skuratani.simplecontroller4j.binder.fixture.UserForm;
+import net.skuratani.simplecontroller4j.binder.fixture.UserRecord;
+import net.skuratani.simplecontroller4j.converter.ConverterRegistry;
+
+/**
+ * <p>パラメータ格納クラスのバインド情報 テスト</p>
+ */
+public class BeanBindingTest {
+
+	@Test
+	public void bindsSettersInheritedFieldsAndPublicFields() throws Exception {
+		UserForm form = (UserForm) bind(UserForm.class,
+				"name", " alice ", "age", "30", "score", "7", "color", "BLUE", "id", "9", "note", "memo");
+
+		assertEquals("alice", form.getName());
+		assertEquals(30, form.getAge());
+		assertEquals(Integer.valueOf(7), form.getScore());
+		assertEquals(UserForm.Color.BLUE, form.getColor());
+		assertEquals(9L, form.getId());
+		assertEquals("memo", form.note);
+	}
+
+	@Test
+	public void ignoresUnknownInaccessibleAndStaticFields() throws Exception {
+		UserForm.shared = null;
+		UserForm form = (UserForm) bind(UserForm.class, "unknown", "x", "secret", "s", "shared", "v");
+
+		assertNull(form.getSecret());
+		assertNull(UserForm.shared);
+		BeanBinding binding = BeanBinding.of(UserForm.class, ConverterRegistry.getDefault());
+		assertNull(binding.getProperty("secret"));
+		assertNull(binding.getProperty("shared"));
+		assertNotNull(binding.getProperty("id"));
+	}
+
+	@Test
+	public void usesFirstValueAndSkipsEmptyValues() throws Exception {
+		Map<String, String[]> paramMap = new LinkedHashMap<>();
+		paramMap.put("name", new String[] {"first", "second"});
+		paramMap.put("age", new String[0]);
+		paramMap.put("score", null);
+
+		UserForm form = (UserForm) BeanBinding.of(UserForm.class, ConverterRegistry.getDefault()).bind(paramMap);
+
+		assertEquals("first", form.getName());
+		assertEquals(0, form.getAge());
+		assertNull(form.getScore());
+	}
+
+	@Test
+	public void unconvertibleTypeKeepsProperty() {
+		BeanBinding.Property tags = BeanBinding.of(UserForm.class, ConverterRegistry.getDefault()).getProperty("tags");
+
+		assertNull(tags.getConverter());
+		assertEquals("java.util.List<java.lang.String>", tags.getGenericType().getTypeName());
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void conversionFailureIsNotWrapped() throws Exception {
+		bind(UserForm.class, "age", "thirty");
+	}
+
+	@Test
+	public void setterExceptionIsWrapped() throws Exception {
+		try {
+			bind(UserForm.class, "age", "-1");
+			fail();
+		} catch (InvocationTargetException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+	}
+
+	@Test
+	public void bindsRecordsThroughCanonicalConstructor() throws Exception {
+		UserRecord record = (UserRecord) bind(UserRecord.class, "age", "41", "name", "bob", "active", "true");
+
+		assertEquals(new UserRecord("bob", 41, true), record);
+	}
+
+	@Test
+	public void missingRecordComponentsGetDefaults() throws Exception {
+		UserRecord record = (UserRecord) bind(UserRecord.class);
+
+		assertNull(record.name());
+		assertEquals(0, record.age());
+		assertFalse(record.active());
+	}
+
+	@Test
+	public void recordConstructorExceptionIsWrapped() throws Exception {
+		try {
+			bind(UserRecord.class, "name", "");
+			fail();
+		} catch (InvocationTargetException e) {
+			assertTrue(e.getCause() instanceof IllegalArgumentException);
+		}
+	}
+
+	@Test(expected = NoSuchMethodException.class)
+	public void classWithoutDefaultConstructorCannotBind() throws Exception {
+		bind(NoDefaultConstructorForm.class, "name", "x");
+	}
+
+	@Test
+	public void defaultRegistryBindingIsSharedPerClass() {
+		ConverterRegistry registry = new ConverterRegistry();
+
+		assertSame(BeanBinding.of(UserForm.class, ConverterRegistry.getDefault()),
+				   BeanBinding.of(UserForm.class, ConverterRegistry.getDefault()));
+		assertNotSame(BeanBinding.of(UserForm.class, registry), BeanBinding.of(UserForm.class, registry));
+	}
+
+	@Test
+	public void customRegistryConvertersAreUsed() throws Exception {
+		ConverterRegistry registry = new ConverterRegistry();
+		registry.register(int.class, value -> Integer.parseInt(value) * 2);
+		Map<String, String[]> paramMap = new LinkedHashMap<>();
+		paramMap.put("age", new String[] {"21"});
+
+		UserForm form = (UserForm) BeanBinding.of(UserForm.class, registry).bind(paramMap);
+
+		assertEquals(42, form.getAge());
+	}
+
+	private static Object bind(Class<?> type, String... nameValues) throws Exception {
+		Map<String, String[]> paramMap = new LinkedHashMap<>();
+		for (int i = 0; i < nameValues.length; i += 2) {
+			paramMap.put(nameValues[i], new String[] {nameValues[i + 1]});
+		}
+		return BeanBinding.of(type, ConverterRegistry.getDefault()).bind(paramMap);
+	}
+
+}
@@ -0,0 +1,152 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.routing.RouteMatch;
+import net.skuratani.simplecontroller4j.stub.StubRequest;
+
+/**
+ * <p>バインディングコンテキスト テスト</p>
+ */
+public class BindingContextTest {
+
+	@Test
+	public void reusesThreadInstanceAfterRelease() {
+		BindingContext first = acquire(StubRequest.get("/").build(), null);
+		first.release();
+		BindingContext second = acquire(StubRequest.get("/").build(), null);
+		second.release();
+
+		assertSame(first, second);
+	}
+
+	@Test
+	public void nestedAcquireCreatesNewInstance() {
+		BindingContext outer = acquire(StubRequest.get("/").build(), null);
+		try {
+			BindingContext inner = acquire(StubRequest.get("/").build(), null);
+			assertNotSame(outer, inner);
+			inner.release();
+		} finally {
+			outer.release();
+		}
+	}
+
+	@Test
+	public void releaseClearsRequestReferences() {
+		HttpServletRequest request = StubRequest.get("/").build();
+		BindingContext bindingContext = acquire(request, new Object[] {1});
+		assertSame(request, bindingContext.getRequest());
+
+		bindingContext.release();
+
+		assertNull(bindingContext.getRequest());
+		assertNull(bindingContext.getResponse());
+		assertNull(bindingContext.getRouteMatch());
+		assertNull(bindingContext.getBodyReader());
+	}
+
+	@Test
+	public void returnsPathValuesByIndex() {
+		BindingContext bindingContext = acquire(StubRequest.get("/").build(), new Object[] {7, "name"});
+		try {
+			assertEquals(7, bindingContext.getPathValue(0));
+			assertEquals("name", bindingContext.getPathValue(1));
+		} finally {
+			bindingContext.release();
+		}
+	}
+
+	@Test
+	public void readsQueryParameters() throws Exception {
+		BindingContext bindingContext = acquire(StubRequest.get("/").query("a=1&b=2&a=3").build(), null);
+		try {
+			assertArrayEquals(new String[] {"1", "3"}, bindingContext.getParameterValues("a"));
+			assertNull(bindingContext.getParameterValues("c"));
+			assertNull(bindingContext.getMultipartForm());
+			Map<String, String[]> parameterMap = bindingContext.getParameterMap();
+			assertEquals(Arrays.asList("a", "b"), new ArrayList<>(parameterMap.keySet()));
+		} finally {
+			bindingContext.release();
+		}
+	}
+
+	@Test
+	public void doesNotLeakParametersOfPreviousRequest() throws Exception {
+		BindingContext bindingContext = acquire(StubRequest.get("/").query("a=1").build(), null);
+		bindingContext.getParameterValues("a");
+		bindingContext.release();
+
+		bindingContext = acquire(StubRequest.get("/").query("b=2").build(), null);
+		try {
+			assertNull(bindingContext.getParameterValues("a"));
+			assertArrayEquals(new String[] {"2"}, bindingContext.getParameterValues("b"));
+		} finally {
+			bindingContext.release();
+		}
+	}
+
+	@Test
+	public void mergesQueryAndMultipartFields() throws Exception {
+		String body = "--XYZ\r\n"
+					+ "Content-Disposition: form-data; name=\"a\"\r\n\r\n"
+					+ "field\r\n"
+					+ "--XYZ\r\n"
+					+ "Content-Disposition: form-data; name=\"c\"\r\n\r\n"
+					+ "only-field\r\n"
+					+ "--XYZ--\r\n";
+		HttpServletRequest request = StubRequest.post("/").query("a=query&b=2")
+				.contentType("multipart/form-data; boundary=XYZ").body(body.getBytes(StandardCharsets.UTF_8)).build();
+		BindingContext bindingContext = acquire(request, null);
+		try {
+			// フォーム項目の値を優先し、フォーム項目にない場合はクエリストリングの値
+			assertArrayEquals(new String[] {"field"}, bindingContext.getParameterValues("a"));
+			assertArrayEquals(new String[] {"2"}, bindingContext.getParameterValues("b"));
+			Map<String, String[]> parameterMap = bindingContext.getParameterMap();
+			assertArrayEquals(new String[] {"query", "field"}, parameterMap.get("a"));
+			assertArrayEquals(new String[] {"only-field"}, parameterMap.get("c"));
+
+			List<String> raw = new ArrayList<>();
+			bindingContext.forEachRawValue("a", (source, from, to, urlEncoded) ->
+					raw.add(new String(source, from, to - from, StandardCharsets.UTF_8)));
+			assertEquals(Arrays.asList("query", "field"), raw);
+		} finally {
+			bindingContext.release();
+		}
+	}
+
+	@Test
+	public void multipartFormIsReadOnce() throws Exception {
+		String body = "--XYZ\r\nContent-Disposition: form-data; name=\"a\"\r\n\r\n1\r\n--XYZ--\r\n";
+		HttpServletRequest request = StubRequest.post("/").contentType("multipart/form-data; boundary=XYZ")
+												.body(body).build();
+		BindingContext bindingContext = acquire(request, null);
+		try {
+			assertSame(bindingContext.getMultipartForm(), bindingContext.getMultipartForm());
+			assertArrayEquals(new String[] {"1"}, bindingContext.getMultipartForm().getValues("a"));
+			assertFalse(bindingContext.getParameterMap().isEmpty());
+		} finally {
+			bindingContext.release();
+		}
+	}
+
+	private static BindingContext acquire(HttpServletRequest request, Object[] pathValues) {
+		return BindingContext.acquire(null, request, null, new RouteMatch(null, pathValues), RequestBodyReader.DEFAULT);
+	}
+
+}
@@ -0,0 +1,46 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * <p>ダイレクトバッファプール テスト</p>
+ */
+public class ByteBufferPoolTest {
+
+	@Test
+	public void createsDirectBuffersUpToPoolSize() {
+		ByteBufferPool pool = new ByteBufferPool(2, 32);
+
+		ByteBuffer first = pool.acquire();
+		ByteBuffer second = pool.acquire();
+
+		assertNotNull(first);
+		assertNotNull(second);
+		assertTrue(first.isDirect());
+		assertEquals(32, first.capacity());
+		assertNull(pool.acquire());
+	}
+
+	@Test
+	public void releasedBufferIsReusedCleared() {
+		ByteBufferPool pool = new ByteBufferPool(1, 32);
+		ByteBuffer buffer = pool.acquire();
+		buffer.put((byte) 1).limit(5);
+
+		pool.release(buffer);
+		ByteBuffer reused = pool.acquire();
+
+		assertSame(buffer, reused);
+		assertEquals(0, reused.position());
+		assertEquals(32, reused.limit());
+	}
+
+}
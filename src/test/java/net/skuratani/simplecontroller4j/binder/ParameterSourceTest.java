@@ -0,0 +1,237 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.stub.StubRequest;
+
+/**
+ * <p>リクエストパラメータソース テスト</p>
+ */
+public class ParameterSourceTest {
+
+	private static final String FORM = "application/x-www-form-urlencoded";
+
+	@Test
+	public void returnsPlainValuesInOrder() throws IOException {
+		ParameterSource source = source(StubRequest.get("/").query("a=1&b=2&a=3"));
+
+		assertArrayEquals(new String[] { "1", "3" }, source.getValues("a"));
+		assertEquals("2", source.getFirst("b"));
+		assertNull(source.getValues("c"));
+		assertNull(source.getFirst("c"));
+	}
+
+	@Test
+	public void decodesPercentEncodingAndPlus() throws IOException {
+		ParameterSource source = source(StubRequest.get("/").query(
+				"q=a+b%20c&jp=%E6%97%A5%E6%9C%AC&amp=%26%3D&lower=%e3%81%82"));
+
+		assertEquals("a b c", source.getFirst("q"));
+		assertEquals("日本", source.getFirst("jp"));
+		assertEquals("&=", source.getFirst("amp"));
+		assertEquals("あ", source.getFirst("lower"));
+	}
+
+	@Test
+	public void matchesEncodedParameterNames() throws IOException {
+		ParameterSource source = source(StubRequest.get("/").query("ids%5B%5D=1&first+name=x&%E5%90%8D=y"));
+
+		assertEquals("1", source.getFirst("ids[]"));
+		assertEquals("x", source.getFirst("first name"));
+		assertEquals("y", source.getFirst("名"));
+		assertNull(source.getFirst("ids%5B%5D"));
+	}
+
+	@Test
+	public void keepsMalformedPercentSequences() throws IOException {
+		ParameterSource source = source(StubRequest.get("/").query("a=%zz&b=100%&c=%4&d=%4g1&e=%%41"));
+
+		assertEquals("%zz", source.getFirst("a"));
+		assertEquals("100%", source.getFirst("b"));
+		assertEquals("%4", source.getFirst("c"));
+		assertEquals("%4g1", source.getFirst("d"));
+		assertEquals("%A", source.getFirst("e"));
+	}
+
+	@Test
+	public void handlesEmptyAndValuelessSegments() throws IOException {
+		ParameterSource source = source(StubRequest.get("/").query("&&flag&empty=&=ignored&a=1&"));
+
+		assertEquals("", source.getFirst("flag"));
+		assertEquals("", source.getFirst("empty"));
+		assertEquals("1", source.getFirst("a"));
+		assertNull(source.getFirst(""));
+		assertEquals(3, source.getParameterMap().size());
+	}
+
+	@Test
+	public void usesRequestCharacterEncoding() throws IOException {
+		ParameterSource sjis = source(StubRequest.get("/").characterEncoding("Shift_JIS").query("v=%93%FA%96%7B"));
+		assertEquals("日本", sjis.getFirst("v"));
+
+		ParameterSource invalid = source(StubRequest.get("/").characterEncoding("no-such-charset").query("v=%C3%A9"));
+		assertEquals("é", invalid.getFirst("v"));
+	}
+
+	@Test
+	public void readsFormBodyAfterQuery() throws IOException {
+		StubRequest stub = StubRequest.post("/").contentType(FORM + "; charset=UTF-8").query("a=q").body("a=b1&b=%E3%81%82&a=b2");
+		ParameterSource source = source(stub);
+
+		assertEquals(0, stub.getBytesRead());
+		assertArrayEquals(new String[] { "q", "b1", "b2" }, source.getValues("a"));
+		assertEquals("あ", source.getFirst("b"));
+	}
+
+	@Test
+	public void ignoresNonFormBody() throws IOException {
+		StubRequest stub = StubRequest.post("/").contentType("application/json").body("a=1");
+		ParameterSource source = source(stub);
+
+		assertNull(source.getValues("a"));
+		assertEquals(0, stub.getBytesRead());
+	}
+
+	@Test
+	public void detectsFormContentType() {
+		assertTrue(ParameterSource.isFormBody(StubRequest.post("/").contentType(FORM).build()));
+		assertTrue(ParameterSource.isFormBody(StubRequest.post("/").contentType("Application/X-WWW-Form-Urlencoded;charset=UTF-8").build()));
+		assertTrue(ParameterSource.isFormBody(StubRequest.post("/").contentType(FORM + " ; charset=UTF-8").build()));
+		assertFalse(ParameterSource.isFormBody(StubRequest.post("/").contentType(FORM + "x").build()));
+		assertFalse(ParameterSource.isFormBody(StubRequest.post("/").contentType("multipart/form-data").build()));
+		assertFalse(ParameterSource.isFormBody(StubRequest.post("/").build()));
+	}
+
+	@Test
+	public void formBodyOverLimitIsRejected() throws IOException {
+		ParameterSource source = new ParameterSource();
+		source.reset(StubRequest.post("/").contentType(FORM).body("a=0123456789").build(),
+					 new RequestBodyReader(0, 5, null, null));
+		try {
+			source.getValues("a");
+			fail();
+		} catch (PayloadTooLargeException e) {
+			assertEquals(5, e.getMaxSize());
+		}
+	}
+
+	@Test
+	public void parameterMapDecodesAllParameters() throws IOException {
+		ParameterSource source = source(StubRequest.post("/").contentType(FORM).query("x=1&y%5B%5D=a+b").body("x=2"));
+
+		Map<String, String[]> parameterMap = source.getParameterMap();
+		assertEquals(List.of("x", "y[]"), new ArrayList<>(parameterMap.keySet()));
+		assertArrayEquals(new String[] { "1", "2" }, parameterMap.get("x"));
+		assertArrayEquals(new String[] { "a b" }, parameterMap.get("y[]"));
+		assertSame(parameterMap, source.getParameterMap());
+
+		// getValuesは複製を返却する
+		source.getValues("x")[0] = "changed";
+		assertEquals("1", source.getFirst("x"));
+		try {
+			parameterMap.put("z", new String[0]);
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// 変更不可
+		}
+	}
+
+	@Test
+	public void rawValuesAreNotDecoded() throws IOException {
+		ParameterSource source = source(StubRequest.get("/").query("n=1&m=x&n=%32&n"));
+		List<String> values = new ArrayList<>();
+
+		source.forEachRawValue("n", (bytes, from, to, urlEncoded) ->
+				values.add(new String(bytes, from, to - from, StandardCharsets.ISO_8859_1)));
+
+		assertEquals(List.of("1", "%32", ""), values);
+	}
+
+	@Test
+	public void formRequestIsWrapped() throws IOException {
+		HttpServletRequest request = StubRequest.post("/").contentType(FORM).query("a=1").body("a=2&b=3").build();
+		ParameterSource source = source(request);
+
+		HttpServletRequest wrapper = source.getRequest();
+		assertNotSame(request, wrapper);
+		assertSame(wrapper, source.getRequest());
+		assertEquals("1", wrapper.getParameter("a"));
+		assertArrayEquals(new String[] { "1", "2" }, wrapper.getParameterValues("a"));
+		assertNull(wrapper.getParameter("c"));
+		assertEquals(List.of("a", "b"), Collections.list(wrapper.getParameterNames()));
+	}
+
+	@Test
+	public void nonFormRequestIsNotWrapped() {
+		HttpServletRequest request = StubRequest.get("/").query("a=1").build();
+
+		assertSame(request, source(request).getRequest());
+	}
+
+	@Test
+	public void wrapperKeepsValuesAfterSourceIsReused() throws IOException {
+		ParameterSource source = source(StubRequest.post("/").contentType(FORM).body("a=first"));
+		HttpServletRequest first = source.getRequest();
+		assertEquals("first", first.getParameter("a"));
+
+		source.reset(StubRequest.post("/").contentType(FORM).body("a=second").build(), RequestBodyReader.DEFAULT);
+
+		assertEquals("second", source.getFirst("a"));
+		assertEquals("first", first.getParameter("a"));
+		assertNotSame(first, source.getRequest());
+		assertEquals("second", source.getRequest().getParameter("a"));
+	}
+
+	@Test
+	public void unreadWrapperReadsOwnRequestAfterSourceIsReused() throws IOException {
+		ParameterSource source = source(StubRequest.post("/").contentType(FORM).body("a=first"));
+		HttpServletRequest first = source.getRequest();
+
+		source.reset(StubRequest.post("/").contentType(FORM).body("a=second").build(), RequestBodyReader.DEFAULT);
+		assertEquals("second", source.getFirst("a"));
+
+		assertEquals("first", first.getParameter("a"));
+	}
+
+	@Test
+	public void wrapperReportsBodyFailureAsIllegalState() {
+		ParameterSource source = new ParameterSource();
+		source.reset(StubRequest.post("/").contentType(FORM).body("a=0123456789").build(),
+					 new RequestBodyReader(0, 5, null, null));
+		try {
+			source.getRequest().getParameter("a");
+			fail();
+		} catch (IllegalStateException e) {
+			assertTrue(e.getCause() instanceof PayloadTooLargeException);
+		}
+	}
+
+	private static ParameterSource source(StubRequest stub) {
+		return source(stub.build());
+	}
+
+	private static ParameterSource source(HttpServletRequest request) {
+		ParameterSource source = new ParameterSource();
+		source.reset(request, RequestBodyReader.DEFAULT);
+		return source;
+	}
+
+}
@@ -0,0 +1,196 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.routing.RouteMatch;
+import net.skuratani.simplecontroller4j.stub.StubRequest;
+
+/**
+ * <p>数値配列パーサ テスト</p>
+ */
+public class PrimitiveArrayParserTest {
+
+	@Test
+	public void supportsNumericArraysOnly() {
+		assertTrue(PrimitiveArrayParser.supports(int[].class));
+		assertTrue(PrimitiveArrayParser.supports(long[].class));
+		assertTrue(PrimitiveArrayParser.supports(short[].class));
+		assertTrue(PrimitiveArrayParser.supports(double[].class));
+		assertTrue(PrimitiveArrayParser.supports(float[].class));
+		assertEquals(false, PrimitiveArrayParser.supports(byte[].class));
+		assertEquals(false, PrimitiveArrayParser.supports(Integer[].class));
+	}
+
+	@Test
+	public void returnsNullWhenParameterIsMissing() throws IOException {
+		assertNull(parse("x=1", "v", int.class, -1, -1));
+	}
+
+	@Test
+	public void parsesRepeatedParameters() throws IOException {
+		assertArrayEquals(new int[] { 1, -2, 3 }, (int[]) parse("v=1&x=9&v=-2&v=%2B3", "v", int.class, -1, -1));
+		assertArrayEquals(new long[] { 9000000000L }, (long[]) parse("v=9000000000", "v", long.class, -1, -1));
+		assertArrayEquals(new short[] { -32768, 32767 }, (short[]) parse("v=-32768&v=32767", "v", short.class, -1, -1));
+	}
+
+	@Test
+	public void splitsOnLiteralAndEncodedDelimiter() throws IOException {
+		assertArrayEquals(new int[] { 1, 2, 3, 4 }, (int[]) parse("v=1,2%2C3&v=4", "v", int.class, ',', -1));
+		assertArrayEquals(new int[] { 1, 2 }, (int[]) parse("v=1%2c2", "v", int.class, ',', -1));
+	}
+
+	@Test
+	public void trimsSpacesAndSkipsBlankValues() throws IOException {
+		assertArrayEquals(new int[] { 1, 2 }, (int[]) parse("v=+1+,%202%20&v=&v=++", "v", int.class, ',', -1));
+		assertArrayEquals(new int[0], (int[]) parse("v=", "v", int.class, ',', -1));
+		assertArrayEquals(new int[0], (int[]) parse("v", "v", int.class, -1, -1));
+	}
+
+	@Test
+	public void emptyElementBetweenDelimitersIsInvalid() throws IOException {
+		assertNumberFormat("v=1,,2", int.class, ',');
+		assertNumberFormat("v=1,", int.class, ',');
+		assertNumberFormat("v=,", int.class, ',');
+	}
+
+	@Test
+	public void rejectsOverflow() throws IOException {
+		assertArrayEquals(new int[] { Integer.MAX_VALUE, Integer.MIN_VALUE },
+						  (int[]) parse("v=2147483647&v=-2147483648", "v", int.class, -1, -1));
+		assertNumberFormat("v=2147483648", int.class, -1);
+		assertNumberFormat("v=-2147483649", int.class, -1);
+		assertNumberFormat("v=32768", short.class, -1);
+		assertNumberFormat("v=-32769", short.class, -1);
+		assertArrayEquals(new long[] { Long.MAX_VALUE, Long.MIN_VALUE },
+						  (long[]) parse("v=9223372036854775807&v=-9223372036854775808", "v", long.class, -1, -1));
+		assertNumberFormat("v=9223372036854775808", long.class, -1);
+		assertNumberFormat("v=-9223372036854775809", long.class, -1);
+		assertNumberFormat("v=99999999999999999999999", long.class, -1);
+	}
+
+	@Test
+	public void rejectsMalformedIntegers() throws IOException {
+		assertNumberFormat("v=-", int.class, -1);
+		assertNumberFormat("v=%2B", int.class, -1);
+		assertNumberFormat("v=1.0", int.class, -1);
+		assertNumberFormat("v=1x", int.class, -1);
+		assertNumberFormat("v=1+2", int.class, -1);
+		assertNumberFormat("v=%zz", int.class, -1);
+		assertNumberFormat("v=%EF%BC%91", int.class, -1);
+	}
+
+	@Test
+	public void parsesDecimals() throws IOException {
+		assertArrayEquals(new double[] { 1.5, -0.25, 1e10, 1.5e-3, 0, 123 },
+						  (double[]) parse("v=1.5&v=-0.25&v=1e10&v=1.5E-3&v=0&v=123.", "v", double.class, -1, -1), 0);
+		assertArrayEquals(new float[] { 1.5f, -0.1f, 3e5f },
+						  (float[]) parse("v=1.5,-.1,3e%2B5", "v", float.class, ',', -1), 0);
+	}
+
+	@Test
+	public void decimalFastPathMatchesParseDouble() throws IOException {
+		Random random = new Random(1);
+		StringBuilder query = new StringBuilder();
+		String[] inputs = new String[2000];
+		for (int i = 0; i < inputs.length; i++) {
+			long mantissa = random.nextLong() >>> (random.nextInt(40) + 11);
+			int exponent = random.nextInt(50) - 25;
+			inputs[i] = mantissa + "e" + exponent;
+			query.append(i == 0 ? "" : "&").append("v=").append(inputs[i]);
+		}
+
+		double[] doubles = (double[]) parse(query.toString(), "v", double.class, -1, -1);
+		float[] floats = (float[]) parse(query.toString(), "v", float.class, -1, -1);
+		for (int i = 0; i < inputs.length; i++) {
+			assertEquals(inputs[i], Double.parseDouble(inputs[i]), doubles[i], 0);
+			assertEquals(inputs[i], Float.parseFloat(inputs[i]), floats[i], 0);
+		}
+	}
+
+	@Test
+	public void decimalsOutsideFastPathFallBack() throws IOException {
+		String[] inputs = { "12345678901234567890", "0.1234567890123456789", "1e300", "1e-300", "1e23", "NaN",
+							"-Infinity", "0x1p3", "4.9e-324", "1e400" };
+		StringBuilder query = new StringBuilder();
+		for (String input : inputs) query.append("v=").append(input).append('&');
+
+		double[] values = (double[]) parse(query.toString(), "v", double.class, -1, -1);
+		for (int i = 0; i < inputs.length; i++) {
+			assertEquals(inputs[i], Double.parseDouble(inputs[i]), values[i], 0);
+		}
+	}
+
+	@Test
+	public void rejectsMalformedDecimals() throws IOException {
+		assertNumberFormat("v=.", double.class, -1);
+		assertNumberFormat("v=1e", double.class, -1);
+		assertNumberFormat("v=1e%2B", float.class, -1);
+		assertNumberFormat("v=abc", float.class, -1);
+	}
+
+	@Test
+	public void enforcesMaxLengthBeforeConverting() throws IOException {
+		assertArrayEquals(new int[] { 1, 2, 3 }, (int[]) parse("v=1,2&v=3", "v", int.class, ',', 3));
+		try {
+			// 要素数の判定は変換前に行われる
+			parse("v=1,2&v=x,y", "v", int.class, ',', 3);
+			fail();
+		} catch (NumberFormatException e) {
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("more than 3"));
+		}
+	}
+
+	@Test
+	public void parsesLongTokens() throws IOException {
+		StringBuilder padded = new StringBuilder("v=");
+		for (int i = 0; i < 100; i++) padded.append('0');
+		padded.append("42");
+
+		assertArrayEquals(new int[] { 42 }, (int[]) parse(padded.toString(), "v", int.class, -1, -1));
+	}
+
+	@Test
+	public void readsFormBodyAfterQuery() throws IOException {
+		BindingContext bindingContext = BindingContext.acquire(null, StubRequest.post("/").query("v=1")
+				.contentType("application/x-www-form-urlencoded").body("v=2,3").build(), null, new RouteMatch(null, null),
+				RequestBodyReader.DEFAULT);
+		try {
+			assertArrayEquals(new long[] { 1, 2, 3 },
+							  (long[]) new PrimitiveArrayParser("v", long.class, ',', -1).parse(bindingContext));
+		} finally {
+			bindingContext.release();
+		}
+	}
+
+	private static Object parse(String query, String name, Class<?> componentType, int delimiter, int maxLength)
+		throws IOException {
+		BindingContext bindingContext = BindingContext.acquire(null, StubRequest.get("/").query(query).build(), null,
+															   new RouteMatch(null, null), RequestBodyReader.DEFAULT);
+		try {
+			return new PrimitiveArrayParser(name, componentType, delimiter, maxLength).parse(bindingContext);
+		} finally {
+			bindingContext.release();
+		}
+	}
+
+	private static void assertNumberFormat(String query, Class<?> componentType, int delimiter) throws IOException {
+		try {
+			parse(query, "v", componentType, delimiter, -1);
+			fail(query);
+		} catch (NumberFormatException e) {
+			// 想定通り
+		}
+	}
+
+}
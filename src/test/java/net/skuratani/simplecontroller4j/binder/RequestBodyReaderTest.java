@@ -0,0 +1,213 @@
+package net.skuratani.simplecontroller4j.binder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.multipart.MultipartConfig;
+import net.skuratani.simplecontroller4j.multipart.MultipartException;
+import net.skuratani.simplecontroller4j.routing.RouteMatch;
+import net.skuratani.simplecontroller4j.stub.StubRequest;
+
+/**
+ * <p>リクエストボディーリーダー テスト</p>
+ */
+public class RequestBodyReaderTest {
+
+	@Test
+	public void readsBodyWithContentLength() throws IOException {
+		byte[] body = bytes(100);
+
+		assertArrayEquals(body, RequestBodyReader.DEFAULT.readBytes(StubRequest.post("/").body(body).build(), -1));
+	}
+
+	@Test
+	public void readsChunkedBodyLargerThanInitialChunk() throws IOException {
+		byte[] body = bytes(200 * 1024 + 7);
+		HttpServletRequest request = StubRequest.post("/").body(body).contentLength(-1).chunkSize(1000).build();
+
+		assertArrayEquals(body, RequestBodyReader.DEFAULT.readBytes(request, -1));
+	}
+
+	@Test
+	public void readsEmptyBody() throws IOException {
+		assertEquals(0, RequestBodyReader.DEFAULT.readBytes(StubRequest.post("/").build(), -1).length);
+		assertEquals(0, RequestBodyReader.DEFAULT.readBytes(StubRequest.post("/").contentLength(-1).build(), -1).length);
+	}
+
+	@Test
+	public void forgedContentLengthDoesNotPreallocate() throws IOException {
+		// 無制限のリーダーで、実際のボディーより大きいContent-Lengthを申告する
+		RequestBodyReader reader = new RequestBodyReader(0, null);
+		byte[] body = bytes(10);
+		HttpServletRequest request = StubRequest.post("/").body(body).contentLength(Integer.MAX_VALUE - 1L).build();
+
+		assertArrayEquals(body, reader.readBytes(request, -1));
+	}
+
+	@Test
+	public void contentLengthOverLimitFailsBeforeReading() throws IOException {
+		StubRequest stub = StubRequest.post("/").body(bytes(11));
+
+		assertTooLarge(() -> new RequestBodyReader(10, null).readBytes(stub.build(), -1), 10);
+		assertEquals(0, stub.getBytesRead());
+	}
+
+	@Test
+	public void chunkedBodyOverLimitFails() throws IOException {
+		HttpServletRequest exact = StubRequest.post("/").body(bytes(10)).contentLength(-1).chunkSize(3).build();
+		assertEquals(10, new RequestBodyReader(10, null).readBytes(exact, -1).length);
+
+		HttpServletRequest over = StubRequest.post("/").body(bytes(11)).contentLength(-1).chunkSize(3).build();
+		assertTooLarge(() -> new RequestBodyReader(10, null).readBytes(over, -1), 10);
+	}
+
+	@Test
+	public void defaultLimitIsTwoMegabytes() throws IOException {
+		int max = (int) RequestBodyReader.DEFAULT_MAX_SIZE;
+		HttpServletRequest exact = StubRequest.post("/").body(bytes(max)).contentLength(-1).chunkSize(8192).build();
+		assertEquals(max, RequestBodyReader.DEFAULT.readBytes(exact, -1).length);
+
+		HttpServletRequest over = StubRequest.post("/").body(bytes(max + 1)).contentLength(-1).chunkSize(8192).build();
+		assertTooLarge(() -> RequestBodyReader.DEFAULT.readBytes(over, -1), max);
+	}
+
+	@Test
+	public void explicitLimitOverridesDefault() throws IOException {
+		RequestBodyReader reader = new RequestBodyReader(10, null);
+
+		assertEquals(10, reader.limitOf(-1));
+		assertEquals(20, reader.limitOf(20));
+		assertEquals(0, reader.limitOf(0));
+		assertEquals(20, reader.readBytes(StubRequest.post("/").body(bytes(20)).build(), 20).length);
+		// 0は無制限
+		assertEquals(20, reader.readBytes(StubRequest.post("/").body(bytes(20)).contentLength(-1).build(), 0).length);
+	}
+
+	@Test
+	public void formUsesFormLimit() throws IOException {
+		RequestBodyReader reader = new RequestBodyReader(0, 10, null, MultipartConfig.DEFAULT);
+
+		assertEquals(10, reader.readForm(StubRequest.post("/").body(bytes(10)).build()).length);
+		assertTooLarge(() -> reader.readForm(StubRequest.post("/").body(bytes(11)).contentLength(-1).build()), 10);
+		assertEquals(11, reader.readBytes(StubRequest.post("/").body(bytes(11)).build(), -1).length);
+	}
+
+	@Test
+	public void openStreamEnforcesLimitWhileReading() throws IOException {
+		RequestBodyReader reader = new RequestBodyReader(10, null);
+		InputStream in = reader.openStream(StubRequest.post("/").body(bytes(15)).contentLength(-1).build(), -1);
+
+		assertEquals(10, in.readNBytes(10).length);
+		assertTooLarge(() -> in.read(), 10);
+	}
+
+	@Test
+	public void readsStringInRequestEncoding() throws IOException {
+		HttpServletRequest request = StubRequest.post("/").characterEncoding("UTF-8").body("こんにちは").build();
+
+		assertEquals("こんにちは", RequestBodyReader.DEFAULT.readString(request, -1));
+	}
+
+	@Test
+	public void readStringEnforcesLimit() throws IOException {
+		HttpServletRequest request = StubRequest.post("/").characterEncoding("UTF-8").body("abcdefghijk")
+												.contentLength(-1).build();
+
+		assertTooLarge(() -> new RequestBodyReader(10, null).readString(request, -1), 10);
+	}
+
+	@Test
+	public void readBufferUsesPooledDirectBuffer() throws IOException {
+		ByteBufferPool pool = new ByteBufferPool(1, 16);
+		RequestBodyReader reader = new RequestBodyReader(0, pool);
+		byte[] body = bytes(10);
+
+		BindingContext first = acquire(StubRequest.post("/").body(body).chunkSize(3).build(), reader);
+		ByteBuffer pooled = reader.readBuffer(first, -1);
+		assertTrue(pooled.isDirect());
+		assertEquals(10, pooled.remaining());
+		byte[] read = new byte[10];
+		pooled.get(read);
+		assertArrayEquals(body, read);
+
+		// プールのバッファが使用中の場合はヒープのバッファ
+		BindingContext second = acquire(StubRequest.post("/").body(body).build(), reader);
+		assertFalse(reader.readBuffer(second, -1).isDirect());
+		second.release();
+		first.release();
+
+		BindingContext third = acquire(StubRequest.post("/").body(body).build(), reader);
+		assertSame(pooled, reader.readBuffer(third, -1));
+		third.release();
+	}
+
+	@Test
+	public void readBufferFallsBackForLargeOrChunkedBodies() throws IOException {
+		RequestBodyReader reader = new RequestBodyReader(0, new ByteBufferPool(1, 16));
+
+		BindingContext large = acquire(StubRequest.post("/").body(bytes(17)).build(), reader);
+		assertFalse(reader.readBuffer(large, -1).isDirect());
+		large.release();
+
+		BindingContext chunked = acquire(StubRequest.post("/").body(bytes(5)).contentLength(-1).build(), reader);
+		ByteBuffer buffer = reader.readBuffer(chunked, -1);
+		assertFalse(buffer.isDirect());
+		assertEquals(5, buffer.remaining());
+		chunked.release();
+	}
+
+	@Test
+	public void openMultipartRequiresMultipartContentType() throws IOException {
+		assertNull(RequestBodyReader.DEFAULT.openMultipart(StubRequest.post("/").contentType("text/plain").build(), -1));
+		assertNull(RequestBodyReader.DEFAULT.openMultipart(StubRequest.post("/").build(), -1));
+		try {
+			RequestBodyReader.DEFAULT.openMultipart(StubRequest.post("/").contentType("multipart/form-data").build(), -1);
+			fail();
+		} catch (MultipartException e) {
+			// 想定通り
+		}
+	}
+
+	@Test
+	public void payloadTooLargeReportsLimit() {
+		assertEquals(42, new PayloadTooLargeException(42).getMaxSize());
+	}
+
+	private static BindingContext acquire(HttpServletRequest request, RequestBodyReader reader) {
+		return BindingContext.acquire(null, request, null, new RouteMatch(null, null), reader);
+	}
+
+	private static byte[] bytes(int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) bytes[i] = (byte) (i * 31 + 7);
+		return bytes;
+	}
+
+	private static void assertTooLarge(Action action, long maxSize) throws IOException {
+		try {
+			action.run();
+			fail();
+		} catch (PayloadTooLargeException e) {
+			assertEquals(maxSize, e.getMaxSize());
+		}
+	}
+
+	private interface Action {
+		Object run() throws IOException;
+	}
+
+}
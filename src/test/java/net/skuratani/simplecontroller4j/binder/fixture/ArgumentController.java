@@ -0,0 +1,67 @@
+package net.skuratani.simplecontroller4j.binder.fixture;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import net.skuratani.simplecontroller4j.annotation.Controller;
+import net.skuratani.simplecontroller4j.annotation.Method;
+import net.skuratani.simplecontroller4j.annotation.PathVariable;
+import net.skuratani.simplecontroller4j.annotation.RequestBody;
+import net.skuratani.simplecontroller4j.annotation.RequestParam;
+import net.skuratani.simplecontroller4j.annotation.Route;
+
+/**
+ * <p>引数解決プランテスト用コントローラ</p>
+ */
+@Controller
+public class ArgumentController {
+
+	@Route(path = "/items/{id:int}/{rate:float}/{name}", method = Method.GET)
+	public void path(HttpServletResponse response, @PathVariable("name") String name, @PathVariable("id") int id,
+					 @PathVariable("rate") float rate, HttpServletRequest request, ServletContext context) {
+	}
+
+	@Route(path = "/convert/{id:int}", method = Method.GET)
+	public void convert(@PathVariable("id") String id, @PathVariable("id") long longId,
+						@PathVariable("missing") String missing) {
+	}
+
+	@Route(path = "/params", method = Method.GET)
+	public void params(@RequestParam("id") int id, @RequestParam("tags") String[] tags,
+					   @RequestParam(value = "csv", split = ",") String[] csv, @RequestParam("missing") Integer missing,
+					   Object untyped) {
+	}
+
+	@Route(path = "/limited", method = Method.GET)
+	public void limited(@RequestParam(value = "csv", split = ",", maxLength = 2) String[] csv,
+						@RequestParam(value = "all", maxLength = 2) String[] all) {
+	}
+
+	@Route(path = "/defaults", method = Method.GET)
+	public void defaults(@RequestParam(value = "csv", split = ",") String[] csv, @RequestParam("all") String[] all) {
+	}
+
+	@Route(path = "/numbers", method = Method.GET)
+	public void numbers(@RequestParam(value = "csv", split = ",") int[] csv, @RequestParam("all") long[] all) {
+	}
+
+	@Route(path = "/servlet", method = Method.GET)
+	public void servlet(Object object, ServletRequest request, ServletResponse response) {
+	}
+
+	@Route(path = "/body", method = Method.POST)
+	public void body(@RequestBody String body) {
+	}
+
+	@Route(path = "/none", method = Method.GET)
+	public void none() {
+	}
+
+	/** 区切り文字が不正な引数（コントローラとして登録しない） */
+	public void invalidSplit(@RequestParam(value = "x", split = ";;") String[] x) {
+	}
+
+}
@@ -0,0 +1,18 @@
+package net.skuratani.simplecontroller4j.binder.fixture;
+
+/**
+ * <p>パラメータ格納クラスのテスト用親クラス</p>
+ */
+public class BaseForm {
+
+	private long id;
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long id) {
+		this.id = id;
+	}
+
+}
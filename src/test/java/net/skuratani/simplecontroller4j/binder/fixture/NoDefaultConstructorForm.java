@@ -0,0 +1,14 @@
+package net.skuratani.simplecontroller4j.binder.fixture;
+
+/**
+ * <p>引数なしのコンストラクタがないパラメータ格納クラス</p>
+ */
+public class NoDefaultConstructorForm {
+
+	public String name;
+
+	public NoDefaultConstructorForm(String name) {
+		this.name = name;
+	}
+
+}
@@ -0,0 +1,77 @@
+package net.skuratani.simplecontroller4j.binder.fixture;
+
+import java.util.List;
+
+/**
+ * <p>パラメータ格納クラスのテスト用クラス</p>
+ */
+public class UserForm extends BaseForm {
+
+	private String name;
+	private int age;
+	private Integer score;
+	private Color color;
+	private List<String> tags;
+
+	/** セッターがないpublicフィールド */
+	public String note;
+
+	/** セッターもpublicフィールドもないためバインドしない */
+	@SuppressWarnings("unused")
+	private String secret;
+
+	/** 静的フィールドはバインドしない */
+	public static String shared;
+
+	/** テスト用列挙型 */
+	public enum Color {
+		RED, BLUE
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/** セッターで値を加工する */
+	public void setName(String name) {
+		this.name = name.trim();
+	}
+
+	public int getAge() {
+		return age;
+	}
+
+	public void setAge(int age) {
+		if (age < 0) throw new IllegalStateException("negative age");
+		this.age = age;
+	}
+
+	public Integer getScore() {
+		return score;
+	}
+
+	public void setScore(Integer score) {
+		this.score = score;
+	}
+
+	public Color getColor() {
+		return color;
+	}
+
+	public void setColor(Color color) {
+		this.color = color;
+	}
+
+	public List<String> getTags() {
+		return tags;
+	}
+
+	public void setTags(List<String> tags) {
+		this.tags = tags;
+	}
+
+	public String getSecret() {
+		return secret;
+	}
+
+}
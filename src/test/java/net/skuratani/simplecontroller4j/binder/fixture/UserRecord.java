@@ -0,0 +1,12 @@
+package net.skuratani.simplecontroller4j.binder.fixture;
+
+/**
+ * <p>パラメータ格納レコードのテスト用クラス</p>
+ */
+public record UserRecord(String name, int age, boolean active) {
+
+	public UserRecord {
+		if (name != null && name.isEmpty()) throw new IllegalArgumentException("empty name");
+	}
+
+}
@@ -0,0 +1,185 @@
+package net.skuratani.simplecontroller4j.converter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.converter.fixture.Point;
+
+/**
+ * <p>型変換レジストリ テスト</p>
+ */
+public class ConverterRegistryTest {
+
+	/** テスト用列挙型 */
+	public enum Color {
+		RED, GREEN
+	}
+
+	/** テスト用の値クラス */
+	public static final class Money {
+		final long cents;
+
+		Money(long cents) {
+			this.cents = cents;
+		}
+	}
+
+	private final ConverterRegistry registry = new ConverterRegistry();
+
+	@Test
+	public void convertsPrimitivesAndWrappers() {
+		assertEquals(Boolean.TRUE, convert(boolean.class, "true"));
+		assertEquals(Boolean.FALSE, convert(Boolean.class, "yes"));
+		assertEquals(-12, convert(int.class, "-12"));
+		assertEquals(12, convert(Integer.class, "12"));
+		assertEquals(Long.MAX_VALUE, convert(long.class, "9223372036854775807"));
+		assertEquals((short) 7, convert(Short.class, "7"));
+		assertEquals((byte) -128, convert(byte.class, "-128"));
+		assertEquals('x', convert(char.class, "x"));
+		assertEquals(1.5f, convert(float.class, "1.5"));
+		assertEquals(2.25, convert(Double.class, "2.25"));
+	}
+
+	@Test
+	public void convertsValueTypes() {
+		assertEquals("text", convert(String.class, "text"));
+		assertEquals(new BigDecimal("1.10"), convert(BigDecimal.class, "1.10"));
+		assertEquals(new BigInteger("123456789012345678901234567890"),
+					 convert(BigInteger.class, "123456789012345678901234567890"));
+		UUID uuid = UUID.randomUUID();
+		assertEquals(uuid, convert(UUID.class, uuid.toString()));
+		assertEquals(LocalDate.of(2024, 2, 29), convert(LocalDate.class, "2024-02-29"));
+		assertEquals(LocalDateTime.of(2024, 1, 2, 3, 4, 5), convert(LocalDateTime.class, "2024-01-02T03:04:05"));
+		assertEquals(LocalTime.of(12, 30), convert(LocalTime.class, "12:30"));
+		assertEquals(Instant.EPOCH, convert(Instant.class, "1970-01-01T00:00:00Z"));
+		assertEquals(Duration.ofMinutes(90), convert(Duration.class, "PT1H30M"));
+	}
+
+	@Test
+	public void convertsEnumsByConstantName() {
+		assertSame(Color.GREEN, convert(Color.class, "GREEN"));
+		assertSame(registry.find(Color.class), registry.find(Color.class));
+		assertIllegalArgument(Color.class, "green");
+	}
+
+	@Test
+	public void rejectsMalformedAndOverflowingValues() {
+		assertIllegalArgument(int.class, "2147483648");
+		assertIllegalArgument(byte.class, "128");
+		assertIllegalArgument(long.class, "1.0");
+		assertIllegalArgument(Integer.class, "");
+		assertIllegalArgument(char.class, "ab");
+		assertIllegalArgument(char.class, "");
+		assertIllegalArgument(LocalDate.class, "2023-02-29");
+		assertIllegalArgument(UUID.class, "not-a-uuid");
+		assertIllegalArgument(BigDecimal.class, "1e");
+	}
+
+	@Test
+	public void unknownTypesHaveNoConverter() {
+		assertNull(registry.find(Money.class));
+		assertNull(registry.find(Object.class));
+		assertNull(registry.arrayConverter(Money.class));
+	}
+
+	@Test
+	public void registeredConverterIsFound() {
+		registry.register(Money.class, value -> new Money(Long.parseLong(value) * 100));
+
+		assertEquals(500L, ((Money) convert(Money.class, "5")).cents);
+		Money[] array = (Money[]) registry.arrayConverter(Money.class).apply(new String[] {"1", "2"});
+		assertEquals(200L, array[1].cents);
+	}
+
+	@Test
+	public void registeredConverterOverridesBuiltin() {
+		registry.register(int.class, value -> Integer.parseInt(value.trim()));
+
+		assertEquals(3, convert(int.class, " 3 "));
+	}
+
+	@Test
+	public void convertsPrimitiveArrays() {
+		assertArrayEquals(new int[] {1, -2}, (int[]) array(int.class, "1", "-2"));
+		assertArrayEquals(new long[] {3L}, (long[]) array(long.class, "3"));
+		assertArrayEquals(new short[] {4}, (short[]) array(short.class, "4"));
+		assertArrayEquals(new byte[] {5}, (byte[]) array(byte.class, "5"));
+		assertArrayEquals(new char[] {'a', 'b'}, (char[]) array(char.class, "a", "b"));
+		assertArrayEquals(new float[] {1.5f}, (float[]) array(float.class, "1.5"), 0f);
+		assertArrayEquals(new double[] {2.5}, (double[]) array(double.class, "2.5"), 0d);
+		boolean[] booleans = (boolean[]) array(boolean.class, "true", "false");
+		assertEquals(true, booleans[0]);
+		assertEquals(false, booleans[1]);
+	}
+
+	@Test
+	public void convertsReferenceArrays() {
+		assertArrayEquals(new Integer[] {1, 2}, (Integer[]) array(Integer.class, "1", "2"));
+		assertArrayEquals(new Color[] {Color.RED}, (Color[]) array(Color.class, "RED"));
+		assertEquals(0, ((Integer[]) array(Integer.class)).length);
+	}
+
+	@Test
+	public void stringArrayIsCopied() {
+		String[] values = {"a", "b"};
+		String[] converted = (String[]) registry.arrayConverter(String.class).apply(values);
+
+		assertArrayEquals(values, converted);
+		assertNotSame(values, converted);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void arrayConversionFailsOnInvalidElement() {
+		array(int.class, "1", "x");
+	}
+
+	@Test
+	public void defaultRegistryIsShared() {
+		assertSame(ConverterRegistry.getDefault(), ConverterRegistry.getDefault());
+	}
+
+	@Test
+	public void defaultRegistryLoadsConverterProviders() {
+		Point point = (Point) ConverterRegistry.getDefault().find(Point.class).convert("3,4");
+
+		assertEquals(3, point.getX());
+		assertEquals(4, point.getY());
+		// 新規に生成したレジストリには登録されない
+		assertNull(registry.find(Point.class));
+	}
+
+	private Object convert(Class<?> type, String value) {
+		return registry.find(type).convert(value);
+	}
+
+	private Object array(Class<?> componentType, String... values) {
+		Function<String[], Object> converter = registry.arrayConverter(componentType);
+		return converter.apply(values);
+	}
+
+	private void assertIllegalArgument(Class<?> type, String value) {
+		try {
+			convert(type, value);
+			fail(type.getName() + " : " + value);
+		} catch (IllegalArgumentException e) {
+			// 想定通り（NumberFormatExceptionを含む）
+		}
+	}
+
+}
@@ -0,0 +1,30 @@
+package net.skuratani.simplecontroller4j.converter.fixture;
+
+/**
+ * <p>型変換プロバイダテスト用の値クラス（「x,y」形式）</p>
+ */
+public final class Point {
+
+	private final int x;
+	private final int y;
+
+	public Point(int x, int y) {
+		this.x = x;
+		this.y = y;
+	}
+
+	public static Point parse(String value) {
+		int comma = value.indexOf(',');
+		if (comma < 0) throw new IllegalArgumentException("not a point : " + value);
+		return new Point(Integer.parseInt(value.substring(0, comma)), Integer.parseInt(value.substring(comma + 1)));
+	}
+
+	public int getX() {
+		return x;
+	}
+
+	public int getY() {
+		return y;
+	}
+
+}
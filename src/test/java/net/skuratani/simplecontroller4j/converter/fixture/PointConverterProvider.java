@@ -0,0 +1,16 @@
+package net.skuratani.simplecontroller4j.converter.fixture;
+
+import net.skuratani.simplecontroller4j.converter.ConverterProvider;
+import net.skuratani.simplecontroller4j.converter.ConverterRegistry;
+
+/**
+ * <p>型変換プロバイダテスト用プロバイダ</p>
+ */
+public class PointConverterProvider implements ConverterProvider {
+
+	@Override
+	public void register(ConverterRegistry registry) {
+		registry.register(Point.class, Point::parse);
+	}
+
+}
@@ -0,0 +1,251 @@
+package net.skuratani.simplecontroller4j.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.annotation.JoinPoint;
+import net.skuratani.simplecontroller4j.aspect.RequestSnapshot;
+import net.skuratani.simplecontroller4j.aspectmapping.AspectMapping;
+import net.skuratani.simplecontroller4j.execute.AsyncAdviceExecutor.OverflowPolicy;
+import net.skuratani.simplecontroller4j.execute.fixture.AsyncAspects;
+import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
+import net.skuratani.simplecontroller4j.stub.StubRequest;
+import net.skuratani.simplecontroller4j.stub.StubResponse;
+
+/**
+ * <p>非同期アドバイス実行 テスト</p>
+ */
+public class AsyncAdviceExecutorTest {
+
+	private AsyncAdviceExecutor asyncExecutor;
+
+	@Before
+	public void setUp() {
+		AsyncAspects.EVENTS.clear();
+		AsyncAspects.SNAPSHOTS.clear();
+	}
+
+	@After
+	public void tearDown() {
+		if (asyncExecutor != null) asyncExecutor.shutdown(1000);
+	}
+
+	@Test
+	public void runsTaskOnDaemonWorkerThread() throws Exception {
+		asyncExecutor = new AsyncAdviceExecutor(1, 10, OverflowPolicy.DISCARD);
+		AtomicReference<Thread> worker = new AtomicReference<>();
+		CountDownLatch done = new CountDownLatch(1);
+
+		asyncExecutor.submit(() -> {
+			worker.set(Thread.currentThread());
+			done.countDown();
+		});
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertNotEquals(Thread.currentThread(), worker.get());
+		assertTrue(worker.get().isDaemon());
+		assertTrue(worker.get().getName().startsWith("simplecontroller4j-advice-"));
+		assertEquals(1, asyncExecutor.getSubmittedCount());
+	}
+
+	@Test
+	public void discardPolicyDropsOverflow() throws Exception {
+		asyncExecutor = new AsyncAdviceExecutor(1, 1, OverflowPolicy.DISCARD);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicInteger completed = new AtomicInteger();
+
+		asyncExecutor.submit(() -> {
+			started.countDown();
+			await(release);
+			completed.incrementAndGet();
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		asyncExecutor.submit(completed::incrementAndGet);
+		asyncExecutor.submit(completed::incrementAndGet);
+
+		assertEquals(1, asyncExecutor.getQueuedCount());
+		assertEquals(1, asyncExecutor.getDroppedCount());
+		assertEquals(3, asyncExecutor.getSubmittedCount());
+		release.countDown();
+		assertTrue(asyncExecutor.shutdown(5000));
+		assertEquals(2, completed.get());
+	}
+
+	@Test
+	public void callerRunsPolicyRunsOverflowOnCallerThread() throws Exception {
+		asyncExecutor = new AsyncAdviceExecutor(1, 1, OverflowPolicy.CALLER_RUNS);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		asyncExecutor.submit(() -> {
+			started.countDown();
+			await(release);
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		asyncExecutor.submit(() -> { });
+
+		AtomicReference<Thread> runner = new AtomicReference<>();
+		asyncExecutor.submit(() -> runner.set(Thread.currentThread()));
+
+		assertSame(Thread.currentThread(), runner.get());
+		assertEquals(0, asyncExecutor.getDroppedCount());
+		release.countDown();
+	}
+
+	@Test
+	public void failingTaskIsCountedAndWorkerSurvives() throws Exception {
+		asyncExecutor = new AsyncAdviceExecutor(1, 10, OverflowPolicy.DISCARD);
+		CountDownLatch done = new CountDownLatch(1);
+
+		asyncExecutor.submit(() -> {
+			throw new IllegalStateException("advice failure (expected by test)");
+		});
+		asyncExecutor.submit(done::countDown);
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertTrue(asyncExecutor.shutdown(5000));
+		assertEquals(1, asyncExecutor.getFailedCount());
+	}
+
+	@Test
+	public void shutdownDrainsQueueAndRejectsNewTasks() throws Exception {
+		asyncExecutor = new AsyncAdviceExecutor(1, 10, OverflowPolicy.CALLER_RUNS);
+		AtomicInteger completed = new AtomicInteger();
+		for (int i = 0; i < 5; i++) asyncExecutor.submit(completed::incrementAndGet);
+
+		assertTrue(asyncExecutor.shutdown(5000));
+		assertEquals(5, completed.get());
+
+		// 終了後はCALLER_RUNSでも実行せずに破棄する
+		asyncExecutor.submit(completed::incrementAndGet);
+		assertEquals(5, completed.get());
+		assertEquals(1, asyncExecutor.getDroppedCount());
+	}
+
+	@Test
+	public void shutdownTimeoutDropsQueuedTasks() throws Exception {
+		asyncExecutor = new AsyncAdviceExecutor(1, 10, OverflowPolicy.DISCARD);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		asyncExecutor.submit(() -> {
+			started.countDown();
+			await(release);
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		asyncExecutor.submit(() -> { });
+		asyncExecutor.submit(() -> { });
+
+		assertFalse(asyncExecutor.shutdown(50));
+		assertEquals(2, asyncExecutor.getDroppedCount());
+		release.countDown();
+	}
+
+	@Test
+	public void executorDefersAsyncAdviceUntilSubmitted() throws Exception {
+		asyncExecutor = new AsyncAdviceExecutor(1, 10, OverflowPolicy.DISCARD);
+		Executor executor = new Executor(null, asyncExecutor);
+		HttpServletRequest request = StubRequest.get("/users").query("id=1").parameter("id", "1").build();
+		StubResponse stubResponse = new StubResponse();
+		HttpServletResponse response = stubResponse.build();
+		RequestMapping requestMapping = new RequestMapping();
+
+		executor.executeAspect(request, response, List.of(advice("audit", JoinPoint.AFTER_RETURNING)),
+							   JoinPoint.AFTER_RETURNING);
+		executor.executeAspect(request, response, List.of(advice("sync", JoinPoint.AFTER), advice("log", JoinPoint.AFTER)),
+							   JoinPoint.AFTER);
+		// 同期のアドバイスのみ実行済み
+		assertEquals(List.of("sync:" + Thread.currentThread().getName()), AsyncAspects.EVENTS);
+
+		response.setStatus(201);
+		executor.submitDeferred(request, response, requestMapping, "result");
+		assertTrue(asyncExecutor.shutdown(5000));
+
+		assertEquals(3, AsyncAspects.EVENTS.size());
+		assertTrue(AsyncAspects.EVENTS.get(1).startsWith("audit:simplecontroller4j-advice-"));
+		assertTrue(AsyncAspects.EVENTS.get(2).startsWith("log:simplecontroller4j-advice-"));
+		// スナップショットは1度だけ生成し、全ての非同期アドバイスで共有する
+		assertEquals(2, AsyncAspects.SNAPSHOTS.size());
+		RequestSnapshot snapshot = AsyncAspects.SNAPSHOTS.get(0);
+		assertSame(snapshot, AsyncAspects.SNAPSHOTS.get(1));
+		assertEquals("GET", snapshot.getMethod());
+		assertEquals("/users", snapshot.getRequestUri());
+		assertEquals("id=1", snapshot.getQueryString());
+		assertEquals("1", snapshot.getParameter("id"));
+		assertEquals(201, snapshot.getStatus());
+		assertSame(requestMapping, snapshot.getRequestMapping());
+		assertEquals("result", snapshot.getResult());
+	}
+
+	@Test
+	public void submitDeferredRunsInlineWithoutAsyncExecutor() throws Exception {
+		Executor executor = new Executor();
+		HttpServletRequest request = StubRequest.get("/").build();
+		HttpServletResponse response = new StubResponse().build();
+		executor.executeAspect(request, response, List.of(advice("audit", JoinPoint.AFTER_RETURNING)),
+							   JoinPoint.AFTER_RETURNING);
+
+		executor.submitDeferred(request, response, new RequestMapping(), null);
+
+		assertEquals(List.of("audit:" + Thread.currentThread().getName()), AsyncAspects.EVENTS);
+		// 実行依頼後は保留中のアドバイスが残らない
+		executor.submitDeferred(request, response, new RequestMapping(), null);
+		assertEquals(1, AsyncAspects.EVENTS.size());
+	}
+
+	@Test
+	public void snapshotCopiesParameterValues() {
+		String[] values = { "a" };
+		HttpServletRequest request = StubRequest.get("/").parameter("p", values).build();
+
+		RequestSnapshot snapshot = new RequestSnapshot(request, new StubResponse().build(), null, null);
+		values[0] = "changed";
+
+		assertEquals("a", snapshot.getParameter("p"));
+		Map<String, String[]> parameterMap = snapshot.getParameterMap();
+		try {
+			parameterMap.clear();
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// 変更不可
+		}
+	}
+
+	private static AspectMapping advice(String methodName, JoinPoint joinPoint) {
+		AspectMapping aspectMapping = new AspectMapping();
+		aspectMapping.setAspectClass(AsyncAspects.class);
+		for (Method method : AsyncAspects.class.getDeclaredMethods()) {
+			if (method.getName().equals(methodName)) aspectMapping.setAspectMethod(method);
+		}
+		aspectMapping.setJoinPoint(joinPoint);
+		aspectMapping.setAsync(aspectMapping.getArgumentTypes()[0] == RequestSnapshot.class);
+		return aspectMapping;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,167 @@
+package net.skuratani.simplecontroller4j.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.annotation.JoinPoint;
+import net.skuratani.simplecontroller4j.aspectmapping.AspectMapping;
+import net.skuratani.simplecontroller4j.execute.fixture.AroundAspects;
+import net.skuratani.simplecontroller4j.execute.fixture.AroundAspects.ArgumentAspect;
+import net.skuratani.simplecontroller4j.execute.fixture.AroundAspects.LegacyAspect;
+import net.skuratani.simplecontroller4j.execute.fixture.AroundAspects.ShortCircuitAspect;
+import net.skuratani.simplecontroller4j.execute.fixture.AroundAspects.TimingAspect;
+import net.skuratani.simplecontroller4j.execute.fixture.AroundAspects.TwiceAspect;
+import net.skuratani.simplecontroller4j.execute.fixture.AroundAspects.VoidAspect;
+import net.skuratani.simplecontroller4j.execute.fixture.AroundAspects.WrappingAspect;
+import net.skuratani.simplecontroller4j.stub.StubRequest;
+
+/**
+ * <p>Aroundアスペクト実行 テスト</p>
+ */
+public class ExecutorAroundTest {
+
+	private final Executor executor = new Executor();
+	private final HttpServletRequest request = StubRequest.get("/").build();
+	private final AtomicInteger handlerCalls = new AtomicInteger();
+
+	@Before
+	public void setUp() {
+		AroundAspects.EVENTS.clear();
+	}
+
+	@Test
+	public void withoutAdviceInvokesHandler() throws Exception {
+		assertEquals("handler", around(Collections.emptyList()));
+		assertEquals(1, handlerCalls.get());
+	}
+
+	@Test
+	public void proceedInvokesHandlerOnceInsideAdvice() throws Exception {
+		assertEquals("handler", around(List.of(advice(TimingAspect.class))));
+
+		assertEquals(1, handlerCalls.get());
+		assertEquals(List.of("timing:before", "handler", "timing:after"), AroundAspects.EVENTS);
+	}
+
+	@Test
+	public void adviceIsNestedInChainOrder() throws Exception {
+		assertEquals("[handler]", around(List.of(advice(TimingAspect.class), advice(WrappingAspect.class))));
+
+		assertEquals(List.of("timing:before", "wrapping", "handler", "timing:after"), AroundAspects.EVENTS);
+		assertEquals(1, handlerCalls.get());
+	}
+
+	@Test
+	public void adviceCanShortCircuitHandler() throws Exception {
+		assertEquals("cached", around(List.of(advice(TimingAspect.class), advice(ShortCircuitAspect.class),
+											  advice(WrappingAspect.class))));
+
+		assertEquals(0, handlerCalls.get());
+		assertEquals(List.of("timing:before", "short-circuit", "timing:after"), AroundAspects.EVENTS);
+	}
+
+	@Test
+	public void voidAdviceReturnsProceedResult() throws Exception {
+		assertEquals("handler", around(List.of(advice(VoidAspect.class))));
+
+		assertEquals(List.of("handler", "void:handler"), AroundAspects.EVENTS);
+	}
+
+	@Test
+	public void adviceWithoutJoinPointRunsBeforeAndAfterOnSameInstance() throws Exception {
+		assertEquals("handler", around(List.of(advice(LegacyAspect.class))));
+
+		assertEquals(List.of("legacy:1", "handler", "legacy:2"), AroundAspects.EVENTS);
+	}
+
+	@Test
+	public void proceedingTwiceFails() throws Exception {
+		try {
+			around(List.of(advice(TwiceAspect.class)));
+			fail();
+		} catch (InvocationTargetException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+		assertEquals(1, handlerCalls.get());
+	}
+
+	@Test
+	public void handlerExceptionPropagatesThroughAdvice() throws Exception {
+		IOException failure = new IOException("handler failed");
+		try {
+			executor.executeAround(request, null, null, new Object[0], List.of(advice(TimingAspect.class)), () -> {
+				throw failure;
+			});
+			fail();
+		} catch (InvocationTargetException e) {
+			assertSame(failure, e.getCause());
+		}
+		assertEquals(List.of("timing:before", "timing:after"), AroundAspects.EVENTS);
+	}
+
+	@Test
+	public void adviceCanReplaceArguments() throws Exception {
+		Object[] args = { "original" };
+		List<Object> seen = new ArrayList<>();
+
+		executor.executeAround(request, null, null, args, List.of(advice(ArgumentAspect.class)), () -> {
+			seen.add(args[0]);
+			return null;
+		});
+
+		assertEquals(List.of("changed"), seen);
+	}
+
+	@Test
+	public void eachAdviceIsInstantiatedOncePerInvocation() throws Exception {
+		around(List.of(advice(LegacyAspect.class), advice(LegacyAspect.class)));
+
+		// それぞれのアスペクトマッピングが自身のインスタンスで前後2回実行される
+		assertEquals(List.of("legacy:1", "legacy:1", "handler", "legacy:2", "legacy:2"), AroundAspects.EVENTS);
+	}
+
+	@Test
+	public void aspectArgumentsFollowParameterTypes() throws Exception {
+		Object[] args = executor.aspectArguments(advice(LegacyAspect.class), request, null, null);
+
+		assertEquals(1, args.length);
+		assertSame(request, args[0]);
+		assertNull(executor.aspectArguments(advice(TimingAspect.class), request, null, null)[0]);
+	}
+
+	private Object around(List<AspectMapping> aspectMappings) throws Exception {
+		return executor.executeAround(request, null, null, new Object[0], aspectMappings, () -> {
+			handlerCalls.incrementAndGet();
+			AroundAspects.EVENTS.add("handler");
+			return "handler";
+		});
+	}
+
+	private static AspectMapping advice(Class<?> aspectClass) {
+		Method method = Arrays.stream(aspectClass.getDeclaredMethods())
+				.filter(declared -> declared.getName().equals("around")).findFirst().orElseThrow();
+		AspectMapping aspectMapping = new AspectMapping();
+		aspectMapping.setAspectClass(aspectClass);
+		aspectMapping.setAspectMethod(method);
+		aspectMapping.setJoinPoint(JoinPoint.AROUND);
+		return aspectMapping;
+	}
+
+}
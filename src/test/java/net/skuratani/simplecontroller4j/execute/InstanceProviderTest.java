@@ -0,0 +1,120 @@
+package net.skuratani.simplecontroller4j.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.annotation.Scope;
+import net.skuratani.simplecontroller4j.execute.fixture.ScopedClasses.InheritedStateController;
+import net.skuratani.simplecontroller4j.execute.fixture.ScopedClasses.NoDefaultConstructorController;
+import net.skuratani.simplecontroller4j.execute.fixture.ScopedClasses.PlainClass;
+import net.skuratani.simplecontroller4j.execute.fixture.ScopedClasses.RequestAspect;
+import net.skuratani.simplecontroller4j.execute.fixture.ScopedClasses.SingletonController;
+import net.skuratani.simplecontroller4j.execute.fixture.ScopedClasses.StatefulController;
+import net.skuratani.simplecontroller4j.execute.fixture.ScopedClasses.StatelessAspect;
+import net.skuratani.simplecontroller4j.execute.fixture.ScopedClasses.StatelessController;
+
+/**
+ * <p>インスタンス提供 テスト</p>
+ */
+public class InstanceProviderTest {
+
+	private static final List<Class<?>> CLASSES = Arrays.asList(StatelessController.class, StatefulController.class,
+			InheritedStateController.class, SingletonController.class, RequestAspect.class, StatelessAspect.class);
+
+	@Test
+	public void isStatelessIgnoresStaticAndFinalFields() {
+		assertTrue(InstanceProvider.isStateless(StatelessController.class));
+		assertTrue(InstanceProvider.isStateless(PlainClass.class));
+		assertFalse(InstanceProvider.isStateless(StatefulController.class));
+		assertFalse(InstanceProvider.isStateless(InheritedStateController.class));
+	}
+
+	@Test
+	public void scopeOfResolvesAuto() {
+		assertEquals(Scope.SINGLETON, InstanceProvider.scopeOf(StatelessController.class));
+		assertEquals(Scope.PROTOTYPE, InstanceProvider.scopeOf(StatefulController.class));
+		assertEquals(Scope.PROTOTYPE, InstanceProvider.scopeOf(InheritedStateController.class));
+		assertEquals(Scope.SINGLETON, InstanceProvider.scopeOf(StatelessAspect.class));
+	}
+
+	@Test
+	public void scopeOfKeepsExplicitScope() {
+		assertEquals(Scope.SINGLETON, InstanceProvider.scopeOf(SingletonController.class));
+		assertEquals(Scope.REQUEST, InstanceProvider.scopeOf(RequestAspect.class));
+		assertNull(InstanceProvider.scopeOf(PlainClass.class));
+	}
+
+	@Test
+	public void singletonIsCreatedOnceAtConstruction() throws Exception {
+		SingletonController.CREATED.set(0);
+		InstanceProvider provider = new InstanceProvider(CLASSES);
+		assertEquals(1, SingletonController.CREATED.get());
+
+		Object first = provider.getInstance(SingletonController.class, new HashMap<>());
+		Object second = provider.getInstance(SingletonController.class, new HashMap<>());
+
+		assertSame(first, second);
+		assertEquals(1, SingletonController.CREATED.get());
+		assertSame(provider.getInstance(StatelessController.class, null),
+				   provider.getInstance(StatelessController.class, null));
+	}
+
+	@Test
+	public void prototypeIsCreatedPerCall() throws Exception {
+		InstanceProvider provider = new InstanceProvider(CLASSES);
+		Map<Class<?>, Object> requestInstances = new HashMap<>();
+
+		assertNotSame(provider.getInstance(StatefulController.class, requestInstances),
+					  provider.getInstance(StatefulController.class, requestInstances));
+		assertTrue(requestInstances.isEmpty());
+	}
+
+	@Test
+	public void requestScopeIsSharedWithinRequest() throws Exception {
+		InstanceProvider provider = new InstanceProvider(CLASSES);
+		Map<Class<?>, Object> firstRequest = new HashMap<>();
+		Map<Class<?>, Object> secondRequest = new HashMap<>();
+
+		Object first = provider.getInstance(RequestAspect.class, firstRequest);
+		assertSame(first, provider.getInstance(RequestAspect.class, firstRequest));
+		assertSame(first, firstRequest.get(RequestAspect.class));
+		assertNotSame(first, provider.getInstance(RequestAspect.class, secondRequest));
+	}
+
+	@Test
+	public void unregisteredClassIsPrototype() throws Exception {
+		InstanceProvider provider = new InstanceProvider(CLASSES);
+
+		assertEquals(Scope.PROTOTYPE, provider.getScope(PlainClass.class));
+		assertNotNull(provider.getInstance(PlainClass.class, null));
+		assertNotSame(provider.getInstance(PlainClass.class, null), provider.getInstance(PlainClass.class, null));
+	}
+
+	@Test
+	public void getScopeReturnsResolvedScope() throws Exception {
+		InstanceProvider provider = new InstanceProvider(CLASSES);
+
+		assertEquals(Scope.SINGLETON, provider.getScope(StatelessController.class));
+		assertEquals(Scope.PROTOTYPE, provider.getScope(StatefulController.class));
+		assertEquals(Scope.REQUEST, provider.getScope(RequestAspect.class));
+	}
+
+	@Test(expected = NoSuchMethodException.class)
+	public void rejectsClassWithoutDefaultConstructor() throws Exception {
+		new InstanceProvider(Collections.singletonList(NoDefaultConstructorController.class));
+	}
+
+}
@@ -0,0 +1,175 @@
+package net.skuratani.simplecontroller4j.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.execute.fixture.InvokeTarget;
+
+/**
+ * <p>メソッド実行オブジェクト テスト</p>
+ */
+public class MethodInvokerTest {
+
+	private final InvokeTarget target = new InvokeTarget();
+
+	@Test
+	public void returnsSameInvokerForMethod() throws Exception {
+		Method method = method("intArg", int.class);
+
+		assertSame(MethodInvoker.forMethod(method), MethodInvoker.forMethod(method));
+		assertSame(MethodInvoker.forMethod(method), MethodInvoker.forMethod(method("intArg", int.class)));
+		assertEquals(method, MethodInvoker.forMethod(method).getMethod());
+	}
+
+	@Test
+	public void invokesInstanceStaticAndVoidMethods() throws Exception {
+		assertEquals("a1:2", invoke("concat", new Class<?>[] {String.class, int.class, long.class}, "a", 1, 2L));
+		assertEquals("static:x", MethodInvoker.forMethod(method("staticEcho", String.class))
+											  .invoke(null, new Object[] {"x"}));
+		assertNull(invoke("returnsVoid", new Class<?>[0]));
+	}
+
+	@Test
+	public void widensPrimitiveArgumentsLikeMethodInvoke() throws Exception {
+		assertEquals(5L, invoke("longArg", new Class<?>[] {long.class}, 5));
+		assertEquals(5.0, invoke("doubleArg", new Class<?>[] {double.class}, 5));
+		assertEquals(97, invoke("intArg", new Class<?>[] {int.class}, 'a'));
+		assertEquals(1.5, invoke("doubleArg", new Class<?>[] {double.class}, 1.5f));
+		assertEquals("a3:4", invoke("concat", new Class<?>[] {String.class, int.class, long.class},
+									"a", (short) 3, (byte) 4));
+	}
+
+	@Test
+	public void matchesMethodInvokeForAllArgumentCombinations() throws Exception {
+		String[] names = {"byteArg", "shortArg", "charArg", "intArg", "longArg", "floatArg", "doubleArg",
+						  "booleanArg", "objectArg", "numberArg", "stringArg"};
+		Object[] values = {(byte) 1, (short) 2, 'c', 4, 5L, 6.5f, 7.5, true, "s", new Object(), null};
+
+		for (String name : names) {
+			Method method = named(name);
+			for (Object value : values) {
+				Object expected = outcome(() -> method.invoke(target, value));
+				Object actual = outcome(() -> MethodInvoker.forMethod(method).invoke(target, new Object[] {value}));
+				assertEquals(name + "(" + value + ")", expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void rejectsWrongArgumentCount() throws Exception {
+		assertIllegalArgument(() -> invoke("intArg", new Class<?>[] {int.class}));
+		assertIllegalArgument(() -> invoke("intArg", new Class<?>[] {int.class}, 1, 2));
+	}
+
+	@Test
+	public void rejectsNullForPrimitive() throws Exception {
+		assertIllegalArgument(() -> invoke("intArg", new Class<?>[] {int.class}, (Object) null));
+	}
+
+	@Test
+	public void rejectsNarrowingAndWrongTypes() throws Exception {
+		assertIllegalArgument(() -> invoke("intArg", new Class<?>[] {int.class}, 1L));
+		assertIllegalArgument(() -> invoke("charArg", new Class<?>[] {char.class}, (byte) 1));
+		assertIllegalArgument(() -> invoke("stringArg", new Class<?>[] {String.class}, 1));
+	}
+
+	@Test
+	public void rejectsWrongTarget() throws Exception {
+		MethodInvoker invoker = MethodInvoker.forMethod(method("intArg", int.class));
+
+		assertIllegalArgument(() -> invoker.invoke("not a target", new Object[] {1}));
+		assertIllegalArgument(() -> invoker.invoke(null, new Object[] {1}));
+	}
+
+	@Test
+	public void wrapsExceptionsThrownByMethod() throws Exception {
+		assertTrue(cause("throwsChecked") instanceof IOException);
+		assertTrue(cause("throwsRuntime") instanceof IllegalStateException);
+		// メソッドがスローしたIllegalArgumentExceptionは引数不一致と区別してラップする
+		assertTrue(cause("throwsIllegalArgument") instanceof IllegalArgumentException);
+	}
+
+	@Test
+	public void rethrowsErrorsUnwrapped() throws Exception {
+		try {
+			invoke("throwsError", new Class<?>[0]);
+			fail();
+		} catch (AssertionError e) {
+			assertEquals("error", e.getMessage());
+		}
+	}
+
+	@Test(expected = IllegalAccessException.class)
+	public void inaccessibleMethodFallsBackToReflection() throws Exception {
+		MethodInvoker.forMethod(InvokeTarget.class.getDeclaredMethod("privateMethod")).invoke(target, new Object[0]);
+	}
+
+	@Test
+	public void isAssignableFollowsWideningConversion() {
+		assertTrue(MethodInvoker.isAssignable(long.class, 1));
+		assertTrue(MethodInvoker.isAssignable(float.class, 1L));
+		assertTrue(MethodInvoker.isAssignable(double.class, 'a'));
+		assertTrue(MethodInvoker.isAssignable(Number.class, 1));
+		assertEquals(false, MethodInvoker.isAssignable(short.class, 'a'));
+		assertEquals(false, MethodInvoker.isAssignable(boolean.class, 1));
+		assertEquals(false, MethodInvoker.isAssignable(int.class, "1"));
+	}
+
+	private Method method(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+		return InvokeTarget.class.getMethod(name, parameterTypes);
+	}
+
+	private static Method named(String name) {
+		for (Method method : InvokeTarget.class.getMethods()) {
+			if (method.getName().equals(name)) return method;
+		}
+		throw new AssertionError(name);
+	}
+
+	private Object invoke(String name, Class<?>[] parameterTypes, Object... args) throws Exception {
+		return MethodInvoker.forMethod(method(name, parameterTypes)).invoke(target, args);
+	}
+
+	private Throwable cause(String name) throws Exception {
+		try {
+			invoke(name, new Class<?>[0]);
+		} catch (InvocationTargetException e) {
+			return e.getCause();
+		}
+		throw new AssertionError(name);
+	}
+
+	private static void assertIllegalArgument(Invocation invocation) throws Exception {
+		try {
+			invocation.invoke();
+			fail();
+		} catch (IllegalArgumentException e) {
+			// 想定通り
+		}
+	}
+
+	/**
+	 * <p>実行結果（戻り値、または例外クラス）</p>
+	 */
+	private static Object outcome(Invocation invocation) {
+		try {
+			return invocation.invoke();
+		} catch (Exception e) {
+			return e.getClass();
+		}
+	}
+
+	private interface Invocation {
+		Object invoke() throws Exception;
+	}
+
+}
@@ -0,0 +1,104 @@
+package net.skuratani.simplecontroller4j.execute.fixture;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.servlet.ServletRequest;
+
+import net.skuratani.simplecontroller4j.annotation.Around;
+import net.skuratani.simplecontroller4j.annotation.Aspect;
+import net.skuratani.simplecontroller4j.aspect.ProceedingJoinPoint;
+
+/**
+ * <p>Aroundアスペクト実行テスト用アスペクト</p>
+ */
+public class AroundAspects {
+
+	/** 実行記録 */
+	public static final List<String> EVENTS = Collections.synchronizedList(new ArrayList<>());
+
+	/** 後続の処理の前後を記録する */
+	@Aspect
+	public static class TimingAspect {
+
+		@Around(execution = "*")
+		public Object around(ProceedingJoinPoint joinPoint) throws Exception {
+			EVENTS.add("timing:before");
+			try {
+				return joinPoint.proceed();
+			} finally {
+				EVENTS.add("timing:after");
+			}
+		}
+	}
+
+	/** 戻り値を加工する */
+	@Aspect
+	public static class WrappingAspect {
+
+		@Around(execution = "*")
+		public Object around(ProceedingJoinPoint joinPoint) throws Exception {
+			EVENTS.add("wrapping");
+			return "[" + joinPoint.proceed() + "]";
+		}
+	}
+
+	/** 後続の処理を実行せずに戻り値を返却する */
+	@Aspect
+	public static class ShortCircuitAspect {
+
+		@Around(execution = "*")
+		public Object around(ProceedingJoinPoint joinPoint) {
+			EVENTS.add("short-circuit");
+			return "cached";
+		}
+	}
+
+	/** 戻り値がvoid */
+	@Aspect
+	public static class VoidAspect {
+
+		@Around(execution = "*")
+		public void around(ProceedingJoinPoint joinPoint) throws Exception {
+			joinPoint.proceed();
+			EVENTS.add("void:" + joinPoint.getResult());
+		}
+	}
+
+	/** ProceedingJoinPointを引数に持たない（前後に2回実行される） */
+	@Aspect
+	public static class LegacyAspect {
+
+		private int calls;
+
+		@Around(execution = "*")
+		public void around(ServletRequest request) {
+			calls++;
+			EVENTS.add("legacy:" + calls);
+		}
+	}
+
+	/** proceedを2回実行する */
+	@Aspect
+	public static class TwiceAspect {
+
+		@Around(execution = "*")
+		public Object around(ProceedingJoinPoint joinPoint) throws Exception {
+			joinPoint.proceed();
+			return joinPoint.proceed();
+		}
+	}
+
+	/** 実行メソッドの引数値を変更する */
+	@Aspect
+	public static class ArgumentAspect {
+
+		@Around(execution = "*")
+		public Object around(ProceedingJoinPoint joinPoint) throws Exception {
+			joinPoint.getArgs()[0] = "changed";
+			return joinPoint.proceed();
+		}
+	}
+
+}
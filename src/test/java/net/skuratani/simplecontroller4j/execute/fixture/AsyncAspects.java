@@ -0,0 +1,43 @@
+package net.skuratani.simplecontroller4j.execute.fixture;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.servlet.ServletRequest;
+
+import net.skuratani.simplecontroller4j.annotation.After;
+import net.skuratani.simplecontroller4j.annotation.AfterReturning;
+import net.skuratani.simplecontroller4j.annotation.Aspect;
+import net.skuratani.simplecontroller4j.aspect.RequestSnapshot;
+
+/**
+ * <p>非同期アドバイス実行テスト用アスペクト</p>
+ */
+@Aspect
+public class AsyncAspects {
+
+	/** 実行記録（実行したスレッド名） */
+	public static final List<String> EVENTS = Collections.synchronizedList(new ArrayList<>());
+
+	/** 非同期アドバイスが受け取ったリクエストスナップショット */
+	public static final List<RequestSnapshot> SNAPSHOTS = Collections.synchronizedList(new ArrayList<>());
+
+	@AfterReturning(execution = "*", async = true)
+	public void audit(RequestSnapshot snapshot) {
+		SNAPSHOTS.add(snapshot);
+		EVENTS.add("audit:" + Thread.currentThread().getName());
+	}
+
+	@After(execution = "*", async = true)
+	public void log(RequestSnapshot snapshot, RequestSnapshot same) {
+		SNAPSHOTS.add(same);
+		EVENTS.add("log:" + Thread.currentThread().getName());
+	}
+
+	@After(execution = "*")
+	public void sync(ServletRequest request) {
+		EVENTS.add("sync:" + Thread.currentThread().getName());
+	}
+
+}
@@ -0,0 +1,54 @@
+package net.skuratani.simplecontroller4j.execute.fixture;
+
+import java.io.IOException;
+
+/**
+ * <p>メソッド実行テスト用クラス</p>
+ */
+public class InvokeTarget {
+
+	public byte byteArg(byte value) { return value; }
+	public short shortArg(short value) { return value; }
+	public char charArg(char value) { return value; }
+	public int intArg(int value) { return value; }
+	public long longArg(long value) { return value; }
+	public float floatArg(float value) { return value; }
+	public double doubleArg(double value) { return value; }
+	public boolean booleanArg(boolean value) { return value; }
+	public Object objectArg(Object value) { return value; }
+	public Number numberArg(Number value) { return value; }
+	public String stringArg(String value) { return value; }
+
+	public String concat(String prefix, int number, long total) {
+		return prefix + number + ":" + total;
+	}
+
+	public static String staticEcho(String value) {
+		return "static:" + value;
+	}
+
+	public void returnsVoid() {
+	}
+
+	public void throwsChecked() throws IOException {
+		throw new IOException("checked");
+	}
+
+	public void throwsRuntime() {
+		throw new IllegalStateException("runtime");
+	}
+
+	public void throwsError() {
+		throw new AssertionError("error");
+	}
+
+	public void throwsIllegalArgument() {
+		throw new IllegalArgumentException("from method");
+	}
+
+	@SuppressWarnings("unused")
+	private String privateMethod() {
+		return "private";
+	}
+
+}
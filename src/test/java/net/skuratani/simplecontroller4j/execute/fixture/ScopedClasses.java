@@ -0,0 +1,69 @@
+package net.skuratani.simplecontroller4j.execute.fixture;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.skuratani.simplecontroller4j.annotation.Aspect;
+import net.skuratani.simplecontroller4j.annotation.Controller;
+import net.skuratani.simplecontroller4j.annotation.Scope;
+
+/**
+ * <p>インスタンス提供テスト用クラス</p>
+ */
+public class ScopedClasses {
+
+	/** 状態を持たないコントローラ（AUTO → SINGLETON） */
+	@Controller
+	public static class StatelessController {
+		public static int staticCounter;
+		private final String name = "stateless";
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	/** 状態を持つコントローラ（AUTO → PROTOTYPE） */
+	@Controller
+	public static class StatefulController {
+		public int counter;
+	}
+
+	/** スーパークラスが状態を持つコントローラ（AUTO → PROTOTYPE） */
+	@Controller
+	public static class InheritedStateController extends StatefulController {
+	}
+
+	/** 明示的にSINGLETONを指定したコントローラ（状態を持つ） */
+	@Controller(scope = Scope.SINGLETON)
+	public static class SingletonController {
+		/** 生成回数 */
+		public static final AtomicInteger CREATED = new AtomicInteger();
+		public int counter;
+
+		public SingletonController() {
+			CREATED.incrementAndGet();
+		}
+	}
+
+	/** リクエストスコープのアスペクト */
+	@Aspect(scope = Scope.REQUEST)
+	public static class RequestAspect {
+	}
+
+	/** 状態を持たないアスペクト（AUTO → SINGLETON） */
+	@Aspect
+	public static class StatelessAspect {
+	}
+
+	/** アノテーションのないクラス */
+	public static class PlainClass {
+	}
+
+	/** 引数なしのコンストラクタがないコントローラ */
+	@Controller(scope = Scope.PROTOTYPE)
+	public static class NoDefaultConstructorController {
+		public NoDefaultConstructorController(String value) {
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+package net.skuratani.simplecontroller4j.findclass;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import net.skuratani.simplecontroller4j.annotation.Aspect;
+import net.skuratani.simplecontroller4j.annotation.Controller;
+import net.skuratani.simplecontroller4j.findclass.fixture.ControllerField;
+import net.skuratani.simplecontroller4j.findclass.fixture.ControllerInterface;
+import net.skuratani.simplecontroller4j.findclass.fixture.PlainClass;
+import net.skuratani.simplecontroller4j.findclass.fixture.ScannedAspect;
+import net.skuratani.simplecontroller4j.findclass.fixture.ScannedController;
+
+/**
+ * <p>クラスファイルスキャナ テスト</p>
+ */
+public class ClassFileScannerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final ClassFileScanner scanner = new ClassFileScanner(Arrays.asList(Controller.class, Aspect.class));
+
+	@Test
+	public void findsControllerAfterOtherAnnotations() throws IOException {
+		assertEquals(ScannedController.class.getName(), scanner.findAnnotatedClass(buffer(ScannedController.class)));
+	}
+
+	@Test
+	public void findsAspectWithLongAndDoubleConstants() throws IOException {
+		assertEquals(ScannedAspect.class.getName(), scanner.findAnnotatedClass(buffer(ScannedAspect.class)));
+	}
+
+	@Test
+	public void ignoresClassesWithoutAnnotation() throws IOException {
+		assertNull(scanner.findAnnotatedClass(buffer(PlainClass.class)));
+		// 定数プールに型記述子が存在するが、クラスには記述されていない
+		assertNull(scanner.findAnnotatedClass(buffer(ControllerField.class)));
+	}
+
+	@Test
+	public void ignoresInterfaces() throws IOException {
+		assertNull(scanner.findAnnotatedClass(buffer(ControllerInterface.class)));
+	}
+
+	@Test
+	public void onlyMatchesRequestedAnnotations() throws IOException {
+		ClassFileScanner aspectScanner = new ClassFileScanner(Collections.singletonList(Aspect.class));
+
+		assertNull(aspectScanner.findAnnotatedClass(buffer(ScannedController.class)));
+		assertEquals(ScannedAspect.class.getName(), aspectScanner.findAnnotatedClass(buffer(ScannedAspect.class)));
+	}
+
+	@Test
+	public void malformedClassFilesReturnNull() throws IOException {
+		byte[] bytes = bytes(ScannedController.class);
+
+		assertNull(scanner.findAnnotatedClass(ByteBuffer.wrap(new byte[0])));
+		assertNull(scanner.findAnnotatedClass(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8})));
+		// アノテーション属性より前で切り詰められたクラスファイル
+		for (int length : new int[] {4, 10, 100, bytes.length / 2}) {
+			assertNull(scanner.findAnnotatedClass(ByteBuffer.wrap(Arrays.copyOf(bytes, length))));
+		}
+		// 不正な定数プールタグ
+		byte[] corrupted = bytes.clone();
+		corrupted[10] = 99;
+		assertNull(scanner.findAnnotatedClass(ByteBuffer.wrap(corrupted)));
+	}
+
+	@Test
+	public void scanLoadsAnnotatedClassesWithoutInitializing() throws Exception {
+		System.clearProperty(ScannedController.INITIALIZED);
+		Path classesDir = classFile(ScannedController.class).getParent();
+
+		List<Class<?>> classes = scanner.scan(classesDir, null, getClass().getClassLoader());
+
+		assertEquals(Arrays.asList(ScannedAspect.class, ScannedController.class), classes);
+		assertNull(System.getProperty(ScannedController.INITIALIZED));
+	}
+
+	@Test
+	public void scanReadsJarsAndRemovesDuplicates() throws Exception {
+		File libDir = folder.newFolder("lib");
+		try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(new File(libDir, "app.jar")))) {
+			for (Class<?> clazz : Arrays.asList(ScannedAspect.class, PlainClass.class)) {
+				jar.putNextEntry(new JarEntry(clazz.getName().replace('.', '/') + ".class"));
+				jar.write(bytes(clazz));
+			}
+			// META-INF配下（マルチリリースjar等）は対象外
+			jar.putNextEntry(new JarEntry("META-INF/versions/11/" + ScannedController.class.getName().replace('.', '/') + ".class"));
+			jar.write(bytes(ScannedController.class));
+		}
+		Files.write(libDir.toPath().resolve("readme.txt"), new byte[] {1});
+
+		assertEquals(Arrays.asList(ScannedAspect.class),
+					 scanner.scan(null, libDir.toPath(), getClass().getClassLoader()));
+
+		Path classesDir = classFile(ScannedController.class).getParent();
+		assertEquals(Arrays.asList(ScannedAspect.class, ScannedController.class),
+					 scanner.scan(classesDir, libDir.toPath(), getClass().getClassLoader()));
+	}
+
+	@Test
+	public void scanIgnoresMissingDirectories() throws Exception {
+		Path missing = folder.getRoot().toPath().resolve("missing");
+
+		assertEquals(Collections.emptyList(), scanner.scan(missing, missing, getClass().getClassLoader()));
+	}
+
+	private static Path classFile(Class<?> clazz) throws IOException {
+		try {
+			return Path.of(clazz.getResource(clazz.getSimpleName() + ".class").toURI());
+		} catch (URISyntaxException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private static byte[] bytes(Class<?> clazz) throws IOException {
+		try (InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+			return in.readAllBytes();
+		}
+	}
+
+	private static ByteBuffer buffer(Class<?> clazz) throws IOException {
+		return ByteBuffer.wrap(bytes(clazz));
+	}
+
+}
@@ -0,0 +1,107 @@
+package net.skuratani.simplecontroller4j.findclass;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * <p>クラスインデックス テスト</p>
+ */
+public class ClassIndexTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void readsOnlyControllerAndAspectEntries() throws IOException {
+		String index = "# comment\n"
+					 + "controller\tapp.UserController\n"
+					 + "route\tapp.UserController\tGET\t/users/{id}\tget(int)\n"
+					 + "\n"
+					 + "aspect\tapp.LogAspect\n"
+					 + "advice\tapp.LogAspect\tBEFORE\tlog()\tapp.*\n"
+					 + "unknown\tapp.Other\n"
+					 + "controller\n";
+
+		assertEquals(Arrays.asList("app.UserController", "app.LogAspect"), read(index));
+	}
+
+	@Test
+	public void trimsClassNames() throws IOException {
+		assertEquals(Arrays.asList("app.UserController"), read("controller\tapp.UserController \r\n"));
+	}
+
+	@Test
+	public void emptyIndexHasNoClasses() throws IOException {
+		assertEquals(Collections.emptyList(), read(""));
+	}
+
+	@Test
+	public void loadClassesReturnsNullWithoutIndex() throws Exception {
+		try (URLClassLoader classLoader = classLoader(folder.newFolder("empty"))) {
+			assertNull(ClassIndex.loadClasses(classLoader));
+		}
+	}
+
+	@Test
+	public void loadClassesMergesIndexesWithoutDuplicates() throws Exception {
+		File first = folder.newFolder("first");
+		File second = folder.newFolder("second");
+		writeIndex(first, "controller\t" + ClassIndexTest.class.getName() + "\n");
+		writeIndex(second, "aspect\t" + String.class.getName() + "\ncontroller\t" + ClassIndexTest.class.getName() + "\n");
+
+		try (URLClassLoader classLoader = classLoader(first, second)) {
+			List<Class<?>> classes = ClassIndex.loadClasses(classLoader);
+			assertEquals(Arrays.asList(ClassIndexTest.class, String.class), classes);
+		}
+	}
+
+	@Test(expected = ClassNotFoundException.class)
+	public void loadClassesFailsForMissingClass() throws Exception {
+		File root = folder.newFolder("missing");
+		writeIndex(root, "controller\tapp.DoesNotExist\n");
+
+		try (URLClassLoader classLoader = classLoader(root)) {
+			ClassIndex.loadClasses(classLoader);
+		}
+	}
+
+	private static List<String> read(String index) throws IOException {
+		return ClassIndex.readClassNames(new ByteArrayInputStream(index.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static void writeIndex(File root, String index) throws IOException {
+		Path file = root.toPath().resolve(ClassIndex.RESOURCE_NAME);
+		Files.createDirectories(file.getParent());
+		Files.write(file, index.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static URLClassLoader classLoader(File... roots) throws IOException {
+		URL[] urls = new URL[roots.length];
+		for (int i = 0; i < roots.length; i++) urls[i] = roots[i].toURI().toURL();
+		// 親クラスローダのインデックス（テスト対象外）を参照しないよう、クラス解決のみ委譲する
+		return new URLClassLoader(urls, ClassIndexTest.class.getClassLoader()) {
+			@Override
+			public Enumeration<URL> getResources(String name) throws IOException {
+				return findResources(name);
+			}
+		};
+	}
+
+}
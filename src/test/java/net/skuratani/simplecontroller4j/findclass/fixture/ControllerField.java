@@ -0,0 +1,12 @@
+package net.skuratani.simplecontroller4j.findclass.fixture;
+
+import net.skuratani.simplecontroller4j.annotation.Controller;
+
+/**
+ * <p>スキャン対象外クラス（定数プールにControllerの型記述子を含むが、クラスには記述しない）</p>
+ */
+public class ControllerField {
+
+	public Controller controller;
+
+}
@@ -0,0 +1,10 @@
+package net.skuratani.simplecontroller4j.findclass.fixture;
+
+import net.skuratani.simplecontroller4j.annotation.Controller;
+
+/**
+ * <p>スキャン対象外インターフェイス</p>
+ */
+@Controller
+public interface ControllerInterface {
+}
@@ -0,0 +1,7 @@
+package net.skuratani.simplecontroller4j.findclass.fixture;
+
+/**
+ * <p>スキャン対象外クラス</p>
+ */
+public class PlainClass {
+}
@@ -0,0 +1,24 @@
+package net.skuratani.simplecontroller4j.findclass.fixture;
+
+import net.skuratani.simplecontroller4j.annotation.Aspect;
+import net.skuratani.simplecontroller4j.annotation.Before;
+
+/**
+ * <p>スキャン対象アスペクト（定数プールにLong・Double定数を含む）</p>
+ */
+@Aspect
+public class ScannedAspect {
+
+	public static final long LONG_VALUE = 1234567890123L;
+	public static final double DOUBLE_VALUE = 3.5;
+
+	private long counter = LONG_VALUE;
+	private double ratio = DOUBLE_VALUE;
+
+	@Before(execution = {"net.skuratani.*", "app.*"})
+	public void before() {
+		counter++;
+		ratio *= 2;
+	}
+
+}
@@ -0,0 +1,24 @@
+package net.skuratani.simplecontroller4j.findclass.fixture;
+
+import net.skuratani.simplecontroller4j.annotation.Controller;
+import net.skuratani.simplecontroller4j.annotation.Method;
+import net.skuratani.simplecontroller4j.annotation.Route;
+
+/**
+ * <p>スキャン対象コントローラ（他のアノテーションの後にControllerアノテーションを記述）</p>
+ */
+@Route(path = "/scan", method = Method.GET)
+@Controller
+public class ScannedController {
+
+	/** 初期化確認用システムプロパティ */
+	public static final String INITIALIZED = ScannedController.class.getName() + ".initialized";
+
+	static {
+		System.setProperty(INITIALIZED, "true");
+	}
+
+	@Route(path = "/list")
+	public void list() {}
+
+}
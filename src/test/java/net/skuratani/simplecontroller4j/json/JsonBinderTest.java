@@ -0,0 +1,179 @@
+package net.skuratani.simplecontroller4j.json;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.converter.ConverterRegistry;
+import net.skuratani.simplecontroller4j.json.fixture.Item;
+import net.skuratani.simplecontroller4j.json.fixture.Order;
+
+/**
+ * <p>JSONバインダ テスト</p>
+ */
+public class JsonBinderTest {
+
+	/** 型引数取得用フィールド */
+	public List<Item> itemList;
+	public Map<Integer, List<String>> intKeyMap;
+	public TreeMap<String, Object> treeMap;
+	public Map<Object, String> objectKeyMap;
+	public Map<Order, String> beanKeyMap;
+
+	private final JsonBinder binder = JsonBinder.getDefault();
+
+	@Test
+	public void bindsBeanWithNestedValues() throws Exception {
+		String json = "{\"id\": \"A-1\", \"quantity\": 3, \"total\": 9007199254740993, \"paid\": true, \"status\": \"CLOSED\","
+					+ " \"date\": \"2024-05-01\", \"items\": [{\"name\": \"pen\", \"price\": 1.10, \"count\": 2}],"
+					+ " \"counts\": {\"a\": 1, \"b\": null}, \"tags\": [\"x\", \"y\", \"x\"], \"codes\": [1, 2],"
+					+ " \"extra\": {\"n\": [1, 2.5, \"s\", false, null]}, \"unknown\": {\"deep\": [1, {}]}}";
+
+		Order order = (Order) read(json, Order.class);
+
+		assertEquals("A-1", order.getId());
+		assertEquals(3, order.getQuantity());
+		assertEquals(9007199254740993L, order.getTotal());
+		assertTrue(order.isPaid());
+		assertEquals(Order.Status.CLOSED, order.getStatus());
+		assertEquals(LocalDate.of(2024, 5, 1), order.getDate());
+		assertEquals(Arrays.asList(new Item("pen", new BigDecimal("1.10"), 2)), order.getItems());
+		assertEquals(Integer.valueOf(1), order.getCounts().get("a"));
+		assertTrue(order.getCounts().containsKey("b"));
+		assertEquals(new LinkedHashSet<>(Arrays.asList("x", "y")), order.getTags());
+		assertArrayEquals(new int[] {1, 2}, order.getCodes());
+		Map<?, ?> extra = (Map<?, ?>) order.getExtra();
+		assertEquals(Arrays.asList(1, 2.5, "s", false, null), extra.get("n"));
+	}
+
+	@Test
+	public void nullLeavesPrimitiveFieldsUnset() throws Exception {
+		Order order = (Order) read("{\"quantity\": null, \"id\": null}", Order.class);
+
+		assertEquals(0, order.getQuantity());
+		assertNull(order.getId());
+	}
+
+	@Test
+	public void emptyBodyIsNull() throws Exception {
+		assertNull(read("", Order.class));
+		assertNull(read("null", Order.class));
+	}
+
+	@Test
+	public void bindsGenericCollectionsAndMaps() throws Exception {
+		@SuppressWarnings("unchecked")
+		List<Item> items = (List<Item>) read("[{\"name\": \"a\"}, null]", field("itemList"));
+		assertEquals(new Item("a", null, 0), items.get(0));
+		assertNull(items.get(1));
+
+		Map<?, ?> intKeyMap = (Map<?, ?>) read("{\"1\": [\"x\"], \"20\": []}", field("intKeyMap"));
+		assertEquals(Arrays.asList("x"), intKeyMap.get(1));
+		assertTrue(intKeyMap.containsKey(20));
+
+		assertTrue(read("{\"b\": 1, \"a\": 2}", field("treeMap")) instanceof TreeMap);
+		assertEquals("v", ((Map<?, ?>) read("{\"k\": \"v\"}", field("objectKeyMap"))).get("k"));
+	}
+
+	@Test
+	public void objectTargetUsesNaturalNumberTypes() throws Exception {
+		List<?> numbers = (List<?>) read("[1, -2147483649, 9223372036854775807, 9223372036854775808,"
+									   + " -9223372036854775808, 1.0, 1e2, -0]", Object.class);
+
+		assertEquals(Arrays.asList(1, -2147483649L, Long.MAX_VALUE, new BigInteger("9223372036854775808"),
+								   Long.MIN_VALUE, 1.0, 100.0, 0), numbers);
+	}
+
+	@Test
+	public void convertsScalarsToStringTarget() throws Exception {
+		assertEquals("12.50", read("12.50", String.class));
+		assertEquals("true", read("true", String.class));
+		assertEquals(12, read("\"12\"", Integer.class));
+	}
+
+	@Test
+	public void rejectsOverflowingNumbers() throws Exception {
+		assertIllegalArgument("{\"quantity\": 2147483648}", Order.class);
+		assertIllegalArgument("{\"total\": 9223372036854775808}", Order.class);
+		assertIllegalArgument("{\"quantity\": 1.5}", Order.class);
+		assertIllegalArgument("[1, 2147483648]", int[].class);
+	}
+
+	@Test
+	public void rejectsTypeMismatch() throws Exception {
+		assertIllegalArgument("[1]", Order.class);
+		assertIllegalArgument("{\"id\": []}", Order.class);
+		assertIllegalArgument("{\"quantity\": true}", Order.class);
+		assertIllegalArgument("{\"status\": \"UNKNOWN\"}", Order.class);
+		assertIllegalArgument("{\"date\": \"2024-13-01\"}", Order.class);
+		assertIllegalArgument("{}", int.class);
+		assertIllegalArgument("[1, null]", int[].class);
+		assertIllegalArgument("{\"a\": 1}", field("beanKeyMap"));
+	}
+
+	@Test
+	public void rejectsMalformedJson() throws Exception {
+		assertIllegalArgument("{\"id\": \"A\"", Order.class);
+		assertIllegalArgument("{\"id\": \"A\"} {}", Order.class);
+		assertIllegalArgument("{\"items\": [{\"name\": \"a\",}]}", Order.class);
+	}
+
+	@Test
+	public void customRegistryConvertersAreUsed() throws Exception {
+		ConverterRegistry registry = new ConverterRegistry();
+		registry.register(int.class, value -> Integer.parseInt(value) * 10);
+
+		Order order = (Order) new JsonBinder(registry).read(stream("{\"quantity\": 4}"), Order.class);
+
+		assertEquals(40, order.getQuantity());
+		assertFalse(order.isPaid());
+	}
+
+	@Test
+	public void bindsInputSplitAcrossReads() throws Exception {
+		Order order = (Order) binder.read(JsonReaderTest.oneByteAtATime("{\"id\": \"注文😀\", \"quantity\": 12}"),
+										  Order.class);
+
+		assertEquals("注文😀", order.getId());
+		assertEquals(12, order.getQuantity());
+	}
+
+	private Object read(String json, Type type) throws Exception {
+		return binder.read(stream(json), type);
+	}
+
+	private void assertIllegalArgument(String json, Type type) throws Exception {
+		try {
+			read(json, type);
+			fail(json);
+		} catch (IllegalArgumentException e) {
+			// 想定通り（JsonException・型変換のNumberFormatException等）
+		}
+	}
+
+	private static Type field(String name) throws NoSuchFieldException {
+		return JsonBinderTest.class.getField(name).getGenericType();
+	}
+
+	private static ByteArrayInputStream stream(String json) {
+		return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
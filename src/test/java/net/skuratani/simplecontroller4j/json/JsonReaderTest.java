@@ -0,0 +1,255 @@
+package net.skuratani.simplecontroller4j.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * <p>JSONリーダー テスト</p>
+ */
+public class JsonReaderTest {
+
+	@Test
+	public void readsNestedDocument() throws IOException {
+		JsonReader reader = reader("{\"a\": [1, -2.5e3, true, false, null, \"s\"], \"b\": {}}");
+
+		reader.beginObject();
+		assertEquals("a", reader.nextName());
+		reader.beginArray();
+		assertEquals("1", reader.nextNumber());
+		assertEquals("-2.5e3", reader.nextNumber());
+		assertTrue(reader.nextBoolean());
+		assertFalse(reader.nextBoolean());
+		reader.nextNull();
+		assertEquals("s", reader.nextString());
+		assertFalse(reader.hasNext());
+		reader.endArray();
+		assertEquals("b", reader.nextName());
+		reader.beginObject();
+		assertFalse(reader.hasNext());
+		reader.endObject();
+		reader.endObject();
+		reader.endDocument();
+	}
+
+	@Test
+	public void peekDoesNotConsume() throws IOException {
+		JsonReader reader = reader(" [ \"x\" ] ");
+
+		assertEquals(JsonToken.BEGIN_ARRAY, reader.peek());
+		assertEquals(JsonToken.BEGIN_ARRAY, reader.peek());
+		reader.beginArray();
+		assertEquals(JsonToken.STRING, reader.peek());
+		assertEquals("x", reader.nextString());
+		assertEquals(JsonToken.END_ARRAY, reader.peek());
+		reader.endArray();
+		assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+	}
+
+	@Test
+	public void emptyInputIsEndOfDocument() throws IOException {
+		assertEquals(JsonToken.END_DOCUMENT, reader("  \r\n\t").peek());
+	}
+
+	@Test
+	public void decodesEscapesAndUtf8() throws IOException {
+		String json = "\"\\\" \\\\ \\/ \\b \\f \\n \\r \\t \\u00e9 \\uD83D\\uDE00 é 日本 😀\"";
+
+		assertEquals("\" \\ / \b \f \n \r \t é 😀 é 日本 😀", reader(json).nextString());
+	}
+
+	@Test
+	public void handlesValuesSplitAcrossReads() throws IOException {
+		String json = "{\"name\": \"日本語😀\\u00e9\", \"n\": 12345.678e-2, \"ok\": true, \"none\": null}";
+
+		for (JsonReader reader : new JsonReader[] {reader(json), new JsonReader(oneByteAtATime(json))}) {
+			reader.beginObject();
+			assertEquals("name", reader.nextName());
+			assertEquals("日本語😀é", reader.nextString());
+			assertEquals("n", reader.nextName());
+			assertEquals("12345.678e-2", reader.nextNumber());
+			assertEquals("ok", reader.nextName());
+			assertTrue(reader.nextBoolean());
+			assertEquals("none", reader.nextName());
+			reader.nextNull();
+			reader.endObject();
+			reader.endDocument();
+		}
+	}
+
+	@Test
+	public void readsStringsLongerThanBuffer() throws IOException {
+		StringBuilder value = new StringBuilder();
+		// 複数バイト文字がバッファ境界（8192バイト）をまたぐよう、奇数長のASCII文字列の後に配置する
+		for (int i = 0; i < 8191; i++) value.append('a');
+		for (int i = 0; i < 3000; i++) value.append("日");
+
+		assertEquals(value.toString(), reader("\"" + value + "\"").nextString());
+	}
+
+	@Test
+	public void skipsNestedValues() throws IOException {
+		JsonReader reader = reader("{\"skip\": {\"a\": [1, {\"b\": [true, null]}], \"c\": \"x\"}, \"keep\": 3}");
+
+		reader.beginObject();
+		assertEquals("skip", reader.nextName());
+		reader.skipValue();
+		assertEquals("keep", reader.nextName());
+		assertEquals("3", reader.nextNumber());
+		reader.endObject();
+		reader.endDocument();
+	}
+
+	@Test
+	public void acceptsValidNumbers() throws IOException {
+		for (String number : new String[] {"0", "-0", "10", "0.5", "-1.25", "1e5", "1E+5", "1e-5", "123456789012345678901234567890"}) {
+			assertEquals(number, reader(number).nextNumber());
+		}
+	}
+
+	@Test
+	public void rejectsInvalidNumbers() {
+		for (String number : new String[] {"01", "-", "1.", ".5", "1e", "1e+", "+1", "1.2.3", "1-2", "--1", "0x10"}) {
+			// 「0x10」は数値「0」の後の不正なデータとして検出される
+			assertMalformed(number, JsonReaderTest::drain);
+		}
+	}
+
+	@Test
+	public void rejectsMalformedStructure() {
+		assertMalformed("[1 2]", JsonReaderTest::drain);
+		assertMalformed("[1,]", JsonReaderTest::drain);
+		assertMalformed("{\"a\" 1}", JsonReaderTest::drain);
+		assertMalformed("{\"a\": 1,}", JsonReaderTest::drain);
+		assertMalformed("{a: 1}", JsonReaderTest::drain);
+		assertMalformed("{\"a\": 1", JsonReaderTest::drain);
+		assertMalformed("[", JsonReaderTest::drain);
+		assertMalformed("1 2", JsonReaderTest::drain);
+		assertMalformed("tru", JsonReaderTest::drain);
+		assertMalformed("nul", JsonReaderTest::drain);
+		assertMalformed("'a'", JsonReaderTest::drain);
+	}
+
+	@Test
+	public void rejectsMalformedStrings() {
+		assertMalformed("\"abc", reader -> reader.nextString());
+		assertMalformed("\"a\nb\"", reader -> reader.nextString());
+		assertMalformed("\"\\x\"", reader -> reader.nextString());
+		assertMalformed("\"\\u12G4\"", reader -> reader.nextString());
+		assertMalformed("\"\\u12", reader -> reader.nextString());
+	}
+
+	@Test
+	public void rejectsMalformedUtf8() {
+		byte[][] inputs = {
+			{'"', (byte) 0xC3, '"'},                             // 後続バイトなし
+			{'"', (byte) 0xC0, (byte) 0x80, '"'},                // 冗長な2バイト表現
+			{'"', (byte) 0xE0, (byte) 0x80, (byte) 0x80, '"'},   // 冗長な3バイト表現
+			{'"', (byte) 0xED, (byte) 0xA0, (byte) 0x80, '"'},   // サロゲート
+			{'"', (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80, '"'}, // U+10FFFF超
+			{'"', (byte) 0x80, '"'},                             // 先頭が後続バイト
+			{'"', (byte) 0xFF, '"'},
+			{'"', (byte) 0xE6, (byte) 0x97},                     // 途中で終端
+		};
+		for (byte[] input : inputs) {
+			assertMalformed(new JsonReader(new ByteArrayInputStream(input)), reader -> reader.nextString());
+		}
+	}
+
+	@Test
+	public void rejectsTokenMismatch() {
+		assertMalformed("\"a\"", reader -> reader.nextNumber());
+		assertMalformed("[]", reader -> reader.beginObject());
+		assertMalformed("{}", reader -> {
+			reader.beginObject();
+			reader.endArray();
+		});
+	}
+
+	@Test
+	public void enforcesMaxDepth() throws IOException {
+		JsonReader reader = new JsonReader(stream("[[[]]]"), 3);
+		drain(reader);
+
+		assertMalformed(new JsonReader(stream("[[[[]]]]"), 3), JsonReaderTest::drain);
+
+		StringBuilder deep = new StringBuilder();
+		for (int i = 0; i <= JsonReader.DEFAULT_MAX_DEPTH; i++) deep.append('[');
+		assertMalformed(deep.toString(), JsonReaderTest::drain);
+	}
+
+	/**
+	 * <p>ドキュメントの全トークンを読み込む</p>
+	 */
+	private static void drain(JsonReader reader) throws IOException {
+		List<JsonToken> tokens = new ArrayList<>();
+		JsonToken token;
+		do {
+			token = reader.peek();
+			tokens.add(token);
+			switch (token) {
+			case BEGIN_OBJECT: reader.beginObject(); break;
+			case END_OBJECT: reader.endObject(); break;
+			case BEGIN_ARRAY: reader.beginArray(); break;
+			case END_ARRAY: reader.endArray(); break;
+			case NAME: reader.nextName(); break;
+			case STRING: reader.nextString(); break;
+			case NUMBER: reader.nextNumber(); break;
+			case BOOLEAN: reader.nextBoolean(); break;
+			case NULL: reader.nextNull(); break;
+			default: break;
+			}
+		} while (token != JsonToken.END_DOCUMENT);
+	}
+
+	private static void assertMalformed(String json, ReaderAction action) {
+		assertMalformed(reader(json), action);
+	}
+
+	private static void assertMalformed(JsonReader reader, ReaderAction action) {
+		try {
+			action.run(reader);
+			fail();
+		} catch (JsonException e) {
+			// 想定通り
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private static JsonReader reader(String json) {
+		return new JsonReader(stream(json));
+	}
+
+	private static InputStream stream(String json) {
+		return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * <p>1回のreadで1バイトだけ返却する入力ストリーム</p>
+	 */
+	static InputStream oneByteAtATime(String json) {
+		return new FilterInputStream(stream(json)) {
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				return super.read(b, off, Math.min(len, 1));
+			}
+		};
+	}
+
+	private interface ReaderAction {
+		void run(JsonReader reader) throws IOException;
+	}
+
+}
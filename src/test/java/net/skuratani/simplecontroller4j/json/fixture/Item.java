@@ -0,0 +1,9 @@
+package net.skuratani.simplecontroller4j.json.fixture;
+
+import java.math.BigDecimal;
+
+/**
+ * <p>JSONバインドテスト用レコード</p>
+ */
+public record Item(String name, BigDecimal price, int count) {
+}
@@ -0,0 +1,53 @@
+package net.skuratani.simplecontroller4j.json.fixture;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>JSONバインドテスト用クラス</p>
+ */
+public class Order {
+
+	/** テスト用列挙型 */
+	public enum Status {
+		OPEN, CLOSED
+	}
+
+	private String id;
+	private int quantity;
+	private long total;
+	private boolean paid;
+	private Status status;
+	private LocalDate date;
+	private List<Item> items;
+	private Map<String, Integer> counts;
+	private Set<String> tags;
+	private int[] codes;
+	private Object extra;
+
+	public String getId() { return id; }
+	public void setId(String id) { this.id = id; }
+	public int getQuantity() { return quantity; }
+	public void setQuantity(int quantity) { this.quantity = quantity; }
+	public long getTotal() { return total; }
+	public void setTotal(long total) { this.total = total; }
+	public boolean isPaid() { return paid; }
+	public void setPaid(boolean paid) { this.paid = paid; }
+	public Status getStatus() { return status; }
+	public void setStatus(Status status) { this.status = status; }
+	public LocalDate getDate() { return date; }
+	public void setDate(LocalDate date) { this.date = date; }
+	public List<Item> getItems() { return items; }
+	public void setItems(List<Item> items) { this.items = items; }
+	public Map<String, Integer> getCounts() { return counts; }
+	public void setCounts(Map<String, Integer> counts) { this.counts = counts; }
+	public Set<String> getTags() { return tags; }
+	public void setTags(Set<String> tags) { this.tags = tags; }
+	public int[] getCodes() { return codes; }
+	public void setCodes(int[] codes) { this.codes = codes; }
+	public Object getExtra() { return extra; }
+	public void setExtra(Object extra) { this.extra = extra; }
+
+}
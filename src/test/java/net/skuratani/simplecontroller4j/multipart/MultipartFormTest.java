@@ -0,0 +1,233 @@
+package net.skuratani.simplecontroller4j.multipart;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import net.skuratani.simplecontroller4j.binder.PayloadTooLargeException;
+import net.skuratani.simplecontroller4j.binder.RequestBodyReader;
+import net.skuratani.simplecontroller4j.stub.StubRequest;
+
+/**
+ * <p>マルチパートフォーム テスト</p>
+ */
+public class MultipartFormTest {
+
+	private static final String BOUNDARY = "xYzBoundary";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void readsFieldsAndFiles() throws IOException {
+		MultipartForm form = read(new Body()
+				.field("tag", "a")
+				.field("tag", "b")
+				.file("upload", "a.txt", "text/plain", bytes("content"))
+				.part("Content-Disposition: form-data\r\n", bytes("unnamed"))
+				.build(), config(10, 0, 100, 100));
+
+		assertArrayEquals(new String[] { "a", "b" }, form.getValues("tag"));
+		assertNull(form.getValues("upload"));
+		Map<String, String[]> parameterMap = form.getParameterMap();
+		assertEquals(1, parameterMap.size());
+		assertArrayEquals(new String[] { "a", "b" }, parameterMap.get("tag"));
+
+		UploadedFile file = form.getFile("upload");
+		assertEquals("upload", file.getName());
+		assertEquals("a.txt", file.getFileName());
+		assertEquals("text/plain", file.getContentType());
+		assertEquals(7, file.getSize());
+		assertTrue(file.isInMemory());
+		assertArrayEquals(bytes("content"), file.getBytes());
+		assertEquals(1, form.getFiles("upload").length);
+		assertNull(form.getFile("tag"));
+	}
+
+	@Test
+	public void decodesFieldsInPartCharset() throws IOException {
+		MultipartForm form = read(new Body()
+				.field("utf8", "日本語".getBytes(StandardCharsets.UTF_8), null)
+				.field("sjis", "日本語".getBytes("Shift_JIS"), "text/plain; charset=Shift_JIS")
+				.field("unknown", "abc".getBytes(StandardCharsets.UTF_8), "text/plain; charset=no-such-charset")
+				.build(), MultipartConfig.DEFAULT);
+
+		assertEquals("日本語", form.getValues("utf8")[0]);
+		assertEquals("日本語", form.getValues("sjis")[0]);
+		assertEquals("abc", form.getValues("unknown")[0]);
+	}
+
+	@Test
+	public void fileOverThresholdIsWrittenToTempFile() throws IOException {
+		byte[] content = new byte[20000];
+		for (int i = 0; i < content.length; i++) content[i] = (byte) i;
+		MultipartForm form = read(new Body()
+				.file("small", "s.bin", null, new byte[100])
+				.file("large", "l.bin", null, content)
+				.build(), config(0, 0, 100, 100));
+
+		assertTrue(form.getFile("small").isInMemory());
+		UploadedFile large = form.getFile("large");
+		assertFalse(large.isInMemory());
+		assertEquals(content.length, large.getSize());
+		assertArrayEquals(content, large.getBytes());
+		assertArrayEquals(content, large.getInputStream().readAllBytes());
+		assertEquals(1, tempFiles().length);
+
+		Path target = folder.getRoot().toPath().resolve("saved.bin");
+		large.transferTo(target);
+		assertArrayEquals(content, Files.readAllBytes(target));
+		assertEquals(0, tempFiles().length);
+		try {
+			large.getBytes();
+			fail();
+		} catch (IOException e) {
+			// 移動済み
+		}
+	}
+
+	@Test
+	public void fileAtThresholdStaysInMemory() throws IOException {
+		MultipartForm form = read(new Body().file("f", "f.bin", null, new byte[100]).build(), config(0, 0, 100, 100));
+
+		assertTrue(form.getFile("f").isInMemory());
+		assertEquals(100, form.getFile("f").getSize());
+	}
+
+	@Test
+	public void deleteRemovesTempFiles() throws IOException {
+		MultipartForm form = read(new Body().file("f", "f.bin", null, new byte[500]).build(), config(0, 0, 100, 100));
+		assertEquals(1, tempFiles().length);
+
+		form.delete();
+		assertEquals(0, tempFiles().length);
+	}
+
+	@Test
+	public void fieldOverMaximumSizeIsRejected() throws IOException {
+		assertEquals("12345", read(new Body().field("f", "12345").build(), config(0, 0, 5, 100)).getValues("f")[0]);
+		assertTooLarge(new Body().field("f", "123456").build(), config(0, 0, 5, 100), 5);
+	}
+
+	@Test
+	public void fileOverMaximumSizeIsRejectedAndTempFilesAreDeleted() throws IOException {
+		byte[] body = new Body()
+				.file("first", "1.bin", null, new byte[500])
+				.file("second", "2.bin", null, new byte[1001])
+				.build();
+
+		assertTooLarge(body, config(1000, 0, 100, 100), 1000);
+		assertEquals(0, tempFiles().length);
+	}
+
+	@Test
+	public void malformedBodyDeletesTempFiles() throws IOException {
+		byte[] complete = new Body().file("f", "f.bin", null, new byte[500]).field("g", "x").build();
+		byte[] truncated = Arrays.copyOf(complete, complete.length - 10);
+
+		try {
+			read(truncated, config(0, 0, 100, 100));
+			fail();
+		} catch (MultipartException e) {
+			// 想定通り
+		}
+		assertEquals(0, tempFiles().length);
+	}
+
+	@Test
+	public void requestSizeIsLimitedByMaxRequestSize() throws IOException {
+		byte[] body = new Body().field("f", "0123456789").build();
+		MultipartConfig config = config(0, body.length - 1, 100, 100);
+		RequestBodyReader reader = new RequestBodyReader(0, null, config);
+
+		try {
+			reader.readMultipart(request(body).contentLength(-1).build());
+			fail();
+		} catch (PayloadTooLargeException e) {
+			assertEquals(body.length - 1, e.getMaxSize());
+		}
+		assertEquals("0123456789", new RequestBodyReader(0, null, config(0, body.length, 100, 100))
+				.readMultipart(request(body).contentLength(-1).chunkSize(3).build()).getValues("f")[0]);
+	}
+
+	private MultipartConfig config(long maxFileSize, long maxRequestSize, int maxFieldSize, int fileSizeThreshold) {
+		return new MultipartConfig(maxFileSize, maxRequestSize, maxFieldSize, fileSizeThreshold, folder.getRoot().toPath());
+	}
+
+	private static MultipartForm read(byte[] body, MultipartConfig config) throws IOException {
+		return new RequestBodyReader(0, null, config).readMultipart(request(body).chunkSize(97).build());
+	}
+
+	private static StubRequest request(byte[] body) {
+		return StubRequest.post("/upload").contentType("multipart/form-data; boundary=" + BOUNDARY).body(body);
+	}
+
+	private void assertTooLarge(byte[] body, MultipartConfig config, long maxSize) throws IOException {
+		try {
+			read(body, config);
+			fail();
+		} catch (PayloadTooLargeException e) {
+			assertEquals(maxSize, e.getMaxSize());
+		}
+	}
+
+	private Path[] tempFiles() throws IOException {
+		try (var files = Files.list(folder.getRoot().toPath())) {
+			return files.filter(file -> file.getFileName().toString().endsWith(".upload")).toArray(Path[]::new);
+		}
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * <p>multipart/form-dataのリクエストボディー</p>
+	 */
+	private static class Body {
+
+		private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		Body field(String name, String value) {
+			return field(name, bytes(value), null);
+		}
+
+		Body field(String name, byte[] value, String contentType) {
+			return part("Content-Disposition: form-data; name=\"" + name + "\"\r\n"
+						+ (contentType == null ? "" : "Content-Type: " + contentType + "\r\n"), value);
+		}
+
+		Body file(String name, String fileName, String contentType, byte[] content) {
+			return part("Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"\r\n"
+						+ (contentType == null ? "" : "Content-Type: " + contentType + "\r\n"), content);
+		}
+
+		Body part(String headers, byte[] content) {
+			out.writeBytes(bytes("--" + BOUNDARY + "\r\n" + headers + "\r\n"));
+			out.writeBytes(content);
+			out.writeBytes(bytes("\r\n"));
+			return this;
+		}
+
+		byte[] build() {
+			out.writeBytes(bytes("--" + BOUNDARY + "--\r\n"));
+			return out.toByteArray();
+		}
+	}
+
+}
@@ -0,0 +1,259 @@
+package net.skuratani.simplecontroller4j.multipart;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.binder.PayloadTooLargeException;
+
+/**
+ * <p>マルチパートリーダー テスト</p>
+ */
+public class MultipartReaderTest {
+
+	private static final String BOUNDARY = "----Boundary7MA4YWxk";
+
+	@Test
+	public void readsPartsWithHeaders() throws IOException {
+		MultipartReader reader = reader(body(
+				"--" + BOUNDARY + "\r\n"
+				+ "Content-Disposition: form-data; name=\"title\"\r\n"
+				+ "\r\n"
+				+ "hello\r\n"
+				+ "--" + BOUNDARY + "\r\n"
+				+ "Content-Disposition: form-data; name=\"file\"; filename=\"a.txt\"\r\n"
+				+ "Content-Type: text/plain\r\n"
+				+ "\r\n"
+				+ "line1\r\nline2\r\n"
+				+ "--" + BOUNDARY + "--\r\n"), Integer.MAX_VALUE);
+
+		assertTrue(reader.nextPart());
+		assertEquals("title", reader.getName());
+		assertNull(reader.getFileName());
+		assertNull(reader.getContentType());
+		assertEquals("hello", readAll(reader.getInputStream()));
+
+		assertTrue(reader.nextPart());
+		assertEquals("file", reader.getName());
+		assertEquals("a.txt", reader.getFileName());
+		assertEquals("text/plain", reader.getContentType());
+		assertEquals("text/plain", reader.getHeader("CONTENT-TYPE"));
+		assertEquals("line1\r\nline2", readAll(reader.getInputStream()));
+
+		assertFalse(reader.nextPart());
+		assertFalse(reader.nextPart());
+	}
+
+	@Test
+	public void boundarySplitAcrossReadsIsFound() throws IOException {
+		// 区切り文字列に似たデータを含むパートを、あらゆる読み込み単位で分割して読み込む
+		String content = "a\r\n--" + BOUNDARY.substring(0, 10) + "\r\n-\r\n--x\r" + BOUNDARY + "z";
+		byte[] body = body(part("p", content) + part("q", "") + "--" + BOUNDARY + "--");
+		for (int chunkSize = 1; chunkSize <= body.length; chunkSize++) {
+			MultipartReader reader = reader(body, chunkSize);
+			assertTrue(reader.nextPart());
+			assertEquals("chunk " + chunkSize, content, readAll(reader.getInputStream()));
+			assertTrue(reader.nextPart());
+			assertEquals("q", reader.getName());
+			assertEquals("", readAll(reader.getInputStream()));
+			assertFalse(reader.nextPart());
+		}
+	}
+
+	@Test
+	public void partLargerThanBufferIsStreamed() throws IOException {
+		byte[] content = new byte[50000];
+		for (int i = 0; i < content.length; i++) content[i] = (byte) (i % 251);
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		body.write(body(header("file")));
+		body.write(content);
+		body.write(("\r\n--" + BOUNDARY + "--").getBytes(StandardCharsets.ISO_8859_1));
+
+		for (int chunkSize : new int[] { 7, 1000, 8191, 65536 }) {
+			MultipartReader reader = reader(body.toByteArray(), chunkSize);
+			assertTrue(reader.nextPart());
+			assertArrayEquals(content, reader.getInputStream().readAllBytes());
+			assertFalse(reader.nextPart());
+		}
+	}
+
+	@Test
+	public void unreadPartIsSkipped() throws IOException {
+		byte[] large = new byte[20000];
+		MultipartReader reader = reader(body(part("skip", new String(large, StandardCharsets.ISO_8859_1))
+											 + part("read", "value") + "--" + BOUNDARY + "--"), 100);
+
+		assertTrue(reader.nextPart());
+		InputStream skipped = reader.getInputStream();
+		assertEquals(0, skipped.read());
+		assertTrue(reader.nextPart());
+		assertEquals("read", reader.getName());
+		assertEquals("value", readAll(reader.getInputStream()));
+		// 前のパートの入力ストリームは終端
+		assertEquals(-1, skipped.read());
+		assertFalse(reader.nextPart());
+	}
+
+	@Test
+	public void preambleAndEpilogueAreIgnored() throws IOException {
+		MultipartReader reader = reader(body("preamble text\r\n" + part("a", "1") + "--" + BOUNDARY + "--\r\nepilogue"),
+										Integer.MAX_VALUE);
+
+		assertTrue(reader.nextPart());
+		assertEquals("1", readAll(reader.getInputStream()));
+		assertFalse(reader.nextPart());
+	}
+
+	@Test
+	public void paddingAfterBoundaryIsAllowed() throws IOException {
+		MultipartReader reader = reader(body("--" + BOUNDARY + " \t\r\n"
+											 + "Content-Disposition: form-data; name=\"a\"\r\n\r\n1\r\n"
+											 + "--" + BOUNDARY + "--"), 3);
+
+		assertTrue(reader.nextPart());
+		assertEquals("1", readAll(reader.getInputStream()));
+		assertFalse(reader.nextPart());
+	}
+
+	@Test
+	public void truncatedBodyIsRejected() throws IOException {
+		String complete = part("a", "value") + "--" + BOUNDARY + "--";
+		// 区切り文字列・ヘッダー・ボディーの途中で切れたリクエストボディー
+		for (int length = 0; length < complete.length(); length++) {
+			MultipartReader reader = reader(body(complete.substring(0, length)), 4);
+			try {
+				while (reader.nextPart()) readAll(reader.getInputStream());
+				fail("length " + length);
+			} catch (MultipartException e) {
+				// 想定通り
+			}
+		}
+	}
+
+	@Test
+	public void malformedBoundaryLineIsRejected() throws IOException {
+		assertMalformed("--" + BOUNDARY + "x\r\n\r\n");
+	}
+
+	@Test
+	public void malformedHeaderIsRejected() throws IOException {
+		assertMalformed("--" + BOUNDARY + "\r\nno colon\r\n\r\nvalue\r\n--" + BOUNDARY + "--");
+	}
+
+	@Test
+	public void oversizedHeaderIsRejected() throws IOException {
+		char[] filler = new char[5000];
+		Arrays.fill(filler, 'x');
+		assertMalformed("--" + BOUNDARY + "\r\nX-Long: " + new String(filler) + "\r\n\r\nvalue\r\n--" + BOUNDARY + "--");
+	}
+
+	@Test
+	public void partOverMaximumSizeIsRejectedWhileReading() throws IOException {
+		byte[] body = body(part("a", "0123456789") + "--" + BOUNDARY + "--");
+
+		MultipartReader exact = new MultipartReader(new ByteArrayInputStream(body), BOUNDARY, 10);
+		assertTrue(exact.nextPart());
+		assertEquals("0123456789", readAll(exact.getInputStream()));
+
+		MultipartReader over = new MultipartReader(new ByteArrayInputStream(body), BOUNDARY, 9);
+		assertTrue(over.nextPart());
+		try {
+			readAll(over.getInputStream());
+			fail();
+		} catch (PayloadTooLargeException e) {
+			assertEquals(9, e.getMaxSize());
+		}
+	}
+
+	@Test
+	public void detectsMultipartContentType() {
+		assertTrue(MultipartReader.isMultipart("multipart/form-data; boundary=x"));
+		assertTrue(MultipartReader.isMultipart("Multipart/Form-Data"));
+		assertFalse(MultipartReader.isMultipart("multipart/mixed; boundary=x"));
+		assertFalse(MultipartReader.isMultipart("application/x-www-form-urlencoded"));
+		assertFalse(MultipartReader.isMultipart(null));
+	}
+
+	@Test
+	public void extractsBoundary() {
+		assertEquals("abc", MultipartReader.boundaryOf("multipart/form-data; boundary=abc"));
+		assertEquals("a b;c", MultipartReader.boundaryOf("multipart/form-data; BOUNDARY=\"a b;c\"; charset=UTF-8"));
+		assertEquals("abc", MultipartReader.boundaryOf("multipart/form-data;charset=UTF-8;boundary=abc"));
+		assertNull(MultipartReader.boundaryOf("multipart/form-data"));
+		assertNull(MultipartReader.boundaryOf("multipart/form-data; boundary="));
+		assertNull(MultipartReader.boundaryOf(null));
+	}
+
+	@Test
+	public void parsesQuotedParameters() {
+		Map<String, String> parameters = MultipartReader.parseParameters(
+				"form-data; name=\"a\\\"b\"; filename=\"x;y.txt\"; name=\"ignored\"");
+
+		assertEquals("a\"b", parameters.get("name"));
+		assertEquals("x;y.txt", parameters.get("filename"));
+	}
+
+	private static String header(String name) {
+		return "--" + BOUNDARY + "\r\n"
+			   + "Content-Disposition: form-data; name=\"" + name + "\"\r\n"
+			   + "\r\n";
+	}
+
+	private static String part(String name, String content) {
+		return header(name) + content + "\r\n";
+	}
+
+	private static byte[] body(String body) {
+		return body.getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	private static MultipartReader reader(byte[] body, int chunkSize) {
+		return new MultipartReader(new ChunkedInputStream(body, chunkSize), BOUNDARY, 0);
+	}
+
+	private static String readAll(InputStream in) throws IOException {
+		return new String(in.readAllBytes(), StandardCharsets.ISO_8859_1);
+	}
+
+	private static void assertMalformed(String body) throws IOException {
+		MultipartReader reader = reader(body(body), Integer.MAX_VALUE);
+		try {
+			while (reader.nextPart()) readAll(reader.getInputStream());
+			fail();
+		} catch (MultipartException e) {
+			// 想定通り
+		}
+	}
+
+	/**
+	 * <p>1回の読み込みで最大chunkSizeバイトを返す入力ストリーム</p>
+	 */
+	static class ChunkedInputStream extends ByteArrayInputStream {
+
+		private final int chunkSize;
+
+		ChunkedInputStream(byte[] bytes, int chunkSize) {
+			super(bytes);
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		public synchronized int read(byte[] b, int off, int len) {
+			return super.read(b, off, Math.min(len, chunkSize));
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+package net.skuratani.simplecontroller4j.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import net.skuratani.simplecontroller4j.annotation.Controller;
+import net.skuratani.simplecontroller4j.findclass.ClassIndex;
+
+/**
+ * <p>インデックス生成アノテーションプロセッサ テスト</p>
+ */
+public class IndexProcessorTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path sourceDir;
+	private Path outputDir;
+
+	@Before
+	public void setUp() throws IOException {
+		sourceDir = folder.newFolder("src").toPath();
+		outputDir = folder.newFolder("classes").toPath();
+	}
+
+	@Test
+	public void writesControllerRouteAspectAndAdviceEntries() throws Exception {
+		source("app.UserController",
+			   "package app;\n"
+			 + "import net.skuratani.simplecontroller4j.annotation.*;\n"
+			 + "@Controller @Route(path = \"/users\")\n"
+			 + "public class UserController {\n"
+			 + "  @Route(path = \"/{id:int}\", method = Method.GET) public void get(int id, java.util.List<String> tags) {}\n"
+			 + "  public void helper() {}\n"
+			 + "}\n");
+		source("app.LogAspect",
+			   "package app;\n"
+			 + "import net.skuratani.simplecontroller4j.annotation.*;\n"
+			 + "@Aspect public class LogAspect {\n"
+			 + "  @Before(execution = {\"app.*\", \"other.*\"}) public void log() {}\n"
+			 + "}\n");
+		source("app.Plain", "package app;\npublic class Plain {}\n");
+
+		compile("app/UserController.java", "app/LogAspect.java", "app/Plain.java");
+
+		List<String> lines = index();
+		assertEquals(Arrays.asList(
+				"controller\tapp.UserController",
+				"route\tapp.UserController\tGET\t/users/{id:int}\tget(int,java.util.List)",
+				"aspect\tapp.LogAspect",
+				"advice\tapp.LogAspect\tBEFORE\tlog()\tapp.*,other.*"), lines);
+	}
+
+	@Test
+	public void usesBinaryNameForNestedClasses() throws Exception {
+		source("app.Outer",
+			   "package app;\n"
+			 + "import net.skuratani.simplecontroller4j.annotation.*;\n"
+			 + "public class Outer {\n"
+			 + "  @Controller public static class Inner {}\n"
+			 + "}\n");
+
+		compile("app/Outer.java");
+
+		assertEquals(Arrays.asList("controller\tapp.Outer$Inner"), index());
+	}
+
+	@Test
+	public void writesNothingWithoutAnnotatedClasses() throws Exception {
+		source("app.Plain", "package app;\npublic class Plain {}\n");
+
+		compile("app/Plain.java");
+
+		assertFalse(Files.exists(outputDir.resolve(ClassIndex.RESOURCE_NAME)));
+	}
+
+	@Test
+	public void incrementalCompileKeepsEntriesOfUntouchedClasses() throws Exception {
+		source("app.AController", "package app;\n@net.skuratani.simplecontroller4j.annotation.Controller\npublic class AController {}\n");
+		source("app.BController", "package app;\n@net.skuratani.simplecontroller4j.annotation.Controller\npublic class BController {}\n");
+		compile("app/AController.java", "app/BController.java");
+
+		// BControllerのみ再コンパイル
+		compile("app/BController.java");
+
+		List<String> lines = index();
+		assertEquals(2, lines.size());
+		assertTrue(lines.contains("controller\tapp.AController"));
+		assertTrue(lines.contains("controller\tapp.BController"));
+	}
+
+	@Test
+	public void incrementalCompileDropsEntriesOfRemovedAnnotations() throws Exception {
+		source("app.AController", "package app;\n@net.skuratani.simplecontroller4j.annotation.Controller\npublic class AController {}\n");
+		source("app.BController", "package app;\n@net.skuratani.simplecontroller4j.annotation.Controller\npublic class BController {}\n");
+		compile("app/AController.java", "app/BController.java");
+
+		// AControllerからアノテーションを削除し、クラスファイルも更新された状態
+		source("app.AController", "package app;\npublic class AController {}\n");
+		compile("app/AController.java");
+		compile("app/BController.java");
+
+		assertEquals(Arrays.asList("controller\tapp.BController"), index());
+	}
+
+	private void source(String className, String code) throws IOException {
+		Path file = sourceDir.resolve(className.replace('.', '/') + ".java");
+		Files.createDirectories(file.getParent());
+		Files.write(file, code.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void compile(String... files) throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+			List<File> sources = new ArrayList<>();
+			for (String file : files) sources.add(sourceDir.resolve(file).toFile());
+
+			// アノテーションはtarget/classes、差分コンパイル時の既存クラスは出力先から解決する
+			String classPath = new File(Controller.class.getProtectionDomain().getCodeSource().getLocation().getPath())
+					+ File.pathSeparator + outputDir;
+			List<String> options = Arrays.asList("-d", outputDir.toString(), "-classpath", classPath);
+			JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+					fileManager.getJavaFileObjectsFromFiles(sources));
+			task.setProcessors(Arrays.asList(new IndexProcessor()));
+			assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+		}
+	}
+
+	private List<String> index() throws IOException {
+		return Files.readAllLines(outputDir.resolve(ClassIndex.RESOURCE_NAME), StandardCharsets.UTF_8).stream()
+				.filter(line -> !line.startsWith("#"))
+				.collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,382 @@
+package net.skuratani.simplecontroller4j.resource;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import net.skuratani.simplecontroller4j.stub.StubRequest;
+import net.skuratani.simplecontroller4j.stub.StubResponse;
+
+/**
+ * <p>静的リソースキャッシュ テスト</p>
+ */
+public class ResourceCacheTest {
+
+	/** 最終更新日時 */
+	static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveSize() {
+		new ResourceCache(0, 0, -1, List.of());
+	}
+
+	@Test
+	public void maximumEntrySizeIsBoundedByMaximumSize() {
+		ResourceCache cache = new ResourceCache(100, 1000, -1, List.of());
+
+		assertTrue(cache.isCacheable(100));
+		assertFalse(cache.isCacheable(101));
+		assertTrue(new ResourceCache(100, 10, -1, List.of()).isCacheable(10));
+		assertFalse(new ResourceCache(100, 10, -1, List.of()).isCacheable(11));
+	}
+
+	@Test
+	public void countsHitsAndMisses() throws IOException {
+		ResourceCache cache = new ResourceCache(1000, 1000, -1, List.of());
+
+		assertNull(cache.get("/a.bin"));
+		CachedResource resource = load(cache, "/a.bin", bytes(100), "application/octet-stream");
+		assertSame(resource, cache.get("/a.bin"));
+		assertSame(resource, cache.get("/a.bin"));
+
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(0, cache.getEvictionCount());
+		assertEquals(1, cache.size());
+		assertEquals(100, cache.getCurrentSize());
+	}
+
+	@Test
+	public void keepsFileContentAndValidators() throws IOException {
+		ResourceCache cache = new ResourceCache(1000, 1000, -1, List.of());
+		byte[] content = bytes(100);
+
+		CachedResource resource = load(cache, "/a.bin", content, "application/octet-stream");
+
+		assertArrayEquals(content, resource.getContent());
+		assertEquals(100, resource.getLength());
+		assertEquals(LAST_MODIFIED, resource.getLastModified());
+		assertEquals("\"etag\"", resource.getEtag());
+		assertEquals("application/octet-stream", resource.getContentType());
+		assertEquals(0, resource.getEncodingCount());
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedEntriesByWeight() throws IOException {
+		ResourceCache cache = new ResourceCache(300, 300, -1, List.of());
+		load(cache, "/a.bin", bytes(100), "application/octet-stream");
+		load(cache, "/b.bin", bytes(100), "application/octet-stream");
+		load(cache, "/c.bin", bytes(100), "application/octet-stream");
+		assertNotNull(cache.get("/a.bin"));
+
+		load(cache, "/d.bin", bytes(150), "application/octet-stream");
+
+		// 最も長く参照されていない/b.binと、使用量が超過する/c.binを破棄
+		assertNull(cache.get("/b.bin"));
+		assertNull(cache.get("/c.bin"));
+		assertNotNull(cache.get("/a.bin"));
+		assertNotNull(cache.get("/d.bin"));
+		assertEquals(250, cache.getCurrentSize());
+		assertEquals(2, cache.size());
+		assertEquals(2, cache.getEvictionCount());
+	}
+
+	@Test
+	public void entryOfMaximumSizeEvictsAllOthers() throws IOException {
+		ResourceCache cache = new ResourceCache(200, 200, -1, List.of());
+		load(cache, "/a.bin", bytes(100), "application/octet-stream");
+		load(cache, "/b.bin", bytes(100), "application/octet-stream");
+
+		assertNotNull(load(cache, "/c.bin", bytes(200), "application/octet-stream"));
+
+		assertEquals(1, cache.size());
+		assertEquals(200, cache.getCurrentSize());
+		assertEquals(2, cache.getEvictionCount());
+	}
+
+	@Test
+	public void reloadReplacesEntryWeight() throws IOException {
+		ResourceCache cache = new ResourceCache(1000, 1000, -1, List.of());
+		load(cache, "/a.bin", bytes(100), "application/octet-stream");
+
+		load(cache, "/a.bin", bytes(40), "application/octet-stream");
+
+		assertEquals(1, cache.size());
+		assertEquals(40, cache.getCurrentSize());
+		assertEquals(0, cache.getEvictionCount());
+	}
+
+	@Test
+	public void doesNotLoadOversizedFiles() throws IOException {
+		ResourceCache cache = new ResourceCache(1000, 50, -1, List.of());
+
+		assertNull(load(cache, "/a.bin", bytes(51), "application/octet-stream"));
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getCurrentSize());
+	}
+
+	@Test
+	public void doesNotLoadFileChangedWhileReading() throws IOException {
+		ResourceCache cache = new ResourceCache(1000, 1000, -1, List.of());
+		Path file = write("a.bin", bytes(100));
+		BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+		Files.write(file, bytes(90));
+
+		assertNull(cache.load("/a.bin", file, attributes, "application/octet-stream", "\"etag\""));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void discardsModifiedFilesWhenChecking() throws IOException {
+		ResourceCache cache = new ResourceCache(1000, 1000, 0, List.of());
+		load(cache, "/a.bin", bytes(100), "application/octet-stream");
+		load(cache, "/b.bin", bytes(100), "application/octet-stream");
+		load(cache, "/c.bin", bytes(100), "application/octet-stream");
+		assertNotNull(cache.get("/a.bin"));
+
+		// サイズの変更・最終更新日時の変更・削除
+		Files.write(folder.getRoot().toPath().resolve("a.bin"), bytes(99));
+		Files.setLastModifiedTime(folder.getRoot().toPath().resolve("b.bin"), FileTime.fromMillis(LAST_MODIFIED + 1000));
+		Files.delete(folder.getRoot().toPath().resolve("c.bin"));
+
+		assertNull(cache.get("/a.bin"));
+		assertNull(cache.get("/b.bin"));
+		assertNull(cache.get("/c.bin"));
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getCurrentSize());
+		assertEquals(3, cache.getEvictionCount());
+		assertEquals(3, cache.getMissCount());
+	}
+
+	@Test
+	public void negativeIntervalSkipsChecking() throws IOException {
+		ResourceCache cache = new ResourceCache(1000, 1000, -1, List.of());
+		CachedResource resource = load(cache, "/a.bin", bytes(100), "application/octet-stream");
+
+		Files.delete(folder.getRoot().toPath().resolve("a.bin"));
+
+		assertSame(resource, cache.get("/a.bin"));
+	}
+
+	@Test
+	public void compressesCompressibleContent() throws IOException {
+		ResourceCache cache = new ResourceCache(100_000, 100_000, -1, List.of(new GzipEncoder()));
+		byte[] content = text(1000);
+
+		CachedResource resource = load(cache, "/a.css", content, "text/css; charset=UTF-8");
+
+		assertEquals(1, resource.getEncodingCount());
+		assertEquals("gzip", resource.getEncoding(0));
+		assertEquals("\"etag-gzip\"", resource.getEncodedEtag(0));
+		assertTrue(resource.getEncodedContent(0).length < content.length);
+		assertArrayEquals(content, gunzip(resource.getEncodedContent(0)));
+		assertEquals(content.length + resource.getEncodedContent(0).length, resource.getWeight());
+		assertEquals(resource.getWeight(), cache.getCurrentSize());
+	}
+
+	@Test
+	public void compressesOnlyTextualContentTypes() throws IOException {
+		ResourceCache cache = new ResourceCache(100_000, 100_000, -1, List.of(new GzipEncoder()));
+
+		assertEquals(1, load(cache, "/a.js", text(1000), "application/javascript").getEncodingCount());
+		assertEquals(1, load(cache, "/a.json", text(1000), "application/json").getEncodingCount());
+		assertEquals(1, load(cache, "/a.svg", text(1000), "image/svg+xml").getEncodingCount());
+		assertEquals(1, load(cache, "/a.atom", text(1000), "application/atom+xml").getEncodingCount());
+		assertEquals(0, load(cache, "/a.png", text(1000), "image/png").getEncodingCount());
+		assertEquals(0, load(cache, "/a.bin", text(1000), null).getEncodingCount());
+	}
+
+	@Test
+	public void doesNotCompressSmallContent() throws IOException {
+		ResourceCache cache = new ResourceCache(100_000, 100_000, -1, List.of(new GzipEncoder()));
+
+		assertEquals(0, load(cache, "/small.txt", text(255), "text/plain").getEncodingCount());
+		assertEquals(1, load(cache, "/large.txt", text(256), "text/plain").getEncodingCount());
+	}
+
+	@Test
+	public void doesNotKeepLargerEncodedContent() throws IOException {
+		ResourceCache cache = new ResourceCache(100_000, 100_000, -1, List.of(new GzipEncoder()));
+		byte[] random = new byte[1000];
+		new Random(1).nextBytes(random);
+
+		CachedResource resource = load(cache, "/random.txt", random, "text/plain");
+
+		assertEquals(0, resource.getEncodingCount());
+		assertEquals(1000, resource.getWeight());
+	}
+
+	@Test
+	public void gzipEncoderRoundTrips() throws IOException {
+		GzipEncoder encoder = new GzipEncoder();
+		byte[] content = "静的リソース".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+		assertEquals("gzip", encoder.getName());
+		assertArrayEquals(content, gunzip(encoder.encode(content)));
+		assertArrayEquals(new byte[0], gunzip(encoder.encode(new byte[0])));
+	}
+
+	@Test
+	public void handlerServesEncodedRepresentation() throws IOException {
+		byte[] content = text(1000);
+		write("app.css", content);
+		StaticResourceHandler handler = handler(new ResourceCache(100_000, 100_000, -1, List.of(new GzipEncoder())));
+
+		StubResponse response = serve(handler, StubRequest.get("/app.css").header("Accept-Encoding", "br, gzip"));
+
+		assertEquals(200, response.getStatus());
+		assertEquals("gzip", response.getHeader("Content-Encoding"));
+		assertEquals("Accept-Encoding", response.getHeader("Vary"));
+		assertEquals(etag(1000, "-gzip"), response.getHeader("ETag"));
+		assertEquals(response.getBody().length, response.getContentLength());
+		assertArrayEquals(content, gunzip(response.getBody()));
+	}
+
+	@Test
+	public void handlerServesIdentityRepresentation() throws IOException {
+		byte[] content = text(1000);
+		write("app.css", content);
+		StaticResourceHandler handler = handler(new ResourceCache(100_000, 100_000, -1, List.of(new GzipEncoder())));
+
+		for (StubRequest request : Arrays.asList(StubRequest.get("/app.css"),
+												 StubRequest.get("/app.css").header("Accept-Encoding", "gzip;q=0"),
+												 StubRequest.get("/app.css").header("Accept-Encoding", "br"))) {
+			StubResponse response = serve(handler, request);
+
+			assertNull(response.getHeader("Content-Encoding"));
+			assertEquals("Accept-Encoding", response.getHeader("Vary"));
+			assertEquals(etag(1000, ""), response.getHeader("ETag"));
+			assertArrayEquals(content, response.getBody());
+		}
+	}
+
+	@Test
+	public void handlerServesIdentityRangeOfEncodedResource() throws IOException {
+		byte[] content = text(1000);
+		write("app.css", content);
+		StaticResourceHandler handler = handler(new ResourceCache(100_000, 100_000, -1, List.of(new GzipEncoder())));
+
+		StubResponse response = serve(handler, StubRequest.get("/app.css").header("Accept-Encoding", "gzip")
+														  .header("Range", "bytes=10-19"));
+
+		assertEquals(206, response.getStatus());
+		assertNull(response.getHeader("Content-Encoding"));
+		assertEquals("bytes 10-19/1000", response.getHeader("Content-Range"));
+		assertArrayEquals(Arrays.copyOfRange(content, 10, 20), response.getBody());
+	}
+
+	@Test
+	public void handlerServesCachedResourceWithoutFileSystem() throws IOException {
+		byte[] content = bytes(100);
+		Path file = write("a.bin", content);
+		ResourceCache cache = new ResourceCache(100_000, 100_000, -1, List.of(new GzipEncoder()));
+		StaticResourceHandler handler = handler(cache);
+		serve(handler, StubRequest.get("/a.bin"));
+		Files.delete(file);
+
+		StubResponse response = serve(handler, StubRequest.get("/a.bin"));
+
+		assertEquals(200, response.getStatus());
+		assertNull(response.getHeader("Vary"));
+		assertArrayEquals(content, response.getBody());
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void handlerStreamsFilesLargerThanMaximumEntrySize() throws IOException {
+		byte[] content = bytes(200);
+		write("a.bin", content);
+		ResourceCache cache = new ResourceCache(100_000, 100, -1, List.of());
+
+		StubResponse response = serve(handler(cache), StubRequest.get("/a.bin"));
+
+		assertArrayEquals(content, response.getBody());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void handlerReturnsNotModifiedForEncodedEtag() throws IOException {
+		write("app.css", text(1000));
+		StaticResourceHandler handler = handler(new ResourceCache(100_000, 100_000, -1, List.of(new GzipEncoder())));
+
+		StubResponse response = serve(handler, StubRequest.get("/app.css").header("Accept-Encoding", "gzip")
+														  .header("If-None-Match", etag(1000, "-gzip")));
+
+		assertEquals(304, response.getStatus());
+		assertEquals(0, response.getBody().length);
+	}
+
+	private CachedResource load(ResourceCache cache, String requestPath, byte[] content, String contentType)
+		throws IOException {
+		Path file = write(requestPath.substring(1), content);
+		BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+		return cache.load(requestPath, file, attributes, contentType, "\"etag\"");
+	}
+
+	private Path write(String name, byte[] content) throws IOException {
+		Path file = folder.getRoot().toPath().resolve(name);
+		Files.write(file, content);
+		Files.setLastModifiedTime(file, FileTime.fromMillis(LAST_MODIFIED));
+		return file;
+	}
+
+	private StaticResourceHandler handler(ResourceCache cache) {
+		return new StaticResourceHandler(StaticResourceHandlerTest.servletContext(folder.getRoot().toPath()), null,
+										 cache);
+	}
+
+	private static StubResponse serve(StaticResourceHandler handler, StubRequest request) throws IOException {
+		StubResponse response = new StubResponse();
+		HttpServletRequest built = request.build();
+		handler.serve(built, response.build(), built.getRequestURI());
+		return response;
+	}
+
+	private static String etag(long length, String suffix) {
+		return "\"" + Long.toHexString(length) + "-" + Long.toHexString(LAST_MODIFIED) + suffix + "\"";
+	}
+
+	private static byte[] bytes(int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) bytes[i] = (byte) i;
+		return bytes;
+	}
+
+	private static byte[] text(int length) {
+		byte[] text = new byte[length];
+		for (int i = 0; i < length; i++) text[i] = (byte) ('a' + i % 4);
+		return text;
+	}
+
+	private static byte[] gunzip(byte[] encoded) throws IOException {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+			return in.readAllBytes();
+		}
+	}
+
+}
@@ -0,0 +1,350 @@
+package net.skuratani.simplecontroller4j.resource;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import net.skuratani.simplecontroller4j.stub.StubRequest;
+import net.skuratani.simplecontroller4j.stub.StubResponse;
+
+/**
+ * <p>静的リソースハンドラ テスト</p>
+ */
+public class StaticResourceHandlerTest {
+
+	/** 最終更新日時（秒未満を含む） */
+	static final long LAST_MODIFIED = 1_700_000_000_123L;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private byte[] content;
+	private StaticResourceHandler handler;
+
+	@Before
+	public void setUp() throws IOException {
+		content = new byte[100];
+		for (int i = 0; i < content.length; i++) content[i] = (byte) i;
+		write("data.bin", content);
+		handler = new StaticResourceHandler(servletContext(folder.getRoot().toPath()), "max-age=60");
+	}
+
+	@Test
+	public void detectsResourcePaths() {
+		assertTrue(StaticResourceHandler.isResourcePath("/js/app.js"));
+		assertTrue(StaticResourceHandler.isResourcePath("/a.b.CSS"));
+		assertFalse(StaticResourceHandler.isResourcePath("/.js"));
+		assertFalse(StaticResourceHandler.isResourcePath("/app."));
+		assertFalse(StaticResourceHandler.isResourcePath("/app.mp4"));
+		assertFalse(StaticResourceHandler.isResourcePath("app.js"));
+		assertFalse(StaticResourceHandler.isResourcePath("/users/7"));
+	}
+
+	@Test
+	public void parsesSingleRanges() {
+		assertRange(0, 9, handler.parseRange("bytes=0-9", 100));
+		assertRange(90, 99, handler.parseRange("bytes=90-", 100));
+		assertRange(95, 99, handler.parseRange("bytes=95-200", 100));
+		assertRange(99, 99, handler.parseRange("bytes=99-99", 100));
+		assertRange(90, 99, handler.parseRange("bytes=-10", 100));
+		assertRange(0, 99, handler.parseRange("bytes=-200", 100));
+		assertRange(0, 1, handler.parseRange("  BYTES= 0 - 1 ", 100));
+	}
+
+	@Test
+	public void unsatisfiableRanges() {
+		assertUnsatisfiable(handler.parseRange("bytes=100-", 100));
+		assertUnsatisfiable(handler.parseRange("bytes=100-200", 100));
+		assertUnsatisfiable(handler.parseRange("bytes=-0", 100));
+		assertUnsatisfiable(handler.parseRange("bytes=0-", 0));
+		assertUnsatisfiable(handler.parseRange("bytes=-5", 0));
+	}
+
+	@Test
+	public void ignoresMalformedAndMultipleRanges() {
+		assertNull(handler.parseRange("bytes=0-1,5-6", 100));
+		assertNull(handler.parseRange("items=0-1", 100));
+		assertNull(handler.parseRange("bytes=5-1", 100));
+		assertNull(handler.parseRange("bytes=a-b", 100));
+		assertNull(handler.parseRange("bytes=-", 100));
+		assertNull(handler.parseRange("bytes=5", 100));
+		assertNull(handler.parseRange("bytes=--5", 100));
+		assertNull(handler.parseRange("bytes=99999999999999999999-", 100));
+	}
+
+	@Test
+	public void ifRangeWithEntityTag() {
+		String etag = handler.etagOf(100, LAST_MODIFIED);
+
+		assertTrue(handler.matchesIfRange(StubRequest.get("/").build(), etag, LAST_MODIFIED));
+		assertTrue(handler.matchesIfRange(ifRange(" " + etag + " "), etag, LAST_MODIFIED));
+		assertFalse(handler.matchesIfRange(ifRange("\"other\""), etag, LAST_MODIFIED));
+		// 弱いETagは一致しない
+		assertFalse(handler.matchesIfRange(ifRange("W/" + etag), etag, LAST_MODIFIED));
+	}
+
+	@Test
+	public void ifRangeWithDate() {
+		String etag = handler.etagOf(100, LAST_MODIFIED);
+
+		assertTrue(handler.matchesIfRange(ifRange(httpDate(LAST_MODIFIED)), etag, LAST_MODIFIED));
+		assertFalse(handler.matchesIfRange(ifRange(httpDate(LAST_MODIFIED + 1000)), etag, LAST_MODIFIED));
+		assertFalse(handler.matchesIfRange(ifRange(httpDate(LAST_MODIFIED - 1000)), etag, LAST_MODIFIED));
+		assertFalse(handler.matchesIfRange(ifRange("not a date"), etag, LAST_MODIFIED));
+	}
+
+	@Test
+	public void servesWholeFile() throws IOException {
+		StubResponse response = serve(StubRequest.get("/data.bin"));
+
+		assertEquals(200, response.getStatus());
+		assertArrayEquals(content, response.getBody());
+		assertEquals(100, response.getContentLength());
+		assertEquals("application/octet-stream", response.getContentType());
+		assertEquals(handler.etagOf(100, LAST_MODIFIED), response.getHeader("ETag"));
+		assertEquals(httpDate(LAST_MODIFIED), response.getHeader("Last-Modified"));
+		assertEquals("bytes", response.getHeader("Accept-Ranges"));
+		assertEquals("max-age=60", response.getHeader("Cache-Control"));
+	}
+
+	@Test
+	public void servesPartialContent() throws IOException {
+		StubResponse response = serve(StubRequest.get("/data.bin").header("Range", "bytes=10-19"));
+
+		assertEquals(206, response.getStatus());
+		assertEquals("bytes 10-19/100", response.getHeader("Content-Range"));
+		assertEquals(10, response.getContentLength());
+		assertArrayEquals(Arrays.copyOfRange(content, 10, 20), response.getBody());
+
+		StubResponse suffix = serve(StubRequest.get("/data.bin").header("Range", "bytes=-5"));
+		assertEquals("bytes 95-99/100", suffix.getHeader("Content-Range"));
+		assertArrayEquals(Arrays.copyOfRange(content, 95, 100), suffix.getBody());
+	}
+
+	@Test
+	public void unsatisfiableRangeReturns416() throws IOException {
+		StubResponse response = serve(StubRequest.get("/data.bin").header("Range", "bytes=100-"));
+
+		assertEquals(416, response.getStatus());
+		assertEquals("bytes */100", response.getHeader("Content-Range"));
+		assertEquals(0, response.getBody().length);
+	}
+
+	@Test
+	public void rangeOnEmptyFileReturns416() throws IOException {
+		write("empty.txt", new byte[0]);
+
+		StubResponse response = serve(StubRequest.get("/empty.txt").header("Range", "bytes=0-"));
+
+		assertEquals(416, response.getStatus());
+		assertEquals("bytes */0", response.getHeader("Content-Range"));
+	}
+
+	@Test
+	public void mismatchedIfRangeServesWholeFile() throws IOException {
+		StubResponse response = serve(StubRequest.get("/data.bin").header("Range", "bytes=100-")
+												 .header("If-Range", "\"stale\""));
+
+		assertEquals(200, response.getStatus());
+		assertNull(response.getHeader("Content-Range"));
+		assertArrayEquals(content, response.getBody());
+	}
+
+	@Test
+	public void matchingIfRangeServesPartialContent() throws IOException {
+		StubResponse response = serve(StubRequest.get("/data.bin").header("Range", "bytes=0-0")
+												 .header("If-Range", httpDate(LAST_MODIFIED)));
+
+		assertEquals(206, response.getStatus());
+		assertArrayEquals(new byte[] { 0 }, response.getBody());
+	}
+
+	@Test
+	public void multipleRangesServeWholeFile() throws IOException {
+		StubResponse response = serve(StubRequest.get("/data.bin").header("Range", "bytes=0-1,5-6"));
+
+		assertEquals(200, response.getStatus());
+		assertArrayEquals(content, response.getBody());
+	}
+
+	@Test
+	public void rangeIsIgnoredForNonGetRequests() throws IOException {
+		StubResponse response = serve(StubRequest.post("/data.bin").header("Range", "bytes=0-1"));
+
+		assertEquals(200, response.getStatus());
+		assertEquals(100, response.getBody().length);
+	}
+
+	@Test
+	public void headRequestHasNoBody() throws IOException {
+		StubResponse response = serve(StubRequest.get("/data.bin").method("HEAD"));
+
+		assertEquals(200, response.getStatus());
+		assertEquals(100, response.getContentLength());
+		assertEquals(0, response.getBody().length);
+	}
+
+	@Test
+	public void notModifiedByEntityTag() throws IOException {
+		String etag = handler.etagOf(100, LAST_MODIFIED);
+
+		assertEquals(304, serve(StubRequest.get("/data.bin").header("If-None-Match", "\"x\", " + etag)).getStatus());
+		assertEquals(304, serve(StubRequest.get("/data.bin").header("If-None-Match", "W/" + etag)).getStatus());
+		assertEquals(304, serve(StubRequest.get("/data.bin").header("If-None-Match", "*")).getStatus());
+		// If-None-Matchを指定した場合はIf-Modified-Sinceを使用しない
+		StubResponse changed = serve(StubRequest.get("/data.bin").header("If-None-Match", "\"x\"")
+												.header("If-Modified-Since", httpDate(LAST_MODIFIED)));
+		assertEquals(200, changed.getStatus());
+		assertEquals(100, changed.getBody().length);
+	}
+
+	@Test
+	public void notModifiedByDate() throws IOException {
+		StubResponse notModified = serve(StubRequest.get("/data.bin").header("If-Modified-Since", httpDate(LAST_MODIFIED)));
+		assertEquals(304, notModified.getStatus());
+		assertEquals(0, notModified.getBody().length);
+
+		assertEquals(200, serve(StubRequest.get("/data.bin")
+				.header("If-Modified-Since", httpDate(LAST_MODIFIED - 1000))).getStatus());
+		assertEquals(200, serve(StubRequest.get("/data.bin").header("If-Modified-Since", "garbage")).getStatus());
+		assertEquals(200, serve(StubRequest.post("/data.bin")
+				.header("If-Modified-Since", httpDate(LAST_MODIFIED))).getStatus());
+	}
+
+	@Test
+	public void missingFilesReturn404() throws IOException {
+		folder.newFolder("dir.d");
+
+		assertEquals(404, serve(StubRequest.get("/missing.txt")).getStatus());
+		assertEquals(404, serve(StubRequest.get("/dir.d")).getStatus());
+		assertEquals(404, serve(StubRequest.get("/unmapped.txt")).getStatus());
+	}
+
+	@Test
+	public void usesMimeTypeOfServletContext() throws IOException {
+		write("style.css", "body{}".getBytes());
+
+		StubResponse response = serve(StubRequest.get("/style.css"));
+
+		assertEquals("text/css", response.getContentType());
+		assertEquals("body{}", response.getBodyAsString());
+	}
+
+	@Test
+	public void largeFileIsDelegatedToSendfile() throws IOException {
+		Path file = write("large.bin", new byte[64 * 1024]);
+		HttpServletRequest request = StubRequest.get("/large.bin").header("Range", "bytes=1000-")
+												.attribute("org.apache.tomcat.sendfile.support", Boolean.TRUE).build();
+		StubResponse response = new StubResponse();
+
+		handler.serve(request, response.build(), "/large.bin");
+
+		assertEquals(0, response.getBody().length);
+		assertEquals(file.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+		assertEquals(1000L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+		assertEquals(64L * 1024, request.getAttribute("org.apache.tomcat.sendfile.end"));
+	}
+
+	@Test
+	public void smallFileIsNotDelegatedToSendfile() throws IOException {
+		HttpServletRequest request = StubRequest.get("/data.bin")
+												.attribute("org.apache.tomcat.sendfile.support", Boolean.TRUE).build();
+		StubResponse response = new StubResponse();
+
+		handler.serve(request, response.build(), "/data.bin");
+
+		assertEquals(100, response.getBody().length);
+		assertNull(request.getAttribute("org.apache.tomcat.sendfile.filename"));
+	}
+
+	@Test
+	public void acceptsEncodingHonorsQuality() {
+		assertTrue(StaticResourceHandler.acceptsEncoding("gzip, deflate", "gzip"));
+		assertTrue(StaticResourceHandler.acceptsEncoding("GZIP;q=0.5", "gzip"));
+		assertFalse(StaticResourceHandler.acceptsEncoding("gzip;q=0", "gzip"));
+		assertFalse(StaticResourceHandler.acceptsEncoding("gzip;q=bad", "gzip"));
+		assertTrue(StaticResourceHandler.acceptsEncoding("*", "gzip"));
+		assertFalse(StaticResourceHandler.acceptsEncoding("*, gzip;q=0", "gzip"));
+		assertFalse(StaticResourceHandler.acceptsEncoding("br", "gzip"));
+	}
+
+	private StubResponse serve(StubRequest request) throws IOException {
+		StubResponse response = new StubResponse();
+		HttpServletRequest built = request.build();
+		handler.serve(built, response.build(), built.getRequestURI());
+		return response;
+	}
+
+	private Path write(String name, byte[] bytes) throws IOException {
+		Path file = folder.getRoot().toPath().resolve(name);
+		Files.write(file, bytes);
+		Files.setLastModifiedTime(file, FileTime.fromMillis(LAST_MODIFIED));
+		return file;
+	}
+
+	private static HttpServletRequest ifRange(String value) {
+		return StubRequest.get("/").header("If-Range", value).build();
+	}
+
+	static String httpDate(long millis) {
+		return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(millis).atZone(ZoneOffset.UTC));
+	}
+
+	private static void assertRange(long start, long end, long[] range) {
+		assertArrayEquals(new long[] { start, end }, range);
+	}
+
+	private static void assertUnsatisfiable(long[] range) {
+		assertEquals(0, range.length);
+	}
+
+	/**
+	 * <p>ドキュメントルートのファイルを参照するサーブレットコンテキスト</p>
+	 * <pre>
+	 * 「/unmapped」で始まるパスは実パスを返却しない。
+	 * </pre>
+	 */
+	static ServletContext servletContext(Path root) {
+		return (ServletContext) Proxy.newProxyInstance(StaticResourceHandlerTest.class.getClassLoader(),
+				new Class<?>[] {ServletContext.class}, (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "getRealPath":
+				String path = (String) args[0];
+				return path.startsWith("/unmapped") ? null : root.resolve(path.substring(1)).toString();
+			case "getMimeType":
+				String name = (String) args[0];
+				if (name.endsWith(".css")) return "text/css";
+				if (name.endsWith(".js")) return "application/javascript";
+				if (name.endsWith(".txt")) return "text/plain";
+				return null;
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return proxy == args[0];
+			default:
+				return null;
+			}
+		});
+	}
+
+}
@@ -0,0 +1,254 @@
+package net.skuratani.simplecontroller4j.response;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.stub.StubResponse;
+
+/**
+ * <p>レスポンスライター テスト</p>
+ */
+public class ResponseWriterTest {
+
+	@Test
+	public void nullIsNotWritten() throws IOException {
+		StubResponse response = new StubResponse();
+
+		ResponseWriter.write(response.build(), null);
+
+		assertEquals(0, response.getBody().length);
+		assertEquals(-1, response.getContentLength());
+		assertNull(response.getContentType());
+	}
+
+	@Test
+	public void writesTextAsUtf8ByDefault() throws IOException {
+		String text = "aéあ😀";
+		StubResponse response = new StubResponse();
+
+		ResponseWriter.write(response.build(), text);
+
+		// 1・2・3・4バイトの文字
+		assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), response.getBody());
+		assertEquals(10, response.getContentLength());
+		assertTrue(response.isCommitted());
+	}
+
+	@Test
+	public void encodesBoundaryCodePoints() throws IOException {
+		assertUtf8("\u007f\u0080߿ࠀ￿");
+		assertUtf8(new String(Character.toChars(0x10000)) + new String(Character.toChars(0x10ffff)));
+		assertUtf8("퟿");
+		assertUtf8("");
+	}
+
+	@Test
+	public void replacesUnpairedSurrogates() throws IOException {
+		// 対になっていない上位・下位サロゲート、順序が逆のサロゲート
+		assertUtf8("\ud83d");
+		assertUtf8("\ude00");
+		assertUtf8("a\ud83db");
+		assertUtf8("a\ude00b");
+		assertUtf8("\ude00\ud83d");
+		assertUtf8("\ud83d😀");
+		assertUtf8("😀\ude00");
+
+		StubResponse response = new StubResponse();
+		ResponseWriter.write(response.build(), "x\ud83d");
+		assertArrayEquals(new byte[] {'x', '?'}, response.getBody());
+	}
+
+	@Test
+	public void matchesStringGetBytesForRandomText() throws IOException {
+		Random random = new Random(7);
+		char[] samples = {'a', 'é', 'あ', '\ud83d', '\ude00', '\ud800', '\udfff', '￿', '\u0000'};
+		for (int n = 0; n < 500; n++) {
+			char[] chars = new char[random.nextInt(40)];
+			for (int i = 0; i < chars.length; i++) chars[i] = samples[random.nextInt(samples.length)];
+			assertUtf8(new String(chars));
+		}
+	}
+
+	@Test
+	public void growsThreadBufferUpToLimit() throws IOException {
+		// スレッド毎のバッファの初期容量・最大容量の前後
+		assertUtf8("あ".repeat(2730));
+		assertUtf8("あ".repeat(2731));
+		assertUtf8("あ".repeat(21845));
+		assertUtf8("あ".repeat(21846));
+		assertUtf8("😀".repeat(20000));
+		assertUtf8("short");
+	}
+
+	@Test
+	public void usesCharacterEncodingOfContentType() throws IOException {
+		StubResponse response = new StubResponse();
+		HttpServletResponse servletResponse = response.build();
+		servletResponse.setContentType("text/plain;charset=Shift_JIS");
+
+		ResponseWriter.write(servletResponse, "あいう");
+
+		assertArrayEquals("あいう".getBytes("Shift_JIS"), response.getBody());
+		assertEquals(6, response.getContentLength());
+	}
+
+	@Test
+	public void contentTypeWithoutCharsetUsesResponseDefault() throws IOException {
+		StubResponse response = new StubResponse();
+		HttpServletResponse servletResponse = response.build();
+		servletResponse.setContentType("text/plain");
+
+		ResponseWriter.write(servletResponse, "aéあ");
+
+		assertArrayEquals(new byte[] {'a', (byte) 0xe9, '?'}, response.getBody());
+	}
+
+	@Test
+	public void unknownCharsetFallsBackToIso88591() throws IOException {
+		StubResponse response = new StubResponse();
+		HttpServletResponse servletResponse = response.build();
+		servletResponse.setContentType("text/plain;charset=x-unknown");
+
+		ResponseWriter.write(servletResponse, "aé");
+
+		assertArrayEquals(new byte[] {'a', (byte) 0xe9}, response.getBody());
+	}
+
+	@Test
+	public void textFallsBackToWriterAfterGetWriter() throws IOException {
+		StubResponse response = new StubResponse();
+		HttpServletResponse servletResponse = response.build();
+		servletResponse.setContentType("text/plain;charset=UTF-8");
+		servletResponse.getWriter().print("先頭-");
+
+		ResponseWriter.write(servletResponse, "末尾😀");
+
+		assertEquals("先頭-末尾😀", response.getBodyAsString());
+		assertEquals(-1, response.getContentLength());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void bytesAfterGetWriterFail() throws IOException {
+		HttpServletResponse servletResponse = new StubResponse().build();
+		servletResponse.getWriter();
+
+		ResponseWriter.write(servletResponse, new byte[] {1});
+	}
+
+	@Test
+	public void writesBytes() throws IOException {
+		StubResponse response = new StubResponse();
+
+		ResponseWriter.write(response.build(), new byte[] {1, 2, 3});
+
+		assertArrayEquals(new byte[] {1, 2, 3}, response.getBody());
+		assertEquals(3, response.getContentLength());
+	}
+
+	@Test
+	public void writesRemainingOfHeapBuffer() throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(new byte[] {0, 1, 2, 3, 4, 5}, 1, 4).slice();
+		buffer.position(1);
+		StubResponse response = new StubResponse();
+
+		ResponseWriter.write(response.build(), buffer);
+
+		assertArrayEquals(new byte[] {2, 3, 4}, response.getBody());
+		assertEquals(3, response.getContentLength());
+		assertEquals(1, buffer.position());
+	}
+
+	@Test
+	public void writesRemainingOfDirectBuffer() throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(100_000);
+		for (int i = 0; i < buffer.capacity(); i++) buffer.put((byte) i);
+		buffer.position(10).limit(99_990);
+		StubResponse response = new StubResponse();
+
+		ResponseWriter.write(response.build(), buffer);
+
+		byte[] body = response.getBody();
+		assertEquals(99_980, body.length);
+		assertEquals(99_980, response.getContentLength());
+		for (int i = 0; i < body.length; i++) assertEquals((byte) (i + 10), body[i]);
+		assertEquals(10, buffer.position());
+		assertEquals(99_990, buffer.limit());
+	}
+
+	@Test
+	public void committedResponseKeepsContentLength() throws IOException {
+		StubResponse response = new StubResponse();
+		HttpServletResponse servletResponse = response.build();
+		servletResponse.flushBuffer();
+
+		ResponseWriter.write(servletResponse, new byte[] {1, 2});
+
+		assertEquals(-1, response.getContentLength());
+		assertArrayEquals(new byte[] {1, 2}, response.getBody());
+	}
+
+	@Test
+	public void writesResponseBodyWithContentType() throws IOException {
+		StubResponse response = new StubResponse();
+
+		ResponseWriter.write(response.build(), ResponseBody.text("こんにちは", "text/plain"));
+
+		assertEquals("text/plain", response.getContentType());
+		assertEquals("こんにちは", response.getBodyAsString());
+		assertEquals(15, response.getContentLength());
+	}
+
+	@Test
+	public void responseBodyKeepsContentTypeSetByMethod() throws IOException {
+		StubResponse response = new StubResponse();
+		HttpServletResponse servletResponse = response.build();
+		servletResponse.setContentType("application/json");
+
+		ResponseWriter.write(servletResponse, ResponseBody.of(new byte[] {'{', '}'}, "text/plain"));
+
+		assertEquals("application/json", response.getContentType());
+		assertEquals("{}", response.getBodyAsString());
+	}
+
+	@Test
+	public void responseBodyCopiesContent() throws IOException {
+		byte[] content = {1, 2};
+		ResponseBody body = ResponseBody.of(content, null);
+		content[0] = 9;
+		StubResponse response = new StubResponse();
+
+		ResponseWriter.write(response.build(), body);
+
+		assertArrayEquals(new byte[] {1, 2}, response.getBody());
+		assertNull(response.getContentType());
+		assertNull(ResponseBody.text("x", null).getContentType());
+		assertEquals("text/html;charset=UTF-8", ResponseBody.text("x", "text/html").getContentType());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsUnsupportedTypes() throws IOException {
+		ResponseWriter.write(new StubResponse().build(), 1);
+	}
+
+	private static void assertUtf8(String text) throws IOException {
+		StubResponse response = new StubResponse();
+
+		ResponseWriter.write(response.build(), text);
+
+		byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+		assertArrayEquals(expected, response.getBody());
+		assertEquals(expected.length, response.getContentLength());
+	}
+
+}
@@ -0,0 +1,152 @@
+package net.skuratani.simplecontroller4j.routing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * <p>ルーティングパスセグメント テスト</p>
+ */
+public class PathSegmentTest {
+
+	private static boolean isInt(String s) {
+		return PathSegment.isInt(s, 0, s.length());
+	}
+
+	private static boolean isFloat(String s) {
+		return PathSegment.isFloat(s, 0, s.length());
+	}
+
+	private static boolean parsesAsFloat(String s) {
+		try {
+			Float.parseFloat(s);
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	@Test
+	public void parsesSegmentTypes() {
+		assertEquals(PathSegment.Type.LITERAL, PathSegment.parse("init").getType());
+		assertEquals(PathSegment.Type.STRING, PathSegment.parse("{device}").getType());
+		assertEquals(PathSegment.Type.INT, PathSegment.parse("{count:int}").getType());
+		assertEquals(PathSegment.Type.FLOAT, PathSegment.parse("{rate:float}").getType());
+		assertEquals(PathSegment.Type.REGEX, PathSegment.parse("{code:re:[a-z]+}").getType());
+		assertEquals("count", PathSegment.parse("{count:int}").getName());
+		assertNull(PathSegment.parse("{count:int}").getPattern());
+	}
+
+	@Test
+	public void unknownTypeSpecBindsAsStringUnderBareName() {
+		PathSegment segment = PathSegment.parse("{id:long}");
+		assertEquals(PathSegment.Type.STRING, segment.getType());
+		assertEquals("id", segment.getName());
+	}
+
+	@Test
+	public void bracesThatDoNotEncloseTheSegmentAreLiteral() {
+		assertEquals(PathSegment.Type.LITERAL, PathSegment.parse("a{b}").getType());
+		assertEquals(PathSegment.Type.LITERAL, PathSegment.parse("{b").getType());
+		assertEquals(PathSegment.Type.LITERAL, PathSegment.parse("{").getType());
+	}
+
+	@Test
+	public void isIntAcceptsSignedDecimalWithinIntRange() {
+		assertTrue(isInt("0"));
+		assertTrue(isInt("-0"));
+		assertTrue(isInt("+5"));
+		assertTrue(isInt("007"));
+		assertTrue(isInt("2147483647"));
+		assertTrue(isInt("-2147483648"));
+	}
+
+	@Test
+	public void isIntRejectsOverflowAndMalformedInput() {
+		assertFalse(isInt("2147483648"));
+		assertFalse(isInt("-2147483649"));
+		assertFalse(isInt("99999999999999999999999"));
+		assertFalse(isInt(""));
+		assertFalse(isInt("-"));
+		assertFalse(isInt("+"));
+		assertFalse(isInt("1a"));
+		assertFalse(isInt(" 1"));
+		assertFalse(isInt("1.0"));
+		assertFalse(isInt("--1"));
+	}
+
+	@Test
+	public void isIntChecksOnlyTheGivenRange() {
+		String path = "/n/123/x";
+		assertTrue(PathSegment.isInt(path, 3, 6));
+		assertFalse(PathSegment.isInt(path, 2, 6));
+	}
+
+	@Test
+	public void parseIntMatchesIntegerParseInt() {
+		for (String s : new String[] {"0", "-0", "+5", "007", "42", "-42", "2147483647", "-2147483648"}) {
+			assertEquals(s, Integer.parseInt(s), PathSegment.parseInt(s, 0, s.length()));
+		}
+	}
+
+	@Test
+	public void parseIntReadsFromTheGivenRange() {
+		String path = "/user/-1234/edit";
+		assertEquals(-1234, PathSegment.parseInt(path, 6, 11));
+	}
+
+	@Test
+	public void isFloatAcceptsDecimalNotation() {
+		for (String s : new String[] {"1", "-1", "+1", "1.", ".5", "1.5", "1e10", "1E-3", "2.5e+2", "1.5f", "2d", "3F", "4D"}) {
+			assertTrue(s, isFloat(s));
+		}
+	}
+
+	@Test
+	public void isFloatAcceptsEverythingFloatParseFloatAccepts() {
+		for (String s : new String[] {"NaN", "Infinity", "-Infinity", "+Infinity", "0x1p3", "0X1.8P1f", "1e99", "1.5 "}) {
+			assertTrue(s, isFloat(s));
+		}
+	}
+
+	@Test
+	public void isFloatRejectsMalformedInput() {
+		for (String s : new String[] {"", ".", "-", "e5", "1e", "1e+", "abc", "1.5x", "1..5", "nan", "0x", "1f5"}) {
+			assertFalse(s, isFloat(s));
+		}
+	}
+
+	@Test
+	public void isFloatAgreesWithFloatParseFloat() {
+		String[] samples = {"0", "00.00", "-.0", "1.e", "1.e5", "+.e1", "1e5f", "0x1p", "Infinityf", "1_000", "１"};
+		for (String s : samples) {
+			assertEquals(s, parsesAsFloat(s), isFloat(s));
+		}
+	}
+
+	@Test
+	public void regexMatchesTheWholeSegment() {
+		PathSegment segment = PathSegment.parse("{code:re:a+}");
+		assertTrue(segment.matches("/x/aaa/y", 3, 6));
+		assertFalse(segment.matches("/x/aab/y", 3, 6));
+		assertFalse(segment.matches("/x/baa/y", 3, 6));
+	}
+
+	@Test
+	public void literalComparesExactRegion() {
+		PathSegment segment = PathSegment.parse("user");
+		assertTrue(segment.matches("/user/1", 1, 5));
+		assertFalse(segment.matches("/users/1", 1, 6));
+	}
+
+	@Test
+	public void stringVariableRequiresNonEmptySegment() {
+		PathSegment segment = PathSegment.parse("{name}");
+		assertTrue(segment.matches("/a", 1, 2));
+		assertFalse(segment.matches("/", 1, 1));
+	}
+
+}
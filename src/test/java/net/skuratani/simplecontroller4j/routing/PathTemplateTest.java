@@ -0,0 +1,108 @@
+package net.skuratani.simplecontroller4j.routing;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * <p>ルーティングパステンプレート テスト</p>
+ */
+public class PathTemplateTest {
+
+	private static void assertRejected(String path, String reason) {
+		try {
+			PathTemplate.compile(path);
+			fail("accepted : " + path);
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains(reason));
+		}
+	}
+
+	@Test
+	public void collectsVariableNamesAndTypes() {
+		PathTemplate template = PathTemplate.compile("/userlist/init/{count:int}/{rate:float}/{device}/{code:re:[0-9]+}");
+
+		assertArrayEquals(new String[] {"count", "rate", "device", "code"}, template.getVariableNames());
+		assertEquals(Integer.class, template.getValueType(0));
+		assertEquals(Float.class, template.getValueType(1));
+		assertEquals(String.class, template.getValueType(2));
+		assertEquals(String.class, template.getValueType(3));
+		assertEquals(2, template.indexOf("device"));
+		assertEquals(-1, template.indexOf("missing"));
+		assertFalse(template.isStatic());
+	}
+
+	@Test
+	public void staticPathIsNormalised() {
+		assertTrue(PathTemplate.compile("/userlist//init/").isStatic());
+		assertEquals("/userlist/init", PathTemplate.compile("/userlist//init/").getStaticPath());
+		assertEquals("/", PathTemplate.compile("").getStaticPath());
+		assertEquals("/", PathTemplate.compile("/").getStaticPath());
+	}
+
+	@Test
+	public void bindConvertsValues() {
+		PathTemplate template = PathTemplate.compile("/userlist/init/{count:int}/{rate:float}/{device}");
+
+		assertArrayEquals(new Object[] {100, 0.25f, "pc"}, template.bind("/userlist/init/100/0.25/pc"));
+		assertArrayEquals(new Object[] {-3, Float.NaN, "sp"}, template.bind("//userlist/init/-3/NaN/sp/"));
+	}
+
+	@Test
+	public void bindReturnsNullWhenPathDoesNotMatch() {
+		PathTemplate template = PathTemplate.compile("/user/{id:int}");
+
+		assertNull(template.bind("/user/abc"));
+		assertNull(template.bind("/user/1/extra"));
+		assertNull(template.bind("/user"));
+		assertNull(template.bind("/users/1"));
+		assertNull(template.bind("/user/2147483648"));
+	}
+
+	@Test
+	public void regexMayContainQuantifiers() {
+		PathTemplate template = PathTemplate.compile("/zip/{code:re:\\d{3}-\\d{4}}/detail");
+
+		assertEquals(3, template.getSegments().size());
+		assertArrayEquals(new Object[] {"123-4567"}, template.bind("/zip/123-4567/detail"));
+		assertNull(template.bind("/zip/12-4567/detail"));
+	}
+
+	@Test
+	public void regexMayContainSlashInCharacterClassOrEscape() {
+		assertEquals(List.of("a", "{p:re:[^/]+}"), PathTemplate.splitSegments("/a/{p:re:[^/]+}"));
+		assertEquals(List.of("a", "{p:re:\\/?x}"), PathTemplate.splitSegments("/a/{p:re:\\/?x}"));
+	}
+
+	@Test
+	public void escapedAndClassBracesDoNotCloseTheVariable() {
+		assertEquals(List.of("a", "{p:re:\\}+}", "b"), PathTemplate.splitSegments("/a/{p:re:\\}+}/b"));
+		assertEquals(List.of("a", "{p:re:[{}]+}", "b"), PathTemplate.splitSegments("/a/{p:re:[{}]+}/b"));
+		assertArrayEquals(new Object[] {"{}{"}, PathTemplate.compile("/a/{p:re:[{}]+}/b").bind("/a/{}{/b"));
+	}
+
+	@Test
+	public void rejectsSlashInsideVariable() {
+		assertRejected("/a/{p:re:x/y}", "'/'");
+		assertRejected("/a/{p/q}", "'/'");
+	}
+
+	@Test
+	public void rejectsUnclosedVariable() {
+		assertRejected("/a/{p:re:x{2}", "unclosed");
+		assertRejected("/a/{p", "unclosed");
+	}
+
+	@Test
+	public void closingBraceOutsideVariableIsLiteral() {
+		assertEquals(List.of("a}", "b"), PathTemplate.splitSegments("/a}/b"));
+	}
+
+}
@@ -0,0 +1,118 @@
+package net.skuratani.simplecontroller4j.routing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.annotation.Method;
+import net.skuratani.simplecontroller4j.routing.fixture.RoutingController;
+
+/**
+ * <p>ルーティングキャッシュ テスト</p>
+ */
+public class RouteCacheTest {
+
+	private static RouteMatch match() {
+		return new RouteMatch(null, null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveSize() {
+		new RouteCache(0);
+	}
+
+	@Test
+	public void countsHitsAndMisses() {
+		RouteCache cache = new RouteCache(8);
+		RouteMatch match = match();
+
+		assertNull(cache.get(Method.GET, "/a"));
+		cache.put(Method.GET, "/a", match);
+		assertSame(match, cache.get(Method.GET, "/a"));
+		assertSame(match, cache.get(Method.GET, "/a"));
+
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(0, cache.getEvictionCount());
+	}
+
+	@Test
+	public void keyIncludesRequestMethod() {
+		RouteCache cache = new RouteCache(8);
+		cache.put(Method.GET, "/a", match());
+
+		assertNull(cache.get(Method.POST, "/a"));
+	}
+
+	@Test
+	public void singleEntryCacheEvictsPreviousEntry() {
+		RouteCache cache = new RouteCache(1);
+		cache.put(Method.GET, "/a", match());
+		cache.put(Method.GET, "/b", match());
+
+		assertNull(cache.get(Method.GET, "/a"));
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+	}
+
+	@Test
+	public void sizeNeverExceedsMaximumAndEvictionsAreCounted() {
+		RouteCache cache = new RouteCache(100);
+		for (int i = 0; i < 1000; i++) {
+			cache.put(Method.GET, "/item/" + i, match());
+			assertTrue(cache.size() <= 100);
+		}
+		assertEquals(100, cache.getMaximumSize());
+		assertEquals(1000 - cache.size(), cache.getEvictionCount());
+	}
+
+	@Test
+	public void recentlyUsedEntrySurvivesEviction() {
+		RouteCache cache = new RouteCache(32);
+		RouteMatch hot = match();
+		cache.put(Method.GET, "/hot", hot);
+		for (int i = 0; i < 1000; i++) {
+			cache.put(Method.GET, "/cold/" + i, match());
+			assertSame(hot, cache.get(Method.GET, "/hot"));
+		}
+	}
+
+	@Test
+	public void routerCachesTemplatedLookupsOnly() {
+		Router router = new Router(List.of(RoutingController.class), 16);
+		RouteCache cache = router.getRouteCache();
+
+		RouteMatch first = router.findRoute("/users/7", Method.GET);
+		assertSame(first, router.findRoute("/users/7", Method.GET));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		// 固定パスはキャッシュを参照・登録しない
+		router.findRoute("/users/search", Method.GET);
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void routerLookupWithoutCacheLeavesCacheUntouched() {
+		Router router = new Router(List.of(RoutingController.class), 16);
+		RouteCache cache = router.getRouteCache();
+
+		router.findRoute("/users/7", Method.GET, false);
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getMissCount());
+	}
+
+	@Test
+	public void unmatchedPathsAreNotCached() {
+		Router router = new Router(List.of(RoutingController.class), 16);
+		assertNull(router.findRoute("/nothing/here", Method.GET));
+		assertEquals(0, router.getRouteCache().size());
+	}
+
+}
@@ -0,0 +1,134 @@
+package net.skuratani.simplecontroller4j.routing;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
+
+/**
+ * <p>ルーティングツリー テスト</p>
+ */
+public class RouteTreeTest {
+
+	private static RequestMapping mapping(String path) {
+		RequestMapping requestMapping = new RequestMapping();
+		requestMapping.setExecuteMethodPath(path);
+		requestMapping.setPathTemplate(PathTemplate.compile(path));
+		return requestMapping;
+	}
+
+	private static RouteTree tree(RequestMapping... requestMappings) {
+		RouteTree tree = new RouteTree();
+		for (RequestMapping requestMapping : requestMappings) {
+			tree.insert(requestMapping);
+		}
+		return tree;
+	}
+
+	@Test
+	public void literalMatchesWholeSegmentOnly() {
+		RequestMapping user = mapping("/user");
+		RouteTree tree = tree(user);
+
+		assertSame(user, tree.find("/user").getRequestMapping());
+		assertNull(tree.find("/userlist"));
+		assertNull(tree.find("/use"));
+		assertNull(tree.find("/user/1"));
+	}
+
+	@Test
+	public void literalTakesPriorityOverVariables() {
+		RequestMapping name = mapping("/user/{name}");
+		RequestMapping id = mapping("/user/{id:int}");
+		RequestMapping me = mapping("/user/me");
+		RouteTree tree = tree(name, id, me);
+
+		assertSame(me, tree.find("/user/me").getRequestMapping());
+		assertSame(id, tree.find("/user/42").getRequestMapping());
+		assertSame(name, tree.find("/user/alice").getRequestMapping());
+	}
+
+	@Test
+	public void variablesAreTriedInTypeOrder() {
+		RequestMapping any = mapping("/v/{s}");
+		RequestMapping regex = mapping("/v/{r:re:x.+}");
+		RequestMapping real = mapping("/v/{f:float}");
+		RequestMapping integer = mapping("/v/{i:int}");
+		RouteTree tree = tree(any, regex, real, integer);
+
+		assertSame(integer, tree.find("/v/7").getRequestMapping());
+		assertSame(real, tree.find("/v/7.5").getRequestMapping());
+		assertSame(regex, tree.find("/v/xyz").getRequestMapping());
+		assertSame(any, tree.find("/v/abc").getRequestMapping());
+	}
+
+	@Test
+	public void backtracksWhenDeeperSegmentsDoNotMatch() {
+		RequestMapping literal = mapping("/a/b/d");
+		RequestMapping variable = mapping("/a/{x}/c");
+		RouteTree tree = tree(literal, variable);
+
+		RouteMatch match = tree.find("/a/b/c");
+		assertSame(variable, match.getRequestMapping());
+		assertArrayEquals(new Object[] {"b"}, match.getPathValues());
+		assertSame(literal, tree.find("/a/b/d").getRequestMapping());
+	}
+
+	@Test
+	public void bindsConvertedValuesInDeclarationOrder() {
+		RouteTree tree = tree(mapping("/userlist/init/{count:int}/{rate:float}/{device}"));
+
+		assertArrayEquals(new Object[] {100, 1.5f, "pc"}, tree.find("/userlist/init/100/1.5/pc").getPathValues());
+	}
+
+	@Test
+	public void ignoresRepeatedAndTrailingSlashes() {
+		RequestMapping init = mapping("/userlist/init/{id:int}");
+		RouteTree tree = tree(init);
+
+		RouteMatch match = tree.find("//userlist///init/3/");
+		assertSame(init, match.getRequestMapping());
+		assertArrayEquals(new Object[] {3}, match.getPathValues());
+	}
+
+	@Test
+	public void pathLongerThanAnyRouteDoesNotMatch() {
+		RouteTree tree = tree(mapping("/a/{x}"));
+
+		assertNull(tree.find("/a/b/c/d/e"));
+		assertNull(tree.find("/a"));
+	}
+
+	@Test
+	public void rootRouteMatchesSlashAndEmptyPath() {
+		RequestMapping root = mapping("/");
+		RouteTree tree = tree(root);
+
+		assertSame(root, tree.find("/").getRequestMapping());
+		assertSame(root, tree.find("").getRequestMapping());
+	}
+
+	@Test
+	public void firstRegisteredRouteWinsForDuplicatePaths() {
+		RequestMapping first = mapping("/dup/{id:int}");
+		RequestMapping second = mapping("/dup/{id:int}");
+		RouteTree tree = tree(first, second);
+
+		assertSame(first, tree.find("/dup/1").getRequestMapping());
+	}
+
+	@Test
+	public void typedSegmentRejectsOutOfRangeInt() {
+		RequestMapping id = mapping("/n/{id:int}");
+		RouteTree tree = tree(id);
+
+		assertSame(id, tree.find("/n/2147483647").getRequestMapping());
+		assertSame(id, tree.find("/n/-2147483648").getRequestMapping());
+		assertNull(tree.find("/n/2147483648"));
+		assertNull(tree.find("/n/1x"));
+	}
+
+}
@@ -0,0 +1,64 @@
+package net.skuratani.simplecontroller4j.routing;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.annotation.Method;
+import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
+import net.skuratani.simplecontroller4j.routing.fixture.RoutingController;
+
+/**
+ * <p>ルーター テスト</p>
+ */
+public class RouterTest {
+
+	private final Router router = new Router(List.of(RoutingController.class, Runnable.class, String.class));
+
+	private String methodOf(String path, Method requestMethod) {
+		RequestMapping requestMapping = router.findRoutingClass(path, requestMethod);
+		return requestMapping == null ? null : requestMapping.getRequestMethod().getName();
+	}
+
+	@Test
+	public void registersOnlyRouteAnnotatedMethodsOfControllers() {
+		assertEquals(5, router.getRequestMappings().size());
+	}
+
+	@Test
+	public void selectsRouteByHttpMethod() {
+		assertEquals("get", methodOf("/users/1", Method.GET));
+		assertEquals("delete", methodOf("/users/1", Method.DELETE));
+	}
+
+	@Test
+	public void fallsBackToMethodAll() {
+		assertEquals("byName", methodOf("/users/1", Method.POST));
+		assertEquals("byName", methodOf("/users/alice", Method.GET));
+		assertEquals("search", methodOf("/users/search", Method.PUT));
+	}
+
+	@Test
+	public void classPathIsPrefixedToMethodPath() {
+		assertEquals("list", methodOf("/users", Method.GET));
+		assertNull(methodOf("/list", Method.GET));
+	}
+
+	@Test
+	public void returnsNullWhenNothingMatches() {
+		assertNull(methodOf("/users/1/2", Method.GET));
+		assertNull(methodOf("/other", Method.GET));
+		assertNull(router.findRoute("/users", Method.POST));
+	}
+
+	@Test
+	public void findRouteCarriesPathValues() {
+		RouteMatch match = router.findRoute("/users/15", Method.GET);
+		assertArrayEquals(new Object[] {15}, match.getPathValues());
+	}
+
+}
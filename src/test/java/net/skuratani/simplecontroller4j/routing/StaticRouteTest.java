@@ -0,0 +1,73 @@
+package net.skuratani.simplecontroller4j.routing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.annotation.Method;
+import net.skuratani.simplecontroller4j.routing.fixture.StaticRouteController;
+
+/**
+ * <p>固定パス表 テスト</p>
+ */
+public class StaticRouteTest {
+
+	private final Router router = new Router(List.of(StaticRouteController.class));
+
+	private String methodOf(String path, Method requestMethod) {
+		RouteMatch match = router.findRoute(path, requestMethod);
+		return match == null ? null : match.getRequestMapping().getRequestMethod().getName();
+	}
+
+	@Test
+	public void pathsWithoutVariablesAreRegisteredInTheStaticTable() {
+		assertNotNull(router.findStaticRoute("/ping", Method.GET));
+		assertNotNull(router.findStaticRoute("/ping", Method.ALL));
+		assertNotNull(router.findStaticRoute("/item/new", Method.ALL));
+		assertNull(router.findStaticRoute("/item/{name}", Method.GET));
+	}
+
+	@Test
+	public void staticTableIsKeyedByNormalisedPath() {
+		assertNotNull(router.findStaticRoute("/double/slash", Method.ALL));
+		assertEquals("unnormalised", methodOf("/double/slash", Method.GET));
+	}
+
+	@Test
+	public void staticMatchSharesOneRouteMatchWithoutPathValues() {
+		RouteMatch match = router.findRoute("/ping", Method.GET);
+		assertEquals(0, match.getPathValues().length);
+		assertSame(match, router.findRoute("/ping", Method.GET));
+	}
+
+	@Test
+	public void requestMethodTableIsCheckedBeforeMethodAll() {
+		assertEquals("pingGet", methodOf("/ping", Method.GET));
+		assertEquals("pingAll", methodOf("/ping", Method.POST));
+	}
+
+	@Test
+	public void staticRouteIsPreferredOverTemplatedRoute() {
+		assertEquals("newItem", methodOf("/item/new", Method.GET));
+		assertEquals("item", methodOf("/item/old", Method.GET));
+	}
+
+	@Test
+	public void nonNormalisedRequestPathFallsBackToTheRouteTree() {
+		assertNull(router.findStaticRoute("/ping/", Method.GET));
+		assertEquals("pingGet", methodOf("/ping/", Method.GET));
+		assertEquals("pingAll", methodOf("//ping", Method.DELETE));
+	}
+
+	@Test
+	public void prefixOfStaticPathDoesNotMatch() {
+		assertNull(methodOf("/pin", Method.GET));
+		assertNull(methodOf("/pingpong", Method.GET));
+	}
+
+}
@@ -0,0 +1,44 @@
+package net.skuratani.simplecontroller4j.routing.fixture;
+
+import net.skuratani.simplecontroller4j.annotation.Controller;
+import net.skuratani.simplecontroller4j.annotation.Method;
+import net.skuratani.simplecontroller4j.annotation.PathVariable;
+import net.skuratani.simplecontroller4j.annotation.Route;
+
+/**
+ * <p>ルーティングテスト用コントローラ</p>
+ */
+@Controller
+@Route(path = "/users")
+public class RoutingController {
+
+	@Route(path = "", method = Method.GET)
+	public String list() {
+		return "list";
+	}
+
+	@Route(path = "/{id:int}", method = Method.GET)
+	public String get(@PathVariable("id") int id) {
+		return "get";
+	}
+
+	@Route(path = "/{id:int}", method = Method.DELETE)
+	public String delete(@PathVariable("id") int id) {
+		return "delete";
+	}
+
+	@Route(path = "/{name}")
+	public String byName(@PathVariable("name") String name) {
+		return "byName";
+	}
+
+	@Route(path = "/search")
+	public String search() {
+		return "search";
+	}
+
+	public String notRouted() {
+		return "notRouted";
+	}
+
+}
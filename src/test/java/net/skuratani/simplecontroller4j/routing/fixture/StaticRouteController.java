@@ -0,0 +1,39 @@
+package net.skuratani.simplecontroller4j.routing.fixture;
+
+import net.skuratani.simplecontroller4j.annotation.Controller;
+import net.skuratani.simplecontroller4j.annotation.Method;
+import net.skuratani.simplecontroller4j.annotation.PathVariable;
+import net.skuratani.simplecontroller4j.annotation.Route;
+
+/**
+ * <p>固定パス表テスト用コントローラ</p>
+ */
+@Controller
+public class StaticRouteController {
+
+	@Route(path = "/ping", method = Method.GET)
+	public String pingGet() {
+		return "pingGet";
+	}
+
+	@Route(path = "/ping")
+	public String pingAll() {
+		return "pingAll";
+	}
+
+	@Route(path = "/item/{name}", method = Method.GET)
+	public String item(@PathVariable("name") String name) {
+		return "item";
+	}
+
+	@Route(path = "/item/new")
+	public String newItem() {
+		return "newItem";
+	}
+
+	@Route(path = "//double//slash/")
+	public String unnormalised() {
+		return "unnormalised";
+	}
+
+}
@@ -0,0 +1,82 @@
+package net.skuratani.simplecontroller4j.servlet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.skuratani.simplecontroller4j.execute.InstanceProvider;
+import net.skuratani.simplecontroller4j.requestmapping.RequestMapping;
+import net.skuratani.simplecontroller4j.routing.RouteCache;
+import net.skuratani.simplecontroller4j.routing.Router;
+import net.skuratani.simplecontroller4j.servlet.fixture.WarmupAspect;
+import net.skuratani.simplecontroller4j.servlet.fixture.WarmupController;
+
+/**
+ * <p>ウォームアップ テスト</p>
+ */
+public class WarmupTest {
+
+	private Router router;
+	private Warmup warmup;
+
+	@Before
+	public void setUp() throws Exception {
+		List<Class<?>> classList = Arrays.asList(WarmupController.class, WarmupAspect.class);
+		router = new Router(classList, 8);
+		warmup = new Warmup(new DispatchModel(classList, router, new InstanceProvider(classList)), null);
+		WarmupController.INVOCATIONS.set(0);
+		WarmupAspect.INVOCATIONS.set(0);
+	}
+
+	@Test
+	public void samplePathFillsTypedVariables() {
+		assertEquals("/", warmup.samplePath(mapping("/")));
+		assertEquals("/user/0/0.0/warmup", warmup.samplePath(mapping("/user/{id:int}/{rate:float}/{name}")));
+	}
+
+	@Test
+	public void samplePathSkipsRegexVariables() {
+		assertNull(warmup.samplePath(mapping("/code/{code:re:[A-Z]{3}}")));
+	}
+
+	@Test
+	public void runCountsRoutesWithoutRegexVariables() {
+		assertEquals(2, warmup.run(3));
+	}
+
+	@Test
+	public void runDoesNotTouchRouteCache() {
+		warmup.run(5);
+
+		RouteCache routeCache = router.getRouteCache();
+		assertEquals(0, routeCache.size());
+		assertEquals(0, routeCache.getHitCount());
+		assertEquals(0, routeCache.getMissCount());
+	}
+
+	@Test
+	public void runDoesNotInvokeControllersOrAdvice() {
+		warmup.run(5);
+
+		assertEquals(0, WarmupController.INVOCATIONS.get());
+		assertEquals(0, WarmupAspect.INVOCATIONS.get());
+	}
+
+	@Test
+	public void runWithoutIterationsStillCountsRoutes() {
+		assertEquals(2, warmup.run(0));
+	}
+
+	private RequestMapping mapping(String path) {
+		for (RequestMapping requestMapping : router.getRequestMappings()) {
+			if (requestMapping.getExecuteMethodPath().equals(path)) return requestMapping;
+		}
+		throw new AssertionError(path);
+	}
+
+}
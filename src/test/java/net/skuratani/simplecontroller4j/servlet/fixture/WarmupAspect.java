@@ -0,0 +1,22 @@
+package net.skuratani.simplecontroller4j.servlet.fixture;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.skuratani.simplecontroller4j.annotation.Aspect;
+import net.skuratani.simplecontroller4j.annotation.Before;
+
+/**
+ * <p>ウォームアップテスト用アスペクト</p>
+ */
+@Aspect
+public class WarmupAspect {
+
+	/** 実行回数 */
+	public static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+	@Before(execution = "*.WarmupController.*")
+	public void before() {
+		INVOCATIONS.incrementAndGet();
+	}
+
+}
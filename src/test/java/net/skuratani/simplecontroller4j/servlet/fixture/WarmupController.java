@@ -0,0 +1,36 @@
+package net.skuratani.simplecontroller4j.servlet.fixture;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.skuratani.simplecontroller4j.annotation.Controller;
+import net.skuratani.simplecontroller4j.annotation.Method;
+import net.skuratani.simplecontroller4j.annotation.PathVariable;
+import net.skuratani.simplecontroller4j.annotation.RequestParam;
+import net.skuratani.simplecontroller4j.annotation.Route;
+
+/**
+ * <p>ウォームアップテスト用コントローラ</p>
+ */
+@Controller
+public class WarmupController {
+
+	/** 実行回数 */
+	public static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+	@Route(path = "/")
+	public void index() {
+		INVOCATIONS.incrementAndGet();
+	}
+
+	@Route(path = "/user/{id:int}/{rate:float}/{name}", method = Method.POST)
+	public void user(@PathVariable("id") int id, @PathVariable("rate") float rate, @PathVariable("name") String name,
+					 @RequestParam("page") String page) {
+		INVOCATIONS.incrementAndGet();
+	}
+
+	@Route(path = "/code/{code:re:[A-Z]{3}}")
+	public void code(@PathVariable("code") String code) {
+		INVOCATIONS.incrementAndGet();
+	}
+
+}
@@ -0,0 +1,235 @@
+package net.skuratani.simplecontroller4j.stub;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * <p>テスト用HTTPサーブレットリクエスト</p>
+ * <pre>
+ * java.lang.reflect.Proxyで生成するスタブ。設定していないメソッドはnull・-1・falseを返却する。
+ * リクエストボディーは指定したバイト数毎に分割して読み込まれる（バッファ境界のテスト用）。
+ * </pre>
+ */
+public class StubRequest {
+
+	private String method = "GET";
+	private String requestURI = "/";
+	private String queryString;
+	private String contentType;
+	private String characterEncoding;
+	private byte[] body = new byte[0];
+	private long contentLength = Long.MIN_VALUE;
+	private int chunkSize = Integer.MAX_VALUE;
+	private final Map<String, String> headers = new LinkedHashMap<>();
+	private final Map<String, Object> attributes = new HashMap<>();
+	private final Map<String, String[]> parameters = new LinkedHashMap<>();
+
+	/** 読み込んだバイト数 */
+	private int bytesRead;
+
+	public static StubRequest get(String requestURI) {
+		return new StubRequest().method("GET").requestURI(requestURI);
+	}
+
+	public static StubRequest post(String requestURI) {
+		return new StubRequest().method("POST").requestURI(requestURI);
+	}
+
+	public StubRequest method(String method) {
+		this.method = method;
+		return this;
+	}
+
+	public StubRequest requestURI(String requestURI) {
+		this.requestURI = requestURI;
+		return this;
+	}
+
+	public StubRequest query(String queryString) {
+		this.queryString = queryString;
+		return this;
+	}
+
+	public StubRequest contentType(String contentType) {
+		this.contentType = contentType;
+		return this;
+	}
+
+	public StubRequest characterEncoding(String characterEncoding) {
+		this.characterEncoding = characterEncoding;
+		return this;
+	}
+
+	public StubRequest body(String body) {
+		return body(body.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public StubRequest body(byte[] body) {
+		this.body = body;
+		return this;
+	}
+
+	/** Content-Length（省略した場合はボディーの長さ。-1の場合は不明） */
+	public StubRequest contentLength(long contentLength) {
+		this.contentLength = contentLength;
+		return this;
+	}
+
+	/** 1回のreadで返却する最大バイト数 */
+	public StubRequest chunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+		return this;
+	}
+
+	public StubRequest header(String name, String value) {
+		headers.put(name.toLowerCase(Locale.ROOT), value);
+		return this;
+	}
+
+	public StubRequest attribute(String name, Object value) {
+		attributes.put(name, value);
+		return this;
+	}
+
+	/** コンテナが解析したリクエストパラメータ（getParameter系メソッドで返却する） */
+	public StubRequest parameter(String name, String... values) {
+		parameters.put(name, values);
+		return this;
+	}
+
+	public int getBytesRead() {
+		return bytesRead;
+	}
+
+	public HttpServletRequest build() {
+		ServletInputStream inputStream = new ServletInputStream() {
+
+			private final ByteArrayInputStream in = new ByteArrayInputStream(body);
+
+			@Override
+			public int read() {
+				int b = in.read();
+				if (b >= 0) bytesRead++;
+				return b;
+			}
+
+			@Override
+			public int read(byte[] buffer, int offset, int length) {
+				if (length == 0) return 0;
+				int count = in.read(buffer, offset, Math.min(length, chunkSize));
+				if (count > 0) bytesRead += count;
+				return count;
+			}
+
+			@Override
+			public boolean isFinished() {
+				return in.available() == 0;
+			}
+
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setReadListener(ReadListener readListener) {
+			}
+		};
+		long length = contentLength == Long.MIN_VALUE ? body.length : contentLength;
+
+		return (HttpServletRequest) Proxy.newProxyInstance(StubRequest.class.getClassLoader(),
+				new Class<?>[] {HttpServletRequest.class}, (proxy, m, args) -> {
+			switch (m.getName()) {
+			case "getMethod":
+				return method;
+			case "getRequestURI":
+			case "getServletPath":
+				return requestURI;
+			case "getQueryString":
+				return queryString;
+			case "getContentType":
+				return contentType != null ? contentType : headers.get("content-type");
+			case "getCharacterEncoding":
+				return characterEncoding;
+			case "getContentLengthLong":
+				return length;
+			case "getContentLength":
+				return length > Integer.MAX_VALUE ? -1 : (int) length;
+			case "getInputStream":
+				return inputStream;
+			case "getReader":
+				return new BufferedReader(new InputStreamReader(inputStream,
+						characterEncoding != null ? characterEncoding : "ISO-8859-1"));
+			case "getHeader":
+				return headers.get(((String) args[0]).toLowerCase(Locale.ROOT));
+			case "getHeaders":
+				String value = headers.get(((String) args[0]).toLowerCase(Locale.ROOT));
+				return value == null ? Collections.emptyEnumeration() : Collections.enumeration(Collections.singleton(value));
+			case "getHeaderNames":
+				return Collections.enumeration(headers.keySet());
+			case "getDateHeader":
+				// コンテナと同様に、形式が不正な場合はIllegalArgumentException
+				String date = headers.get(((String) args[0]).toLowerCase(Locale.ROOT));
+				if (date == null) return -1L;
+				try {
+					return ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+				} catch (DateTimeParseException e) {
+					throw new IllegalArgumentException(date, e);
+				}
+			case "getParameter":
+				String[] values = parameters.get(args[0]);
+				return values == null ? null : values[0];
+			case "getParameterValues":
+				return parameters.get(args[0]);
+			case "getParameterMap":
+				return Collections.unmodifiableMap(parameters);
+			case "getParameterNames":
+				return Collections.enumeration(parameters.keySet());
+			case "getAttribute":
+				return attributes.get(args[0]);
+			case "setAttribute":
+				attributes.put((String) args[0], args[1]);
+				return null;
+			case "removeAttribute":
+				attributes.remove(args[0]);
+				return null;
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return proxy == args[0];
+			case "toString":
+				return method + " " + requestURI;
+			default:
+				Class<?> type = m.getReturnType();
+				if (type == boolean.class) return false;
+				if (type == int.class) return -1;
+				if (type == long.class) return -1L;
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * <p>ボディーをすべて読み込む（テストの検証用）</p>
+	 */
+	public static byte[] readAll(HttpServletRequest request) throws IOException {
+		return request.getInputStream().readAllBytes();
+	}
+
+}
@@ -0,0 +1,187 @@
+package net.skuratani.simplecontroller4j.stub;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * <p>テスト用HTTPサーブレットレスポンス</p>
+ * <pre>
+ * java.lang.reflect.Proxyで生成するスタブ。ステータス・ヘッダー・出力した本文を記録する。
+ * コンテナと同様に、getOutputStream・getWriterはどちらか一方のみ使用でき、
+ * Content-Typeのcharsetは文字エンコーディングに反映される。
+ * 設定していないメソッドはnull・-1・falseを返却する。
+ * </pre>
+ */
+public class StubResponse {
+
+	private int status = HttpServletResponse.SC_OK;
+	private String contentType;
+	private String characterEncoding;
+	private long contentLength = -1;
+	private boolean committed;
+	private final Map<String, String> headers = new LinkedHashMap<>();
+	private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+	/** 使用した出力（"stream"・"writer"。未使用の場合はnull） */
+	private String output;
+	private PrintWriter writer;
+
+	public int getStatus() {
+		return status;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public long getContentLength() {
+		return contentLength;
+	}
+
+	public boolean isCommitted() {
+		return committed;
+	}
+
+	public String getHeader(String name) {
+		return headers.get(name.toLowerCase(Locale.ROOT));
+	}
+
+	public byte[] getBody() {
+		if (writer != null) writer.flush();
+		return body.toByteArray();
+	}
+
+	public String getBodyAsString() {
+		return new String(getBody(), StandardCharsets.UTF_8);
+	}
+
+	public HttpServletResponse build() {
+		ServletOutputStream outputStream = new ServletOutputStream() {
+
+			@Override
+			public void write(int b) {
+				body.write(b);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				body.write(b, off, len);
+			}
+
+			@Override
+			public void flush() {
+				committed = true;
+			}
+
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+			}
+		};
+
+		return (HttpServletResponse) Proxy.newProxyInstance(StubResponse.class.getClassLoader(),
+				new Class<?>[] {HttpServletResponse.class}, (proxy, m, args) -> {
+			switch (m.getName()) {
+			case "getStatus":
+				return status;
+			case "setStatus":
+				status = (Integer) args[0];
+				return null;
+			case "sendError":
+				status = (Integer) args[0];
+				committed = true;
+				return null;
+			case "getContentType":
+				return contentType == null ? null
+						: characterEncoding == null ? contentType : contentType + ";charset=" + characterEncoding;
+			case "setContentType":
+				setContentType((String) args[0]);
+				return null;
+			case "getCharacterEncoding":
+				return characterEncoding != null ? characterEncoding : "ISO-8859-1";
+			case "setCharacterEncoding":
+				if (output == null || output.equals("stream")) characterEncoding = (String) args[0];
+				return null;
+			case "setContentLength":
+				contentLength = (Integer) args[0];
+				return null;
+			case "setContentLengthLong":
+				contentLength = (Long) args[0];
+				return null;
+			case "setHeader":
+			case "addHeader":
+				headers.put(((String) args[0]).toLowerCase(Locale.ROOT), (String) args[1]);
+				return null;
+			case "setDateHeader":
+			case "addDateHeader":
+				headers.put(((String) args[0]).toLowerCase(Locale.ROOT), DateTimeFormatter.RFC_1123_DATE_TIME
+						.format(Instant.ofEpochMilli((Long) args[1]).atZone(ZoneOffset.UTC)));
+				return null;
+			case "getHeader":
+				return getHeader((String) args[0]);
+			case "containsHeader":
+				return headers.containsKey(((String) args[0]).toLowerCase(Locale.ROOT));
+			case "isCommitted":
+				return committed;
+			case "getOutputStream":
+				if ("writer".equals(output)) throw new IllegalStateException("getWriter() has already been called");
+				output = "stream";
+				return outputStream;
+			case "getWriter":
+				if ("stream".equals(output)) throw new IllegalStateException("getOutputStream() has already been called");
+				if (writer == null) {
+					output = "writer";
+					Charset charset = Charset.forName(characterEncoding != null ? characterEncoding : "ISO-8859-1");
+					writer = new PrintWriter(new OutputStreamWriter(body, charset));
+				}
+				return writer;
+			case "flushBuffer":
+				committed = true;
+				return null;
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return proxy == args[0];
+			case "toString":
+				return "StubResponse " + status;
+			default:
+				Class<?> type = m.getReturnType();
+				if (type == boolean.class) return false;
+				if (type == int.class) return -1;
+				if (type == long.class) return -1L;
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * <p>Content-Type設定（charsetを文字エンコーディングに反映する）</p>
+	 */
+	private void setContentType(String value) {
+		int semicolon = value.indexOf(';');
+		contentType = (semicolon < 0 ? value : value.substring(0, semicolon)).trim();
+		int charset = value.toLowerCase(Locale.ROOT).indexOf("charset=");
+		if (charset >= 0 && !"writer".equals(output)) {
+			characterEncoding = value.substring(charset + 8).trim();
+		}
+	}
+
+}